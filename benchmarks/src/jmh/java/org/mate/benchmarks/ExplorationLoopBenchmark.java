@@ -0,0 +1,212 @@
+package org.mate.benchmarks;
+
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.benchmarks.fixtures.FakeMateServer;
+import org.mate.benchmarks.fixtures.FakeRepresentationLayer;
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.benchmarks.fixtures.WidgetTreeFixtures;
+import org.mate.commons.utils.Xoshiro256StarStar;
+import org.mate.exploration.Algorithm;
+import org.mate.exploration.fuzzing.greybox.GreyBoxCoverageFuzzer;
+import org.mate.exploration.genetic.builder.GeneticAlgorithmBuilder;
+import org.mate.exploration.genetic.chromosome_factory.AndroidRandomChromosomeFactory;
+import org.mate.exploration.genetic.fitness.FitnessFunction;
+import org.mate.exploration.genetic.mutation.CutPointMutationFunction;
+import org.mate.exploration.genetic.selection.SelectionFunction;
+import org.mate.exploration.genetic.termination.IterTerminationCondition;
+import org.mate.interaction.DeviceMgr;
+import org.mate.interaction.UIAbstractionLayer;
+import org.mate.model.TestCase;
+import org.mate.service.MATEService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures complete exploration runs of the search algorithms on the host JVM. The MATE server is
+ * replaced by a {@link FakeMateServer} on a loopback socket and the app by a
+ * {@link FakeRepresentationLayer} replaying synthetic screens, such that every run explores the
+ * same app and obtains the same fitness values. The client is set up the same way
+ * {@link org.mate.MATE} does it, except for the manifest, which none of the algorithms needs.
+ * <p>
+ * Note that a restart of the app still waits for the fixed delay of {@link DeviceMgr#restartApp()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExplorationLoopBenchmark {
+
+    private static final long RANDOM_SEED = 42;
+
+    @Param({"MIO", "MOSA", "NSGAII", "GreyBoxCoverageFuzzing"})
+    public String algorithm;
+
+    /**
+     * The latency of each request to the MATE server in microseconds.
+     */
+    @Param({"0", "500"})
+    public int serverLatency;
+
+    private FakeRepresentationLayer representationLayer;
+    private FakeMateServer server;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+
+        HostRuntime.initialise();
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("random_seed", String.valueOf(RANDOM_SEED));
+        properties.put("actions_throttle", "0");
+        properties.put("delay_after_activity_started", "0");
+        properties.put("delay_after_app_reset", "0");
+        properties.put("chromosome_factory", "ANDROID_RANDOM_CHROMOSOME_FACTORY");
+        properties.put("mutation_function", "TEST_CASE_CUT_POINT_MUTATION");
+        properties.put("crossover_function", "TEST_CASE_MERGE_CROSS_OVER");
+        properties.put("selection_function", "CROWDED_TOURNAMENT_SELECTION");
+        properties.put("termination_condition", "ITERATION_TERMINATION");
+        properties.put("evo_iterations_number", "3");
+        properties.put("population_size", "4");
+        properties.put("big_population_size", "8");
+        properties.put("max_number_events", "10");
+        // unlike the branch distance, the branch fitness vectors tolerate that the static
+        // objective counters grow with each algorithm built within the same JVM
+        properties.put("fitness_function", "BRANCH_MULTI_OBJECTIVE");
+        properties.put("objective", "BRANCHES");
+        properties.put("coverage", "BRANCH_COVERAGE");
+        properties.put("grey_box_coverage_criterion", "BRANCH_COVERAGE");
+        properties.put("seed_corpus_size", "4");
+        properties.put("max_energy", "2");
+
+        representationLayer = FakeRepresentationLayer.synthetic(30, 60, RANDOM_SEED);
+        server = new FakeMateServer.Builder(representationLayer)
+                .withProperties(properties)
+                .withObjectives(500)
+                .withSeed(RANDOM_SEED)
+                .withLatency(serverLatency, TimeUnit.MICROSECONDS)
+                .start();
+
+        // the same start up sequence as in MATE
+        Registry.registerEnvironmentManager(server.connect());
+        Registry.registerProperties(new Properties(Registry.getEnvironmentManager().getProperties()));
+        Registry.registerTimeout(TimeUnit.HOURS.toMillis(1));
+        Registry.registerPackageName(WidgetTreeFixtures.PACKAGE_NAME);
+        Registry.getEnvironmentManager().allocateEmulator(Registry.getPackageName());
+
+        MATEService.ensureRepresentationLayerIsConnected();
+
+        DeviceMgr deviceMgr = new DeviceMgr(Registry.getPackageName());
+        Registry.registerDeviceMgr(deviceMgr);
+        Registry.registerUiAbstractionLayer(new UIAbstractionLayer(deviceMgr, Registry.getPackageName()));
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        Registry.registerRandom(new Xoshiro256StarStar(RANDOM_SEED));
+        server.clearCoverage();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Registry.unregisterUiAbstractionLayer();
+        Registry.unregisterDeviceMgr();
+        Registry.unregisterEnvironmentManager();
+        MATEService.disconnectRepresentationLayer();
+        server.close();
+    }
+
+    /**
+     * Builds the algorithm the same way the corresponding ExecuteMATE class does.
+     */
+    private Algorithm createAlgorithm() {
+
+        switch (algorithm) {
+            case "MIO":
+                return withObjectives(new GeneticAlgorithmBuilder()
+                        .withAlgorithm(org.mate.exploration.genetic.algorithm.Algorithm.MIO)
+                        .withChromosomeFactory(Properties.CHROMOSOME_FACTORY())
+                        .withMutationFunction(Properties.MUTATION_FUNCTION())
+                        .withTerminationCondition(Properties.TERMINATION_CONDITION())
+                        .withPopulationSize(Properties.POPULATION_SIZE())
+                        .withBigPopulationSize(Properties.BIG_POPULATION_SIZE())
+                        .withPMutate(Properties.P_MUTATE())
+                        .withPCrossover(Properties.P_CROSSOVER())
+                        .withPSampleRandom(Properties.P_SAMPLE_RANDOM())
+                        .withFocusedSearchStart(Properties.P_FOCUSED_SEARCH_START())
+                        .withMutationRate(Properties.MUTATION_RATE()))
+                        .build();
+            case "MOSA":
+                return withObjectives(new GeneticAlgorithmBuilder()
+                        .withAlgorithm(org.mate.exploration.genetic.algorithm.Algorithm.MOSA)
+                        .withChromosomeFactory(Properties.CHROMOSOME_FACTORY())
+                        .withCrossoverFunction(Properties.CROSSOVER_FUNCTION())
+                        .withMutationFunction(Properties.MUTATION_FUNCTION())
+                        .withSelectionFunction(SelectionFunction.CROWDED_TOURNAMENT_SELECTION)
+                        .withTerminationCondition(Properties.TERMINATION_CONDITION())
+                        .withPopulationSize(Properties.POPULATION_SIZE())
+                        .withBigPopulationSize(Properties.BIG_POPULATION_SIZE())
+                        .withPMutate(Properties.P_MUTATE())
+                        .withPCrossover(Properties.P_CROSSOVER()))
+                        .build();
+            case "NSGAII":
+                return new GeneticAlgorithmBuilder()
+                        .withAlgorithm(org.mate.exploration.genetic.algorithm.Algorithm.NSGAII)
+                        .withChromosomeFactory(Properties.CHROMOSOME_FACTORY())
+                        .withSelectionFunction(SelectionFunction.CROWDED_TOURNAMENT_SELECTION)
+                        .withCrossoverFunction(Properties.CROSSOVER_FUNCTION())
+                        .withMutationFunction(Properties.MUTATION_FUNCTION())
+                        .withFitnessFunction(FitnessFunction.NUMBER_OF_ACTIVITIES)
+                        .withFitnessFunction(FitnessFunction.TEST_LENGTH)
+                        .withFitnessFunction(FitnessFunction.NUMBER_OF_CRASHES)
+                        .withPopulationSize(Properties.POPULATION_SIZE())
+                        .withBigPopulationSize(Properties.BIG_POPULATION_SIZE())
+                        .withPMutate(Properties.P_MUTATE())
+                        .withPCrossover(Properties.P_CROSSOVER())
+                        .withTerminationCondition(Properties.TERMINATION_CONDITION())
+                        .build();
+            case "GreyBoxCoverageFuzzing":
+                return new GreyBoxCoverageFuzzer<TestCase>(
+                        new AndroidRandomChromosomeFactory(true, Properties.MAX_NUMBER_EVENTS()),
+                        new CutPointMutationFunction(Properties.MAX_NUMBER_EVENTS()),
+                        new IterTerminationCondition(Properties.EVO_ITERATIONS_NUMBER()),
+                        Properties.GREY_BOX_COVERAGE_CRITERION(),
+                        Properties.SEED_CORPUS_SIZE(),
+                        Properties.MAX_ENERGY());
+            default:
+                throw new IllegalArgumentException("Unknown algorithm " + algorithm + "!");
+        }
+    }
+
+    /**
+     * Associates with each objective a fitness function.
+     */
+    private static GeneticAlgorithmBuilder withObjectives(GeneticAlgorithmBuilder builder) {
+
+        int numberOfObjectives
+                = Registry.getEnvironmentManager().getNumberOfObjectives(Properties.OBJECTIVE());
+
+        for (int i = 0; i < numberOfObjectives; i++) {
+            builder = builder.withFitnessFunction(Properties.FITNESS_FUNCTION());
+        }
+        return builder;
+    }
+
+    @Benchmark
+    public int explore() {
+        createAlgorithm().run();
+        return representationLayer.getExecutedActions();
+    }
+}
@@ -0,0 +1,55 @@
+package org.mate.benchmarks;
+
+import org.mate.benchmarks.fixtures.CoverageVectorFixtures;
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.core.GAUtils;
+import org.mate.exploration.genetic.fitness.IFitnessFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the sorting procedures of the multi-objective algorithms, e.g. NSGA-II and MOSA,
+ * on populations with synthetic coverage vectors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GAUtilsBenchmark {
+
+    @Param({"50", "200"})
+    public int populationSize;
+
+    @Param({"5", "50"})
+    public int objectives;
+
+    private List<IChromosome<double[]>> population;
+    private List<IFitnessFunction<double[]>> fitnessFunctions;
+
+    @Setup
+    public void setup() {
+        HostRuntime.initialise();
+        population = CoverageVectorFixtures.population(populationSize, objectives, 42);
+        fitnessFunctions = CoverageVectorFixtures.objectives(objectives);
+    }
+
+    @Benchmark
+    public Map<Integer, List<IChromosome<double[]>>> fastNonDominatedSort() {
+        return GAUtils.fastNonDominatedSort(population, fitnessFunctions);
+    }
+
+    @Benchmark
+    public Map<IChromosome<double[]>, Double> crowdingDistanceAssignment() {
+        return GAUtils.crowdingDistanceAssignment(population, fitnessFunctions);
+    }
+}
@@ -0,0 +1,65 @@
+package org.mate.benchmarks;
+
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.commons.input_generation.format_types.InputFieldType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures classifying hints and static strings into input field types, once with the
+ * precompiled patterns of {@link InputFieldType} and once recompiling each regex per check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InputFieldTypeBenchmark {
+
+    /**
+     * Hints, resource ids and static strings as found in real apps.
+     */
+    private static final String[] HINTS = {
+            "Enter your name", "E-mail", "john.doe@example.com", "Password", "password123",
+            "Search", "Phone number", "+49 851 509 3090", "Street and house number",
+            "Main Street 12, Springfield", "Amount", "12.50", "-3", "1234", "dd.MM.yyyy",
+            "31.10.2000", "10:01 AM", "https://www.example.com/path?query=1", "username_input",
+            "OK", "Write a comment...", "What's on your mind? Tell us!"
+    };
+
+    @Setup
+    public void setup() {
+        HostRuntime.initialise();
+    }
+
+    @Benchmark
+    public void classify(Blackhole blackhole) {
+        for (String hint : HINTS) {
+            blackhole.consume(InputFieldType.getInputFieldsMatchingRegex(hint));
+        }
+    }
+
+    @Benchmark
+    public void classifyRecompiling(Blackhole blackhole) {
+        for (String hint : HINTS) {
+            for (InputFieldType type : InputFieldType.values()) {
+                if (type.getRegex() != null) {
+                    blackhole.consume(hint.matches(type.getRegex()));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void isDate(Blackhole blackhole) {
+        for (String hint : HINTS) {
+            blackhole.consume(InputFieldType.isDate(hint));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.mate.benchmarks;
+
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.message.Message;
+import org.mate.message.serialization.Parser;
+import org.mate.message.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the message codec used for the communication with the MATE server, i.e. the
+ * {@link Serializer} and the {@link Parser} (including its lexer).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageCodecBenchmark {
+
+    /**
+     * The number of parameters of the message.
+     */
+    @Param({"2", "32"})
+    public int parameters;
+
+    /**
+     * The length of each parameter value, e.g. a serialized coverage vector is rather long.
+     */
+    @Param({"16", "4096"})
+    public int valueLength;
+
+    private Message message;
+    private byte[] serialized;
+
+    @Setup
+    public void setup() {
+
+        HostRuntime.initialise();
+
+        Random random = new Random(42);
+        Message.MessageBuilder builder = new Message.MessageBuilder("/coverage/store");
+
+        for (int i = 0; i < parameters; i++) {
+            builder.withParameter("parameter" + i, randomValue(random, valueLength));
+        }
+
+        message = builder.build();
+        serialized = Serializer.serialize(message);
+    }
+
+    /**
+     * Generates a value containing characters that need to be escaped.
+     */
+    private static String randomValue(Random random, int length) {
+        final String alphabet = "abcdefghijklmnopqrstuvwxyz0123456789+,;:=\\ ";
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return value.toString();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return Serializer.serialize(message);
+    }
+
+    @Benchmark
+    public Message parse() {
+        return new Parser(new ByteArrayInputStream(serialized)).nextMessage();
+    }
+
+    @Benchmark
+    public Message roundTrip() {
+        return new Parser(new ByteArrayInputStream(Serializer.serialize(message))).nextMessage();
+    }
+}
@@ -0,0 +1,80 @@
+package org.mate.benchmarks;
+
+import org.mate.Properties;
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the property getters, which are called from the hot loops of the exploration, both
+ * single-threaded and under contention. The legacy benchmarks replay the lookup the getters did
+ * before the snapshot: each call walked the stack trace to find the name of the calling getter and
+ * looked the parsed value up in a map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PropertiesBenchmark {
+
+    private final Map<String, Object> legacyStore = new HashMap<>();
+
+    @Setup
+    public void setup() {
+        HostRuntime.registerProperties(Collections.singletonMap("cosine_similarity_threshold", "0.9"));
+        legacyStore.put("cosine_similarity_threshold", 0.9f);
+    }
+
+    @Benchmark
+    public float getter() {
+        return Properties.COSINE_SIMILARITY_THRESHOLD();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public float contendedGetter() {
+        return Properties.COSINE_SIMILARITY_THRESHOLD();
+    }
+
+    @Benchmark
+    public float legacyGetter() {
+        return COSINE_SIMILARITY_THRESHOLD();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public float contendedLegacyGetter() {
+        return COSINE_SIMILARITY_THRESHOLD();
+    }
+
+    /*
+     * The getter as it was declared before the snapshot.
+     */
+    private float COSINE_SIMILARITY_THRESHOLD() {
+        return propertyOr(0.95f);
+    }
+
+    /**
+     * The lookup of the getters before the snapshot. The caller is found at index 2 of the stack
+     * trace on the host JVM, whereas on Android an additional VM frame moves it to index 3.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T propertyOr(T defaultValue) {
+        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+        String callerName = stackTrace[2].getMethodName().toLowerCase();
+        if (legacyStore.containsKey(callerName)) {
+            return ((T) legacyStore.get(callerName));
+        }
+        return defaultValue;
+    }
+}
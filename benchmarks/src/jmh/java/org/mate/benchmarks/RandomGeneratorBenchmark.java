@@ -0,0 +1,92 @@
+package org.mate.benchmarks;
+
+import org.mate.commons.utils.MersenneTwister;
+import org.mate.commons.utils.Xoshiro256StarStar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the random number generators, once with a single generator shared
+ * by all threads (the current usage of {@link org.mate.commons.utils.Randomness}) and once with a
+ * stream per thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RandomGeneratorBenchmark {
+
+    private static final long SEED = 42;
+
+    private static Random create(String generator, int streamId) {
+        switch (generator) {
+            case "random":
+                return new Random(SEED + streamId);
+            case "mersenneTwister":
+                return new MersenneTwister(SEED + streamId);
+            case "xoshiro256StarStar":
+                return Xoshiro256StarStar.forStream(SEED, streamId);
+            default:
+                throw new IllegalArgumentException("Unknown generator: " + generator);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedGenerator {
+
+        @Param({"random", "mersenneTwister", "xoshiro256StarStar"})
+        public String generator;
+
+        Random random;
+
+        @Setup
+        public void setup() {
+            random = create(generator, 0);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadGenerator {
+
+        @Param({"random", "mersenneTwister", "xoshiro256StarStar"})
+        public String generator;
+
+        Random random;
+
+        @Setup
+        public void setup(ThreadParams threadParams) {
+            random = create(generator, threadParams.getThreadIndex());
+        }
+    }
+
+    @Benchmark
+    public int sharedSingleThread(SharedGenerator state) {
+        return state.random.nextInt(100);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int sharedFourThreads(SharedGenerator state) {
+        return state.random.nextInt(100);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int perThreadFourThreads(ThreadGenerator state) {
+        return state.random.nextInt(100);
+    }
+
+    @Benchmark
+    public double nextDouble(ThreadGenerator state) {
+        return state.random.nextDouble();
+    }
+}
@@ -0,0 +1,76 @@
+package org.mate.benchmarks;
+
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.commons.utils.AliasTable;
+import org.mate.commons.utils.Randomness;
+import org.mate.commons.utils.Xoshiro256StarStar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a weighted choice via a roulette wheel against an {@link AliasTable}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RandomSelectionBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int size;
+
+    private double[] weights;
+    private double totalWeight;
+    private AliasTable aliasTable;
+
+    private Random random;
+
+    @Setup
+    public void setup() {
+
+        HostRuntime.initialise();
+
+        random = new Xoshiro256StarStar(42);
+        Randomness.setRnd(random);
+
+        // skewed weights, e.g. the energy of seeds
+        weights = new double[size];
+        totalWeight = 0.0;
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1 + random.nextInt(100);
+            totalWeight += weights[i];
+        }
+        aliasTable = new AliasTable(weights);
+    }
+
+    @Benchmark
+    public int rouletteWheel() {
+        double point = random.nextDouble() * totalWeight;
+        double end = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            end += weights[i];
+            if (point < end) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    @Benchmark
+    public int aliasTable() {
+        return aliasTable.sample(random);
+    }
+
+    @Benchmark
+    public AliasTable buildAliasTable() {
+        return new AliasTable(weights);
+    }
+}
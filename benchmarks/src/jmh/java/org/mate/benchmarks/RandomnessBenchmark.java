@@ -0,0 +1,88 @@
+package org.mate.benchmarks;
+
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.commons.utils.Randomness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link Randomness} helpers used when selecting actions and generating inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RandomnessBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private List<Integer> list;
+    private Set<Integer> set;
+
+    @Setup
+    public void setup() {
+
+        HostRuntime.initialise();
+        Randomness.setRnd(new Random(42));
+
+        list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        set = new LinkedHashSet<>(list);
+    }
+
+    @Benchmark
+    public Integer randomElementOfList() {
+        return Randomness.randomElement(list);
+    }
+
+    @Benchmark
+    public Integer randomElementOfSet() {
+        return Randomness.randomElement(set);
+    }
+
+    @Benchmark
+    public List<Integer> randomElementsOfList() {
+        return Randomness.randomElements(list, size / 2);
+    }
+
+    @Benchmark
+    public List<Integer> randomElementsOfSet() {
+        return Randomness.randomElements(set, size / 2);
+    }
+
+    @Benchmark
+    public List<Integer> shuffleList() {
+        Randomness.shuffleList(list);
+        return list;
+    }
+
+    @Benchmark
+    public int inRangeStd() {
+        return Randomness.getInRangeStd(size);
+    }
+
+    @Benchmark
+    public int[] randomIntArray() {
+        return Randomness.getRandomIntArray(size, 100);
+    }
+
+    @Benchmark
+    public char[] randomCharArray() {
+        return Randomness.getRandomCharArray(size);
+    }
+}
@@ -0,0 +1,59 @@
+package org.mate.benchmarks;
+
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.benchmarks.fixtures.ViewTreeFixtures;
+import org.mate.commons.interaction.action.espresso.matchers_combination.RelativeMatcherCombination;
+import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTree;
+import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTreeNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the unequivocal matcher combinations of all views of a screen, once view by
+ * view and once for all views at once with a shared index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RelativeMatcherCombinationBenchmark {
+
+    @Param({"list", "form"})
+    public String screen;
+
+    @Param({"10", "40"})
+    public int size;
+
+    private EspressoViewTree viewTree;
+    private List<EspressoViewTreeNode> nodes;
+
+    @Setup
+    public void setup() {
+        HostRuntime.initialise();
+        viewTree = "list".equals(screen) ? ViewTreeFixtures.listScreen(size)
+                : ViewTreeFixtures.formScreen(size);
+        nodes = viewTree.getAllNodes();
+    }
+
+    @Benchmark
+    public void perView(Blackhole blackhole) {
+        for (EspressoViewTreeNode node : nodes) {
+            blackhole.consume(RelativeMatcherCombination.buildUnequivocalCombination(node, viewTree));
+        }
+    }
+
+    @Benchmark
+    public Map<EspressoViewTreeNode, RelativeMatcherCombination> sharedIndex() {
+        return RelativeMatcherCombination.buildUnequivocalCombinations(nodes, viewTree);
+    }
+}
@@ -0,0 +1,79 @@
+package org.mate.benchmarks;
+
+import static org.mate.benchmarks.fixtures.WidgetTreeFixtures.SCREEN_HEIGHT;
+import static org.mate.benchmarks.fixtures.WidgetTreeFixtures.SCREEN_WIDTH;
+
+import org.mate.accessibility.utils.LocalScreenColourAnalyzer;
+import org.mate.accessibility.utils.ScreenColours;
+import org.mate.benchmarks.fixtures.WidgetTreeFixtures;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures computing the colour metrics of all widgets of a screen in-process, i.e. what the
+ * colour related accessibility checks request per screen state, on the full screenshot and on the
+ * downsampled screenshot the representation layer keeps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScreenColourBenchmark {
+
+    @Param({"20", "100"})
+    public int widgets;
+
+    @Param({"1", "4"})
+    public int scale;
+
+    private List<Widget> layout;
+    private LocalScreenColourAnalyzer analyzer;
+
+    @Setup
+    public void setup() {
+
+        layout = WidgetTreeFixtures.denseLayout(widgets, 42);
+
+        // a light background with coloured buttons carrying some dark text lines
+        Random random = new Random(42);
+        int[] pixels = new int[SCREEN_WIDTH * SCREEN_HEIGHT];
+        Arrays.fill(pixels, 0xFFFAFAFA);
+
+        for (Widget widget : layout) {
+            int colour = 0xFF000000 | random.nextInt(0x1000000);
+            for (int y = Math.max(widget.getY1(), 0); y < Math.min(widget.getY2(), SCREEN_HEIGHT); y++) {
+                boolean textLine = (y - widget.getY1()) % 12 < 3;
+                for (int x = Math.max(widget.getX1(), 0); x < Math.min(widget.getX2(), SCREEN_WIDTH); x++) {
+                    pixels[y * SCREEN_WIDTH + x] = textLine && x % 5 != 0 ? 0xFF202020 : colour;
+                }
+            }
+        }
+
+        int width = SCREEN_WIDTH / scale;
+        int height = SCREEN_HEIGHT / scale;
+        int[] sampled = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                sampled[y * width + x] = pixels[y * scale * SCREEN_WIDTH + x * scale];
+            }
+        }
+
+        analyzer = new LocalScreenColourAnalyzer(sampled, width, height, scale);
+    }
+
+    @Benchmark
+    public ScreenColours analyze() {
+        return analyzer.analyze(layout);
+    }
+}
@@ -0,0 +1,99 @@
+package org.mate.benchmarks;
+
+import static org.mate.benchmarks.fixtures.WidgetTreeFixtures.SCREEN_HEIGHT;
+import static org.mate.benchmarks.fixtures.WidgetTreeFixtures.SCREEN_WIDTH;
+
+import org.mate.accessibility.check.bbc.widgetbased.SpacingAccessibilityCheck;
+import org.mate.accessibility.check.bbc.widgetbased.WidgetGridIndex;
+import org.mate.benchmarks.fixtures.WidgetTreeFixtures;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the neighbour lookups of the {@link SpacingAccessibilityCheck} for all widgets of a
+ * dense layout, once by rasterizing the widgets into a pixel matrix and once through a
+ * {@link WidgetGridIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpacingCheckBenchmark {
+
+    @Param({"20", "100", "500"})
+    public int widgets;
+
+    private List<Widget> layout;
+
+    @Setup
+    public void setup() {
+        layout = WidgetTreeFixtures.denseLayout(widgets, 42);
+    }
+
+    @Benchmark
+    public void pixelMatrix(Blackhole blackhole) {
+
+        int[][] matrix = new int[SCREEN_WIDTH][SCREEN_HEIGHT];
+        for (int i = 0; i < SCREEN_WIDTH; i++) {
+            for (int j = 0; j < SCREEN_HEIGHT; j++) {
+                matrix[i][j] = -1;
+            }
+        }
+
+        for (int index = 0; index < layout.size(); index++) {
+            Widget w = layout.get(index);
+            for (int i = w.getX1(); i <= w.getX2() && i < SCREEN_WIDTH; i++) {
+                for (int j = w.getY1(); j <= w.getY2() && j < SCREEN_HEIGHT; j++) {
+                    matrix[i][j] = index;
+                }
+            }
+        }
+
+        for (Widget widget : layout) {
+            int index = layout.indexOf(widget);
+            blackhole.consume(index);
+            blackhole.consume(lookUp(matrix, true, widget.getX1() - 1, widget.getY1(), widget.getY2()));
+            blackhole.consume(lookUp(matrix, true, widget.getX2() + 1, widget.getY1(), widget.getY2()));
+            blackhole.consume(lookUp(matrix, false, widget.getY1() - 1, widget.getX1(), widget.getX2()));
+            blackhole.consume(lookUp(matrix, false, widget.getY2() + 1, widget.getX1(), widget.getX2()));
+        }
+    }
+
+    private static int lookUp(int[][] matrix, boolean vertical, int position, int from, int to) {
+        int count = 0;
+        int owner = -1;
+        for (int j = from; j < to; j++) {
+            int x = vertical ? position : j;
+            int y = vertical ? j : position;
+            if (x >= 0 && x < SCREEN_WIDTH && y >= 0 && y < SCREEN_HEIGHT && matrix[x][y] != -1) {
+                count++;
+                owner = matrix[x][y];
+            }
+        }
+        return count > (to - from) / 2 ? owner : -1;
+    }
+
+    @Benchmark
+    public void gridIndex(Blackhole blackhole) {
+
+        WidgetGridIndex index = new WidgetGridIndex(layout, SCREEN_WIDTH, SCREEN_HEIGHT);
+
+        for (Widget widget : layout) {
+            blackhole.consume(index.indexOf(widget));
+            blackhole.consume(index.findNeighbourInColumn(widget.getX1() - 1, widget.getY1(), widget.getY2()));
+            blackhole.consume(index.findNeighbourInColumn(widget.getX2() + 1, widget.getY1(), widget.getY2()));
+            blackhole.consume(index.findNeighbourInRow(widget.getY1() - 1, widget.getX1(), widget.getX2()));
+            blackhole.consume(index.findNeighbourInRow(widget.getY2() + 1, widget.getX1(), widget.getX2()));
+        }
+    }
+}
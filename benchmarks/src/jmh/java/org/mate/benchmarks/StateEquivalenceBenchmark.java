@@ -0,0 +1,86 @@
+package org.mate.benchmarks;
+
+import org.mate.benchmarks.fixtures.FixtureScreenState;
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.benchmarks.fixtures.WidgetTreeFixtures;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.state.IScreenState;
+import org.mate.state.equivalence.IStateEquivalence;
+import org.mate.state.equivalence.checks.ActivityNameEquivalence;
+import org.mate.state.equivalence.checks.CosineSimilarity;
+import org.mate.state.equivalence.checks.PackageNameEquivalence;
+import org.mate.state.equivalence.checks.WidgetEquivalence;
+import org.mate.state.equivalence.checks.WidgetWithAttributesEquivalence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the state equivalence checks, which are performed against every known state whenever
+ * a new screen state is captured. The compared states share the same widget tree except for the
+ * text of a few widgets, i.e. the checks can't stop at the first differing widget.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StateEquivalenceBenchmark {
+
+    @Param({"50", "500"})
+    public int widgets;
+
+    private IScreenState first;
+    private IScreenState second;
+
+    private final IStateEquivalence activityNameEquivalence = new ActivityNameEquivalence();
+    private final IStateEquivalence packageNameEquivalence = new PackageNameEquivalence();
+    private final IStateEquivalence widgetEquivalence = new WidgetEquivalence();
+    private final IStateEquivalence widgetWithAttributesEquivalence = new WidgetWithAttributesEquivalence();
+    private final IStateEquivalence cosineSimilarity = new CosineSimilarity();
+
+    @Setup
+    public void setup() {
+
+        HostRuntime.initialise();
+
+        List<Widget> firstWidgets = WidgetTreeFixtures.generate(widgets, 4, 42);
+        List<Widget> secondWidgets = WidgetTreeFixtures.withChangedTexts(firstWidgets, 2);
+
+        first = new FixtureScreenState(WidgetTreeFixtures.PACKAGE_NAME,
+                WidgetTreeFixtures.ACTIVITY_NAME, firstWidgets);
+        second = new FixtureScreenState(WidgetTreeFixtures.PACKAGE_NAME,
+                WidgetTreeFixtures.ACTIVITY_NAME, secondWidgets);
+    }
+
+    @Benchmark
+    public boolean activityName() {
+        return activityNameEquivalence.checkEquivalence(first, second);
+    }
+
+    @Benchmark
+    public boolean packageName() {
+        return packageNameEquivalence.checkEquivalence(first, second);
+    }
+
+    @Benchmark
+    public boolean widget() {
+        return widgetEquivalence.checkEquivalence(first, second);
+    }
+
+    @Benchmark
+    public boolean widgetWithAttributes() {
+        return widgetWithAttributesEquivalence.checkEquivalence(first, second);
+    }
+
+    @Benchmark
+    public boolean cosineSimilarity() {
+        return cosineSimilarity.checkEquivalence(first, second);
+    }
+}
@@ -0,0 +1,102 @@
+package org.mate.benchmarks;
+
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.commons.input_generation.StaticStrings;
+import org.mate.commons.input_generation.format_types.InputFieldType;
+import org.mate.commons.utils.Randomness;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookups of the static strings extracted from the app's byte code, which happen
+ * whenever text is typed into an input field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StaticStringsBenchmark {
+
+    private static final int CLASSES = 200;
+    private static final int STRINGS_PER_CLASS = 20;
+
+    private static final String[] SAMPLE_STRINGS = {
+            "john.doe@example.com", "https://example.com/path", "Hello World", "PASSWORD",
+            "Main Street 12, Springfield", "secret-123", "Some sentence. ", "12345", "value"
+    };
+
+    private StaticStrings staticStrings;
+    private List<String> classNames;
+    private String className;
+    private Set<String> values;
+
+    @Setup
+    public void setup() {
+
+        HostRuntime.initialise();
+        Randomness.setRnd(new Random(42));
+
+        staticStrings = StaticStrings.getInstance();
+        classNames = new ArrayList<>(CLASSES);
+
+        for (int i = 0; i < CLASSES; i++) {
+            String name = "com.example.app.ui.screen" + (i % 10) + ".Fragment" + i;
+            Set<String> strings = new HashSet<>();
+            for (int j = 0; j < STRINGS_PER_CLASS; j++) {
+                strings.add(SAMPLE_STRINGS[(i + j) % SAMPLE_STRINGS.length] + j);
+            }
+            staticStrings.add(name, strings);
+            classNames.add(name);
+        }
+
+        className = classNames.get(0);
+        values = new HashSet<>();
+        for (int j = 0; j < STRINGS_PER_CLASS; j++) {
+            values.add(SAMPLE_STRINGS[j % SAMPLE_STRINGS.length] + j);
+        }
+    }
+
+    /**
+     * Adding the same values again doesn't grow the pool, but invalidates the index.
+     */
+    @Benchmark
+    public StaticStrings add() {
+        staticStrings.add(className, values);
+        return staticStrings;
+    }
+
+    /**
+     * Includes rebuilding the index, which classifies the values into the input field types.
+     */
+    @Benchmark
+    public String addAndLookup() {
+        staticStrings.add(className, values);
+        return staticStrings.getRandomStringFor(InputFieldType.TEXT_VARIATION_EMAIL, classNames);
+    }
+
+    @Benchmark
+    public String randomStringForClasses() {
+        return staticStrings.getRandomStringFor(classNames);
+    }
+
+    @Benchmark
+    public String randomStringForTypeAndClasses() {
+        return staticStrings.getRandomStringFor(InputFieldType.TEXT_VARIATION_EMAIL, classNames);
+    }
+
+    @Benchmark
+    public String randomStringForType() {
+        return staticStrings.getRandomStringFor(InputFieldType.TEXT_VARIATION_EMAIL);
+    }
+}
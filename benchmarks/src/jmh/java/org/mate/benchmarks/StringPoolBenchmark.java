@@ -0,0 +1,127 @@
+package org.mate.benchmarks;
+
+import org.mate.commons.utils.StringPool;
+import org.mate.commons.utils.Xoshiro256StarStar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading the dictionary by parsing the word file against mapping a {@link StringPool},
+ * and picking random words from both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StringPoolBenchmark {
+
+    /**
+     * Roughly the size of the english word list bundled with the representation layer.
+     */
+    private static final int WORDS = 370000;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private File wordsFile;
+    private File poolFile;
+
+    private List<String> words;
+    private StringPool pool;
+
+    private Random random;
+
+    @Setup
+    public void setup() throws IOException {
+
+        random = new Xoshiro256StarStar(42);
+
+        wordsFile = File.createTempFile("words", ".txt");
+        poolFile = File.createTempFile("words", ".pool");
+
+        List<String> generated = new ArrayList<>(WORDS);
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(wordsFile), UTF_8))) {
+            for (int i = 0; i < WORDS; i++) {
+                StringBuilder word = new StringBuilder();
+                int length = 1 + random.nextInt(12);
+                for (int j = 0; j < length; j++) {
+                    word.append((char) ('a' + random.nextInt(26)));
+                }
+                generated.add(word.toString());
+                writer.write(word.toString());
+                writer.newLine();
+            }
+        }
+
+        StringPool.write(poolFile, 0, generated);
+
+        words = parse();
+        pool = StringPool.open(poolFile, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        wordsFile.delete();
+        poolFile.delete();
+    }
+
+    private List<String> parse() throws IOException {
+        List<String> words = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(wordsFile), UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                words.add(line);
+            }
+        }
+        return words;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<String> loadParsed() throws IOException {
+        return parse();
+    }
+
+    @Benchmark
+    public StringPool loadMapped() throws IOException {
+        return StringPool.open(poolFile, 0);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String randomWordParsed() {
+        return words.get(random.nextInt(words.size()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String randomWordMapped() {
+        return pool.get(random.nextInt(pool.size()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public String randomShortWordMapped() {
+        return pool.get(random.nextInt(pool.countShorterThan(5)));
+    }
+}
@@ -0,0 +1,160 @@
+package org.mate.benchmarks;
+
+import com.thoughtworks.xstream.XStream;
+
+import org.mate.benchmarks.fixtures.HostRuntime;
+import org.mate.benchmarks.fixtures.WidgetTreeFixtures;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.interaction.action.ui.ActionType;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.model.TestCase;
+import org.mate.utils.testcase.serialization.BinaryTestCaseReader;
+import org.mate.utils.testcase.serialization.BinaryTestCaseWriter;
+import org.mate.utils.testcase.serialization.IntentBasedActionConverter;
+import org.mate.utils.testcase.serialization.TestCaseSerializer;
+import org.mate.utils.testcase.serialization.WidgetActionConverter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the formats in which test cases are recorded and replayed, see
+ * {@link TestCaseSerializer}: XML with a fresh XStream instance per test case (as it used to be),
+ * XML with the re-used XStream instance and the binary format. The serialization benchmarks also
+ * report the size of the serialized test case as secondary result, see {@link SerializedSize}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TestCaseSerializationBenchmark {
+
+    /**
+     * The number of actions of the test case.
+     */
+    @Param({"10", "100"})
+    public int actions;
+
+    /**
+     * The number of widgets per screen.
+     */
+    @Param({"50", "300"})
+    public int widgets;
+
+    /**
+     * The number of distinct screens the actions are executed on. Actions on the same screen
+     * refer to the same widget tree.
+     */
+    private static final int SCREENS = 5;
+
+    private TestCase testCase;
+    private byte[] xml;
+    private byte[] binary;
+
+    @Setup
+    public void setup() throws IOException {
+
+        HostRuntime.initialise();
+
+        List<List<Widget>> screens = new ArrayList<>(SCREENS);
+        for (int screen = 0; screen < SCREENS; screen++) {
+            screens.add(WidgetTreeFixtures.generate(widgets, 4, screen));
+        }
+
+        Random random = new Random(42);
+        List<Action> actionSequence = new ArrayList<>(actions);
+        List<String> stateSequence = new ArrayList<>(actions + 1);
+        List<String> activitySequence = new ArrayList<>(actions + 1);
+        stateSequence.add("S0");
+        activitySequence.add(WidgetTreeFixtures.ACTIVITY_NAME);
+
+        for (int i = 0; i < actions; i++) {
+            int screen = random.nextInt(SCREENS);
+            List<Widget> tree = screens.get(screen);
+            Widget widget = tree.get(1 + random.nextInt(tree.size() - 1));
+            actionSequence.add(new WidgetAction(widget, random.nextBoolean() ? ActionType.CLICK
+                    : ActionType.LONG_CLICK));
+            stateSequence.add("S" + screen);
+            activitySequence.add(WidgetTreeFixtures.ACTIVITY_NAME);
+        }
+
+        testCase = TestCase.restore("benchmark", stateSequence, activitySequence, actionSequence,
+                Collections.<Action>emptyList(), false, null, ActionResult.SUCCESS);
+
+        xml = TestCaseSerializer.toXML(testCase).getBytes(StandardCharsets.UTF_8);
+        binary = writeBinary();
+    }
+
+    /**
+     * The size of the serialized test case in bytes, reported by JMH next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SerializedSize {
+        public long bytes;
+    }
+
+    private static XStream newXStream() {
+        XStream xstream = new XStream();
+        xstream.ignoreUnknownElements();
+        xstream.registerConverter(new IntentBasedActionConverter());
+        xstream.registerConverter(new WidgetActionConverter());
+        return xstream;
+    }
+
+    @Benchmark
+    public String serializeXMLFreshXStream() {
+        return newXStream().toXML(testCase);
+    }
+
+    @Benchmark
+    public String serializeXML(SerializedSize size) {
+        size.bytes = xml.length;
+        return TestCaseSerializer.toXML(testCase);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary(SerializedSize size) throws IOException {
+        byte[] bytes = writeBinary();
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    private byte[] writeBinary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryTestCaseWriter.write(testCase, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Object deserializeXMLFreshXStream() {
+        return newXStream().fromXML(new ByteArrayInputStream(xml));
+    }
+
+    @Benchmark
+    public Object deserializeXML() {
+        return TestCaseSerializer.fromXML(new String(xml, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public TestCase deserializeBinary() throws IOException {
+        return BinaryTestCaseReader.read(new ByteArrayInputStream(binary));
+    }
+}
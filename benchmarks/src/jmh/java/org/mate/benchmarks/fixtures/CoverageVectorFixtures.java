@@ -0,0 +1,111 @@
+package org.mate.benchmarks.fixtures;
+
+import androidx.annotation.NonNull;
+
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.exploration.genetic.fitness.IFitnessFunction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates populations for the multi-objective algorithms. Each chromosome carries a synthetic
+ * coverage vector, i.e. a fitness value per objective, and the objectives are fitness functions
+ * reading their entry of that vector.
+ */
+public final class CoverageVectorFixtures {
+
+    private CoverageVectorFixtures() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Generates a population whose coverage vectors are drawn uniformly at random.
+     *
+     * @param populationSize The number of chromosomes.
+     * @param numberOfObjectives The length of the coverage vectors.
+     * @param seed The seed for the coverage vectors.
+     * @return Returns the generated population.
+     */
+    public static List<IChromosome<double[]>> population(int populationSize, int numberOfObjectives,
+                                                         long seed) {
+
+        Random random = new Random(seed);
+        List<IChromosome<double[]>> population = new ArrayList<>(populationSize);
+
+        for (int i = 0; i < populationSize; i++) {
+            double[] coverage = new double[numberOfObjectives];
+            for (int objective = 0; objective < numberOfObjectives; objective++) {
+                // coverage is measured in discrete steps, which produces ties as in practice
+                coverage[objective] = random.nextInt(21) / 20.0;
+            }
+            population.add(new CoverageVector(i, coverage));
+        }
+
+        return population;
+    }
+
+    /**
+     * Returns the fitness functions reading the individual entries of the coverage vectors.
+     *
+     * @param numberOfObjectives The length of the coverage vectors.
+     * @return Returns a (maximising) fitness function per objective.
+     */
+    public static List<IFitnessFunction<double[]>> objectives(int numberOfObjectives) {
+
+        List<IFitnessFunction<double[]>> objectives = new ArrayList<>(numberOfObjectives);
+
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+            objectives.add(new Objective(objective));
+        }
+
+        return objectives;
+    }
+
+    private static final class CoverageVector implements IChromosome<double[]> {
+
+        private final int id;
+        private final double[] coverage;
+
+        private CoverageVector(int id, double[] coverage) {
+            this.id = id;
+            this.coverage = coverage;
+        }
+
+        @Override
+        public double[] getValue() {
+            return coverage;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "chromosome-" + id;
+        }
+    }
+
+    private static final class Objective implements IFitnessFunction<double[]> {
+
+        private final int index;
+
+        private Objective(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public double getFitness(IChromosome<double[]> chromosome) {
+            return chromosome.getValue()[index];
+        }
+
+        @Override
+        public boolean isMaximizing() {
+            return true;
+        }
+
+        @Override
+        public double getNormalizedFitness(IChromosome<double[]> chromosome) {
+            return getFitness(chromosome);
+        }
+    }
+}
@@ -0,0 +1,709 @@
+package org.mate.benchmarks.fixtures;
+
+import org.mate.interaction.EnvironmentManager;
+import org.mate.message.Message;
+import org.mate.message.serialization.Parser;
+import org.mate.message.serialization.Serializer;
+import org.mate.service.MATEService;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A stand-in for the MATE server that speaks the same wire protocol on a loopback socket, such
+ * that the MATE client can run on a plain JVM without an emulator.
+ * <p>
+ * The requests are answered from a synthetic coverage model: the objectives (branches, basic
+ * blocks and lines share the same indices) covered by a test case are derived from the trace the
+ * {@link FakeRepresentationLayer} recorded since the previous test case was stored. Thus, the
+ * fitness and coverage values only depend on the executed actions and are repeatable across runs.
+ * The latency of a real server, which has to pull traces from the emulator, can be injected per
+ * subject.
+ */
+public class FakeMateServer implements Closeable {
+
+    /**
+     * The message protocol version of the {@link EnvironmentManager}.
+     */
+    private static final String MESSAGE_PROTOCOL_VERSION = "2.8";
+    private static final String METADATA_PREFIX = "__meta__";
+    private static final String MESSAGE_PROTOCOL_VERSION_KEY = "version";
+
+    private static final String EMULATOR = "emulator-5554";
+
+    /**
+     * The number of neighbouring objectives that contribute to the branch distance of an uncovered
+     * objective.
+     */
+    private static final int BRANCH_DISTANCE_WINDOW = 4;
+
+    /**
+     * The number of objectives that make up a method.
+     */
+    private static final int OBJECTIVES_PER_METHOD = 4;
+
+    private final FakeRepresentationLayer representationLayer;
+    private final Map<String, String> properties;
+    private final int numberOfObjectives;
+    private final int objectivesPerAction;
+    private final long seed;
+    private final long defaultLatencyNanos;
+    private final Map<String, Long> latencyNanos;
+
+    /**
+     * Maps a trace entry to the objectives it covers, guarded by {@code this}.
+     */
+    private final Map<Long, int[]> objectivesByTraceEntry = new HashMap<>();
+
+    /**
+     * Maps a test case (or a chromosome without entities) to its covered objectives, guarded by
+     * {@code this}.
+     */
+    private final Map<String, BitSet> coverage = new HashMap<>();
+
+    /**
+     * Maps a test suite to its test cases, guarded by {@code this}.
+     */
+    private final Map<String, Set<String>> testSuites = new HashMap<>();
+
+    private final ServerSocket serverSocket;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong handledMessages = new AtomicLong();
+    private volatile boolean closed = false;
+
+    private FakeMateServer(Builder builder) throws IOException {
+        representationLayer = builder.representationLayer;
+        properties = new HashMap<>(builder.properties);
+        numberOfObjectives = builder.numberOfObjectives;
+        objectivesPerAction = builder.objectivesPerAction;
+        seed = builder.seed;
+        defaultLatencyNanos = builder.defaultLatencyNanos;
+        latencyNanos = new HashMap<>(builder.latencyNanos);
+
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        Thread acceptor = new Thread(this::accept, "fake-mate-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return Returns the loopback port.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Connects a new environment manager to this server.
+     *
+     * @return Returns the connected environment manager.
+     * @throws IOException If no connection could be established.
+     */
+    public EnvironmentManager connect() throws IOException {
+        return new EnvironmentManager(InetAddress.getLoopbackAddress().getHostAddress(), getPort());
+    }
+
+    /**
+     * Returns the number of requests answered so far.
+     *
+     * @return Returns the number of handled messages.
+     */
+    public long getHandledMessages() {
+        return handledMessages.get();
+    }
+
+    /**
+     * Returns the number of test cases whose coverage has been stored.
+     *
+     * @return Returns the number of stored test cases.
+     */
+    public synchronized int getNumberOfStoredTestCases() {
+        return coverage.size();
+    }
+
+    /**
+     * Discards the stored coverage of all test cases and test suites, e.g. before the next run of
+     * an exploration.
+     */
+    public synchronized void clearCoverage() {
+        coverage.clear();
+        testSuites.clear();
+        representationLayer.drainTrace();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket connection = serverSocket.accept();
+                connection.setTcpNoDelay(true);
+                connections.add(connection);
+
+                Thread handler = new Thread(() -> serve(connection),
+                        "fake-mate-server-" + connection.getPort());
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                // the server socket has been closed
+                return;
+            }
+        }
+    }
+
+    /**
+     * Answers the requests of a single client until it closes the connection.
+     */
+    private void serve(Socket connection) {
+
+        try (Socket ignored = connection) {
+
+            Parser parser = new Parser(new BufferedInputStream(connection.getInputStream()));
+            OutputStream out = connection.getOutputStream();
+
+            while (!closed) {
+
+                Message request;
+                try {
+                    request = parser.nextMessage();
+                } catch (IllegalStateException e) {
+                    // the client has closed the connection (or sent garbage)
+                    return;
+                }
+
+                long startNanos = System.nanoTime();
+                Message response = handle(request);
+                response.addParameter(METADATA_PREFIX + MESSAGE_PROTOCOL_VERSION_KEY,
+                        MESSAGE_PROTOCOL_VERSION);
+                awaitLatency(request.getSubject(), startNanos);
+
+                out.write(Serializer.serialize(response));
+                out.flush();
+                handledMessages.incrementAndGet();
+
+                if (request.getSubject().equals("/close")) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // the connection broke down, the client notices on its own
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    private void awaitLatency(String subject, long startNanos) {
+
+        Long latency = latencyNanos.get(subject);
+        long deadline = startNanos + (latency != null ? latency : defaultLatencyNanos);
+
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private Message handle(Message request) {
+
+        switch (request.getSubject()) {
+            case "/close":
+            case "/android/clearApp":
+            case "/graph/init":
+            case "/graph/draw":
+                return new Message(request.getSubject());
+            case "/legacy":
+                return reply(request, "response", "");
+            case "/properties/get_mate_properties":
+                Message response = new Message(request.getSubject());
+                for (Map.Entry<String, String> property : properties.entrySet()) {
+                    response.addParameter(property.getKey(), property.getValue());
+                }
+                return response;
+            case "/emulator/interaction":
+                return handleEmulatorInteraction(request);
+            case "/android/get_current_activity":
+                return reply(request, "activity", representationLayer.getCurrentActivityName());
+            case "/android/get_activities":
+                return reply(request, "activities",
+                        String.join("\n", representationLayer.getTargetPackageActivityNames()));
+            case "/android/launch_representation_layer":
+                representationLayer.relaunch();
+                MATEService.registerRepresentationLayer(representationLayer);
+                return reply(request, "response", "true");
+            case "/android/grant_runtime_permissions":
+            case "/fuzzer/execute_system_event":
+            case "/fuzzer/push_dummy_files":
+                return reply(request, "response", "true");
+            case "/crash/stacktrace":
+                return reply(request, "stacktrace", "java.lang.IllegalStateException: synthetic"
+                        + "\n\tat " + WidgetTreeFixtures.PACKAGE_NAME + ".MainActivity.onCreate");
+            case "/fitness/get_branches":
+                return reply(request, "branches", String.join("+", objectiveNames("->")));
+            case "/fitness/get_basic_blocks":
+                return reply(request, "blocks", String.join("+", objectiveNames("->")));
+            case "/coverage/getSourceLines":
+                return reply(request, "lines", String.join("\n", objectiveNames(" ")));
+            case "/fitness/get_number_of_branches":
+                return reply(request, "branches", String.valueOf(numberOfObjectives));
+            case "/fitness/get_number_of_basic_blocks":
+                return reply(request, "blocks", String.valueOf(numberOfObjectives));
+            case "/coverage/getNumberOfSourceLines":
+                return reply(request, "lines", String.valueOf(numberOfObjectives));
+            case "/fitness/store_fitness_data":
+            case "/coverage/store":
+                store(request.getParameter("chromosome"), request.getParameter("entity"));
+                return new Message(request.getSubject());
+            case "/fitness/copy_fitness_data":
+            case "/coverage/copy":
+                copy(request.getParameter("chromosome_target"), request.getParameter("entities"));
+                return new Message(request.getSubject());
+            case "/fitness/get_branch_fitness_vector":
+                return reply(request, "branch_fitness_vector",
+                        fitnessVector(covered(request.getParameter("chromosome"))));
+            case "/fitness/get_basic_block_fitness_vector":
+                return reply(request, "basic_block_fitness_vector",
+                        fitnessVector(covered(request.getParameter("chromosome"))));
+            case "/coverage/lineCoveredPercentages":
+                return reply(request, "coveragePercentages", linePercentages(
+                        covered(request.getParameter("chromosomes"))));
+            case "/graph/get_branch_distance":
+                // the target branch is the first one
+                return reply(request, "branch_distance", String.valueOf(
+                        branchDistance(covered(request.getParameter("chromosome")), 0)));
+            case "/graph/get_branch_distance_vector":
+                return reply(request, "branch_distance_vector",
+                        branchDistanceVector(covered(request.getParameter("chromosome"))));
+            case "/coverage/combined":
+                return coverage(request, request.getParameter("chromosomes") != null
+                        ? covered(request.getParameter("chromosomes")) : coveredByAll());
+            case "/coverage/get":
+                return coverage(request, covered(request.getParameter("testCaseId")));
+            case "/fitness/get_novelty_vector":
+                return reply(request, "novelty_vector",
+                        noveltyVector(request.getParameter("chromosomes"),
+                                Integer.parseInt(request.getParameter("nearestNeighbours"))));
+            case "/fitness/get_novelty":
+                return reply(request, "novelty", String.valueOf(novelty(
+                        request.getParameter("chromosome"),
+                        request.getParameter("population") + "+" + request.getParameter("archive"),
+                        Integer.parseInt(request.getParameter("nearestNeighbours")))));
+            case "/accessibility/check_flickering":
+                return reply(request, "flickering", "false");
+            case "/accessibility/matches_surrounding_color":
+                return reply(request, "match", String.valueOf(surroundingColourMatch(bounds(request))));
+            case "/accessibility/get_contrast_ratio":
+                return reply(request, "contrastRatio", String.valueOf(contrastRatio(bounds(request))));
+            case "/accessibility/get_luminance":
+                return reply(request, "luminance", luminance(bounds(request)));
+            case "/accessibility/analyze_screen_colours":
+                return handleScreenColours(request);
+            default:
+                return new Message.MessageBuilder("/error")
+                        .withParameter("info", "Unknown subject: " + request.getSubject())
+                        .build();
+        }
+    }
+
+    private static Message reply(Message request, String key, String value) {
+        return new Message.MessageBuilder(request.getSubject()).withParameter(key, value).build();
+    }
+
+    private Message handleEmulatorInteraction(Message request) {
+        switch (request.getParameter("type")) {
+            case "allocate_emulator":
+                return reply(request, "emulator", EMULATOR);
+            case "rotation":
+                return reply(request, "rotation", request.getParameter("rotation"));
+            default:
+                // releasing the emulator and taking screenshots
+                return new Message(request.getSubject());
+        }
+    }
+
+    private List<String> objectiveNames(String separator) {
+        List<String> names = new ArrayList<>(numberOfObjectives);
+        for (int i = 0; i < numberOfObjectives; i++) {
+            names.add(WidgetTreeFixtures.PACKAGE_NAME + ".Class" + i / 16 + separator
+                    + "method" + i / OBJECTIVES_PER_METHOD + separator + i);
+        }
+        return names;
+    }
+
+    /**
+     * Turns the trace recorded since the last store into the coverage of the given test case.
+     * Storing the coverage of a test case a second time, e.g. for fitness and coverage, has no
+     * effect.
+     */
+    private synchronized void store(String chromosome, String entity) {
+
+        String testCase = entity != null ? entity : chromosome;
+
+        if (entity != null) {
+            testSuites.computeIfAbsent(chromosome, key -> new HashSet<>()).add(entity);
+        }
+
+        if (!coverage.containsKey(testCase)) {
+            BitSet covered = new BitSet(numberOfObjectives);
+            for (long traceEntry : representationLayer.drainTrace()) {
+                for (int objective : objectivesOf(traceEntry)) {
+                    covered.set(objective);
+                }
+            }
+            coverage.put(testCase, covered);
+        }
+    }
+
+    private int[] objectivesOf(long traceEntry) {
+        int[] objectives = objectivesByTraceEntry.get(traceEntry);
+        if (objectives == null) {
+            SplittableRandom random = new SplittableRandom(seed ^ traceEntry);
+            objectives = new int[objectivesPerAction];
+            for (int i = 0; i < objectives.length; i++) {
+                objectives[i] = random.nextInt(numberOfObjectives);
+            }
+            objectivesByTraceEntry.put(traceEntry, objectives);
+        }
+        return objectives;
+    }
+
+    private synchronized void copy(String targetTestSuite, String entities) {
+        Set<String> testCases = testSuites.computeIfAbsent(targetTestSuite, key -> new HashSet<>());
+        if (!entities.isEmpty()) {
+            testCases.addAll(Arrays.asList(entities.split(",")));
+        }
+    }
+
+    /**
+     * Returns the objectives covered by the given '+' separated test cases or test suites.
+     */
+    private synchronized BitSet covered(String chromosomes) {
+
+        BitSet covered = new BitSet(numberOfObjectives);
+
+        for (String chromosome : chromosomes.split("\\+")) {
+            BitSet testCase = coverage.get(chromosome);
+            if (testCase != null) {
+                covered.or(testCase);
+            } else if (testSuites.containsKey(chromosome)) {
+                for (String entity : testSuites.get(chromosome)) {
+                    BitSet suiteTestCase = coverage.get(entity);
+                    if (suiteTestCase != null) {
+                        covered.or(suiteTestCase);
+                    }
+                }
+            }
+        }
+
+        return covered;
+    }
+
+    private synchronized BitSet coveredByAll() {
+        BitSet covered = new BitSet(numberOfObjectives);
+        for (BitSet testCase : coverage.values()) {
+            covered.or(testCase);
+        }
+        return covered;
+    }
+
+    private Message coverage(Message request, BitSet covered) {
+
+        int coveredMethods = 0;
+        int methods = (numberOfObjectives + OBJECTIVES_PER_METHOD - 1) / OBJECTIVES_PER_METHOD;
+
+        for (int method = 0; method < methods; method++) {
+            int nextCovered = covered.nextSetBit(method * OBJECTIVES_PER_METHOD);
+            if (nextCovered >= 0 && nextCovered < (method + 1) * OBJECTIVES_PER_METHOD) {
+                coveredMethods++;
+            }
+        }
+
+        String percentage = String.valueOf(covered.cardinality() * 100.0 / numberOfObjectives);
+
+        return new Message.MessageBuilder(request.getSubject())
+                .withParameter("method_coverage", String.valueOf(coveredMethods * 100.0 / methods))
+                .withParameter("branch_coverage", percentage)
+                .withParameter("line_coverage", percentage)
+                .build();
+    }
+
+    private String fitnessVector(BitSet covered) {
+        StringBuilder vector = new StringBuilder(numberOfObjectives * 2);
+        for (int i = 0; i < numberOfObjectives; i++) {
+            if (i > 0) {
+                vector.append('+');
+            }
+            vector.append(covered.get(i) ? '1' : '0');
+        }
+        return vector.toString();
+    }
+
+    private String linePercentages(BitSet covered) {
+        StringBuilder vector = new StringBuilder(numberOfObjectives * 4);
+        for (int i = 0; i < numberOfObjectives; i++) {
+            if (i > 0) {
+                vector.append('\n');
+            }
+            vector.append(covered.get(i) ? "1.0" : "0.0");
+        }
+        return vector.toString();
+    }
+
+    /**
+     * A covered objective has a branch distance of 0, an uncovered one gets closer with each
+     * covered objective in its neighbourhood, such that the search has a gradient to follow.
+     */
+    private double branchDistance(BitSet covered, int objective) {
+
+        if (covered.get(objective)) {
+            return 0.0;
+        }
+
+        int from = Math.max(0, objective - BRANCH_DISTANCE_WINDOW);
+        int to = Math.min(numberOfObjectives, objective + BRANCH_DISTANCE_WINDOW + 1);
+        return 1.0 / (1 + covered.get(from, to).cardinality());
+    }
+
+    private String branchDistanceVector(BitSet covered) {
+        StringBuilder vector = new StringBuilder(numberOfObjectives * 4);
+        for (int i = 0; i < numberOfObjectives; i++) {
+            if (i > 0) {
+                vector.append('+');
+            }
+            vector.append((float) branchDistance(covered, i));
+        }
+        return vector.toString();
+    }
+
+    private String noveltyVector(String chromosomes, int nearestNeighbours) {
+        StringBuilder vector = new StringBuilder();
+        for (String chromosome : chromosomes.split("\\+")) {
+            if (vector.length() > 0) {
+                vector.append('+');
+            }
+            vector.append(novelty(chromosome, chromosomes, nearestNeighbours));
+        }
+        return vector.toString();
+    }
+
+    /**
+     * Computes the novelty of a chromosome as the average Jaccard distance of its covered
+     * objectives to the ones of its nearest neighbours.
+     */
+    private double novelty(String chromosome, String neighbours, int nearestNeighbours) {
+
+        BitSet covered = covered(chromosome);
+        Collection<String> others = new HashSet<>(Arrays.asList(neighbours.split("\\+")));
+        others.remove(chromosome);
+        others.remove("");
+
+        if (others.isEmpty() || nearestNeighbours <= 0) {
+            return 1.0;
+        }
+
+        double[] distances = new double[others.size()];
+        int index = 0;
+        for (String other : others) {
+            BitSet union = covered(other);
+            BitSet intersection = (BitSet) union.clone();
+            intersection.and(covered);
+            union.or(covered);
+            distances[index++] = union.isEmpty() ? 0.0
+                    : 1.0 - (double) intersection.cardinality() / union.cardinality();
+        }
+
+        Arrays.sort(distances);
+        int k = Math.min(nearestNeighbours, distances.length);
+        double sum = 0.0;
+        for (int i = 0; i < k; i++) {
+            sum += distances[i];
+        }
+        return sum / k;
+    }
+
+    private static String bounds(Message request) {
+        return request.getParameter("stateId") + ":" + request.getParameter("x1") + ","
+                + request.getParameter("y1") + "," + request.getParameter("x2") + ","
+                + request.getParameter("y2");
+    }
+
+    private Message handleScreenColours(Message request) {
+
+        String stateId = request.getParameter("stateId");
+        String[] bounds = request.getParameter("bounds").split(";");
+        String[] luminanceBounds = request.getParameter("luminanceBounds").split(";");
+
+        List<String> contrastRatios = new ArrayList<>(bounds.length);
+        List<String> luminances = new ArrayList<>(bounds.length);
+        List<String> matches = new ArrayList<>(bounds.length);
+
+        for (int i = 0; i < bounds.length; i++) {
+            contrastRatios.add(String.valueOf(contrastRatio(stateId + ":" + bounds[i])));
+            luminances.add(luminance(stateId + ":" + luminanceBounds[i]));
+            matches.add(String.valueOf(surroundingColourMatch(stateId + ":" + bounds[i])));
+        }
+
+        return new Message.MessageBuilder(request.getSubject())
+                .withParameter("contrastRatios", String.join(";", contrastRatios))
+                .withParameter("luminances", String.join(";", luminances))
+                .withParameter("surroundingColourMatches", String.join(";", matches))
+                .build();
+    }
+
+    /**
+     * Derives a value in [0, 1) from the given area of a screen state.
+     */
+    private double sample(String area, int salt) {
+        return new SplittableRandom(seed ^ ((long) area.hashCode() << 8 | salt)).nextDouble();
+    }
+
+    private double contrastRatio(String area) {
+        // the WCAG contrast ratio ranges from 1 to 21
+        return 1.0 + 20.0 * sample(area, 0);
+    }
+
+    private double surroundingColourMatch(String area) {
+        return sample(area, 1);
+    }
+
+    private String luminance(String area) {
+        int dark = (int) (sample(area, 2) * 128);
+        int light = 128 + (int) (sample(area, 3) * 128);
+        return dark + ":" + dark + ":" + dark + "," + light + ":" + light + ":" + light;
+    }
+
+    /**
+     * Configures a {@link FakeMateServer}.
+     */
+    public static class Builder {
+
+        private final FakeRepresentationLayer representationLayer;
+        private final Map<String, String> properties = new HashMap<>();
+        private int numberOfObjectives = 1000;
+        private int objectivesPerAction = 8;
+        private long seed = 42;
+        private long defaultLatencyNanos = 0;
+        private final Map<String, Long> latencyNanos = new HashMap<>();
+
+        /**
+         * Starts the configuration of a server whose coverage model is fed by the given
+         * representation layer. The server (re-)launches and registers the representation layer
+         * whenever the MATE client asks for it.
+         *
+         * @param representationLayer The representation layer recording the executed actions.
+         */
+        public Builder(FakeRepresentationLayer representationLayer) {
+            this.representationLayer = representationLayer;
+        }
+
+        /**
+         * Defines the content of the mate.properties file the client requests on start up.
+         *
+         * @param properties The properties.
+         * @return Returns the builder.
+         */
+        public Builder withProperties(Map<String, String> properties) {
+            this.properties.putAll(properties);
+            return this;
+        }
+
+        /**
+         * Defines the number of objectives, i.e. the number of branches, basic blocks and lines.
+         *
+         * @param numberOfObjectives The number of objectives.
+         * @return Returns the builder.
+         */
+        public Builder withObjectives(int numberOfObjectives) {
+            this.numberOfObjectives = numberOfObjectives;
+            return this;
+        }
+
+        /**
+         * Defines how many objectives are covered by executing a single action.
+         *
+         * @param objectivesPerAction The number of objectives covered per action.
+         * @return Returns the builder.
+         */
+        public Builder withObjectivesPerAction(int objectivesPerAction) {
+            this.objectivesPerAction = objectivesPerAction;
+            return this;
+        }
+
+        /**
+         * Defines the seed of the coverage model.
+         *
+         * @param seed The seed.
+         * @return Returns the builder.
+         */
+        public Builder withSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Defines the latency of every request without a latency of its own.
+         *
+         * @param latency The latency.
+         * @param unit The unit of the latency.
+         * @return Returns the builder.
+         */
+        public Builder withLatency(long latency, TimeUnit unit) {
+            this.defaultLatencyNanos = unit.toNanos(latency);
+            return this;
+        }
+
+        /**
+         * Defines the latency of the requests with the given subject, e.g. /coverage/store.
+         *
+         * @param subject The subject of the requests.
+         * @param latency The latency.
+         * @param unit The unit of the latency.
+         * @return Returns the builder.
+         */
+        public Builder withLatency(String subject, long latency, TimeUnit unit) {
+            this.latencyNanos.put(subject, unit.toNanos(latency));
+            return this;
+        }
+
+        /**
+         * Starts the server on a free loopback port.
+         *
+         * @return Returns the running server.
+         * @throws IOException If the server socket can't be opened.
+         */
+        public FakeMateServer start() throws IOException {
+            if (numberOfObjectives <= 0 || objectivesPerAction < 0) {
+                throw new IllegalStateException("Invalid coverage model!");
+            }
+            return new FakeMateServer(this);
+        }
+    }
+}
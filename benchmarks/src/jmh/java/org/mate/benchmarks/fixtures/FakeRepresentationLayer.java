@@ -0,0 +1,417 @@
+package org.mate.benchmarks.fixtures;
+
+import android.os.IBinder;
+import android.os.ParcelFileDescriptor;
+import android.os.RemoteException;
+
+import org.mate.commons.IRepresentationLayerInterface;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionExecutionResult;
+import org.mate.commons.interaction.action.espresso.EspressoAssertion;
+import org.mate.commons.interaction.action.espresso.InstrumentationTestAction;
+import org.mate.commons.interaction.action.ui.ActionType;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.state.espresso.EspressoScreenSummary;
+import org.mate.commons.utils.PackedScreenshotCache;
+import org.mate.commons.utils.ScreenshotTransfer;
+import org.mate.model.fsm.store.Fingerprints;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A representation layer living in the same process that replays recorded screens instead of
+ * driving a real app. The screens form a deterministic transition graph: the screen reached by an
+ * action solely depends on the current screen and the fingerprint of the action, such that two
+ * runs with the same seed explore the very same app.
+ * <p>
+ * Every executed action leaves a trace entry, which the {@link FakeMateServer} turns into covered
+ * objectives once the traces of a test case are stored.
+ */
+public class FakeRepresentationLayer implements IRepresentationLayerInterface {
+
+    /**
+     * The package name reported while the AUT is not in the foreground, e.g. after pressing HOME.
+     */
+    public static final String LAUNCHER_PACKAGE_NAME = "com.android.launcher3";
+
+    /**
+     * The downsampling factor of the screenshots, the same one the real representation layer uses.
+     */
+    private static final int SCREENSHOT_SCALE = 4;
+
+    /**
+     * The number of screenshots that are kept, older ones are dropped.
+     */
+    private static final int SCREENSHOT_CACHE_SIZE = 16;
+
+    private static final int BACKGROUND_COLOUR = 0xFFFFFFFF;
+
+    private final List<List<Widget>> screens;
+    private final List<String> activities;
+    private final List<String> activityNames;
+
+    /**
+     * The screens passed through to reach the current screen, used by the BACK action.
+     */
+    private final Deque<Integer> backStack = new ArrayDeque<>();
+
+    /**
+     * The trace entries since the last call of {@link #drainTrace()}.
+     */
+    private long[] trace = new long[64];
+    private int traceLength = 0;
+
+    private final PackedScreenshotCache screenshots
+            = new PackedScreenshotCache(SCREENSHOT_CACHE_SIZE);
+
+    private int currentScreen = 0;
+    private boolean inForeground = true;
+    private boolean alive = true;
+    private int executedActions = 0;
+
+    /**
+     * Creates a representation layer replaying the given screens, starting with the first one.
+     *
+     * @param screens The widgets of the recorded screens.
+     * @param activities The activity of each screen in the format 'package/.Activity'.
+     */
+    public FakeRepresentationLayer(List<List<Widget>> screens, List<String> activities) {
+
+        if (screens.isEmpty() || screens.size() != activities.size()) {
+            throw new IllegalArgumentException("Each screen needs to be assigned an activity!");
+        }
+
+        this.screens = screens;
+        this.activities = activities;
+        this.activityNames = Collections.unmodifiableList(
+                new ArrayList<>(new LinkedHashSet<>(activities)));
+    }
+
+    /**
+     * Creates a representation layer replaying synthetic screens, where two consecutive screens
+     * share an activity.
+     *
+     * @param numberOfScreens The number of screens of the app.
+     * @param numberOfWidgets The (approximate) number of widgets per screen.
+     * @param seed The seed for generating the screens.
+     * @return Returns the representation layer.
+     */
+    public static FakeRepresentationLayer synthetic(int numberOfScreens, int numberOfWidgets,
+                                                    long seed) {
+
+        List<List<Widget>> screens = new ArrayList<>(numberOfScreens);
+        List<String> activities = new ArrayList<>(numberOfScreens);
+
+        for (int i = 0; i < numberOfScreens; i++) {
+            screens.add(WidgetTreeFixtures.generate(numberOfWidgets, 4, seed + i));
+            activities.add(i < 2 ? WidgetTreeFixtures.ACTIVITY_NAME
+                    : WidgetTreeFixtures.PACKAGE_NAME + "/.Activity" + i / 2);
+        }
+
+        return new FakeRepresentationLayer(screens, activities);
+    }
+
+    /**
+     * Brings the AUT back to its start screen, as if it was restarted.
+     */
+    public synchronized void relaunch() {
+        currentScreen = 0;
+        backStack.clear();
+        inForeground = true;
+        alive = true;
+    }
+
+    /**
+     * Returns the trace entries recorded since the last call and starts a new trace.
+     *
+     * @return Returns the trace entries, one per executed action.
+     */
+    public synchronized long[] drainTrace() {
+        long[] drained = Arrays.copyOf(trace, traceLength);
+        traceLength = 0;
+        return drained;
+    }
+
+    /**
+     * Returns the number of actions executed so far.
+     *
+     * @return Returns the number of executed actions.
+     */
+    public synchronized int getExecutedActions() {
+        return executedActions;
+    }
+
+    /**
+     * Returns the number of recorded screens.
+     *
+     * @return Returns the number of screens.
+     */
+    public int getNumberOfScreens() {
+        return screens.size();
+    }
+
+    @Override
+    public synchronized void ping() throws RemoteException {
+        if (!alive) {
+            throw new RemoteException("Representation layer has exited!");
+        }
+    }
+
+    @Override
+    public synchronized void exit() {
+        alive = false;
+    }
+
+    @Override
+    public void waitForDebugger() {
+        // nothing to wait for
+    }
+
+    @Override
+    public String getTargetPackageName() {
+        return WidgetTreeFixtures.PACKAGE_NAME;
+    }
+
+    @Override
+    public void setRandomSeed(long seed) {
+        // the replayed app is deterministic
+    }
+
+    @Override
+    public void setReplayMode() {
+        // the replayed app is deterministic
+    }
+
+    @Override
+    public void setWidgetBasedActions() {
+        // the actions are derived by the MATE client
+    }
+
+    @Override
+    public void setLogLevel(int priority) {
+        // shares the log of the MATE client
+    }
+
+    @Override
+    public void enableEventLog(String fileName) {
+        // events are only recorded by the real representation layer
+    }
+
+    @Override
+    public int getDisplayWidth() {
+        return WidgetTreeFixtures.SCREEN_WIDTH;
+    }
+
+    @Override
+    public int getDisplayHeight() {
+        return WidgetTreeFixtures.SCREEN_HEIGHT;
+    }
+
+    @Override
+    public void disableAnimations() {
+        // there are no animations
+    }
+
+    @Override
+    public boolean grantRuntimePermission(String permission) {
+        return true;
+    }
+
+    @Override
+    public boolean isCrashDialogPresent() {
+        return false;
+    }
+
+    @Override
+    public String getTargetPackageFilesDir() {
+        return "/data/data/" + WidgetTreeFixtures.PACKAGE_NAME + "/files";
+    }
+
+    @Override
+    public void sendBroadcastToTracer() {
+        // the trace is recorded in memory
+    }
+
+    @Override
+    public synchronized String getCurrentPackageName() {
+        return inForeground ? WidgetTreeFixtures.PACKAGE_NAME : LAUNCHER_PACKAGE_NAME;
+    }
+
+    @Override
+    public synchronized String getCurrentActivityName() {
+        return inForeground ? activities.get(currentScreen) : LAUNCHER_PACKAGE_NAME + "/.Launcher";
+    }
+
+    @Override
+    public List<String> getTargetPackageActivityNames() {
+        return activityNames;
+    }
+
+    @Override
+    public String executeShellCommand(String command) {
+        return "";
+    }
+
+    /**
+     * Moves to the screen the given action leads to. BACK returns to the previous screen or leaves
+     * the AUT on the start screen, HOME always leaves the AUT. Any other action either stays on the
+     * current screen or opens another one, determined by the fingerprint of the action.
+     */
+    @Override
+    public synchronized ActionExecutionResult executeAction(Action action) {
+
+        long fingerprint = mix(Fingerprints.of(action) + currentScreen);
+        record(fingerprint);
+        executedActions++;
+
+        if (!inForeground) {
+            return ActionExecutionResult.success();
+        }
+
+        ActionType actionType = action instanceof UIAction
+                ? ((UIAction) action).getActionType() : null;
+
+        if (actionType == ActionType.HOME) {
+            inForeground = false;
+        } else if (actionType == ActionType.BACK) {
+            if (backStack.isEmpty()) {
+                inForeground = false;
+            } else {
+                currentScreen = backStack.pop();
+            }
+        } else if ((fingerprint & 1) != 0) {
+            // roughly every second action opens another screen
+            int nextScreen = (int) Long.remainderUnsigned(fingerprint >>> 1, screens.size());
+            if (nextScreen != currentScreen) {
+                backStack.push(currentScreen);
+                currentScreen = nextScreen;
+            }
+        }
+
+        return ActionExecutionResult.success();
+    }
+
+    private void record(long fingerprint) {
+        if (traceLength == trace.length) {
+            trace = Arrays.copyOf(trace, traceLength * 2);
+        }
+        trace[traceLength++] = fingerprint;
+    }
+
+    /**
+     * The finalizer of SplitMix64, spreads the bits of the fingerprint.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    @Override
+    public boolean clickUiObjectWithText(String text) {
+        return false;
+    }
+
+    @Override
+    public boolean executeAssertion(EspressoAssertion assertion) {
+        return true;
+    }
+
+    @Override
+    public synchronized List<Widget> getCurrentScreenWidgets() {
+        return inForeground ? new ArrayList<>(screens.get(currentScreen))
+                : new ArrayList<Widget>();
+    }
+
+    @Override
+    public List<InstrumentationTestAction> getCurrentScreenInstrumentationTestActions() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public EspressoScreenSummary getCurrentEspressoScreenSummary() {
+        return null;
+    }
+
+    @Override
+    public int getTopWindowType() {
+        return 0;
+    }
+
+    @Override
+    public synchronized boolean captureScreenshot(String stateId, boolean persist) {
+        screenshots.put(stateId, render(inForeground ? screens.get(currentScreen)
+                : Collections.<Widget>emptyList()));
+        return true;
+    }
+
+    @Override
+    public ParcelFileDescriptor getScreenshot(String stateId) {
+        int[] screenshot = screenshots.get(stateId);
+
+        try {
+            return screenshot == null ? null : ScreenshotTransfer.send(screenshot);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public List<String> takePersistedScreenshots() {
+        // screenshots are never written to files
+        return new ArrayList<>();
+    }
+
+    /**
+     * Draws the visible widgets as filled rectangles in the packed format of the real
+     * representation layer, i.e. width, height and scale followed by the downsampled pixels. The
+     * widgets are given in BFS order, hence children are drawn on top of their parents.
+     */
+    private static int[] render(List<Widget> widgets) {
+
+        int width = WidgetTreeFixtures.SCREEN_WIDTH / SCREENSHOT_SCALE;
+        int height = WidgetTreeFixtures.SCREEN_HEIGHT / SCREENSHOT_SCALE;
+
+        int[] packed = new int[3 + width * height];
+        packed[0] = width;
+        packed[1] = height;
+        packed[2] = SCREENSHOT_SCALE;
+        Arrays.fill(packed, 3, packed.length, BACKGROUND_COLOUR);
+
+        for (Widget widget : widgets) {
+
+            if (!widget.isVisible()) {
+                continue;
+            }
+
+            int colour = 0xFF000000 | Objects.hash(widget.getClazz(), widget.getIndex());
+
+            // a pixel of the downsampled screenshot is sampled at the top left corner of its cell
+            int x1 = Math.max(0, (widget.getX1() + SCREENSHOT_SCALE - 1) / SCREENSHOT_SCALE);
+            int y1 = Math.max(0, (widget.getY1() + SCREENSHOT_SCALE - 1) / SCREENSHOT_SCALE);
+            int x2 = Math.min(width, (widget.getX2() + SCREENSHOT_SCALE - 1) / SCREENSHOT_SCALE);
+            int y2 = Math.min(height, (widget.getY2() + SCREENSHOT_SCALE - 1) / SCREENSHOT_SCALE);
+
+            for (int y = y1; y < y2; y++) {
+                Arrays.fill(packed, 3 + y * width + x1, 3 + y * width + Math.max(x1, x2), colour);
+            }
+        }
+
+        return packed;
+    }
+
+    @Override
+    public IBinder asBinder() {
+        // there is no process boundary to cross
+        return null;
+    }
+}
@@ -0,0 +1,86 @@
+package org.mate.benchmarks.fixtures;
+
+import org.mate.commons.interaction.action.espresso.InstrumentationTestAction;
+import org.mate.commons.interaction.action.ui.MotifAction;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.commons.state.espresso.EspressoScreenSummary;
+import org.mate.state.IScreenState;
+import org.mate.state.ScreenStateType;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A screen state that solely consists of a list of widgets, which is all the state equivalence
+ * checks look at.
+ */
+public class FixtureScreenState implements IScreenState {
+
+    private final String packageName;
+    private final String activityName;
+    private final List<Widget> widgets;
+    private String id;
+
+    public FixtureScreenState(String packageName, String activityName, List<Widget> widgets) {
+        this.packageName = packageName;
+        this.activityName = activityName;
+        this.widgets = widgets;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String stateId) {
+        this.id = stateId;
+    }
+
+    @Override
+    public List<Widget> getWidgets() {
+        return widgets;
+    }
+
+    @Override
+    public List<UIAction> getActions() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<WidgetAction> getWidgetActions() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<MotifAction> getMotifActions() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public List<InstrumentationTestAction> getInstrumentationTestActions() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public EspressoScreenSummary getEspressoScreenSummary() {
+        return null;
+    }
+
+    @Override
+    public String getActivityName() {
+        return activityName;
+    }
+
+    @Override
+    public String getPackageName() {
+        return packageName;
+    }
+
+    @Override
+    public ScreenStateType getType() {
+        return ScreenStateType.ACTION_SCREEN_STATE;
+    }
+}
@@ -0,0 +1,88 @@
+package org.mate.benchmarks.fixtures;
+
+import android.os.Build;
+import android.os.SystemProperties;
+import android.util.Log;
+
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.commons.utils.MATELog;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prepares the host JVM for running MATE code outside of an Android device.
+ * <p>
+ * Logging is turned off, since {@link Log} is backed by native code, and the {@link Build}
+ * constants are initialised from mocked system properties for the same reason. Every benchmark
+ * should call {@link #initialise()} in its setup method.
+ */
+public final class HostRuntime {
+
+    /**
+     * The API level the MATE code sees, i.e. the one of the Robolectric android-all jar.
+     */
+    public static final int SDK_VERSION = 31;
+
+    private static boolean initialised = false;
+
+    private HostRuntime() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Prepares the host JVM, subsequent calls have no effect.
+     */
+    public static synchronized void initialise() {
+
+        if (initialised) {
+            return;
+        }
+
+        MATELog.setLevel(Log.ASSERT);
+
+        try (MockedStatic<SystemProperties> ignored
+                     = Mockito.mockStatic(SystemProperties.class, HostRuntime::systemProperty)) {
+            // the constants are computed once when the class gets initialised
+            if (Build.VERSION.SDK_INT != SDK_VERSION) {
+                throw new IllegalStateException("Couldn't initialise the Build constants!");
+            }
+        }
+
+        Registry.registerProperties(new Properties(new HashMap<>()));
+        initialised = true;
+    }
+
+    /**
+     * Registers a fresh set of properties.
+     *
+     * @param properties The properties overriding the defaults.
+     */
+    public static void registerProperties(Map<String, String> properties) {
+        initialise();
+        Registry.registerProperties(new Properties(properties));
+    }
+
+    /**
+     * Answers a lookup of a system property with its default value.
+     */
+    private static Object systemProperty(InvocationOnMock invocation) throws Throwable {
+
+        Object[] arguments = invocation.getArguments();
+
+        if (arguments.length > 0 && "ro.build.version.sdk".equals(arguments[0])) {
+            return SDK_VERSION;
+        } else if (arguments.length > 1) {
+            // the lookups with a default value
+            return arguments[1];
+        } else if (invocation.getMethod().getReturnType() == String.class) {
+            return "";
+        } else {
+            return Mockito.RETURNS_DEFAULTS.answer(invocation);
+        }
+    }
+}
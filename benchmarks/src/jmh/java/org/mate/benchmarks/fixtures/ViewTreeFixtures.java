@@ -0,0 +1,68 @@
+package org.mate.benchmarks.fixtures;
+
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.test.espresso.Root;
+
+import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTree;
+import org.mate.commons.mock.MockTextView;
+import org.mate.commons.mock.MockViewGroup;
+import org.mate.commons.mock.MockWindowRoot;
+
+/**
+ * Generates Espresso view trees out of the mock views of the commons unit tests.
+ */
+public final class ViewTreeFixtures {
+
+    private ViewTreeFixtures() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Builds a list-like screen where every row has the same structure and resource IDs, and
+     * rows can only be told apart by the text of one of their children. This is the worst case
+     * for finding unequivocal matcher combinations.
+     *
+     * @param rows The number of rows in the list.
+     * @return Returns the view tree of the screen.
+     */
+    public static EspressoViewTree listScreen(int rows) {
+
+        HostRuntime.initialise();
+
+        MockViewGroup list = new MockViewGroup().withId(10);
+
+        for (int i = 0; i < rows; i++) {
+            TextView title = new MockTextView().withId(32).withText("Item " + i).getView();
+            TextView label = new MockTextView().withId(42).withText("Label").getView();
+            ViewGroup row = new MockViewGroup().withId(20).withChild(title).withChild(label).getView();
+            list.withChild(row);
+        }
+
+        Root root = new MockWindowRoot().withDecorView(list.getView()).getRoot();
+        return new EspressoViewTree(root, "com.activity.name");
+    }
+
+    /**
+     * Builds a form-like screen where every view has its own resource ID.
+     *
+     * @param fields The number of labelled fields.
+     * @return Returns the view tree of the screen.
+     */
+    public static EspressoViewTree formScreen(int fields) {
+
+        HostRuntime.initialise();
+
+        MockViewGroup form = new MockViewGroup().withId(10);
+
+        for (int i = 0; i < fields; i++) {
+            TextView label = new MockTextView().withId(1000 + i).withText("Field " + i).getView();
+            TextView value = new MockTextView().withId(2000 + i).withText("").getView();
+            form.withChild(new MockViewGroup().withId(3000 + i).withChild(label).withChild(value).getView());
+        }
+
+        Root root = new MockWindowRoot().withDecorView(form.getView()).getRoot();
+        return new EspressoViewTree(root, "com.activity.name");
+    }
+}
@@ -0,0 +1,186 @@
+package org.mate.benchmarks.fixtures;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Rect;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import org.mate.commons.interaction.action.ui.Widget;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * Generates synthetic widget trees resembling the ui hierarchies of real apps: a layout
+ * hierarchy of a given depth whose leaves are text views, buttons and input fields.
+ */
+public final class WidgetTreeFixtures {
+
+    public static final String PACKAGE_NAME = "com.example.app";
+    public static final String ACTIVITY_NAME = PACKAGE_NAME + "/.MainActivity";
+
+    private static final String[] LAYOUT_CLASSES = {
+            "android.widget.LinearLayout",
+            "android.widget.FrameLayout",
+            "androidx.constraintlayout.widget.ConstraintLayout",
+            "androidx.recyclerview.widget.RecyclerView"
+    };
+
+    private static final String[] LEAF_CLASSES = {
+            "android.widget.TextView",
+            "android.widget.Button",
+            "android.widget.EditText",
+            "android.widget.ImageView",
+            "android.widget.CheckBox"
+    };
+
+    public static final int SCREEN_WIDTH = 1080;
+    public static final int SCREEN_HEIGHT = 1920;
+
+    private WidgetTreeFixtures() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Generates a widget tree and returns its widgets in BFS order, i.e. the way the screen
+     * state of a ui hierarchy stores them.
+     *
+     * @param numberOfWidgets The (approximate) number of widgets.
+     * @param fanOut The number of children of each layout.
+     * @param seed The seed for the random texts and classes.
+     * @return Returns the widgets of the generated tree, starting with the root.
+     */
+    public static List<Widget> generate(int numberOfWidgets, int fanOut, long seed) {
+
+        HostRuntime.initialise();
+
+        Random random = new Random(seed);
+        List<Widget> widgets = new ArrayList<>(numberOfWidgets);
+        Queue<Widget> layouts = new LinkedList<>();
+
+        Widget root = new Widget(null, node(LAYOUT_CLASSES[0], "",
+                new Rect(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT), true), ACTIVITY_NAME, 0, 0, 0);
+        widgets.add(root);
+        layouts.add(root);
+
+        while (widgets.size() < numberOfWidgets && !layouts.isEmpty()) {
+
+            Widget parent = layouts.poll();
+            int width = (parent.getX2() - parent.getX1()) / fanOut;
+
+            for (int localIndex = 0; localIndex < fanOut && widgets.size() < numberOfWidgets; localIndex++) {
+
+                Rect bounds = new Rect(parent.getX1() + localIndex * width, parent.getY1(),
+                        parent.getX1() + (localIndex + 1) * width, parent.getY2());
+
+                // roughly a third of the children are layouts themselves
+                boolean isLayout = random.nextInt(3) == 0;
+                String clazz = isLayout ? LAYOUT_CLASSES[random.nextInt(LAYOUT_CLASSES.length)]
+                        : LEAF_CLASSES[random.nextInt(LEAF_CLASSES.length)];
+                String text = isLayout ? "" : "Text " + random.nextInt(numberOfWidgets);
+
+                Widget widget = new Widget(parent, node(clazz, text, bounds, random.nextInt(10) > 0),
+                        ACTIVITY_NAME, parent.getDepth() + 1, widgets.size(), localIndex);
+                parent.addChild(widget);
+                widgets.add(widget);
+
+                if (isLayout) {
+                    layouts.add(widget);
+                }
+            }
+
+            if (layouts.isEmpty() && widgets.size() < numberOfWidgets) {
+                // keep growing the tree below the last widget
+                layouts.add(widgets.get(widgets.size() - 1));
+            }
+        }
+
+        return widgets;
+    }
+
+    /**
+     * Returns a copy of the given widget tree where the text of some widgets differs, e.g. the
+     * same screen after typing into an input field.
+     *
+     * @param widgets The widgets of the original tree.
+     * @param changedWidgets The number of widgets whose text differs.
+     * @return Returns the widgets of the modified tree.
+     */
+    public static List<Widget> withChangedTexts(List<Widget> widgets, int changedWidgets) {
+
+        List<Widget> copy = new ArrayList<>(widgets.size());
+
+        for (int i = 0; i < widgets.size(); i++) {
+            Widget widget = widgets.get(i);
+            boolean changed = i >= widgets.size() - changedWidgets;
+
+            Rect bounds = new Rect(widget.getX1(), widget.getY1(), widget.getX2(), widget.getY2());
+            String text = changed ? widget.getText() + " (changed)" : widget.getText();
+
+            copy.add(new Widget(null, node(widget.getClazz(), text, bounds, widget.isVisible()),
+                    ACTIVITY_NAME, widget.getDepth(), widget.getIndex(), widget.getLocalIndex()));
+        }
+
+        return copy;
+    }
+
+    /**
+     * Generates a dense layout of buttons, e.g. a keypad or a grid of tiles, where the buttons
+     * are separated by small, randomly sized gaps or even touch each other.
+     *
+     * @param numberOfWidgets The number of buttons.
+     * @param seed The seed for the gaps.
+     * @return Returns the buttons in drawing order.
+     */
+    public static List<Widget> denseLayout(int numberOfWidgets, long seed) {
+
+        HostRuntime.initialise();
+
+        Random random = new Random(seed);
+        List<Widget> widgets = new ArrayList<>(numberOfWidgets);
+
+        int columns = (int) Math.ceil(Math.sqrt(numberOfWidgets * SCREEN_WIDTH / (double) SCREEN_HEIGHT));
+        int rows = (numberOfWidgets + columns - 1) / columns;
+        int width = SCREEN_WIDTH / columns;
+        int height = SCREEN_HEIGHT / rows;
+
+        for (int i = 0; i < numberOfWidgets; i++) {
+            int x = (i % columns) * width;
+            int y = (i / columns) * height;
+            Rect bounds = new Rect(x + random.nextInt(3), y + random.nextInt(3),
+                    x + width - random.nextInt(3), y + height - random.nextInt(3));
+
+            AccessibilityNodeInfo node = node("android.widget.Button", "Button " + i, bounds, true);
+            when(node.isImportantForAccessibility()).thenReturn(true);
+            widgets.add(new Widget(null, node, ACTIVITY_NAME, 1, i, i));
+        }
+
+        return widgets;
+    }
+
+    private static AccessibilityNodeInfo node(String clazz, String text, Rect bounds, boolean visible) {
+
+        AccessibilityNodeInfo node = mock(AccessibilityNodeInfo.class);
+        when(node.getPackageName()).thenReturn(PACKAGE_NAME);
+        when(node.getClassName()).thenReturn(clazz);
+        when(node.getText()).thenReturn(text);
+        when(node.isVisibleToUser()).thenReturn(visible);
+        when(node.isEnabled()).thenReturn(true);
+        when(node.isClickable()).thenReturn(clazz.endsWith("Button") || clazz.endsWith("CheckBox"));
+        when(node.isEditable()).thenReturn(clazz.endsWith("EditText"));
+
+        doAnswer(invocation -> {
+            Rect rect = invocation.getArgument(0);
+            rect.set(bounds);
+            return null;
+        }).when(node).getBoundsInScreen(any(Rect.class));
+
+        return node;
+    }
+}
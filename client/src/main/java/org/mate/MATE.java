@@ -4,8 +4,8 @@ import android.content.Context;
 import android.os.StrictMode;
 
 import org.mate.commons.utils.MATELog;
-import org.mate.commons.utils.MersenneTwister;
 import org.mate.commons.utils.TimeoutRun;
+import org.mate.commons.utils.Xoshiro256StarStar;
 import org.mate.commons.utils.manifest.Manifest;
 import org.mate.exploration.Algorithm;
 import org.mate.interaction.DeviceMgr;
@@ -15,6 +15,8 @@ import org.mate.service.MATEService;
 import org.mate.utils.coverage.Coverage;
 import org.mate.utils.coverage.CoverageUtils;
 import org.mate.utils.manifest.ManifestParser;
+import org.mate.utils.metrics.ExplorationMetrics;
+import org.mate.utils.testcase.TestCasePipeline;
 import org.xmlpull.v1.XmlPullParserException;
 
 import java.io.BufferedReader;
@@ -40,6 +42,9 @@ public class MATE {
         StrictMode.ThreadPolicy policy = new StrictMode.ThreadPolicy.Builder().permitAll().build();
         StrictMode.setThreadPolicy(policy);
 
+        // write log messages from a background thread
+        MATELog.startAsyncWriter();
+
         Integer serverPort = null;
         try (FileInputStream fis = context.openFileInput("port");
              BufferedReader reader = new BufferedReader(new InputStreamReader(fis))) {
@@ -61,12 +66,13 @@ public class MATE {
         }
         Registry.registerEnvironmentManager(environmentManager);
         Registry.registerProperties(new Properties(environmentManager.getProperties()));
+        MATELog.setLevel(Properties.LOG_LEVEL().getPriority());
 
         if (Properties.RANDOM_SEED() == null) {
             Properties.setProperty("random_seed", System.currentTimeMillis());
         }
 
-        Random rnd = new MersenneTwister(Properties.RANDOM_SEED());
+        Random rnd = new Xoshiro256StarStar(Properties.RANDOM_SEED());
         Registry.registerRandom(rnd);
 
         MATELog.log_acc("TIMEOUT: " + Properties.TIMEOUT());
@@ -156,6 +162,11 @@ public class MATE {
             e.printStackTrace();
         } finally {
 
+            // write the test cases that are still in the pipeline
+            TestCasePipeline.shutdown();
+
+            ExplorationMetrics.report();
+
             if (Properties.COVERAGE() != Coverage.NO_COVERAGE) {
                 CoverageUtils.logFinalCoverage();
             }
@@ -177,6 +188,8 @@ public class MATE {
             } catch (IOException e) {
                 e.printStackTrace();
             }
+
+            MATELog.stopAsyncWriter();
         }
     }
 
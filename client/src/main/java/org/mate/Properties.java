@@ -1,5 +1,6 @@
 package org.mate;
 
+import org.mate.commons.utils.LogLevel;
 import org.mate.commons.utils.MATELog;
 import org.mate.exploration.genetic.algorithm.Algorithm;
 import org.mate.exploration.genetic.chromosome_factory.ChromosomeFactory;
@@ -15,45 +16,47 @@ import org.mate.utils.GenericParser;
 import org.mate.utils.Objective;
 import org.mate.utils.coverage.Coverage;
 import org.mate.utils.testcase.OptimisationStrategy;
+import org.mate.utils.testcase.serialization.TestCaseFormat;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class Properties {
 
     // the timeout in minutes
     public static int TIMEOUT() {
-        return propertyOr(5);
+        return snapshot().timeout;
     }
 
     public static int ANT_GENERATION() {
-        return propertyOr(5);
+        return snapshot().antGeneration;
     }
 
     public static int ANT_NUMBER() {
-        return propertyOr(5);
+        return snapshot().antNumber;
     }
 
     public static int ANT_LENGTH() {
-        return propertyOr(8);
+        return snapshot().antLength;
     }
 
     public static float EVAPORATION_RATE() {
-        return propertyOr(0.1f);
+        return snapshot().evaporationRate;
     }
 
     public static float INITIALIZATION_PHEROMONE() {
-        return propertyOr(5.0f);
+        return snapshot().initializationPheromone;
     }
 
     public static float PROBABILITY_SELECT_BEST_ACTION() {
-        return propertyOr(0.5f);
+        return snapshot().probabilitySelectBestAction;
     }
 
     public static float BEST_ANT() {
-        return propertyOr(3);
+        return snapshot().bestAnt;
     }
 
     /**
@@ -62,7 +65,7 @@ public class Properties {
      * @return Returns the selected state equivalence check.
      */
     public static StateEquivalenceLevel STATE_EQUIVALENCE_LEVEL() {
-        return propertyOr(StateEquivalenceLevel.WIDGET);
+        return snapshot().stateEquivalenceLevel;
     }
 
     /**
@@ -71,7 +74,7 @@ public class Properties {
      * @return Returns the cosine similarity threshold.
      */
     public static float COSINE_SIMILARITY_THRESHOLD() {
-        return propertyOr(0.95f);
+        return snapshot().cosineSimilarityThreshold;
     }
 
     /**
@@ -81,14 +84,26 @@ public class Properties {
      *         is returned.
      */
     public static boolean SURROGATE_MODEL() {
-        return propertyOr(false);
+        return snapshot().surrogateModel;
+    }
+
+    /**
+     * Whether the gui model should be maintained and its states and transitions persisted across
+     * runs on the same app version, see {@link org.mate.model.fsm.store.GUIModelStore}. The model
+     * loaded from previous runs serves as fallback when moving the AUT into a certain state.
+     *
+     * @return Returns {@code true} if the gui model should be persisted, otherwise {@code false}
+     *         is returned.
+     */
+    public static boolean PERSISTENT_GUI_MODEL() {
+        return snapshot().persistentGuiModel;
     }
 
     /*
      * Intent fuzzing related properties.
      */
     public static float RELATIVE_INTENT_AMOUNT() {
-        return propertyOr(0.0f);
+        return snapshot().relativeIntentAmount;
     }
 
     /**
@@ -97,7 +112,7 @@ public class Properties {
      * @return Returns the applied optimisation strategy.
      */
     public static OptimisationStrategy OPTIMISATION_STRATEGY() {
-        return propertyOr(OptimisationStrategy.NO_OPTIMISATION);
+        return snapshot().optimisationStrategy;
     }
 
     /**
@@ -107,7 +122,7 @@ public class Properties {
      *         {@code false} is returned.
      */
     public static boolean RECORD_TEST_CASE_STATS() {
-        return propertyOr(false);
+        return snapshot().recordTestCaseStats;
     }
 
     /**
@@ -118,7 +133,28 @@ public class Properties {
      *         {@code false} is returned.
      */
     public static boolean RECORD_TEST_CASE() {
-        return propertyOr(false);
+        return snapshot().recordTestCase;
+    }
+
+    /**
+     * The format in which a {@link org.mate.model.TestCase} is recorded, see
+     * {@link #RECORD_TEST_CASE()}.
+     *
+     * @return Returns the format of recorded test cases.
+     */
+    public static TestCaseFormat TEST_CASE_FORMAT() {
+        return snapshot().testCaseFormat;
+    }
+
+    /**
+     * How many finished test cases may wait per sink for their serialization, conversion and so on,
+     * see {@link org.mate.utils.testcase.TestCasePipeline}.
+     *
+     * @return Returns the capacity of the queue per sink, or {@code 0} if test cases should be
+     *         finalized synchronously.
+     */
+    public static int TEST_CASE_PIPELINE_CAPACITY() {
+        return snapshot().testCasePipelineCapacity;
     }
 
     /**
@@ -128,7 +164,7 @@ public class Properties {
      *         after exploration, otherwise {@code false} is returned.
      */
     public static boolean GENERATE_ASSERTIONS() {
-        return propertyOr(false);
+        return snapshot().generateAssertions;
     }
 
     /**
@@ -138,14 +174,23 @@ public class Properties {
      *         otherwise {@code false} is returned.
      */
     public static boolean CONVERT_TEST_CASE_TO_ESPRESSO_TEST() {
-        return propertyOr(false);
+        return snapshot().convertTestCaseToEspressoTest;
     }
 
     /**
      * Whether MATE should take screenshots between actions when generating test cases.
      */
     public static boolean TAKE_SCREENSHOTS() {
-        return propertyOr(false);
+        return snapshot().takeScreenshots;
+    }
+
+    /**
+     * Whether screenshots should be captured and analyzed on the device instead of by the MATE
+     * server. Screenshots are then only written to the device storage if they should be kept,
+     * see {@link #TAKE_SCREENSHOTS()}, from where the MATE server pulls them in the background.
+     */
+    public static boolean ON_DEVICE_SCREENSHOTS() {
+        return snapshot().onDeviceScreenshots;
     }
 
     /*
@@ -154,7 +199,7 @@ public class Properties {
      * The delay is specified in milliseconds.
      */
     public static int ACTIONS_THROTTLE() {
-        return propertyOr(5000);
+        return snapshot().actionsThrottle;
     }
 
     /*
@@ -162,69 +207,77 @@ public class Properties {
      * The delay is specified in milliseconds.
      */
     public static int DELAY_AFTER_ACTIVITY_STARTED() {
-        return propertyOr(10000);
+        return snapshot().delayAfterActivityStarted;
+    }
+
+    /*
+     * Inserts a fixed delay between clearing the app data and restarting the app on a reset.
+     * The delay is specified in milliseconds.
+     */
+    public static int DELAY_AFTER_APP_RESET() {
+        return snapshot().delayAfterAppReset;
     }
 
     /*
      * Misc properties
      */
     public static Long RANDOM_SEED() {
-        return propertyOr(null);
+        return snapshot().randomSeed;
     }
 
     /*
      * Genetic Algorithm properties
      */
     public static int POPULATION_SIZE() {
-        return propertyOr(20);
+        return snapshot().populationSize;
     }
 
     public static int BIG_POPULATION_SIZE() {
-        return propertyOr(40);
+        return snapshot().bigPopulationSize;
     }
 
     public static int NUMBER_TESTCASES() {
-        return propertyOr(2);
+        return snapshot().numberTestcases;
     }
 
     public static int MAX_NUMBER_EVENTS() {
-        return propertyOr(50);
+        return snapshot().maxNumberEvents;
     }
 
     public static double P_CROSSOVER() {
-        return propertyOr(0.7);
+        return snapshot().pCrossover;
     }
 
     public static double P_MUTATE() {
-        return propertyOr(0.3);
+        return snapshot().pMutate;
     }
 
     public static double P_SAMPLE_RANDOM() {
-        return propertyOr(0.5);
+        return snapshot().pSampleRandom;
     }
 
     public static double P_FOCUSED_SEARCH_START() {
-        return propertyOr(0.5);
+        return snapshot().pFocusedSearchStart;
     }
 
     public static int EVO_ITERATIONS_NUMBER() {
-        return propertyOr(10);
+        return snapshot().evoIterationsNumber;
     }
 
     public static int MUTATION_RATE() {
-        return propertyOr(1);
+        return snapshot().mutationRate;
     }
 
     public static int TOURNAMENT_SIZE() {
-        return propertyOr(2);
+        return snapshot().tournamentSize;
     }
 
     public static int DEFAULT_SELECTION_SIZE() {
-        return propertyOr(2);
+        return snapshot().defaultSelectionSize;
     }
 
     public static FitnessFunction FITNESS_FUNCTION() {
-        return propertyOr(null);
+        return snapshot().fitnessFunction;
     }
 
     /**
@@ -234,31 +287,31 @@ public class Properties {
      * @return Returns the core fitness function used in the context of GE.
      */
     public static FitnessFunction GE_FITNESS_FUNCTION() {
-        return propertyOr(null);
+        return snapshot().geFitnessFunction;
     }
 
     public static SelectionFunction SELECTION_FUNCTION() {
-        return propertyOr(null);
+        return snapshot().selectionFunction;
     }
 
     public static MutationFunction MUTATION_FUNCTION() {
-        return propertyOr(null);
+        return snapshot().mutationFunction;
     }
 
     public static CrossOverFunction CROSSOVER_FUNCTION() {
-        return propertyOr(null);
+        return snapshot().crossoverFunction;
     }
 
     public static TerminationCondition TERMINATION_CONDITION() {
-        return propertyOr(null);
+        return snapshot().terminationCondition;
     }
 
     public static ChromosomeFactory CHROMOSOME_FACTORY() {
-        return propertyOr(null);
+        return snapshot().chromosomeFactory;
     }
 
     public static Algorithm ALGORITHM() {
-        return propertyOr(null);
+        return snapshot().algorithm;
     }
 
     /*
@@ -271,7 +324,7 @@ public class Properties {
      * @return Returns the coverage type that steers the exploration, defaults to activity coverage.
      */
     public static Coverage GREY_BOX_COVERAGE_CRITERION() {
-        return propertyOr(Coverage.ACTIVITY_COVERAGE);
+        return snapshot().greyBoxCoverageCriterion;
     }
 
     /**
@@ -280,7 +333,7 @@ public class Properties {
      * @return Returns the initial size of the seed corpus.
      */
     public static int SEED_CORPUS_SIZE() {
-        return propertyOr(10);
+        return snapshot().seedCorpusSize;
     }
 
     /**
@@ -289,7 +342,7 @@ public class Properties {
      * @return Returns the maximal assignable energy.
      */
     public static int MAX_ENERGY() {
-        return propertyOr(10);
+        return snapshot().maxEnergy;
     }
 
     /*
@@ -303,14 +356,14 @@ public class Properties {
      * @return Returns the objective or {@code null} if none was specified.
      */
     public static Objective OBJECTIVE() {
-        return propertyOr(null);
+        return snapshot().objective;
     }
 
     /*
      * Coverage properties
      */
     public static Coverage COVERAGE() {
-        return propertyOr(Coverage.NO_COVERAGE);
+        return snapshot().coverage;
     }
 
     /*
@@ -319,42 +372,42 @@ public class Properties {
 
     // the graph type, e.g. CFG or SGD
     public static GraphType GRAPH_TYPE() {
-        return propertyOr(null);
+        return snapshot().graphType;
     }
 
     // the path to the APK file
     public static String APK() {
-        return propertyOr(null);
+        return snapshot().apk;
     }
 
     // specifies the method name when an intra CFG should be constructed
     public static String METHOD_NAME() {
-        return propertyOr(null);
+        return snapshot().methodName;
     }
 
     // whether basic blocks should be used or not
     public static boolean BASIC_BLOCKS() {
-        return propertyOr(true);
+        return snapshot().basicBlocks;
     }
 
     // whether only AUT classes should be resolved
     public static boolean RESOLVE_ONLY_AUT_CLASSES() {
-        return propertyOr(true);
+        return snapshot().resolveOnlyAutClasses;
     }
 
     // whether ART classes should be excluded when constructing the graph
     public static boolean EXCLUDE_ART_CLASSES() {
-        return propertyOr(true);
+        return snapshot().excludeArtClasses;
     }
 
     // how and which target vertex should be selected, e.g. a random branch vertex
     public static String TARGET() {
-        return propertyOr("no_target");
+        return snapshot().target;
     }
 
     // whether to draw raw graph or 'extended' graph
     public static boolean DRAW_RAW_GRAPH() {
-        return propertyOr(true);
+        return snapshot().drawRawGraph;
     }
 
     /*
@@ -363,12 +416,34 @@ public class Properties {
 
     // Primitive actions or widget based actions?
     public static boolean WIDGET_BASED_ACTIONS() {
-        return propertyOr(true);
+        return snapshot().widgetBasedActions;
     }
 
     // stack trace
     public static boolean RECORD_STACK_TRACE() {
-        return propertyOr(false);
+        return snapshot().recordStackTrace;
+    }
+
+    /**
+     * The minimum level of the messages logged by MATE, both by the client and the representation
+     * layer.
+     *
+     * @return Returns the log level.
+     */
+    public static LogLevel LOG_LEVEL() {
+        return snapshot().logLevel;
+    }
+
+    /**
+     * Whether the representation layer should record its binary event log, see
+     * {@link org.mate.commons.utils.MATEEventLog}. A new log file is written to the files
+     * directory of the representation layer each time it is launched.
+     *
+     * @return Returns {@code true} if the event log should be recorded, otherwise {@code false}
+     *         is returned.
+     */
+    public static boolean EVENT_LOG() {
+        return snapshot().eventLog;
     }
 
     /*
@@ -376,15 +451,15 @@ public class Properties {
      */
 
     public static int GE_SEQUENCE_LENGTH() {
-        return propertyOr(100);
+        return snapshot().geSequenceLength;
     }
 
     public static int GE_TEST_CASE_ENDING_BIAS_PER_TEN_THOUSAND() {
-        return propertyOr(AndroidListBasedBiasedMapping.BIAS_50_PERCENT);
+        return snapshot().geTestCaseEndingBiasPerTenThousand;
     }
 
     public static int GE_MUTATION_COUNT() {
-        return propertyOr(3);
+        return snapshot().geMutationCount;
     }
 
     /*
@@ -398,7 +473,7 @@ public class Properties {
      * @return Returns the novelty threshold T.
      */
     public static double NOVELTY_THRESHOLD() {
-        return propertyOr(0.0);
+        return snapshot().noveltyThreshold;
     }
 
     /**
@@ -407,7 +482,7 @@ public class Properties {
      * @return Returns the archive size L.
      */
     public static int ARCHIVE_LIMIT() {
-        return propertyOr(10);
+        return snapshot().archiveLimit;
     }
 
     /**
@@ -417,7 +492,7 @@ public class Properties {
      * @return Returns the number of nearest neighbours k.
      */
     public static int NEAREST_NEIGHBOURS() {
-        return propertyOr(3);
+        return snapshot().nearestNeighbours;
     }
 
     /**
@@ -426,7 +501,7 @@ public class Properties {
      * @return Returns {@code true} if quick launch is enabled, otherwise {@code false} is returned.
      */
     public static boolean QUICK_LAUNCH() {
-        return propertyOr(true);
+        return snapshot().quickLaunch;
     }
 
     /*
@@ -439,7 +514,7 @@ public class Properties {
      * @return Returns the epsilon used in the learning policy.
      */
     public static double EPSILON() {
-        return propertyOr(0.1d);
+        return snapshot().epsilon;
     }
 
     /**
@@ -448,7 +523,7 @@ public class Properties {
      * @return Returns the alpha used in the SARSA equation.
      */
     public static double ALPHA() {
-        return propertyOr(0.8d);
+        return snapshot().alpha;
     }
 
     /**
@@ -457,7 +532,7 @@ public class Properties {
      * @return Returns the gamma used in the SARSA equation.
      */
     public static double GAMMA() {
-        return propertyOr(0.8d);
+        return snapshot().gamma;
     }
 
     /**
@@ -466,7 +541,7 @@ public class Properties {
      * @return Returns the minL constant.
      */
     public static int MIN_L() {
-        return propertyOr(20);
+        return snapshot().minL;
     }
 
     /**
@@ -475,7 +550,7 @@ public class Properties {
      * @return Returns the maxL constant.
      */
     public static int MAX_L() {
-        return propertyOr(50);
+        return snapshot().maxL;
     }
 
     /*
@@ -492,7 +567,7 @@ public class Properties {
      * @return Returns the epsilon used in the greedy learning policy.
      */
     public static float ABT_EPSILON() {
-        return propertyOr(0.8f);
+        return snapshot().abtEpsilon;
     }
 
     /**
@@ -501,7 +576,7 @@ public class Properties {
      * @return Returns the static discount factor.
      */
     public static float ABT_DISCOUNT_FACTOR() {
-        return propertyOr(0.9f);
+        return snapshot().abtDiscountFactor;
     }
 
     /**
@@ -510,7 +585,7 @@ public class Properties {
      * @return Returns the maximal number of episodes.
      */
     public static int ABT_MAX_NUM_OF_EPISODES() {
-        return propertyOr(100);
+        return snapshot().abtMaxNumOfEpisodes;
     }
 
     /**
@@ -519,7 +594,7 @@ public class Properties {
      * @return Returns the maximal episode length.
      */
     public static int ABT_MAX_EPISODE_LENGTH() {
-        return propertyOr(50);
+        return snapshot().abtMaxEpisodeLength;
     }
 
     /*
@@ -536,7 +611,7 @@ public class Properties {
      * @return Returns the probability for selecting the home button.
      */
     public static float P_HOME_BUTTON() {
-        return propertyOr(0.05f);
+        return snapshot().pHomeButton;
     }
 
     /**
@@ -545,7 +620,7 @@ public class Properties {
      * @return Returns the initial q-value for a new action.
      */
     public static float INITIAL_Q_VALUE() {
-        return propertyOr(500f);
+        return snapshot().initialQValue;
     }
 
     /**
@@ -554,7 +629,7 @@ public class Properties {
      * @return Returns the maximal number of episodes.
      */
     public static int MAX_NUM_OF_EPISODES() {
-        return propertyOr(100);
+        return snapshot().maxNumOfEpisodes;
     }
 
     /**
@@ -563,7 +638,7 @@ public class Properties {
      * @return Returns the maximal episode length.
      */
     public static int MAX_EPISODE_LENGTH() {
-        return propertyOr(50);
+        return snapshot().maxEpisodeLength;
     }
 
     /*
@@ -571,30 +646,30 @@ public class Properties {
      */
 
     /**
-     * Looks up the value of the property in the Properties object stored in the Registry using the
-     * name of the caller method as the key of the property. If no property with that key is stored
-     * the given default value will be returned.
+     * Returns the current snapshot of the properties stored in the Registry. The snapshot is
+     * swapped atomically whenever a property changes, so callers always see a consistent view.
      *
-     * @param defaultValue Default value of the property
-     * @param <T> Type of the property
-     * @return Value of the property if stored otherwise the given default value
+     * @return Returns the current property snapshot.
      */
-    @SuppressWarnings("unchecked")
-    private static <T> T propertyOr(T defaultValue) {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        String callerName = stackTrace[3].getMethodName().toLowerCase();
-        Properties propertiesInstance = Registry.getProperties();
-        if (propertiesInstance.store.containsKey(callerName)) {
-            return ((T) propertiesInstance.store.get(callerName));
-        }
-        return defaultValue;
+    private static PropertySnapshot snapshot() {
+        return Registry.getProperties().snapshot.get();
     }
 
+    /**
+     * The parsed properties, keyed by the lower case name of the property. Only accessed while
+     * holding the lock of this instance.
+     */
     private final Map<String, Object> store;
 
+    /**
+     * The snapshot built from the current content of {@link #store}.
+     */
+    private final AtomicReference<PropertySnapshot> snapshot = new AtomicReference<>();
+
     public Properties(Map<String, String> properties) {
         store = new HashMap<>();
         readProperties(properties);
+        snapshot.set(new PropertySnapshot(store));
     }
 
     /**
@@ -605,7 +680,11 @@ public class Properties {
      */
     // TODO: Remove once all properties are enforced via the mate.properties file!
     public static void setProperty(String key, Object value) {
-        Registry.getProperties().store.put(key, value);
+        Properties properties = Registry.getProperties();
+        synchronized (properties) {
+            properties.store.put(key, value);
+            properties.snapshot.set(new PropertySnapshot(properties.store));
+        }
     }
 
     private void readProperties(Map<String, String> properties) {
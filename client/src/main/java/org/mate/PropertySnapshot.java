@@ -0,0 +1,224 @@
+package org.mate;
+
+import org.mate.commons.utils.LogLevel;
+import org.mate.exploration.genetic.algorithm.Algorithm;
+import org.mate.exploration.genetic.chromosome_factory.ChromosomeFactory;
+import org.mate.exploration.genetic.crossover.CrossOverFunction;
+import org.mate.exploration.genetic.fitness.FitnessFunction;
+import org.mate.exploration.genetic.mutation.MutationFunction;
+import org.mate.exploration.genetic.selection.SelectionFunction;
+import org.mate.exploration.genetic.termination.TerminationCondition;
+import org.mate.exploration.genetic.util.ge.AndroidListBasedBiasedMapping;
+import org.mate.graph.GraphType;
+import org.mate.state.equivalence.StateEquivalenceLevel;
+import org.mate.utils.Objective;
+import org.mate.utils.coverage.Coverage;
+import org.mate.utils.testcase.OptimisationStrategy;
+import org.mate.utils.testcase.serialization.TestCaseFormat;
+
+import java.util.Map;
+
+/**
+ * An immutable snapshot of the values of all properties, with the defaults applied. The values
+ * are resolved once when the snapshot is built, so reading a property boils down to reading a
+ * final field. See {@link Properties} for the meaning of each property.
+ */
+final class PropertySnapshot {
+
+    final int timeout;
+    final int antGeneration;
+    final int antNumber;
+    final int antLength;
+    final float evaporationRate;
+    final float initializationPheromone;
+    final float probabilitySelectBestAction;
+    final float bestAnt;
+    final StateEquivalenceLevel stateEquivalenceLevel;
+    final float cosineSimilarityThreshold;
+    final boolean surrogateModel;
+    final boolean persistentGuiModel;
+    final float relativeIntentAmount;
+    final OptimisationStrategy optimisationStrategy;
+    final boolean recordTestCaseStats;
+    final boolean recordTestCase;
+    final TestCaseFormat testCaseFormat;
+    final int testCasePipelineCapacity;
+    final boolean generateAssertions;
+    final boolean convertTestCaseToEspressoTest;
+    final boolean takeScreenshots;
+    final boolean onDeviceScreenshots;
+    final int actionsThrottle;
+    final int delayAfterActivityStarted;
+    final int delayAfterAppReset;
+    final Long randomSeed;
+    final int populationSize;
+    final int bigPopulationSize;
+    final int numberTestcases;
+    final int maxNumberEvents;
+    final double pCrossover;
+    final double pMutate;
+    final double pSampleRandom;
+    final double pFocusedSearchStart;
+    final int evoIterationsNumber;
+    final int mutationRate;
+    final int tournamentSize;
+    final int defaultSelectionSize;
+    final FitnessFunction fitnessFunction;
+    final FitnessFunction geFitnessFunction;
+    final SelectionFunction selectionFunction;
+    final MutationFunction mutationFunction;
+    final CrossOverFunction crossoverFunction;
+    final TerminationCondition terminationCondition;
+    final ChromosomeFactory chromosomeFactory;
+    final Algorithm algorithm;
+    final Coverage greyBoxCoverageCriterion;
+    final int seedCorpusSize;
+    final int maxEnergy;
+    final Objective objective;
+    final Coverage coverage;
+    final GraphType graphType;
+    final String apk;
+    final String methodName;
+    final boolean basicBlocks;
+    final boolean resolveOnlyAutClasses;
+    final boolean excludeArtClasses;
+    final String target;
+    final boolean drawRawGraph;
+    final boolean widgetBasedActions;
+    final boolean recordStackTrace;
+    final LogLevel logLevel;
+    final boolean eventLog;
+    final int geSequenceLength;
+    final int geTestCaseEndingBiasPerTenThousand;
+    final int geMutationCount;
+    final double noveltyThreshold;
+    final int archiveLimit;
+    final int nearestNeighbours;
+    final boolean quickLaunch;
+    final double epsilon;
+    final double alpha;
+    final double gamma;
+    final int minL;
+    final int maxL;
+    final float abtEpsilon;
+    final float abtDiscountFactor;
+    final int abtMaxNumOfEpisodes;
+    final int abtMaxEpisodeLength;
+    final float pHomeButton;
+    final float initialQValue;
+    final int maxNumOfEpisodes;
+    final int maxEpisodeLength;
+
+    /**
+     * Builds a new snapshot from the given parsed properties.
+     *
+     * @param store The parsed properties, keyed by the lower case name of the property.
+     */
+    PropertySnapshot(Map<String, Object> store) {
+        timeout = valueOr(store, "timeout", 5);
+        antGeneration = valueOr(store, "ant_generation", 5);
+        antNumber = valueOr(store, "ant_number", 5);
+        antLength = valueOr(store, "ant_length", 8);
+        evaporationRate = valueOr(store, "evaporation_rate", 0.1f);
+        initializationPheromone = valueOr(store, "initialization_pheromone", 5.0f);
+        probabilitySelectBestAction = valueOr(store, "probability_select_best_action", 0.5f);
+        bestAnt = valueOr(store, "best_ant", 3f);
+        stateEquivalenceLevel = valueOr(store, "state_equivalence_level",
+                StateEquivalenceLevel.WIDGET);
+        cosineSimilarityThreshold = valueOr(store, "cosine_similarity_threshold", 0.95f);
+        surrogateModel = valueOr(store, "surrogate_model", false);
+        persistentGuiModel = valueOr(store, "persistent_gui_model", false);
+        relativeIntentAmount = valueOr(store, "relative_intent_amount", 0.0f);
+        optimisationStrategy = valueOr(store, "optimisation_strategy",
+                OptimisationStrategy.NO_OPTIMISATION);
+        recordTestCaseStats = valueOr(store, "record_test_case_stats", false);
+        recordTestCase = valueOr(store, "record_test_case", false);
+        testCaseFormat = valueOr(store, "test_case_format", TestCaseFormat.XML);
+        testCasePipelineCapacity = valueOr(store, "test_case_pipeline_capacity", 8);
+        generateAssertions = valueOr(store, "generate_assertions", false);
+        convertTestCaseToEspressoTest = valueOr(store, "convert_test_case_to_espresso_test", false);
+        takeScreenshots = valueOr(store, "take_screenshots", false);
+        onDeviceScreenshots = valueOr(store, "on_device_screenshots", false);
+        actionsThrottle = valueOr(store, "actions_throttle", 5000);
+        delayAfterActivityStarted = valueOr(store, "delay_after_activity_started", 10000);
+        delayAfterAppReset = valueOr(store, "delay_after_app_reset", 5000);
+        randomSeed = valueOr(store, "random_seed", null);
+        populationSize = valueOr(store, "population_size", 20);
+        bigPopulationSize = valueOr(store, "big_population_size", 40);
+        numberTestcases = valueOr(store, "number_testcases", 2);
+        maxNumberEvents = valueOr(store, "max_number_events", 50);
+        pCrossover = valueOr(store, "p_crossover", 0.7);
+        pMutate = valueOr(store, "p_mutate", 0.3);
+        pSampleRandom = valueOr(store, "p_sample_random", 0.5);
+        pFocusedSearchStart = valueOr(store, "p_focused_search_start", 0.5);
+        evoIterationsNumber = valueOr(store, "evo_iterations_number", 10);
+        mutationRate = valueOr(store, "mutation_rate", 1);
+        tournamentSize = valueOr(store, "tournament_size", 2);
+        defaultSelectionSize = valueOr(store, "default_selection_size", 2);
+        fitnessFunction = valueOr(store, "fitness_function", null);
+        geFitnessFunction = valueOr(store, "ge_fitness_function", null);
+        selectionFunction = valueOr(store, "selection_function", null);
+        mutationFunction = valueOr(store, "mutation_function", null);
+        crossoverFunction = valueOr(store, "crossover_function", null);
+        terminationCondition = valueOr(store, "termination_condition", null);
+        chromosomeFactory = valueOr(store, "chromosome_factory", null);
+        algorithm = valueOr(store, "algorithm", null);
+        greyBoxCoverageCriterion = valueOr(store, "grey_box_coverage_criterion",
+                Coverage.ACTIVITY_COVERAGE);
+        seedCorpusSize = valueOr(store, "seed_corpus_size", 10);
+        maxEnergy = valueOr(store, "max_energy", 10);
+        objective = valueOr(store, "objective", null);
+        coverage = valueOr(store, "coverage", Coverage.NO_COVERAGE);
+        graphType = valueOr(store, "graph_type", null);
+        apk = valueOr(store, "apk", null);
+        methodName = valueOr(store, "method_name", null);
+        basicBlocks = valueOr(store, "basic_blocks", true);
+        resolveOnlyAutClasses = valueOr(store, "resolve_only_aut_classes", true);
+        excludeArtClasses = valueOr(store, "exclude_art_classes", true);
+        target = valueOr(store, "target", "no_target");
+        drawRawGraph = valueOr(store, "draw_raw_graph", true);
+        widgetBasedActions = valueOr(store, "widget_based_actions", true);
+        recordStackTrace = valueOr(store, "record_stack_trace", false);
+        logLevel = valueOr(store, "log_level", LogLevel.DEBUG);
+        eventLog = valueOr(store, "event_log", false);
+        geSequenceLength = valueOr(store, "ge_sequence_length", 100);
+        geTestCaseEndingBiasPerTenThousand = valueOr(store,
+                "ge_test_case_ending_bias_per_ten_thousand",
+                AndroidListBasedBiasedMapping.BIAS_50_PERCENT);
+        geMutationCount = valueOr(store, "ge_mutation_count", 3);
+        noveltyThreshold = valueOr(store, "novelty_threshold", 0.0);
+        archiveLimit = valueOr(store, "archive_limit", 10);
+        nearestNeighbours = valueOr(store, "nearest_neighbours", 3);
+        quickLaunch = valueOr(store, "quick_launch", true);
+        epsilon = valueOr(store, "epsilon", 0.1d);
+        alpha = valueOr(store, "alpha", 0.8d);
+        gamma = valueOr(store, "gamma", 0.8d);
+        minL = valueOr(store, "min_l", 20);
+        maxL = valueOr(store, "max_l", 50);
+        abtEpsilon = valueOr(store, "abt_epsilon", 0.8f);
+        abtDiscountFactor = valueOr(store, "abt_discount_factor", 0.9f);
+        abtMaxNumOfEpisodes = valueOr(store, "abt_max_num_of_episodes", 100);
+        abtMaxEpisodeLength = valueOr(store, "abt_max_episode_length", 50);
+        pHomeButton = valueOr(store, "p_home_button", 0.05f);
+        initialQValue = valueOr(store, "initial_q_value", 500f);
+        maxNumOfEpisodes = valueOr(store, "max_num_of_episodes", 100);
+        maxEpisodeLength = valueOr(store, "max_episode_length", 50);
+    }
+
+    /**
+     * Returns the value stored for the given key, or the default value if there is none.
+     *
+     * @param store The parsed properties.
+     * @param key The lower case name of the property.
+     * @param defaultValue The default value of the property.
+     * @param <T> The type of the property.
+     * @return Returns the stored value if present, otherwise the default value.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T valueOr(Map<String, Object> store, String key, T defaultValue) {
+        if (store.containsKey(key)) {
+            return (T) store.get(key);
+        }
+        return defaultValue;
+    }
+}
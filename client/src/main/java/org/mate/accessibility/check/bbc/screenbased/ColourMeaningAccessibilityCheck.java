@@ -7,6 +7,9 @@ import org.mate.accessibility.check.bbc.AccessibilitySettings;
 import org.mate.accessibility.AccessibilityViolation;
 import org.mate.accessibility.check.bbc.AccessibilityViolationType;
 import org.mate.accessibility.check.IScreenAccessibilityCheck;
+import org.mate.accessibility.utils.ScreenColourCache;
+import org.mate.accessibility.utils.Screenshots;
+import org.mate.accessibility.utils.ScreenColours;
 import org.mate.state.IScreenState;
 import org.mate.commons.interaction.action.ui.Widget;
 
@@ -27,9 +30,11 @@ public class ColourMeaningAccessibilityCheck implements IScreenAccessibilityChec
     private void detectColours(IScreenState state){
 
         luminancesByType = new Hashtable<String,List<String>>();
+        ScreenColours colours = ScreenColourCache.get(state);
         for (Widget widget: state.getWidgets()){
             if (widget.isActionable()){
-                String luminances = Registry.getEnvironmentManager().getLuminance(state.getPackageName(),state.getId(),widget);
+                String luminances = colours != null ? colours.getLuminance(widget)
+                        : Registry.getEnvironmentManager().getLuminance(state.getPackageName(),state.getId(),widget);
                 if (!luminances.equals("0,0")) {
                     widget.setColor(luminances);
                     //luminances.add(luminance);
@@ -129,7 +134,7 @@ public class ColourMeaningAccessibilityCheck implements IScreenAccessibilityChec
 
         IScreenState visitedState =stateHasBeenVisited(state);
         if (visitedState!=null){
-            Registry.getEnvironmentManager().takeScreenshot(state.getPackageName(),visitedState.getId()+"_");
+            Screenshots.take(state.getPackageName(),visitedState.getId()+"_");
             state.setId(visitedState.getId()+"_");
             detectColours(state);
             //MATE.log("CHECK IF COLOR CHANGED");
@@ -4,6 +4,8 @@ import org.mate.Registry;
 import org.mate.accessibility.AccessibilityViolation;
 import org.mate.accessibility.check.bbc.AccessibilityViolationType;
 import org.mate.accessibility.check.IWidgetAccessibilityCheck;
+import org.mate.accessibility.utils.ScreenColourCache;
+import org.mate.accessibility.utils.ScreenColours;
 import org.mate.commons.utils.MATELog;
 import org.mate.state.IScreenState;
 import org.mate.commons.interaction.action.ui.Widget;
@@ -24,7 +26,9 @@ public class AcionableElementsCheck implements IWidgetAccessibilityCheck {
         //if (check whether background color of the button is the same as the screen background)
         double matchesBackgroundColor = 0;
 
-        matchesBackgroundColor = Registry.getEnvironmentManager().matchesSurroundingColor(state.getPackageName(),state.getId(),widget);
+        ScreenColours colours = ScreenColourCache.get(state);
+        matchesBackgroundColor = colours != null ? colours.matchesSurroundingColour(widget)
+                : Registry.getEnvironmentManager().matchesSurroundingColor(state.getPackageName(),state.getId(),widget);
 
         if ((widget.isClickable() && widget.getClazz().contains("Button")&& !widget.getText().equals(""))|| checkClickableText) {
             MATELog.log("CHECKS BACKGROUND COLOR = " + widget.getClazz() + " " + widget.getText());
@@ -7,6 +7,8 @@ import org.mate.accessibility.check.bbc.AccessibilitySettings;
 import org.mate.accessibility.AccessibilityViolation;
 import org.mate.accessibility.check.bbc.AccessibilityViolationType;
 import org.mate.accessibility.check.IWidgetAccessibilityCheck;
+import org.mate.accessibility.utils.ScreenColourCache;
+import org.mate.accessibility.utils.ScreenColours;
 import org.mate.state.IScreenState;
 import org.mate.commons.interaction.action.ui.Widget;
 
@@ -35,7 +37,9 @@ public class TextContrastRatioAccessibilityCheck implements IWidgetAccessibility
         if (!needsTextContrastChecked(widget))
                 return null;
         contratio=21;
-        double contrastRatio = Registry.getEnvironmentManager().getContrastRatio(packageName,stateId,widget);
+        ScreenColours colours = ScreenColourCache.get(state);
+        double contrastRatio = colours != null ? colours.getContrastRatio(widget)
+                : Registry.getEnvironmentManager().getContrastRatio(packageName,stateId,widget);
         contratio=contrastRatio;
         //MATE.log("Checked: " + widget.getClazz()+" txt:"+ widget.getText()+ " hint: " + widget.getHint()+":"+widget.getContentDesc()+" contrast ratio: " + contrastRatio);
         if (contrastRatio< AccessibilitySettings.MIN_CONTRAST_RATIO)
@@ -4,6 +4,9 @@ import org.mate.Registry;
 import org.mate.accessibility.AccessibilityViolation;
 import org.mate.accessibility.check.bbc.AccessibilityViolationType;
 import org.mate.accessibility.check.IWidgetAccessibilityCheck;
+import org.mate.accessibility.utils.ScreenColourCache;
+import org.mate.accessibility.utils.Screenshots;
+import org.mate.accessibility.utils.ScreenColours;
 import org.mate.state.IScreenState;
 import org.mate.commons.interaction.action.ui.Widget;
 
@@ -36,10 +39,12 @@ public class VisibleFocusCheck implements IWidgetAccessibilityCheck {
             if (!sameStatesID.contains(newID)){
                 sameStatesID.add(newID);
                 state.setId(newID);
-                Registry.getEnvironmentManager().takeScreenshot(state.getPackageName(),visitedState.getId());
+                Screenshots.take(state.getPackageName(),visitedState.getId());
             }
 
-            String luminances = Registry.getEnvironmentManager().getLuminance(state.getPackageName(),state.getId(),widget);
+            ScreenColours colours = ScreenColourCache.get(state);
+            String luminances = colours != null ? colours.getLuminance(widget)
+                    : Registry.getEnvironmentManager().getLuminance(state.getPackageName(),state.getId(),widget);
             if (!luminances.equals("0,0")) {
                 widget.setColor(luminances);
             }
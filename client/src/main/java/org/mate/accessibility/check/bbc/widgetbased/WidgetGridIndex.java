@@ -0,0 +1,249 @@
+package org.mate.accessibility.check.bbc.widgetbased;
+
+import org.mate.commons.interaction.action.ui.Widget;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid over the bounds of the widgets of a screen, which answers which widgets cover
+ * the pixels of a horizontal or vertical line segment without rasterizing the screen.
+ * <p>
+ * A pixel is covered by the last widget (in the given order) whose bounds (inclusive) contain
+ * the pixel, i.e. later widgets are drawn on top of earlier ones. Pixels outside of the screen are
+ * never covered. The index is immutable, except for some scratch space that is reused across
+ * queries, hence it is not thread-safe.
+ */
+public final class WidgetGridIndex {
+
+    /**
+     * The width and height of a grid cell in pixels.
+     */
+    private static final int CELL_SIZE = 64;
+
+    private final List<Widget> widgets;
+
+    /**
+     * Maps each widget to the index of its first occurrence, which corresponds to
+     * {@link List#indexOf(Object)}, i.e. equal widgets share the same index.
+     */
+    private final Map<Widget, Integer> indices;
+
+    private final int screenWidth;
+    private final int screenHeight;
+
+    /**
+     * The bounds of the widgets clipped to the screen.
+     */
+    private final int[] left;
+    private final int[] top;
+    private final int[] right;
+    private final int[] bottom;
+
+    private final int columns;
+    private final int rows;
+
+    /**
+     * The widgets overlapping grid cell {@code c} are stored in ascending order at
+     * {@code cellEntries[cellStart[c]]} to {@code cellEntries[cellStart[c + 1] - 1]}.
+     */
+    private final int[] cellStart;
+    private final int[] cellEntries;
+
+    /**
+     * Scratch space for the queries: the last query in which a widget has been visited, and the
+     * covered intervals of the visited widgets.
+     */
+    private final int[] visited;
+    private final long[] intervals;
+    private int query = 0;
+
+    /**
+     * Builds the index.
+     *
+     * @param widgets The widgets in drawing order.
+     * @param screenWidth The screen width in pixels.
+     * @param screenHeight The screen height in pixels.
+     */
+    public WidgetGridIndex(List<Widget> widgets, int screenWidth, int screenHeight) {
+
+        this.widgets = widgets;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+
+        int size = widgets.size();
+        indices = new HashMap<>(size * 2);
+        left = new int[size];
+        top = new int[size];
+        right = new int[size];
+        bottom = new int[size];
+
+        columns = Math.max(1, (screenWidth + CELL_SIZE - 1) / CELL_SIZE);
+        rows = Math.max(1, (screenHeight + CELL_SIZE - 1) / CELL_SIZE);
+        cellStart = new int[columns * rows + 1];
+
+        for (int i = 0; i < size; i++) {
+
+            Widget widget = widgets.get(i);
+            indices.putIfAbsent(widget, i);
+
+            left[i] = Math.max(widget.getX1(), 0);
+            top[i] = Math.max(widget.getY1(), 0);
+            right[i] = Math.min(widget.getX2(), screenWidth - 1);
+            bottom[i] = Math.min(widget.getY2(), screenHeight - 1);
+
+            if (isOnScreen(i)) {
+                for (int row = top[i] / CELL_SIZE; row <= bottom[i] / CELL_SIZE; row++) {
+                    for (int column = left[i] / CELL_SIZE; column <= right[i] / CELL_SIZE; column++) {
+                        cellStart[row * columns + column + 1]++;
+                    }
+                }
+            }
+        }
+
+        for (int cell = 0; cell < columns * rows; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+
+        cellEntries = new int[cellStart[columns * rows]];
+        int[] next = Arrays.copyOf(cellStart, columns * rows);
+
+        for (int i = 0; i < size; i++) {
+            if (isOnScreen(i)) {
+                for (int row = top[i] / CELL_SIZE; row <= bottom[i] / CELL_SIZE; row++) {
+                    for (int column = left[i] / CELL_SIZE; column <= right[i] / CELL_SIZE; column++) {
+                        cellEntries[next[row * columns + column]++] = i;
+                    }
+                }
+            }
+        }
+
+        visited = new int[size];
+        intervals = new long[size];
+    }
+
+    private boolean isOnScreen(int index) {
+        return left[index] <= right[index] && top[index] <= bottom[index];
+    }
+
+    /**
+     * Returns the index of the given widget.
+     *
+     * @param widget The widget.
+     * @return Returns the index of the widget or {@code -1} if the widget is not indexed.
+     */
+    public int indexOf(Widget widget) {
+        Integer index = indices.get(widget);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the widget with the given index.
+     *
+     * @param index The index of the widget.
+     * @return Returns the widget with the given index.
+     */
+    public Widget get(int index) {
+        return widgets.get(index);
+    }
+
+    /**
+     * Looks at the pixels of the given vertical line segment and returns the widget covering the
+     * last covered pixel, provided that more than half of the pixels are covered.
+     *
+     * @param x The x coordinate of the segment.
+     * @param fromY The first y coordinate of the segment (inclusive).
+     * @param toY The last y coordinate of the segment (exclusive).
+     * @return Returns the index of the widget or {@code -1} if at most half of the pixels are
+     *         covered.
+     */
+    public int findNeighbourInColumn(int x, int fromY, int toY) {
+        return findNeighbour(true, x, fromY, toY);
+    }
+
+    /**
+     * Looks at the pixels of the given horizontal line segment and returns the widget covering the
+     * last covered pixel, provided that more than half of the pixels are covered.
+     *
+     * @param y The y coordinate of the segment.
+     * @param fromX The first x coordinate of the segment (inclusive).
+     * @param toX The last x coordinate of the segment (exclusive).
+     * @return Returns the index of the widget or {@code -1} if at most half of the pixels are
+     *         covered.
+     */
+    public int findNeighbourInRow(int y, int fromX, int toX) {
+        return findNeighbour(false, y, fromX, toX);
+    }
+
+    private int findNeighbour(boolean vertical, int position, int from, int to) {
+
+        int length = to - from;
+        int limit = vertical ? screenHeight : screenWidth;
+        int first = Math.max(from, 0);
+        int last = Math.min(to, limit) - 1;
+
+        if (position < 0 || position >= (vertical ? screenWidth : screenHeight) || first > last) {
+            return -1;
+        }
+
+        query++;
+        int candidates = 0;
+        int lastCovered = -1;
+        int owner = -1;
+
+        int fixedCell = position / CELL_SIZE;
+        for (int cell = first / CELL_SIZE; cell <= last / CELL_SIZE; cell++) {
+
+            int gridCell = vertical ? cell * columns + fixedCell : fixedCell * columns + cell;
+
+            for (int entry = cellStart[gridCell]; entry < cellStart[gridCell + 1]; entry++) {
+
+                int i = cellEntries[entry];
+                if (visited[i] == query) {
+                    continue;
+                }
+                visited[i] = query;
+
+                int start = vertical ? top[i] : left[i];
+                int end = vertical ? bottom[i] : right[i];
+                boolean crosses = vertical ? left[i] <= position && position <= right[i]
+                        : top[i] <= position && position <= bottom[i];
+
+                if (!crosses || end < first || start > last) {
+                    continue;
+                }
+
+                start = Math.max(start, first);
+                end = Math.min(end, last);
+                intervals[candidates++] = ((long) start << 32) | end;
+
+                // the last covered pixel belongs to the topmost widget ending there
+                if (end > lastCovered || end == lastCovered && i > owner) {
+                    lastCovered = end;
+                    owner = i;
+                }
+            }
+        }
+
+        if (candidates == 0) {
+            return -1;
+        }
+
+        // the number of covered pixels is the length of the union of the intervals
+        Arrays.sort(intervals, 0, candidates);
+        int covered = 0;
+        int coveredUpTo = -1;
+        for (int c = 0; c < candidates; c++) {
+            int start = Math.max((int) (intervals[c] >>> 32), coveredUpTo + 1);
+            int end = (int) intervals[c];
+            if (end >= start) {
+                covered += end - start + 1;
+                coveredUpTo = end;
+            }
+        }
+
+        return covered > length / 2 ? owner : -1;
+    }
+}
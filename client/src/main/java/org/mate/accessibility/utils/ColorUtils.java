@@ -1,7 +1,6 @@
 package org.mate.accessibility.utils;
 
 import android.graphics.Bitmap;
-import android.graphics.Color;
 
 import org.mate.commons.utils.MATELog;
 
@@ -16,9 +15,9 @@ public class ColorUtils {
     public static double getRelativeLuminance(int colorNumber){
 
 
-        double RsRGB = Math.abs((double)Color.red(colorNumber)/255);
-        double GsRGB = Math.abs((double)Color.green(colorNumber)/255);
-        double BsRGB = Math.abs((double)Color.blue(colorNumber)/255);
+        double RsRGB = Math.abs((double)red(colorNumber)/255);
+        double GsRGB = Math.abs((double)green(colorNumber)/255);
+        double BsRGB = Math.abs((double)blue(colorNumber)/255);
 
 
         double R, G, B;
@@ -42,10 +41,23 @@ public class ColorUtils {
     }
 
     public static double gray(int color){
-        return 0.2989 * Color.red(color) + 0.5870 * Color.green(color) + 0.1140 * Color.blue(color);
+        return 0.2989 * red(color) + 0.5870 * green(color) + 0.1140 * blue(color);
 
     }
 
+    // same as android.graphics.Color, but usable in local unit tests and benchmarks
+    private static int red(int color) {
+        return (color >> 16) & 0xFF;
+    }
+
+    private static int green(int color) {
+        return (color >> 8) & 0xFF;
+    }
+
+    private static int blue(int color) {
+        return color & 0xFF;
+    }
+
     //public static double calculateContrastRatioForAreaOtsu(BufferedImage image,int x1, int y1, int x2, int y2){
     public static double calculateContrastRatioForAreaOtsu(Bitmap image, int x1, int y1, int x2, int y2){
         if (x1> image.getWidth()|| y1>image.getHeight()) {
@@ -0,0 +1,35 @@
+package org.mate.accessibility.utils;
+
+import org.mate.Registry;
+import org.mate.state.IScreenState;
+
+/**
+ * Computes the colour metrics on the downsampled screenshot the representation layer keeps for
+ * the screen state, see {@link Screenshots}. Only the downsampled pixels cross the process
+ * boundary and no image needs to be decoded. If no screenshot is available, the MATE server
+ * computes the metrics instead.
+ */
+public class DeviceScreenColourAnalyzer implements IScreenColourAnalyzer {
+
+    /**
+     * Analyzes the screen state if the representation layer can't provide a screenshot.
+     */
+    private final IScreenColourAnalyzer fallback = new ServerScreenColourAnalyzer();
+
+    @Override
+    public ScreenColours analyze(IScreenState state) {
+
+        int[] screenshot = Registry.getDeviceMgr().getScreenshot(state.getId());
+
+        // capture the screen only if no check has taken a screenshot of the state yet
+        if (screenshot == null && Registry.getDeviceMgr().captureScreenshot(state.getId(), false)) {
+            screenshot = Registry.getDeviceMgr().getScreenshot(state.getId());
+        }
+
+        if (screenshot == null) {
+            return fallback.analyze(state);
+        }
+
+        return LocalScreenColourAnalyzer.fromPacked(screenshot).analyze(state);
+    }
+}
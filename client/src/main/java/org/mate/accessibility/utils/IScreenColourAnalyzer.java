@@ -0,0 +1,17 @@
+package org.mate.accessibility.utils;
+
+import org.mate.state.IScreenState;
+
+/**
+ * Computes the colour metrics of all widgets of a screen state at once.
+ */
+public interface IScreenColourAnalyzer {
+
+    /**
+     * Computes the colour metrics of the widgets of the given screen state.
+     *
+     * @param state The screen state.
+     * @return Returns the colour metrics or {@code null} if they couldn't be computed.
+     */
+    ScreenColours analyze(IScreenState state);
+}
@@ -0,0 +1,376 @@
+package org.mate.accessibility.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.state.IScreenState;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Computes the colour metrics in-process on a captured screenshot, without a round trip to the
+ * MATE server. The contrast ratio follows
+ * {@link ColorUtils#calculateContrastRatioForAreaOtsu(Bitmap, int, int, int, int)}: the pixels of
+ * a widget are split by their gray value with Otsu's method into a dark and a light class, and the
+ * most frequent colour of each class is compared. The screenshot may be downsampled, in which case
+ * the coordinates of the widgets are mapped onto the downsampled screenshot.
+ */
+public class LocalScreenColourAnalyzer implements IScreenColourAnalyzer {
+
+    /**
+     * The width of the frame around a widget that is considered as its surrounding.
+     */
+    private static final int SURROUNDING_BORDER = 5;
+
+    /**
+     * The contrast ratio if no contrast can be determined, i.e. the maximal contrast ratio.
+     */
+    private static final double NO_CONTRAST = 21;
+
+    /**
+     * The screenshot as ARGB pixels in row-major order.
+     */
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+
+    /**
+     * The factor by which the screenshot has been downsampled in each dimension.
+     */
+    private final int scale;
+
+    /**
+     * Creates an analyzer for the given screenshot.
+     *
+     * @param pixels The screenshot as ARGB pixels in row-major order.
+     * @param width The width of the screenshot.
+     * @param height The height of the screenshot.
+     */
+    public LocalScreenColourAnalyzer(int[] pixels, int width, int height) {
+        this(pixels, width, height, 1);
+    }
+
+    /**
+     * Creates an analyzer for the given downsampled screenshot.
+     *
+     * @param pixels The downsampled screenshot as ARGB pixels in row-major order.
+     * @param width The width of the downsampled screenshot.
+     * @param height The height of the downsampled screenshot.
+     * @param scale The factor by which the screenshot has been downsampled in each dimension.
+     */
+    public LocalScreenColourAnalyzer(int[] pixels, int width, int height, int scale) {
+        if (pixels.length != width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " pixels!");
+        }
+        if (scale < 1) {
+            throw new IllegalArgumentException("Invalid scale " + scale + "!");
+        }
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        this.scale = scale;
+    }
+
+    /**
+     * Creates an analyzer for a screenshot captured by the representation layer.
+     *
+     * @param packed The width, height and scale of the downsampled screenshot followed by its
+     *               ARGB pixels in row-major order.
+     * @return Returns the analyzer for the screenshot.
+     */
+    public static LocalScreenColourAnalyzer fromPacked(int[] packed) {
+
+        if (packed.length < 3) {
+            throw new IllegalArgumentException("Incomplete screenshot!");
+        }
+
+        int width = packed[0];
+        int height = packed[1];
+        int[] pixels = new int[packed.length - 3];
+        System.arraycopy(packed, 3, pixels, 0, pixels.length);
+        return new LocalScreenColourAnalyzer(pixels, width, height, packed[2]);
+    }
+
+    /**
+     * Creates an analyzer for the given screenshot.
+     *
+     * @param png The screenshot in the PNG format.
+     * @return Returns the analyzer for the screenshot.
+     * @throws IOException If the screenshot can't be decoded.
+     */
+    public static LocalScreenColourAnalyzer fromPng(File png) throws IOException {
+
+        Bitmap bitmap = BitmapFactory.decodeFile(png.getPath());
+        if (bitmap == null) {
+            throw new IOException("Couldn't decode screenshot " + png);
+        }
+
+        int[] pixels = new int[bitmap.getWidth() * bitmap.getHeight()];
+        bitmap.getPixels(pixels, 0, bitmap.getWidth(), 0, 0, bitmap.getWidth(), bitmap.getHeight());
+        bitmap.recycle();
+        return new LocalScreenColourAnalyzer(pixels, bitmap.getWidth(), bitmap.getHeight());
+    }
+
+    /**
+     * Computes the colour metrics on the screenshot this analyzer has been created for,
+     * regardless of the given screen state.
+     *
+     * @param state The screen state.
+     * @return Returns the colour metrics of the widgets of the screen state.
+     */
+    @Override
+    public ScreenColours analyze(IScreenState state) {
+        return analyze(state.getWidgets());
+    }
+
+    /**
+     * Computes the colour metrics of the given widgets.
+     *
+     * @param widgets The widgets.
+     * @return Returns the colour metrics of the widgets.
+     */
+    public ScreenColours analyze(List<Widget> widgets) {
+
+        double[] contrastRatios = new double[widgets.size()];
+        String[] luminances = new String[widgets.size()];
+        double[] surroundingColourMatches = new double[widgets.size()];
+
+        for (int i = 0; i < widgets.size(); i++) {
+            Widget widget = widgets.get(i);
+            contrastRatios[i] = getContrastRatio(widget.getX1(), widget.getY1(),
+                    widget.getX2(), widget.getY2());
+
+            int[] bounds = ScreenColours.expandBounds(widget, ScreenColours.LUMINANCE_BORDER,
+                    width * scale, height * scale);
+            luminances[i] = getLuminance(bounds[0], bounds[1], bounds[2], bounds[3]);
+
+            surroundingColourMatches[i] = matchesSurroundingColour(widget.getX1(), widget.getY1(),
+                    widget.getX2(), widget.getY2());
+        }
+
+        return new ScreenColours(widgets, contrastRatios, luminances, surroundingColourMatches);
+    }
+
+    /**
+     * Computes the contrast ratio between the dominant light and dark colour of the given area.
+     *
+     * @return Returns the contrast ratio, or the maximal contrast ratio if the area is empty.
+     */
+    public double getContrastRatio(int x1, int y1, int x2, int y2) {
+
+        int[] dominantColours = getDominantColours(scaled(x1), scaled(y1), scaled(x2), scaled(y2));
+        if (dominantColours == null) {
+            return NO_CONTRAST;
+        }
+
+        double lowLum = ColorUtils.getRelativeLuminance(dominantColours[0]);
+        double highLum = ColorUtils.getRelativeLuminance(dominantColours[1]);
+        return ColorUtils.getContrastRatio(highLum, lowLum);
+    }
+
+    /**
+     * Computes the dominant dark and light colour of the given area.
+     *
+     * @return Returns the colours in the format 'r:g:b,r:g:b', or {@link ScreenColours#NO_LUMINANCE}
+     *         if the area is empty.
+     */
+    public String getLuminance(int x1, int y1, int x2, int y2) {
+
+        int[] dominantColours = getDominantColours(scaled(x1), scaled(y1), scaled(x2), scaled(y2));
+        if (dominantColours == null) {
+            return ScreenColours.NO_LUMINANCE;
+        }
+
+        return rgb(dominantColours[0]) + "," + rgb(dominantColours[1]);
+    }
+
+    /**
+     * Maps a screen coordinate onto the downsampled screenshot. A pixel of the downsampled
+     * screenshot has been sampled at the top left corner of its cell, hence an area covers the
+     * cells whose sampled pixels lie within the area.
+     *
+     * @param coordinate The screen coordinate.
+     * @return Returns the index of the first cell whose sampled pixel doesn't lie before the
+     *         coordinate.
+     */
+    private int scaled(int coordinate) {
+        // rounds towards positive infinity, as opposed to the integer division
+        return coordinate <= 0 ? -(-coordinate / scale) : (coordinate + scale - 1) / scale;
+    }
+
+    private static String rgb(int colour) {
+        return ((colour >> 16) & 0xFF) + ":" + ((colour >> 8) & 0xFF) + ":" + (colour & 0xFF);
+    }
+
+    /**
+     * Determines the share of the pixels of the given area that have the dominant colour of the
+     * frame surrounding the area.
+     *
+     * @return Returns a value between 0 (no match) and 1 (perfect match).
+     */
+    public double matchesSurroundingColour(int x1, int y1, int x2, int y2) {
+
+        int left = Math.max(scaled(x1), 0);
+        int top = Math.max(scaled(y1), 0);
+        int right = Math.min(scaled(x2), width);
+        int bottom = Math.min(scaled(y2), height);
+
+        if (left >= right || top >= bottom) {
+            return 0;
+        }
+
+        ColourCounts surrounding = new ColourCounts();
+        int border = scaled(SURROUNDING_BORDER);
+        int frameLeft = Math.max(left - border, 0);
+        int frameTop = Math.max(top - border, 0);
+        int frameRight = Math.min(right + border, width);
+        int frameBottom = Math.min(bottom + border, height);
+
+        for (int y = frameTop; y < frameBottom; y++) {
+            boolean insideRows = y >= top && y < bottom;
+            for (int x = frameLeft; x < frameRight; x++) {
+                if (insideRows && x == left) {
+                    // skip the area itself
+                    x = right - 1;
+                    continue;
+                }
+                surrounding.add(pixels[y * width + x]);
+            }
+        }
+
+        if (surrounding.isEmpty()) {
+            return 0;
+        }
+
+        int surroundingColour = surrounding.getMostFrequent();
+        int matches = 0;
+        for (int y = top; y < bottom; y++) {
+            for (int x = left; x < right; x++) {
+                if (pixels[y * width + x] == surroundingColour) {
+                    matches++;
+                }
+            }
+        }
+        return matches / (double) ((right - left) * (bottom - top));
+    }
+
+    /**
+     * Splits the pixels of the given area by their gray value with Otsu's method and determines
+     * the most frequent colour of the dark and the light pixels. A colour is 0 (black) if there are
+     * no such pixels.
+     *
+     * @return Returns the dark and the light colour, or {@code null} if the area is empty.
+     */
+    private int[] getDominantColours(int x1, int y1, int x2, int y2) {
+
+        if (x1 < 0 || y1 < 0 || x1 >= width || y1 >= height) {
+            return null;
+        }
+
+        int right = Math.min(x2, width);
+        int bottom = Math.min(y2, height);
+
+        if (right <= x1 || bottom <= y1) {
+            return null;
+        }
+
+        byte[] grayScaleValues = new byte[(right - x1) * (bottom - y1)];
+        int index = 0;
+        for (int y = y1; y < bottom; y++) {
+            for (int x = x1; x < right; x++) {
+                grayScaleValues[index++] = (byte) ColorUtils.gray(pixels[y * width + x]);
+            }
+        }
+
+        int threshold = new OtsuThresholder().doThreshold(grayScaleValues, null);
+
+        ColourCounts low = new ColourCounts();
+        ColourCounts high = new ColourCounts();
+        index = 0;
+        for (int y = y1; y < bottom; y++) {
+            for (int x = x1; x < right; x++) {
+                int colour = pixels[y * width + x];
+                if ((0xFF & grayScaleValues[index++]) < threshold) {
+                    low.add(colour);
+                } else {
+                    high.add(colour);
+                }
+            }
+        }
+
+        return new int[]{
+                low.isEmpty() ? 0 : low.getMostFrequent(),
+                high.isEmpty() ? 0 : high.getMostFrequent()
+        };
+    }
+
+    /**
+     * Counts the occurrences of colours in an open addressing hash table, which avoids boxing each
+     * pixel.
+     */
+    private static final class ColourCounts {
+
+        private int[] colours = new int[64];
+        private int[] counts = new int[64];
+        private int size = 0;
+
+        private void add(int colour) {
+            int mask = colours.length - 1;
+            int slot = mix(colour) & mask;
+            while (counts[slot] != 0 && colours[slot] != colour) {
+                slot = (slot + 1) & mask;
+            }
+            if (counts[slot] == 0) {
+                colours[slot] = colour;
+                if (++size > colours.length / 2) {
+                    counts[slot] = 1;
+                    grow();
+                    return;
+                }
+            }
+            counts[slot]++;
+        }
+
+        private void grow() {
+            int[] oldColours = colours;
+            int[] oldCounts = counts;
+            colours = new int[oldColours.length * 2];
+            counts = new int[oldCounts.length * 2];
+            int mask = colours.length - 1;
+            for (int i = 0; i < oldColours.length; i++) {
+                if (oldCounts[i] != 0) {
+                    int slot = mix(oldColours[i]) & mask;
+                    while (counts[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    colours[slot] = oldColours[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        private static int mix(int colour) {
+            int hash = colour * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
+        }
+
+        private int getMostFrequent() {
+            int mostFrequent = 0;
+            int maxCount = 0;
+            for (int i = 0; i < colours.length; i++) {
+                if (counts[i] > maxCount) {
+                    maxCount = counts[i];
+                    mostFrequent = colours[i];
+                }
+            }
+            return mostFrequent;
+        }
+    }
+}
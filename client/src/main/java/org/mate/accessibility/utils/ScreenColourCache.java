@@ -0,0 +1,71 @@
+package org.mate.accessibility.utils;
+
+import org.mate.Properties;
+import org.mate.state.IScreenState;
+
+/**
+ * Caches the colour metrics of the last analyzed screen state, such that the accessibility checks
+ * looking at the colours of the individual widgets share a single analysis per screen state.
+ */
+public final class ScreenColourCache {
+
+    /**
+     * Computes the colour metrics, by default on the device or through the MATE server depending
+     * on {@link Properties#ON_DEVICE_SCREENSHOTS()}. Chosen lazily on the first analysis.
+     */
+    private static IScreenColourAnalyzer analyzer = null;
+
+    /**
+     * The last analyzed screen state, its id at the time of the analysis, and the result.
+     */
+    private static IScreenState lastState = null;
+    private static String lastStateId = null;
+    private static ScreenColours lastColours = null;
+
+    private ScreenColourCache() {
+        throw new UnsupportedOperationException("Utility class can't be instantiated!");
+    }
+
+    /**
+     * Replaces the analyzer, e.g. with a {@link LocalScreenColourAnalyzer}.
+     *
+     * @param screenColourAnalyzer The new analyzer.
+     */
+    public static synchronized void setAnalyzer(IScreenColourAnalyzer screenColourAnalyzer) {
+        analyzer = screenColourAnalyzer;
+        clear();
+    }
+
+    /**
+     * Returns the colour metrics of the given screen state. Some checks change the id of a
+     * screen state after taking a new screenshot, hence the state is analyzed again if its id
+     * changed.
+     *
+     * @param state The screen state.
+     * @return Returns the colour metrics or {@code null} if they couldn't be computed, e.g. the
+     *         MATE server doesn't support the batched analysis.
+     */
+    public static synchronized ScreenColours get(IScreenState state) {
+
+        if (state != lastState || !state.getId().equals(lastStateId)) {
+            if (analyzer == null) {
+                analyzer = Properties.ON_DEVICE_SCREENSHOTS() ? new DeviceScreenColourAnalyzer()
+                        : new ServerScreenColourAnalyzer();
+            }
+            lastColours = analyzer.analyze(state);
+            lastState = state;
+            lastStateId = state.getId();
+        }
+
+        return lastColours;
+    }
+
+    /**
+     * Drops the cached colour metrics.
+     */
+    public static synchronized void clear() {
+        lastState = null;
+        lastStateId = null;
+        lastColours = null;
+    }
+}
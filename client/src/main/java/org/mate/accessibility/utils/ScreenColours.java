@@ -0,0 +1,131 @@
+package org.mate.accessibility.utils;
+
+import org.mate.commons.interaction.action.ui.Widget;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The colour metrics of all widgets of a screen state, i.e. what the MATE server computes per
+ * widget for the contrast ratio, luminance and surrounding colour requests, obtained in a single
+ * pass over the screenshot.
+ */
+public class ScreenColours {
+
+    /**
+     * The luminance value denoting that no luminance could be determined.
+     */
+    public static final String NO_LUMINANCE = "0,0";
+
+    /**
+     * The border in pixels by which the bounds of a widget are expanded for the luminance.
+     */
+    public static final int LUMINANCE_BORDER = 1;
+
+    /**
+     * Maps each widget to its index in the arrays below. The checks look up the very widget
+     * instances of the analyzed screen state, so widgets are compared by identity, which avoids
+     * hashing their id and text in {@link Widget#hashCode()}. Since the metrics only depend on the
+     * bounds, comparing by {@link Widget#equals(Object)} would yield the same metrics.
+     */
+    private final Map<Widget, Integer> indices;
+
+    private final double[] contrastRatios;
+    private final String[] luminances;
+    private final double[] surroundingColourMatches;
+
+    /**
+     * Creates the colour metrics of the given widgets.
+     *
+     * @param widgets The widgets of the screen state.
+     * @param contrastRatios The contrast ratio of each widget.
+     * @param luminances The luminance of each widget.
+     * @param surroundingColourMatches How much the colour of each widget matches its surrounding.
+     */
+    public ScreenColours(List<Widget> widgets, double[] contrastRatios, String[] luminances,
+                         double[] surroundingColourMatches) {
+
+        if (contrastRatios.length != widgets.size() || luminances.length != widgets.size()
+                || surroundingColourMatches.length != widgets.size()) {
+            throw new IllegalArgumentException("Expected colour metrics for "
+                    + widgets.size() + " widgets!");
+        }
+
+        indices = new IdentityHashMap<>(widgets.size());
+        for (int i = 0; i < widgets.size(); i++) {
+            indices.put(widgets.get(i), i);
+        }
+
+        this.contrastRatios = contrastRatios;
+        this.luminances = luminances;
+        this.surroundingColourMatches = surroundingColourMatches;
+    }
+
+    private int indexOf(Widget widget) {
+        Integer index = indices.get(widget);
+        if (index == null) {
+            throw new IllegalArgumentException("No colour metrics for widget " + widget.getId());
+        }
+        return index;
+    }
+
+    /**
+     * Returns the contrast ratio of the given widget.
+     *
+     * @param widget The widget.
+     * @return Returns the contrast ratio.
+     */
+    public double getContrastRatio(Widget widget) {
+        return contrastRatios[indexOf(widget)];
+    }
+
+    /**
+     * Returns the luminance of the given widget, i.e. the dominant dark and light colour in the
+     * format 'r:g:b,r:g:b', or {@link #NO_LUMINANCE}.
+     *
+     * @param widget The widget.
+     * @return Returns the luminance.
+     */
+    public String getLuminance(Widget widget) {
+        return luminances[indexOf(widget)];
+    }
+
+    /**
+     * Returns how much the colour of the given widget matches the colour surrounding it.
+     *
+     * @param widget The widget.
+     * @return Returns a value between 0 (no match) and 1 (perfect match).
+     */
+    public double matchesSurroundingColour(Widget widget) {
+        return surroundingColourMatches[indexOf(widget)];
+    }
+
+    /**
+     * Expands the bounds of the given widget by the given border, as far as the screen permits.
+     *
+     * @param widget The widget.
+     * @param border The border in pixels.
+     * @param screenWidth The screen width.
+     * @param screenHeight The screen height.
+     * @return Returns the expanded bounds as {x1, y1, x2, y2}.
+     */
+    public static int[] expandBounds(Widget widget, int border, int screenWidth, int screenHeight) {
+
+        int x1 = widget.getX1();
+        int x2 = widget.getX2();
+        int y1 = widget.getY1();
+        int y2 = widget.getY2();
+
+        if (x1 - border >= 0)
+            x1 -= border;
+        if (x2 + border <= screenWidth)
+            x2 += border;
+        if (y1 - border >= 0)
+            y1 -= border;
+        if (y2 + border <= screenHeight)
+            y2 += border;
+
+        return new int[]{x1, y1, x2, y2};
+    }
+}
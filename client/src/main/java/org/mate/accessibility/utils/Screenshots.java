@@ -0,0 +1,77 @@
+package org.mate.accessibility.utils;
+
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.commons.utils.MATELog;
+import org.mate.utils.testcase.TestCasePipeline;
+import org.mate.utils.testcase.TestCasePipeline.Sink;
+
+import java.io.File;
+
+/**
+ * Takes the screenshots of screen states either on the device or through the MATE server,
+ * depending on {@link Properties#ON_DEVICE_SCREENSHOTS()}.
+ */
+public final class Screenshots {
+
+    private Screenshots() {
+        throw new UnsupportedOperationException("Utility class can't be instantiated!");
+    }
+
+    /**
+     * Takes a screenshot of the current screen. On the device, the screenshot is kept for the
+     * analysis by the {@link DeviceScreenColourAnalyzer} and only stored as a file if
+     * {@link Properties#TAKE_SCREENSHOTS()} is enabled. A screenshot taken before under the same
+     * id is replaced, e.g. when a check revisits a state to detect colour changes.
+     *
+     * @param packageName The package name of the AUT.
+     * @param stateId The id of the screen state.
+     */
+    public static void take(String packageName, String stateId) {
+        if (Properties.ON_DEVICE_SCREENSHOTS()) {
+            capture(stateId, Properties.TAKE_SCREENSHOTS());
+        } else {
+            Registry.getEnvironmentManager().takeScreenshot(packageName, stateId);
+        }
+    }
+
+    /**
+     * Records a screenshot that should be kept, e.g. the screenshots between the actions of a
+     * test case. On the device, the screenshot is written asynchronously and doesn't block the
+     * exploration.
+     *
+     * @param packageName The package name of the AUT.
+     * @param name The name of the screenshot.
+     */
+    public static void record(String packageName, String name) {
+        if (Properties.ON_DEVICE_SCREENSHOTS()) {
+            capture(name, true);
+        } else {
+            Registry.getEnvironmentManager().takeScreenshot(packageName, name);
+        }
+    }
+
+    /**
+     * Captures a screenshot on the device. A screenshot that should be kept is pulled by the MATE
+     * server in the background, once the representation layer has written it.
+     */
+    private static void capture(String name, boolean persist) {
+        if (Registry.getDeviceMgr().captureScreenshot(name, persist) && persist) {
+            TestCasePipeline.submit(Sink.SCREENSHOTS, Screenshots::fetchPersisted);
+        }
+    }
+
+    /**
+     * Asks the MATE server to pull the screenshots the representation layer has written so far,
+     * which includes all the screenshots captured before this task has been submitted.
+     */
+    private static void fetchPersisted() {
+        for (String path : Registry.getDeviceMgr().takePersistedScreenshots()) {
+            File screenshot = new File(path);
+            if (!Registry.getEnvironmentManager()
+                    .fetchScreenshot(screenshot.getParent(), screenshot.getName())) {
+                MATELog.log_warn("Fetching screenshot " + path + " failed!");
+            }
+        }
+    }
+}
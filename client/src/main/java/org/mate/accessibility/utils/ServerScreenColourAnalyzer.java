@@ -0,0 +1,17 @@
+package org.mate.accessibility.utils;
+
+import org.mate.Registry;
+import org.mate.state.IScreenState;
+
+/**
+ * Lets the MATE server compute the colour metrics on the screenshot of the screen state, which
+ * requires a single round trip per screen state.
+ */
+public class ServerScreenColourAnalyzer implements IScreenColourAnalyzer {
+
+    @Override
+    public ScreenColours analyze(IScreenState state) {
+        return Registry.getEnvironmentManager().analyzeScreenColours(state.getPackageName(),
+                state.getId(), state.getWidgets());
+    }
+}
@@ -4,6 +4,7 @@ import androidx.annotation.NonNull;
 
 import org.mate.Properties;
 import org.mate.Registry;
+import org.mate.accessibility.utils.Screenshots;
 import org.mate.commons.interaction.action.Action;
 import org.mate.commons.interaction.action.ui.UIAction;
 import org.mate.commons.utils.MATELog;
@@ -99,7 +100,7 @@ public class AndroidRandomChromosomeFactory implements IChromosomeFactory<TestCa
         Chromosome<TestCase> chromosome = new Chromosome<>(testCase);
 
         if (Properties.TAKE_SCREENSHOTS()) {
-            Registry.getEnvironmentManager().takeScreenshot(Registry.getPackageName(),
+            Screenshots.record(Registry.getPackageName(),
                     String.format("test-case-%02d-%02d", getTestCaseCounter(), 0));
         }
 
@@ -108,7 +109,7 @@ public class AndroidRandomChromosomeFactory implements IChromosomeFactory<TestCa
                 boolean keepGoing = testCase.updateTestCase(selectAction(), actionsCount);
 
                 if (Properties.TAKE_SCREENSHOTS()) {
-                    Registry.getEnvironmentManager().takeScreenshot(Registry.getPackageName(),
+                    Screenshots.record(Registry.getPackageName(),
                             String.format("test-case-%02d-%02d",
                                     getTestCaseCounter(), actionsCount + 1));
                 }
@@ -9,9 +9,12 @@ import org.mate.commons.utils.SetUtils;
 import org.mate.commons.utils.manifest.element.DataDescription;
 
 import java.io.File;
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Generates a random but valid data uri matching the data specification tag within a given intent
@@ -20,31 +23,35 @@ import java.util.Set;
 public final class DataUriGenerator {
 
     /**
-     * The supported image files.
+     * The directory on the external storage where the dummy files are staged.
      */
-    private static final String[] imageFiles = {"Bmp.bmp", "Gif.gif", "Jpg.jpg", "Png.png", "Tiff.tiff"};
+    private static final File STAGING_DIR = new File("/sdcard/");
 
     /**
-     * The supported audio files.
+     * The pool of file URIs referring to the staged files on the external storage.
      */
-    private static final String[] audioFiles = {"Wav.wav", "Mid.mid", "Ogg.ogg", "Mp3.mp3"};
+    private static final ConcurrentMap<String, Uri> stagedFileUris = new ConcurrentHashMap<>();
 
     /**
-     * The supported application files.
+     * The pool of file URIs referring to the files in the app-internal storage of the AUT.
      */
-    private static final String[] applicationFiles = {"Json.json", "Pdf.pdf", "Xml.xml"};
+    private static final ConcurrentMap<String, Uri> targetPackageFileUris
+            = new ConcurrentHashMap<>();
 
     /**
-     * The supported text files.
+     * Lazily scans the staging directory on first use.
      */
-    private static final String[] textFiles = {"Txt.txt", "Csv.csv", "Xml.xml"};
+    private static final class StagedFiles {
+        private static final StagedFileIndex INDEX = StagedFileIndex.watch(STAGING_DIR);
+    }
 
     /**
-     * The supported files.
+     * Lazily retrieves the files directory of the AUT on first use, which requires a round trip
+     * to the representation layer.
      */
-    private static final String[] allFiles = {"Bmp.bmp", "Gif.gif", "Jpg.jpg", "Png.png", "Tiff.tiff",
-            "Wav.wav", "Mid.mid", "Json.json", "Pdf.pdf", "Xml.xml", "Txt.txt", "Csv.csv", "Mp3.mp3",
-            "Ogg.ogg"};
+    private static final class TargetPackageFilesDir {
+        private static final File DIR = Registry.getDeviceMgr().getTargetPackageFilesDir();
+    }
 
     /**
      * Generates a random but valid URI, i.e. a URI matching the data tag inside the intent filter.
@@ -108,7 +115,7 @@ public final class DataUriGenerator {
                 uriBuilder.append(scheme).append("://").append(host).append(port).append("/").append(path);
             } else {
                 // matches one of the pre-generated files located on the sd card (external storage)
-                uriBuilder.append(Uri.fromFile(new File("/sdcard/", possibleFile)).toString());
+                return getStagedFileUri(possibleFile);
             }
 
             return Uri.parse(uriBuilder.toString());
@@ -117,32 +124,10 @@ public final class DataUriGenerator {
             // no scheme specified -> check whether a mimeType is defined
             if (data.hasMimeType()) {
 
-                // find all possible files first, then select one instead of checking for files
-                // only in one mimeType => lower chance to get null
-                Set<String> suitableFiles = new LinkedHashSet<>();
-                for (int i = 0; i < data.getMimeTypes().size(); i++) {
-                    suitableFiles.add(findSuitableFile(SetUtils.getElementAtIndex(data.getMimeTypes(), i)));
-                }
-
-                String fileName = null;
-
-                if (!suitableFiles.isEmpty()) {
-                    fileName = (String) suitableFiles.toArray()[new Random().nextInt(suitableFiles.size())];
-                }
+                String fileName = findSuitableFile(data.getMimeTypes());
 
                 if (fileName != null) {
-                    String[] pathParts = Uri.fromFile(
-                            new File(Registry.getDeviceMgr().getTargetPackageFilesDir(),
-                                    fileName)).toString().split("/");
-
-                    pathParts[pathParts.length - 3] = Registry.getPackageName();
-
-                    for (int i = 0; i < pathParts.length - 1; i++) {
-                        uriBuilder.append(pathParts[i]).append("/");
-                    }
-
-                    uriBuilder.append(pathParts[pathParts.length - 1]);
-                    return Uri.parse(uriBuilder.toString());
+                    return getTargetPackageFileUri(fileName);
                 }
             }
         }
@@ -211,68 +196,73 @@ public final class DataUriGenerator {
     }
 
     /**
-     * Checks whether we can supply a file based on the given mimeType.
+     * Returns the file URI of a staged file on the external storage. The URI is generated once per
+     * file and taken from the pool afterwards.
+     *
+     * @param fileName The name of the staged file.
+     * @return Returns the file URI referring to the staged file.
+     */
+    private static Uri getStagedFileUri(String fileName) {
+        Uri uri = stagedFileUris.get(fileName);
+        if (uri == null) {
+            uri = Uri.fromFile(new File(STAGING_DIR, fileName));
+            stagedFileUris.putIfAbsent(fileName, uri);
+        }
+        return uri;
+    }
+
+    /**
+     * Returns the file URI of a file in the app-internal storage of the AUT. The URI is generated
+     * once per file and taken from the pool afterwards.
+     *
+     * @param fileName The name of the file.
+     * @return Returns the file URI referring to the file.
+     */
+    private static Uri getTargetPackageFileUri(String fileName) {
+
+        Uri uri = targetPackageFileUris.get(fileName);
+
+        if (uri == null) {
+            String[] pathParts = Uri.fromFile(new File(TargetPackageFilesDir.DIR, fileName))
+                    .toString().split("/");
+
+            pathParts[pathParts.length - 3] = Registry.getPackageName();
+
+            StringBuilder uriBuilder = new StringBuilder();
+            for (int i = 0; i < pathParts.length - 1; i++) {
+                uriBuilder.append(pathParts[i]).append("/");
+            }
+
+            uriBuilder.append(pathParts[pathParts.length - 1]);
+            uri = Uri.parse(uriBuilder.toString());
+            targetPackageFileUris.putIfAbsent(fileName, uri);
+        }
+        return uri;
+    }
+
+    /**
+     * Selects a random staged file that matches one of the given mime types.
      *
-     * @param mimeType The given mimeType.
-     * @return Returns the file name if we have a match for the given mimeType, otherwise
+     * @param mimeTypes The set of mime types.
+     * @return Returns the file name if we have a match for any of the given mime types, otherwise
      *          {@code null} is returned.
      */
-    private static String findSuitableFile(String mimeType) {
-
-        Random random = new Random();
-
-        if (mimeType.startsWith("*/")) {
-            // select arbitrary file
-            return "mateTest" + allFiles[random.nextInt(allFiles.length)];
-        } else if (mimeType.startsWith("image")) {
-            if (mimeType.endsWith("*"))
-                // select arbitrary image file
-                return "mateTest" + imageFiles[random.nextInt(imageFiles.length)];
-            else if (mimeType.endsWith("jpeg") || mimeType.endsWith("jpg"))
-                return "mateTestJpg.jpg";
-            else if (mimeType.endsWith("png"))
-                return "mateTestPng.png";
-            else if (mimeType.endsWith("gif"))
-                return "mateTestGif.gif";
-            else if (mimeType.endsWith("bmp"))
-                return "mateTestBmp.bmp";
-            else if (mimeType.endsWith("tiff") || mimeType.endsWith("tif"))
-                return "mateTestTiff.tiff";
-        } else if (mimeType.startsWith("audio")) {
-            if (mimeType.endsWith("*"))
-                return "mateTest" + audioFiles[random.nextInt(audioFiles.length)];
-            else if (mimeType.endsWith("wav"))
-                return "mateTestWav.wav";
-            else if (mimeType.endsWith("midi") || mimeType.endsWith("mid"))
-                return "mateTestMid.mid";
-            else if (mimeType.endsWith("mp3") || mimeType.endsWith("mpeg"))
-                return "mateTestMp3.mp3";
-            else if (mimeType.endsWith("ogg"))
-                return "mateTestOgg.ogg";
-        } else if (mimeType.startsWith("application")) {
-            if (mimeType.endsWith("*"))
-                // select arbitrary application file
-                return "mateTest" + applicationFiles[random.nextInt(applicationFiles.length)];
-            else if (mimeType.endsWith("json"))
-                return "mateTestJson.json";
-            else if (mimeType.endsWith("pdf"))
-                return "mateTestPdf.pdf";
-            else if (mimeType.endsWith("xml"))
-                return "mateTestXml.xml";
-        } else if (mimeType.startsWith("text")) {
-            if (mimeType.endsWith("*"))
-                // select arbitrary txt file
-                return "mateTest" + textFiles[random.nextInt(textFiles.length)];
-            else if (mimeType.endsWith("plain"))
-                return "mateTestTxt.txt";
-            else if (mimeType.endsWith("comma-separated-values"))
-                return "mateTestCsv.csv";
-            else if (mimeType.endsWith("xml"))
-                return "mateTestXml.xml";
+    private static String findSuitableFile(Set<String> mimeTypes) {
+
+        // find all possible files first, then select one instead of checking for files
+        // only in one mimeType => lower chance to get null
+        List<String> suitableFiles = new ArrayList<>(mimeTypes.size());
+
+        for (String mimeType : mimeTypes) {
+            String file = StagedFiles.INDEX.findFileByMimeType(mimeType);
+            if (file != null) {
+                suitableFiles.add(file);
+            } else {
+                MATELog.log_warn("No file found for mimeType: " + mimeType);
+            }
         }
 
-        MATELog.log_warn("No file found for mimeType: " + mimeType);
-        return null;
+        return suitableFiles.isEmpty() ? null : Randomness.randomElement(suitableFiles);
     }
 
     /**
@@ -295,51 +285,14 @@ public final class DataUriGenerator {
                 if (port.equals("")) {
 
                     // select file depending on file ending
-                    if (path.endsWith(".bmp"))
-                        return "mateTestBmp.bmp";
-                    else if (path.endsWith(".gif"))
-                        return "mateTestGif.gif";
-                    else if (path.endsWith(".jpg") || path.endsWith(".jpeg") || path.endsWith(".jpe"))
-                        return "mateTestJpg.jpg";
-                    else if (path.endsWith(".png"))
-                        return "mateTestPng.png";
-                    else if (path.endsWith(".tiff") || path.endsWith(".tif"))
-                        return "mateTestTiff.tiff";
-                    else if (path.endsWith(".wav"))
-                        return "mateTestWav.wav";
-                    else if (path.endsWith(".mid") || path.endsWith(".midi"))
-                        return "mateTestMid.mid";
-                    else if (path.endsWith(".mp3") || path.endsWith(".mpeg"))
-                        return "mateTestMp3.mp3";
-                    else if (path.endsWith(".ogg"))
-                        return "mateTestOgg.ogg";
-                    else if (path.endsWith(".json"))
-                        return "mateTestJson.json";
-                    else if (path.endsWith(".pdf"))
-                        return "mateTestPdf.pdf";
-                    else if (path.endsWith(".xml"))
-                        return "mateTestXml.xml";
-                    else if (path.endsWith(".txt"))
-                        return "mateTestTxt.txt";
-                    else if (path.endsWith(".csv"))
-                        return "mateTestCsv.csv";
+                    String file = StagedFiles.INDEX.findFileByPath(path);
+                    if (file != null) {
+                        return file;
+                    }
 
                     // no path -> try to generate file based on mimeType (if present)
                     if (path.equals("") && !mimeTypes.isEmpty()) {
-
-                        Set<String> suitableFiles = new LinkedHashSet<>();
-                        for (int i = 0; i < mimeTypes.size(); i++) {
-                            // construct file based on mimeType if possible
-                            String file = findSuitableFile(SetUtils.getElementAtIndex(mimeTypes, i));
-                            if (file != null) {
-                                suitableFiles.add(file);
-                            }
-                        }
-
-                        if (!suitableFiles.isEmpty()) {
-                            // select randomly file
-                            return (String) suitableFiles.toArray()[new Random().nextInt(suitableFiles.size())];
-                        }
+                        return findSuitableFile(mimeTypes);
                     }
                 }
             }
@@ -10,6 +10,7 @@ import org.mate.commons.interaction.action.intent.IntentBasedAction;
 import org.mate.commons.interaction.action.intent.SystemAction;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.Randomness;
+import org.mate.commons.utils.manifest.ComponentIndex;
 import org.mate.commons.utils.manifest.element.ComponentDescription;
 import org.mate.commons.utils.manifest.element.ComponentType;
 import org.mate.commons.utils.manifest.element.IntentFilterDescription;
@@ -39,6 +40,11 @@ public class IntentProvider {
      */
     private final List<String> systemEventActions;
 
+    /**
+     * The supported system events for constant time look ups.
+     */
+    private final Set<String> systemEvents;
+
     /**
      * The list of broadcast receivers that react to system events.
      */
@@ -49,6 +55,11 @@ public class IntentProvider {
      */
     private final List<ComponentDescription> dynamicReceivers;
 
+    /**
+     * Indexes the components that can be launched through an intent by type and name.
+     */
+    private final ComponentIndex index;
+
     /**
      * Initialises the intent provider with the components and the supported system events.
      */
@@ -61,7 +72,8 @@ public class IntentProvider {
                 .collect(Collectors.toList())));
 
         systemEventActions = SystemActionParser.parseSystemEventActions();
-        systemEventReceivers = extractSystemEventReceivers(components, systemEventActions);
+        systemEvents = new HashSet<>(systemEventActions);
+        systemEventReceivers = extractSystemEventReceivers(components, systemEvents);
 
         /*
          * TODO: We may need to derive the dynamic receivers before the system event receivers,
@@ -81,6 +93,9 @@ public class IntentProvider {
          */
         components.removeAll(dynamicReceivers);
 
+        // the components and their intent filters don't change from now on
+        index = new ComponentIndex(components);
+
         MATELog.log("Derived the following components: " + components);
         MATELog.log("Derived the following system event receivers: " + systemEventReceivers);
         MATELog.log("Derived the following dynamic receivers: " + dynamicReceivers);
@@ -95,7 +110,7 @@ public class IntentProvider {
      * @return Returns {@code true} if the intent-filter describes a system event,
      *         otherwise {@code false}.
      */
-    private boolean describesSystemEvent(List<String> systemEvents, IntentFilterDescription intentFilter) {
+    private boolean describesSystemEvent(Set<String> systemEvents, IntentFilterDescription intentFilter) {
 
         for (String action : intentFilter.getActions()) {
             if (systemEvents.contains(action)) {
@@ -115,7 +130,7 @@ public class IntentProvider {
      * @return Returns the list of system event receivers.
      */
     private List<ComponentDescription> extractSystemEventReceivers(List<ComponentDescription> components,
-                                                                   List<String> systemEvents) {
+                                                                   Set<String> systemEvents) {
 
 
         List<ComponentDescription> systemEventReceivers = new ArrayList<>();
@@ -266,7 +281,7 @@ public class IntentProvider {
      *         otherwise {@code false}.
      */
     public boolean hasService() {
-        return components.stream().anyMatch(ComponentDescription::isService);
+        return index.hasComponent(ComponentType.SERVICE);
     }
 
     /**
@@ -296,7 +311,7 @@ public class IntentProvider {
             //  system receivers and handled separately.
 
             // we need to distinguish between a dynamic system receiver and dynamic receiver
-            if (describesSystemEvent(systemEventActions, intentFilter)) {
+            if (describesSystemEvent(systemEvents, intentFilter)) {
                 String action = Randomness.randomElement(intentFilter.getActions());
                 SystemAction systemAction = new SystemAction(component, intentFilter, action);
                 systemAction.markAsDynamic();
@@ -314,7 +329,7 @@ public class IntentProvider {
      *         components, otherwise {@code false} is returned.
      */
     public boolean hasBroadcastReceiver() {
-        return components.stream().anyMatch(ComponentDescription::isBroadcastReceiver);
+        return index.hasComponent(ComponentType.BROADCAST_RECEIVER);
     }
 
     /**
@@ -324,7 +339,7 @@ public class IntentProvider {
      *         otherwise {@code false} is returned.
      */
     public boolean hasActivity() {
-        return components.stream().anyMatch(ComponentDescription::isActivity);
+        return index.hasComponent(ComponentType.ACTIVITY);
     }
 
     /**
@@ -387,7 +402,7 @@ public class IntentProvider {
         }
 
         MATELog.log("Current visible Activity is: " + activity);
-        ComponentDescription component = ComponentDescription.getComponentByName(components, activity);
+        ComponentDescription component = index.getComponent(activity);
 
         return component != null && component.isActivity() && component.isHandlingOnNewIntent();
     }
@@ -414,7 +429,7 @@ public class IntentProvider {
             activity = packageName + activity;
         }
 
-        ComponentDescription component = ComponentDescription.getComponentByName(components, activity);
+        ComponentDescription component = index.getComponent(activity);
 
         if (component == null) {
             throw new IllegalStateException("No component description found for current activity!");
@@ -533,12 +548,6 @@ public class IntentProvider {
      * @return Returns the list of components matching the given type.
      */
     private List<ComponentDescription> getComponents(ComponentType componentType) {
-        List<ComponentDescription> targetComponents = new ArrayList<>();
-        for (ComponentDescription component : components) {
-            if (component.getType() == componentType) {
-                targetComponents.add(component);
-            }
-        }
-        return Collections.unmodifiableList(targetComponents);
+        return index.getComponents(componentType);
     }
 }
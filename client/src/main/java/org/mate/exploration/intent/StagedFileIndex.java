@@ -0,0 +1,323 @@
+package org.mate.exploration.intent;
+
+import android.os.FileObserver;
+
+import org.mate.commons.utils.Randomness;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the dummy files that are staged on the external storage, see
+ * {@link org.mate.interaction.EnvironmentManager#pushDummyFiles()}, by file extension and MIME
+ * type. The index is built once and updated incrementally, such that looking up a suitable file
+ * doesn't require to list the directory or to match the MIME type against every known file.
+ */
+final class StagedFileIndex {
+
+    /**
+     * The common prefix of the staged files.
+     */
+    static final String FILE_PREFIX = "mateTest";
+
+    /**
+     * The files that are staged by default. Used when the staging directory can't be listed.
+     */
+    static final List<String> DEFAULT_FILES = Collections.unmodifiableList(Arrays.asList(
+            "mateTestBmp.bmp", "mateTestGif.gif", "mateTestJpg.jpg", "mateTestPng.png",
+            "mateTestTiff.tiff", "mateTestWav.wav", "mateTestMid.mid", "mateTestJson.json",
+            "mateTestPdf.pdf", "mateTestXml.xml", "mateTestTxt.txt", "mateTestCsv.csv",
+            "mateTestMp3.mp3", "mateTestOgg.ogg"));
+
+    /**
+     * Maps the extension of a staged file to the top-level MIME types it can serve.
+     */
+    private static final Map<String, String[]> MIME_TYPES = new HashMap<>();
+
+    /**
+     * Maps a MIME subtype, e.g. jpeg, to the extension of the staged file.
+     */
+    private static final Map<String, String> SUBTYPE_EXTENSIONS = new HashMap<>();
+
+    /**
+     * Maps the file ending of a path, e.g. jpe, to the extension of the staged file.
+     */
+    private static final Map<String, String> PATH_EXTENSIONS = new HashMap<>();
+
+    static {
+        for (String extension : new String[]{"bmp", "gif", "jpg", "png", "tiff"}) {
+            MIME_TYPES.put(extension, new String[]{"image"});
+        }
+        for (String extension : new String[]{"wav", "mid", "mp3", "ogg"}) {
+            MIME_TYPES.put(extension, new String[]{"audio"});
+        }
+        MIME_TYPES.put("json", new String[]{"application"});
+        MIME_TYPES.put("pdf", new String[]{"application"});
+        MIME_TYPES.put("xml", new String[]{"application", "text"});
+        MIME_TYPES.put("txt", new String[]{"text"});
+        MIME_TYPES.put("csv", new String[]{"text"});
+
+        for (String extension : MIME_TYPES.keySet()) {
+            SUBTYPE_EXTENSIONS.put(extension, extension);
+            PATH_EXTENSIONS.put(extension, extension);
+        }
+        SUBTYPE_EXTENSIONS.remove("txt");
+        SUBTYPE_EXTENSIONS.remove("csv");
+        SUBTYPE_EXTENSIONS.put("jpeg", "jpg");
+        SUBTYPE_EXTENSIONS.put("tif", "tiff");
+        SUBTYPE_EXTENSIONS.put("midi", "mid");
+        SUBTYPE_EXTENSIONS.put("mpeg", "mp3");
+        SUBTYPE_EXTENSIONS.put("plain", "txt");
+        SUBTYPE_EXTENSIONS.put("comma-separated-values", "csv");
+
+        PATH_EXTENSIONS.put("jpeg", "jpg");
+        PATH_EXTENSIONS.put("jpe", "jpg");
+        PATH_EXTENSIONS.put("tif", "tiff");
+        PATH_EXTENSIONS.put("midi", "mid");
+        PATH_EXTENSIONS.put("mpeg", "mp3");
+    }
+
+    /**
+     * The currently staged files, guarded by {@code this}.
+     */
+    private final Set<String> files = new LinkedHashSet<>();
+
+    /**
+     * Maps a file extension, a MIME type (with the extension as subtype), a wildcard MIME type,
+     * e.g. image/*, or '*' to the staged files. Replaced as a whole on every update, thus lookups
+     * don't need to synchronize.
+     */
+    private volatile Map<String, List<String>> index = Collections.emptyMap();
+
+    /**
+     * Keeps the index in sync with the staging directory. Needs to be referenced, otherwise the
+     * observer stops when it is garbage collected.
+     */
+    private FileObserver observer;
+
+    /**
+     * Initialises the index with the given staged files.
+     *
+     * @param fileNames The names of the staged files.
+     */
+    StagedFileIndex(Collection<String> fileNames) {
+        for (String fileName : fileNames) {
+            if (isStagedFile(fileName)) {
+                files.add(fileName);
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * Scans the given staging directory once and keeps the index in sync with it afterwards.
+     * Falls back to the files staged by default if the directory doesn't contain any staged file
+     * (yet) or can't be listed.
+     *
+     * @param directory The staging directory.
+     * @return Returns the index over the staged files.
+     */
+    static StagedFileIndex watch(File directory) {
+
+        String[] fileNames = directory.list();
+        List<String> stagedFiles = new ArrayList<>();
+
+        if (fileNames != null) {
+            for (String fileName : fileNames) {
+                if (isStagedFile(fileName)) {
+                    stagedFiles.add(fileName);
+                }
+            }
+        }
+
+        final StagedFileIndex index
+                = new StagedFileIndex(stagedFiles.isEmpty() ? DEFAULT_FILES : stagedFiles);
+
+        index.observer = new FileObserver(directory.getAbsolutePath(), FileObserver.CREATE
+                | FileObserver.MOVED_TO | FileObserver.DELETE | FileObserver.MOVED_FROM) {
+            @Override
+            public void onEvent(int event, String path) {
+                if (path == null) {
+                    return;
+                }
+                switch (event & FileObserver.ALL_EVENTS) {
+                    case FileObserver.CREATE:
+                    case FileObserver.MOVED_TO:
+                        index.add(path);
+                        break;
+                    case FileObserver.DELETE:
+                    case FileObserver.MOVED_FROM:
+                        index.remove(path);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        };
+        index.observer.startWatching();
+        return index;
+    }
+
+    private static boolean isStagedFile(String fileName) {
+        return fileName.startsWith(FILE_PREFIX) && fileName.indexOf('.') > 0;
+    }
+
+    private static String extensionOf(String fileName) {
+        return fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase(Locale.US);
+    }
+
+    /**
+     * Adds a staged file to the index.
+     *
+     * @param fileName The name of the staged file.
+     */
+    synchronized void add(String fileName) {
+        if (isStagedFile(fileName) && files.add(fileName)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Removes a staged file from the index.
+     *
+     * @param fileName The name of the removed file.
+     */
+    synchronized void remove(String fileName) {
+        if (files.remove(fileName)) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+
+        Map<String, List<String>> index = new HashMap<>();
+
+        for (String fileName : files) {
+            String extension = extensionOf(fileName);
+            append(index, "*", fileName);
+            append(index, extension, fileName);
+
+            String[] mimeTypes = MIME_TYPES.get(extension);
+            if (mimeTypes != null) {
+                for (String mimeType : mimeTypes) {
+                    append(index, mimeType + "/*", fileName);
+                    append(index, mimeType + "/" + extension, fileName);
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<String>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.index = index;
+    }
+
+    private static void append(Map<String, List<String>> index, String key, String fileName) {
+        List<String> fileNames = index.get(key);
+        if (fileNames == null) {
+            fileNames = new ArrayList<>();
+            index.put(key, fileNames);
+        }
+        fileNames.add(fileName);
+    }
+
+    /**
+     * Returns the staged files that can serve the given MIME type.
+     *
+     * @param mimeType The MIME type, e.g. image/jpeg or image/*.
+     * @return Returns the matching staged files, possibly an empty list.
+     */
+    List<String> getFilesByMimeType(String mimeType) {
+
+        if (mimeType.startsWith("*/")) {
+            return lookup("*");
+        }
+
+        int separator = mimeType.indexOf('/');
+        if (separator < 0) {
+            return Collections.emptyList();
+        }
+
+        String type = mimeType.substring(0, separator);
+        String subtype = mimeType.substring(separator + 1);
+
+        if (subtype.endsWith("*")) {
+            return lookup(type + "/*");
+        }
+
+        String extension = resolve(subtype);
+        return extension == null ? Collections.<String>emptyList()
+                : lookup(type + "/" + extension);
+    }
+
+    /**
+     * Returns the staged files sharing the file ending of the given path.
+     *
+     * @param path The path of a URI, e.g. /images/picture.jpeg.
+     * @return Returns the matching staged files, possibly an empty list.
+     */
+    List<String> getFilesByPath(String path) {
+
+        int dot = path.lastIndexOf('.');
+        if (dot < 0 || dot < path.lastIndexOf('/')) {
+            return Collections.emptyList();
+        }
+
+        String extension = PATH_EXTENSIONS.get(path.substring(dot + 1));
+        return extension == null ? Collections.<String>emptyList() : lookup(extension);
+    }
+
+    /**
+     * Selects a random staged file that can serve the given MIME type.
+     *
+     * @param mimeType The MIME type, e.g. image/jpeg or image/*.
+     * @return Returns a matching staged file or {@code null} if there is none.
+     */
+    String findFileByMimeType(String mimeType) {
+        List<String> candidates = getFilesByMimeType(mimeType);
+        return candidates.isEmpty() ? null : Randomness.randomElement(candidates);
+    }
+
+    /**
+     * Selects a random staged file sharing the file ending of the given path.
+     *
+     * @param path The path of a URI, e.g. /images/picture.jpeg.
+     * @return Returns a matching staged file or {@code null} if there is none.
+     */
+    String findFileByPath(String path) {
+        List<String> candidates = getFilesByPath(path);
+        return candidates.isEmpty() ? null : Randomness.randomElement(candidates);
+    }
+
+    private List<String> lookup(String key) {
+        List<String> fileNames = index.get(key);
+        return fileNames != null ? fileNames : Collections.<String>emptyList();
+    }
+
+    /**
+     * Resolves a MIME subtype to a known extension. Subtypes carrying a vendor or experimental
+     * prefix, e.g. x-png, are resolved by their suffix.
+     */
+    private static String resolve(String subtype) {
+
+        String extension = SUBTYPE_EXTENSIONS.get(subtype);
+
+        if (extension == null) {
+            for (Map.Entry<String, String> entry : SUBTYPE_EXTENSIONS.entrySet()) {
+                if (subtype.endsWith(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return extension;
+    }
+}
@@ -1,6 +1,7 @@
 package org.mate.interaction;
 
 import android.os.Environment;
+import android.os.ParcelFileDescriptor;
 import android.os.RemoteException;
 
 import org.mate.Properties;
@@ -14,11 +15,13 @@ import org.mate.commons.interaction.action.ui.ActionType;
 import org.mate.commons.interaction.action.ui.UIAction;
 import org.mate.commons.interaction.action.ui.Widget;
 import org.mate.commons.utils.MATELog;
+import org.mate.commons.utils.ScreenshotTransfer;
 import org.mate.commons.utils.Utils;
 import org.mate.service.MATEService;
 import org.mate.state.IScreenState;
 import org.mate.utils.StackTrace;
 import org.mate.commons.utils.TimeoutRun;
+import org.mate.utils.metrics.ExplorationMetrics;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -27,6 +30,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Writer;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -61,6 +65,7 @@ public class DeviceMgr {
      * @return whether the action was executed successfully or not.
      */
     public ActionExecutionResult executeAction(Action action) throws AUTCrashException {
+        long startNanos = System.nanoTime();
         final ActionExecutionResult[] result = {ActionExecutionResult.failure()};
 
         TimeoutRun.timeoutRun(() -> {
@@ -83,6 +88,8 @@ public class DeviceMgr {
                                     systemAction.isDynamicReceiver()));
         }
 
+        ExplorationMetrics.record(ExplorationMetrics.Phase.ACTION_EXECUTION, startNanos);
+
         // Sleep here the amount of time specified in the properties file.
         Utils.sleep(Properties.ACTIONS_THROTTLE());
 
@@ -541,4 +548,57 @@ public class DeviceMgr {
             return false;
         }
     }
+
+    /**
+     * Captures a screenshot of the current screen in the representation layer, which keeps a
+     * downsampled copy of the most recent screenshots for the on-device analysis.
+     *
+     * @param stateId The id of the state shown on the screen.
+     * @param persist Whether the screenshot should be stored as png file on the device.
+     * @return Returns {@code true} if the screenshot could be captured, otherwise {@code false}.
+     */
+    public boolean captureScreenshot(String stateId, boolean persist) {
+        try {
+            return MATEService.getRepresentationLayer().captureScreenshot(stateId, persist);
+        } catch (RemoteException | AUTCrashException e) {
+            MATELog.log_warn("Unable to capture screenshot of state " + stateId + ": "
+                    + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves a screenshot previously captured by {@link #captureScreenshot(String, boolean)}.
+     * The screenshot is received through a pipe, see {@link ScreenshotTransfer}.
+     *
+     * @param stateId The id of the state.
+     * @return Returns the width, height and scale of the downsampled screenshot followed by its
+     *         ARGB pixels, or {@code null} if no screenshot of the state is available.
+     */
+    public int[] getScreenshot(String stateId) {
+        try {
+            ParcelFileDescriptor screenshot
+                    = MATEService.getRepresentationLayer().getScreenshot(stateId);
+            return screenshot == null ? null : ScreenshotTransfer.receive(screenshot);
+        } catch (RemoteException | AUTCrashException | IOException e) {
+            MATELog.log_warn("Unable to retrieve screenshot of state " + stateId + ": "
+                    + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Waits until the screenshots captured with {@code persist} enabled have been written on the
+     * device and returns the ones that haven't been returned before.
+     *
+     * @return Returns the paths of the written screenshots on the device.
+     */
+    public List<String> takePersistedScreenshots() {
+        try {
+            return MATEService.getRepresentationLayer().takePersistedScreenshots();
+        } catch (RemoteException | AUTCrashException e) {
+            MATELog.log_warn("Unable to retrieve persisted screenshots: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
 }
@@ -2,6 +2,7 @@ package org.mate.interaction;
 
 import org.mate.Properties;
 import org.mate.Registry;
+import org.mate.accessibility.utils.ScreenColours;
 import org.mate.commons.interaction.action.ui.Widget;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.TimeoutRun;
@@ -15,6 +16,8 @@ import org.mate.model.TestSuite;
 import org.mate.utils.Objective;
 import org.mate.utils.coverage.Coverage;
 import org.mate.utils.coverage.CoverageDTO;
+import org.mate.utils.metrics.CountingInputStream;
+import org.mate.utils.metrics.ExplorationMetrics;
 
 import java.io.IOException;
 import java.net.Socket;
@@ -39,6 +42,12 @@ public class EnvironmentManager {
     private static final String MESSAGE_PROTOCOL_VERSION = "2.8";
     private static final String MESSAGE_PROTOCOL_VERSION_KEY = "version";
 
+    /**
+     * The part of the error info by which the MATE server rejects a request it has no end point
+     * for.
+     */
+    private static final String UNKNOWN_SUBJECT = "unknown subject";
+
     /**
      * The max time to wait for MATE Server response (4 min).
      */
@@ -49,6 +58,13 @@ public class EnvironmentManager {
     private final Parser messageParser;
     private boolean active;
 
+    /**
+     * Whether the MATE server supports the batched colour analysis, see
+     * {@link #analyzeScreenColours(String, String, List)}. Cleared once the server rejects the
+     * request as unknown, such that the request is not repeated for every screen state.
+     */
+    private volatile boolean screenColoursAnalysisSupported = true;
+
     /**
      * Tracks for which test case the pulling of traces files have been already performed.
      * This is necessary that BranchDistance and BranchCoverage don't try to fetch for the same
@@ -75,9 +91,22 @@ public class EnvironmentManager {
      * @throws IOException If no connection could be established with the MATE server.
      */
     public EnvironmentManager(int port) throws IOException {
+        this(DEFAULT_SERVER_IP, port);
+    }
+
+    /**
+     * Initialises a new environment manager communicating with
+     * the MATE server on the given host and port.
+     *
+     * @param host The MATE server host, e.g. the loopback address for a server running
+     *         on the same machine.
+     * @param port The MATE server port.
+     * @throws IOException If no connection could be established with the MATE server.
+     */
+    public EnvironmentManager(String host, int port) throws IOException {
         active = true;
-        server = new Socket(DEFAULT_SERVER_IP, port);
-        messageParser = new Parser(server.getInputStream());
+        server = new Socket(host, port);
+        messageParser = new Parser(new CountingInputStream(server.getInputStream()));
     }
 
     /**
@@ -107,13 +136,34 @@ public class EnvironmentManager {
      * @return Response {@link org.mate.message.Message} of the server
      */
     public synchronized Message sendMessage(Message message) {
+        Message response = exchange(message);
+
+        if (response != null && response.getSubject().equals("/error")) {
+            MATELog.log("Received error message from mate-server: "
+                    + response.getParameter("info"));
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * Sends a {@link org.mate.message.Message} to the server and returns the response of the
+     * server as is, i.e. including an error response.
+     *
+     * @param message The message that will be send to the server.
+     * @return Returns the response of the server or {@code null} if a timeout occurred.
+     */
+    private synchronized Message exchange(Message message) {
         if (!active) {
             throw new IllegalStateException("EnvironmentManager is no longer active and can not be used for communication!");
         }
         addMetadata(message);
 
+        long startNanos = System.nanoTime();
+        byte[] serializedMessage = Serializer.serialize(message);
+
         try {
-            server.getOutputStream().write(Serializer.serialize(message));
+            server.getOutputStream().write(serializedMessage);
             server.getOutputStream().flush();
         } catch (IOException e) {
             MATELog.log("socket error sending");
@@ -127,6 +177,9 @@ public class EnvironmentManager {
             return null;
         }, SEND_MESSAGE_TIMEOUT);
 
+        ExplorationMetrics.recordServerCall(message.getSubject(), startNanos,
+                serializedMessage.length);
+
         if (!finishedWithoutTimeout) {
             MATELog.log_warn("A timeout occurred while waiting for MATE Server response: "
                     + message.getSubject());
@@ -134,12 +187,9 @@ public class EnvironmentManager {
         }
 
         verifyMetadata(response[0]);
-        if (response[0].getSubject().equals("/error")) {
-            MATELog.log("Received error message from mate-server: "
-                    + response[0].getParameter("info"));
-            return null;
+        if (!response[0].getSubject().equals("/error")) {
+            stripMetadata(response[0]);
         }
-        stripMetadata(response[0]);
         return response[0];
     }
 
@@ -473,6 +523,27 @@ public class EnvironmentManager {
         return success;
     }
 
+    /**
+     * Fetches and removes a screenshot persisted by the representation layer from the emulator.
+     *
+     * @param screenshotDir The screenshots directory on the emulator.
+     * @param screenshot The name of the screenshot.
+     * @return Returns {@code true} if the screenshot could be successfully fetched and removed,
+     *         otherwise {@code false} is returned.
+     */
+    public boolean fetchScreenshot(String screenshotDir, String screenshot) {
+
+        Message.MessageBuilder messageBuilder = new Message.MessageBuilder(
+                "/utility/fetch_screenshot")
+                .withParameter("deviceId", emulator)
+                .withParameter("screenshotDir", screenshotDir)
+                .withParameter("screenshot", screenshot);
+        Message response = sendMessage(messageBuilder.build());
+        boolean success = Boolean.parseBoolean(response.getParameter("response"));
+        MATELog.log_debug("Fetching screenshot from emulator succeeded: " + success);
+        return success;
+    }
+
     /**
      * Simulates a system event by broadcasting the notification of the occurrence of
      * a system event to a certain receiver.
@@ -644,6 +715,18 @@ public class EnvironmentManager {
         }
     }
 
+    /**
+     * Stores the fitness data for the given test case chromosome and replaces the fitness data
+     * stored for it before. This allows to collect the traces of several executions under a
+     * single scratch chromosome instead of leaving a chromosome behind per execution.
+     *
+     * @param chromosome The test case chromosome.
+     */
+    public void replaceFitnessData(IChromosome<TestCase> chromosome) {
+        coveredTestCases.remove(getChromosomeId(chromosome));
+        storeFitnessData(chromosome, null);
+    }
+
     /**
      * Retrieves the branch distance for the given chromosome. Note that
      * {@link #storeFitnessData(IChromosome, String)} has to be called previously.
@@ -1285,6 +1368,94 @@ public class EnvironmentManager {
         return response.getParameter("luminance");
     }
 
+    /**
+     * Computes the contrast ratio, the luminance and the match with the surrounding colour of all
+     * given widgets in a single request, instead of one request per widget and metric. The bounds
+     * are sent packed as 'x1,y1,x2,y2;...', where the luminance bounds are expanded like in
+     * {@link #getLuminance(String, String, Widget)}. The results are returned packed in the same
+     * order, separated by ';'.
+     *
+     * @param packageName The package name corresponding to the screen state.
+     * @param stateId Identifies the screen state.
+     * @param widgets The widgets of the screen state.
+     * @return Returns the colour metrics of the widgets, or {@code null} if the MATE server
+     *         doesn't support the request or failed to answer it this time.
+     */
+    public ScreenColours analyzeScreenColours(String packageName, String stateId, List<Widget> widgets) {
+
+        if (!screenColoursAnalysisSupported) {
+            return null;
+        }
+
+        if (widgets.isEmpty()) {
+            return new ScreenColours(widgets, new double[0], new String[0], new double[0]);
+        }
+
+        int maxw = Registry.getUiAbstractionLayer().getScreenWidth();
+        int maxh = Registry.getUiAbstractionLayer().getScreenHeight();
+
+        StringBuilder bounds = new StringBuilder();
+        StringBuilder luminanceBounds = new StringBuilder();
+
+        for (Widget widget : widgets) {
+            if (bounds.length() > 0) {
+                bounds.append(';');
+                luminanceBounds.append(';');
+            }
+            bounds.append(widget.getX1()).append(',').append(widget.getY1()).append(',')
+                    .append(widget.getX2()).append(',').append(widget.getY2());
+
+            int[] expanded = ScreenColours.expandBounds(widget, ScreenColours.LUMINANCE_BORDER, maxw, maxh);
+            luminanceBounds.append(expanded[0]).append(',').append(expanded[1]).append(',')
+                    .append(expanded[2]).append(',').append(expanded[3]);
+        }
+
+        Message response = exchange(new Message.MessageBuilder("/accessibility/analyze_screen_colours")
+                .withParameter("packageName", packageName)
+                .withParameter("stateId", stateId)
+                .withParameter("bounds", bounds.toString())
+                .withParameter("luminanceBounds", luminanceBounds.toString())
+                .build());
+
+        if (response == null) {
+            // a timeout, the next screen state tries the batched request again
+            MATELog.log_warn("Batched colour analysis timed out, falling back to the requests "
+                    + "per widget!");
+            return null;
+        } else if (response.getSubject().equals("/error")) {
+            String info = response.getParameter("info");
+            if (info != null && info.toLowerCase().contains(UNKNOWN_SUBJECT)) {
+                MATELog.log_warn("MATE server doesn't support the batched colour analysis, "
+                        + "falling back to the requests per widget!");
+                screenColoursAnalysisSupported = false;
+            } else {
+                MATELog.log_warn("Batched colour analysis failed, falling back to the requests "
+                        + "per widget: " + info);
+            }
+            return null;
+        }
+
+        String[] contrastRatios = response.getParameter("contrastRatios").split(";", -1);
+        String[] luminances = response.getParameter("luminances").split(";", -1);
+        String[] matches = response.getParameter("surroundingColourMatches").split(";", -1);
+
+        if (contrastRatios.length != widgets.size() || luminances.length != widgets.size()
+                || matches.length != widgets.size()) {
+            MATELog.log_warn("Unexpected number of colour metrics: " + contrastRatios.length
+                    + " for " + widgets.size() + " widgets!");
+            return null;
+        }
+
+        double[] parsedContrastRatios = new double[widgets.size()];
+        double[] parsedMatches = new double[widgets.size()];
+        for (int i = 0; i < widgets.size(); i++) {
+            parsedContrastRatios[i] = Double.parseDouble(contrastRatios[i]);
+            parsedMatches[i] = Double.parseDouble(matches[i]);
+        }
+
+        return new ScreenColours(widgets, parsedContrastRatios, luminances, parsedMatches);
+    }
+
     public void sendFlawToServer(String msg) {
         String cmd = "reportFlaw:" + emulator + ":" + msg;
         tunnelLegacyCmd(cmd);
@@ -9,12 +9,16 @@ import org.mate.Registry;
 import org.mate.commons.interaction.action.Action;
 import org.mate.commons.interaction.action.ActionResult;
 import org.mate.commons.interaction.action.intent.IntentBasedAction;
+import org.mate.commons.interaction.action.ui.UIAction;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.Randomness;
 import org.mate.commons.utils.manifest.element.ComponentDescription;
 import org.mate.commons.utils.manifest.element.IntentFilterDescription;
 import org.mate.model.Edge;
 import org.mate.model.IGUIModel;
+import org.mate.model.fsm.FSMModel;
+import org.mate.model.fsm.store.Fingerprints;
+import org.mate.model.fsm.store.GUIModelStore;
 import org.mate.state.IScreenState;
 
 import java.util.Collections;
@@ -44,12 +48,6 @@ public class GUIWalker {
      */
     private static final boolean quickLaunch = Properties.QUICK_LAUNCH();
 
-    /**
-     * The exported activities from the AndroidManifest.xml. Only present, when {@link #quickLaunch}
-     * is enabled.
-     */
-    private List<ComponentDescription> activities;
-
     /**
      * The name of the main activity.
      */
@@ -63,11 +61,6 @@ public class GUIWalker {
     public GUIWalker(UIAbstractionLayer uiAbstractionLayer) {
         this.guiModel = uiAbstractionLayer.getGuiModel();
         this.uiAbstractionLayer = uiAbstractionLayer;
-        if (quickLaunch) {
-            activities = Registry.getManifest().getActivities().stream()
-                    .filter(activity -> activity.isExported() && activity.isEnabled())
-                    .collect(Collectors.toList());
-        }
     }
 
     /**
@@ -142,17 +135,14 @@ public class GUIWalker {
         }
 
         // look up whether the activity has been exported via the manifest
-        Optional<ComponentDescription> optActivityComponent = activities.stream()
-                .filter(activity -> activity.getFullyQualifiedName().equals(activityName))
-                .findFirst();
+        ComponentDescription activityComponent
+                = Registry.getManifest().getExportedActivity(activityName);
 
-        if (!optActivityComponent.isPresent()) {
+        if (activityComponent == null) {
             // activity hasn't been exported
             return false;
         }
 
-        ComponentDescription activityComponent = optActivityComponent.get();
-
         if (!activityComponent.hasIntentFilter()) {
             /*
              * If the component doesn't define any intent filter at all, the activity can be only
@@ -305,6 +295,10 @@ public class GUIWalker {
         } else {
             MATELog.log_acc("No path from " + source.getId() + " to " + target.getId() + "!");
 
+            if (goFromToByStoredPath(source, target)) {
+                return true;
+            }
+
             // If there is not direct path from the source state, re-try it from the initial state
             uiAbstractionLayer.restartApp();
             shortestPath = guiModel.shortestPath(uiAbstractionLayer.getLastScreenState(), target)
@@ -314,11 +308,68 @@ public class GUIWalker {
                 return replayActions(shortestPath.get())
                         // check that we actually reached the target state
                         && uiAbstractionLayer.getLastScreenState().equals(target);
+            } else {
+                return goFromToByStoredPath(uiAbstractionLayer.getLastScreenState(), target);
             }
         }
         return false;
     }
 
+    /**
+     * Moves the AUT from the given source to the given target state along a path of the persisted
+     * gui model, which may stem from a previous run. Since the persisted model solely knows the
+     * fingerprints of the actions, each action is looked up among the executable actions of the
+     * current screen.
+     *
+     * @param source The source state.
+     * @param target The target state.
+     * @return Returns {@code true} if the transition to the target state was possible, otherwise
+     *         {@code false} is returned.
+     */
+    private boolean goFromToByStoredPath(final IScreenState source, final IScreenState target) {
+
+        if (!(guiModel instanceof FSMModel) || ((FSMModel) guiModel).getStore() == null) {
+            return false;
+        }
+
+        GUIModelStore store = ((FSMModel) guiModel).getStore();
+        Optional<List<Long>> storedPath
+                = store.shortestPath(Fingerprints.of(source), Fingerprints.of(target));
+
+        if (!storedPath.isPresent()) {
+            return false;
+        }
+
+        MATELog.log_acc("Following persisted path from " + source.getId() + " to "
+                + target.getId() + "!");
+
+        for (long actionFingerprint : storedPath.get()) {
+            Action action = findExecutableAction(actionFingerprint);
+            if (action == null
+                    || uiAbstractionLayer.executeAction(action) != ActionResult.SUCCESS) {
+                return false;
+            }
+        }
+
+        // check that we actually reached the target state
+        return uiAbstractionLayer.getLastScreenState().equals(target);
+    }
+
+    /**
+     * Looks up an executable action on the current screen by its fingerprint.
+     *
+     * @param fingerprint The fingerprint of the action.
+     * @return Returns the matching action or {@code null} if no such action is executable.
+     */
+    private Action findExecutableAction(long fingerprint) {
+        for (UIAction action : uiAbstractionLayer.getExecutableUiActions()) {
+            if (Fingerprints.of(action) == fingerprint) {
+                return action;
+            }
+        }
+        return null;
+    }
+
     /**
      * Moves the AUT to the given activity.
      *
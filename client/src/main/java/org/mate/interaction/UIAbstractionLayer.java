@@ -27,6 +27,7 @@ import org.mate.state.IScreenState;
 import org.mate.state.ScreenStateFactory;
 import org.mate.state.ScreenStateType;
 import org.mate.utils.StackTrace;
+import org.mate.utils.metrics.ExplorationMetrics;
 
 import java.util.HashSet;
 import java.util.List;
@@ -76,14 +77,16 @@ public class UIAbstractionLayer {
     private int lastScreenStateNumber = 0;
 
     /**
-     * The current gui model.
+     * The current gui model. Only maintained if {@link Properties#PERSISTENT_GUI_MODEL()} is
+     * enabled, otherwise {@code null}.
      */
-    // private final IGUIModel guiModel;
+    private final IGUIModel guiModel;
 
     /**
-     * Enables moving the AUT into an arbitrary state or activity.
+     * Enables moving the AUT into an arbitrary state or activity. Only present if the gui model
+     * is maintained, otherwise {@code null}.
      */
-    // private final GUIWalker guiWalker;
+    private final GUIWalker guiWalker;
 
     /**
      * The activities belonging to the AUT.
@@ -110,6 +113,14 @@ public class UIAbstractionLayer {
         //     guiModel = new FSMModel(lastScreenState, packageName);
         // }
         // guiWalker = new GUIWalker(this);
+        if (Properties.PERSISTENT_GUI_MODEL()) {
+            // loads the gui model persisted by previous runs on the same app version
+            guiModel = new FSMModel(lastScreenState, packageName);
+            guiWalker = new GUIWalker(this);
+        } else {
+            guiModel = null;
+            guiWalker = null;
+        }
     }
 
     /**
@@ -245,6 +256,9 @@ public class UIAbstractionLayer {
             // } else {
             //     guiModel.update(lastScreenState, state, action);
             // }
+            if (guiModel != null) {
+                guiModel.update(lastScreenState, state, action);
+            }
 
             lastScreenState = state;
 
@@ -292,6 +306,9 @@ public class UIAbstractionLayer {
         // } else {
         //     guiModel.update(lastScreenState, state, action);
         // }
+        if (guiModel != null) {
+            guiModel.update(lastScreenState, state, action);
+        }
 
         lastScreenState = state;
 
@@ -350,6 +367,20 @@ public class UIAbstractionLayer {
      * @return Returns the current screen state.
      */
     public IScreenState clearScreen() {
+        long startNanos = System.nanoTime();
+        try {
+            return handleDialogs();
+        } finally {
+            ExplorationMetrics.record(ExplorationMetrics.Phase.DIALOG_HANDLING, startNanos);
+        }
+    }
+
+    /**
+     * Handles the dialogs on the current screen until no dialog appears anymore.
+     *
+     * @return Returns the current screen state.
+     */
+    private IScreenState handleDialogs() {
 
         IScreenState screenState = null;
         boolean change = true;
@@ -596,6 +627,7 @@ public class UIAbstractionLayer {
      */
     public void resetApp() {
         MATELog.log_debug("UIAbstractionLayer is resetting app");
+        long startNanos = System.nanoTime();
 
         // if (Properties.SURROGATE_MODEL()) {
         //     // If the surrogate model was able to predict every action, we can avoid the reset.
@@ -623,7 +655,7 @@ public class UIAbstractionLayer {
         }*/
 
         deviceMgr.reinstallApp();
-        Utils.sleep(5000);
+        Utils.sleep(Properties.DELAY_AFTER_APP_RESET());
         deviceMgr.restartApp();
 
         /*
@@ -631,7 +663,11 @@ public class UIAbstractionLayer {
          * possible root states.
          */
         lastScreenState = toRecordedScreenState(clearScreen());
-        // guiModel.addRootState(lastScreenState);
+
+        ExplorationMetrics.record(ExplorationMetrics.Phase.APP_RESET, startNanos);
+        if (guiModel != null) {
+            guiModel.addRootState(lastScreenState);
+        }
 
         // if (Properties.SURROGATE_MODEL()) {
         //     // We need to move the FSM back in the correct state.
@@ -653,8 +689,10 @@ public class UIAbstractionLayer {
          * possible root states.
          */
         lastScreenState = toRecordedScreenState(clearScreen());
-        // guiModel.addRootState(lastScreenState);
-        //
+        if (guiModel != null) {
+            guiModel.addRootState(lastScreenState);
+        }
+
         // if (Properties.SURROGATE_MODEL()) {
         //     // We need to move the FSM back in the correct state.
         //     SurrogateModel surrogateModel = (SurrogateModel) guiModel;
@@ -669,8 +707,7 @@ public class UIAbstractionLayer {
      * @return Returns the edges labeled by the given action.
      */
     public Set<Edge> getEdges(Action action) {
-        return new HashSet<>();
-        // return guiModel.getEdges(action);
+        return guiModel != null ? guiModel.getEdges(action) : new HashSet<>();
     }
 
     /**
@@ -705,8 +742,7 @@ public class UIAbstractionLayer {
      *         otherwise {@code} false is returned.
      */
     public boolean reachedNewState() {
-        return true;
-        // return guiModel.reachedNewState();
+        return guiModel == null || guiModel.reachedNewState();
     }
 
     /**
@@ -743,8 +779,7 @@ public class UIAbstractionLayer {
      * @return Returns the current gui model.
      */
     public IGUIModel getGuiModel() {
-        return null;
-        // return guiModel;
+        return guiModel;
     }
 
     /**
@@ -755,8 +790,7 @@ public class UIAbstractionLayer {
      *         {@code false} is returned.
      */
     public boolean moveToState(final IScreenState screenState) {
-        return false;
-        // return guiWalker.goToState(screenState);
+        return guiWalker != null && guiWalker.goToState(screenState);
     }
 
     /**
@@ -767,8 +801,7 @@ public class UIAbstractionLayer {
      *         {@code false} is returned.
      */
     public boolean moveToState(String screenStateId) {
-        return false;
-        // return guiWalker.goToState(screenStateId);
+        return guiWalker != null && guiWalker.goToState(screenStateId);
     }
 
     /**
@@ -778,8 +811,7 @@ public class UIAbstractionLayer {
      *         {@code false} is returned.
      */
     public boolean moveToMainActivity() {
-        return false;
-        // return guiWalker.goToMainActivity();
+        return guiWalker != null && guiWalker.goToMainActivity();
     }
 
     /**
@@ -790,8 +822,7 @@ public class UIAbstractionLayer {
      *         {@code false} is returned.
      */
     public boolean moveToActivity(String activity) {
-        return false;
-        // return guiWalker.goToActivity(activity);
+        return guiWalker != null && guiWalker.goToActivity(activity);
     }
 
     /**
@@ -16,6 +16,9 @@ import org.mate.commons.utils.Randomness;
 import org.mate.state.IScreenState;
 import org.mate.utils.ListUtils;
 import org.mate.utils.StackTrace;
+import org.mate.utils.metrics.ExplorationMetrics;
+import org.mate.utils.testcase.TestCasePipeline;
+import org.mate.utils.testcase.TestCasePipeline.Sink;
 import org.mate.utils.testcase.TestCaseStatistics;
 import org.mate.utils.testcase.espresso.EspressoConverter;
 import org.mate.utils.testcase.serialization.TestCaseSerializer;
@@ -118,6 +121,64 @@ public class TestCase {
         activitySequence.add(lastScreenState.getActivityName());
     }
 
+    /**
+     * Creates a detached copy of the given test case, see {@link #snapshot()}.
+     *
+     * @param testCase The test case to be copied.
+     */
+    protected TestCase(TestCase testCase) {
+        id = testCase.id;
+        crashDetected = testCase.crashDetected;
+        stateSequence = new ArrayList<>(testCase.stateSequence);
+        actionSequence = new ArrayList<>(testCase.actionSequence);
+        activitySequence = new ArrayList<>(testCase.activitySequence);
+        actionsThatClosedSoftKeyboard = new ArrayList<>(testCase.actionsThatClosedSoftKeyboard);
+        desiredSize = testCase.desiredSize;
+        crashStackTrace = testCase.crashStackTrace;
+        lastActionResult = testCase.lastActionResult;
+    }
+
+    /**
+     * Restores a recorded test case, e.g. one read by the
+     * {@link org.mate.utils.testcase.serialization.BinaryTestCaseReader}.
+     *
+     * @param id The id of the test case.
+     * @param stateSequence The visited states (ids) in the order they were visited.
+     * @param activitySequence The visited activities in the order they appeared.
+     * @param actionSequence The executed actions.
+     * @param actionsThatClosedSoftKeyboard The actions after which the soft keyboard was closed.
+     * @param crashDetected Whether a crash has been triggered by an action of the test case.
+     * @param crashStackTrace The stack trace of the crash if recorded, otherwise {@code null}.
+     * @param lastActionResult The result of the last executed action, may be {@code null}.
+     * @return Returns the restored test case.
+     */
+    public static TestCase restore(String id, List<String> stateSequence,
+                                   List<String> activitySequence, List<Action> actionSequence,
+                                   List<Action> actionsThatClosedSoftKeyboard,
+                                   boolean crashDetected, StackTrace crashStackTrace,
+                                   ActionResult lastActionResult) {
+        TestCase testCase = new TestCase();
+        testCase.id = id;
+        testCase.stateSequence.addAll(stateSequence);
+        testCase.activitySequence.addAll(activitySequence);
+        testCase.actionSequence.addAll(actionSequence);
+        testCase.actionsThatClosedSoftKeyboard.addAll(actionsThatClosedSoftKeyboard);
+        testCase.crashDetected = crashDetected;
+        testCase.crashStackTrace = crashStackTrace;
+        testCase.lastActionResult = lastActionResult;
+        return testCase;
+    }
+
+    /**
+     * Creates a copy of this test case that is not affected by later modifications of this test
+     * case, e.g. to serialize the test case in the background. The actions themselves are shared.
+     *
+     * @return Returns the copy of this test case.
+     */
+    public TestCase snapshot() {
+        return new TestCase(this);
+    }
+
     /**
      * Checks whether this is a dummy test case.
      *
@@ -133,30 +194,41 @@ public class TestCase {
      *
      * Among other things, this method is responsible for the serialization
      * of a test case (if desired), the recording of test case stats (if desired)
-     * and so on.
+     * and so on. These steps are carried out in the background on a snapshot of
+     * the test case, see {@link TestCasePipeline}.
      */
     public void finish() {
+        long start = System.nanoTime();
         MATELog.log("Finishing test case!");
 
         MATELog.log("Found crash: " + hasCrashDetected());
 
+        // the exploration continues while the snapshot is processed in the background
+        final TestCase snapshot = snapshot();
+
         // serialization of test case
         if (Properties.RECORD_TEST_CASE()) {
-            TestCaseSerializer.serializeTestCase(this);
+            TestCasePipeline.submit(Sink.SERIALIZATION, () -> {
+                TestCaseSerializer.serializeTestCase(snapshot);
 
-            writeAsInstrumentationTestIfPossible();
+                snapshot.writeAsInstrumentationTestIfPossible();
+            });
         }
 
         // convert test case to reproducible espresso test
         if (Properties.CONVERT_TEST_CASE_TO_ESPRESSO_TEST()) {
-            EspressoConverter.convert(this);
+            final int testCaseNumber = EspressoConverter.reserveTestCaseNumber();
+            TestCasePipeline.submit(Sink.ESPRESSO_CONVERSION,
+                    () -> EspressoConverter.convert(snapshot, testCaseNumber));
         }
 
         // record stats about a test case, in particular about intent based actions
         if (Properties.RECORD_TEST_CASE_STATS()) {
-            TestCaseStatistics.recordStats(this);
+            TestCasePipeline.submit(Sink.STATISTICS, () -> TestCaseStatistics.recordStats(snapshot));
         }
 
+        ExplorationMetrics.record(ExplorationMetrics.Phase.TEST_CASE_FINALIZATION, start);
+
         // TODO: log the test case actions in a proper format
     }
 
@@ -1,5 +1,9 @@
 package org.mate.model.fsm;
 
+import android.content.pm.PackageManager;
+
+import org.mate.Properties;
+import org.mate.Registry;
 import org.mate.commons.interaction.action.Action;
 import org.mate.commons.interaction.action.VirtualStartAction;
 import org.mate.commons.interaction.action.espresso.InstrumentationTestAction;
@@ -11,9 +15,13 @@ import org.mate.commons.state.espresso.EspressoScreenSummary;
 import org.mate.commons.utils.MATELog;
 import org.mate.model.Edge;
 import org.mate.model.IGUIModel;
+import org.mate.model.fsm.store.Fingerprints;
+import org.mate.model.fsm.store.GUIModelStore;
 import org.mate.state.IScreenState;
 import org.mate.state.ScreenStateType;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +44,17 @@ public class FSMModel implements IGUIModel {
      */
     protected final String packageName;
 
+    /**
+     * The directory holding the persisted gui models, one per app version.
+     */
+    private static final File GUI_MODELS_DIR = new File("/data/data/org.mate/gui-models");
+
+    /**
+     * Persists the states and transitions across runs on the same app version. Only present if
+     * {@link Properties#PERSISTENT_GUI_MODEL()} is enabled and the store could be opened.
+     */
+    protected final GUIModelStore store;
+
     /**
      * Since the AUT can be non-deterministic, there might be multiple start screen states. To handle
      * them appropriately, we introduce a virtual root state that has an outgoing edge to each start
@@ -110,6 +129,75 @@ public class FSMModel implements IGUIModel {
         fsm = new FSM(VIRTUAL_ROOT_STATE, packageName);
         fsm.addTransition(new Transition(VIRTUAL_ROOT_STATE, new State(0, rootState),
                 new VirtualStartAction()));
+        store = Properties.PERSISTENT_GUI_MODEL() ? openStore(packageName) : null;
+        persist(rootState);
+    }
+
+    /**
+     * Opens the persisted gui model of the installed version of the AUT.
+     *
+     * @param packageName The package name of the AUT.
+     * @return Returns the store or {@code null} if it couldn't be opened.
+     */
+    private static GUIModelStore openStore(String packageName) {
+        try {
+            String apk = Registry.getContext().getPackageManager()
+                    .getApplicationInfo(packageName, 0).sourceDir;
+            GUIModelStore store = GUIModelStore.open(GUI_MODELS_DIR,
+                    Fingerprints.apkHash(new File(apk)));
+            MATELog.log("Loaded persisted gui model with " + store.getNumberOfStates()
+                    + " states and " + store.getNumberOfTransitions() + " transitions.");
+            return store;
+        } catch (PackageManager.NameNotFoundException | IOException e) {
+            MATELog.log_warn("Couldn't open persisted gui model: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Persists the given screen state if the gui model is persisted.
+     *
+     * @param screenState The screen state.
+     */
+    protected void persist(IScreenState screenState) {
+        if (store != null) {
+            try {
+                store.addState(Fingerprints.of(screenState), screenState.getActivityName(),
+                        Fingerprints.widgetSummary(screenState));
+            } catch (IOException e) {
+                MATELog.log_warn("Couldn't persist state: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Persists the given transition if the gui model is persisted.
+     *
+     * @param source The source state.
+     * @param target The target state.
+     * @param action The action leading from the source to the target state.
+     */
+    protected void persist(IScreenState source, IScreenState target, Action action) {
+        if (store != null) {
+            persist(source);
+            persist(target);
+            try {
+                store.addTransition(Fingerprints.of(source), Fingerprints.of(action),
+                        Fingerprints.of(target));
+            } catch (IOException e) {
+                MATELog.log_warn("Couldn't persist transition: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the persisted gui model, which may already contain states and transitions from
+     * previous runs on the same app version.
+     *
+     * @return Returns the store or {@code null} if the gui model is not persisted.
+     */
+    public GUIModelStore getStore() {
+        return store;
     }
 
     /**
@@ -121,6 +209,7 @@ public class FSMModel implements IGUIModel {
         State targetState = fsm.getState(target);
         Transition transition = new Transition(sourceState, targetState, action);
         fsm.addTransition(transition);
+        persist(source, target, action);
     }
 
     /**
@@ -130,6 +219,7 @@ public class FSMModel implements IGUIModel {
     public void addRootState(IScreenState rootState) {
         State root = fsm.getState(rootState);
         fsm.addTransition(new Transition(VIRTUAL_ROOT_STATE, root, new VirtualStartAction()));
+        persist(rootState);
     }
 
     /**
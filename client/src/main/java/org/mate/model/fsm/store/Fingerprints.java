@@ -0,0 +1,130 @@
+package org.mate.model.fsm.store;
+
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.state.IScreenState;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Computes fingerprints of screen states and actions that are stable across runs, i.e. they solely
+ * depend on the structure of a screen and not on object identities or state ids. Two screen states
+ * share the same fingerprint if they are equivalent under
+ * {@link org.mate.state.equivalence.StateEquivalenceLevel#WIDGET} (modulo hash collisions).
+ */
+public final class Fingerprints {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Fingerprints() {
+        throw new UnsupportedOperationException("Trying to instantiate utility class!");
+    }
+
+    /**
+     * Computes the structural fingerprint of the given screen state.
+     *
+     * @param screenState The screen state.
+     * @return Returns the fingerprint of the screen state.
+     */
+    public static long of(IScreenState screenState) {
+        long hash = mix(FNV_OFFSET_BASIS, Objects.hashCode(screenState.getPackageName()));
+        hash = mix(hash, Objects.hashCode(screenState.getActivityName()));
+        for (Widget widget : screenState.getWidgets()) {
+            hash = mix(hash, of(widget));
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the fingerprint of the given action. A widget action is identified by its type and
+     * the widget it targets, any other action by its textual representation.
+     *
+     * @param action The action.
+     * @return Returns the fingerprint of the action.
+     */
+    public static long of(Action action) {
+        long hash = mix(FNV_OFFSET_BASIS, action.getClass().getName().hashCode());
+        if (action instanceof WidgetAction) {
+            WidgetAction widgetAction = (WidgetAction) action;
+            hash = mix(hash, widgetAction.getActionType().name().hashCode());
+            return mix(hash, of(widgetAction.getWidget()));
+        } else {
+            return mix(hash, action.toString().hashCode());
+        }
+    }
+
+    /**
+     * Computes a compact summary of the widgets of the given screen state, i.e. the sorted widget
+     * hashes.
+     *
+     * @param screenState The screen state.
+     * @return Returns the widget summary of the screen state.
+     */
+    public static int[] widgetSummary(IScreenState screenState) {
+        List<Widget> widgets = screenState.getWidgets();
+        int[] summary = new int[widgets.size()];
+        for (int i = 0; i < summary.length; i++) {
+            summary[i] = of(widgets.get(i));
+        }
+        Arrays.sort(summary);
+        return summary;
+    }
+
+    /**
+     * Computes the SHA-1 hash of the given APK, which identifies the app version.
+     *
+     * @param apk The APK file.
+     * @return Returns the hash as hex string.
+     * @throws IOException If the APK can't be read.
+     */
+    public static String apkHash(File apk) throws IOException {
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        try (InputStream in = new FileInputStream(apk)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hash.append(Character.forDigit((b >> 4) & 0xf, 16))
+                    .append(Character.forDigit(b & 0xf, 16));
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Hashes the attributes of a widget that are compared by {@link Widget#equals(Object)}.
+     */
+    private static int of(Widget widget) {
+        return Objects.hash(widget.getId(), widget.getX1(), widget.getX2(), widget.getY1(),
+                widget.getY2(), widget.isVisible(), widget.getText(), widget.getContentDesc());
+    }
+
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,537 @@
+package org.mate.model.fsm.store;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A persistent store of the states and transitions of the gui model that survives across runs on
+ * the same app version. A state is identified by its structural fingerprint and accompanied by a
+ * compact summary of its widgets, see {@link Fingerprints}. The transitions are kept as parallel
+ * edge arrays, which enables path planning without materialising the screen states.
+ *
+ * The store is backed by an append-only file keyed by the hash of the APK. On opening, the file is
+ * memory-mapped and read in one pass; afterwards new states and transitions are appended. A
+ * partially written trailing record, e.g. due to the client being killed, is discarded.
+ */
+public final class GUIModelStore implements Closeable {
+
+    /**
+     * The magic number 'MGUI' identifying the file format.
+     */
+    static final int MAGIC = 0x4D475549;
+
+    /**
+     * The version of the file format.
+     */
+    static final int VERSION = 1;
+
+    private static final byte STATE_RECORD = 1;
+    private static final byte TRANSITION_RECORD = 2;
+
+    /**
+     * The hash of the APK the stored model belongs to.
+     */
+    private final String apkHash;
+
+    /**
+     * Maps the fingerprint of a state to its index.
+     */
+    private final Map<Long, Integer> stateIndices = new HashMap<>();
+
+    private long[] stateFingerprints = new long[16];
+    private String[] stateActivities = new String[16];
+    private int[][] widgetSummaries = new int[16][];
+    private int stateCount = 0;
+
+    private int[] edgeSources = new int[16];
+    private int[] edgeTargets = new int[16];
+    private long[] edgeActions = new long[16];
+    private int edgeCount = 0;
+
+    /**
+     * The stored edges for detecting duplicates.
+     */
+    private final Set<EdgeKey> edges = new HashSet<>();
+
+    /**
+     * The outgoing edges in compressed sparse row format, i.e. the outgoing edges of state i are
+     * {@code outgoingEdges[outgoingOffsets[i]]} up to (excluding)
+     * {@code outgoingEdges[outgoingOffsets[i + 1]]}. Rebuilt lazily after the edges changed.
+     */
+    private int[] outgoingOffsets;
+    private int[] outgoingEdges;
+
+    /**
+     * Appends new records to the backing file.
+     */
+    private final DataOutputStream out;
+
+    private GUIModelStore(String apkHash, DataOutputStream out) {
+        this.apkHash = apkHash;
+        this.out = out;
+    }
+
+    /**
+     * Opens the store for the given APK hash in the given directory. Creates a new store if there
+     * is none yet or the existing file can't be read.
+     *
+     * @param directory The directory holding the stores.
+     * @param apkHash The hash of the APK.
+     * @return Returns the opened store.
+     * @throws IOException If the store can't be created.
+     */
+    public static GUIModelStore open(File directory, String apkHash) throws IOException {
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Couldn't create the directory " + directory + "!");
+        }
+
+        File file = new File(directory, apkHash + ".fsm");
+        List<Record> records = new ArrayList<>();
+        long validLength = file.exists() ? load(file, apkHash, records) : 0;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // drop a corrupt or partially written tail, such that new records remain readable
+            raf.setLength(validLength);
+        }
+
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file, true)));
+        GUIModelStore store = new GUIModelStore(apkHash, out);
+
+        if (validLength == 0) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, apkHash);
+            out.flush();
+        }
+
+        for (Record record : records) {
+            record.applyTo(store);
+        }
+        return store;
+    }
+
+    /**
+     * Reads the records of the given file through a read-only memory mapping.
+     *
+     * @param file The backing file.
+     * @param apkHash The expected hash of the APK.
+     * @param records Collects the read records.
+     * @return Returns the length of the valid prefix of the file or {@code 0} if the file doesn't
+     *         belong to the given APK.
+     * @throws IOException If the file can't be mapped.
+     */
+    private static long load(File file, String apkHash, List<Record> records) throws IOException {
+
+        MappedByteBuffer buffer;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || !apkHash.equals(readString(buffer))) {
+                return 0;
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return 0;
+        }
+
+        long validLength = buffer.position();
+
+        try {
+            while (buffer.hasRemaining()) {
+                byte kind = buffer.get();
+                if (kind == STATE_RECORD) {
+                    long fingerprint = buffer.getLong();
+                    String activity = readString(buffer);
+                    int[] widgetSummary = new int[checkLength(buffer.getInt(), buffer, 4)];
+                    buffer.asIntBuffer().get(widgetSummary);
+                    buffer.position(buffer.position() + widgetSummary.length * 4);
+                    records.add(new StateRecord(fingerprint, activity, widgetSummary));
+                } else if (kind == TRANSITION_RECORD) {
+                    int source = buffer.getInt();
+                    int target = buffer.getInt();
+                    long action = buffer.getLong();
+                    records.add(new TransitionRecord(source, target, action));
+                } else {
+                    break;
+                }
+                validLength = buffer.position();
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // a partially written trailing record
+        }
+
+        return validLength;
+    }
+
+    private static int checkLength(int length, ByteBuffer buffer, int elementSize) {
+        if (length < 0 || (long) length * elementSize > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length " + length + "!");
+        }
+        return length;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[checkLength(buffer.getInt(), buffer, 1)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Adds a state to the store unless a state with the same fingerprint is already stored.
+     *
+     * @param fingerprint The structural fingerprint of the state.
+     * @param activity The activity of the state.
+     * @param widgetSummary The compact widget summary of the state.
+     * @return Returns {@code true} if the state was new, otherwise {@code false} is returned.
+     * @throws IOException If the state can't be appended to the backing file.
+     */
+    public synchronized boolean addState(long fingerprint, String activity, int[] widgetSummary)
+            throws IOException {
+
+        if (stateIndices.containsKey(fingerprint)) {
+            return false;
+        }
+
+        out.writeByte(STATE_RECORD);
+        out.writeLong(fingerprint);
+        writeString(out, activity);
+        out.writeInt(widgetSummary.length);
+        for (int widget : widgetSummary) {
+            out.writeInt(widget);
+        }
+        out.flush();
+
+        putState(fingerprint, activity, widgetSummary);
+        return true;
+    }
+
+    /**
+     * Adds a transition between two stored states unless it is already stored.
+     *
+     * @param source The fingerprint of the source state.
+     * @param action The fingerprint of the action.
+     * @param target The fingerprint of the target state.
+     * @return Returns {@code true} if the transition was new, otherwise {@code false} is returned.
+     * @throws IOException If the transition can't be appended to the backing file.
+     */
+    public synchronized boolean addTransition(long source, long action, long target)
+            throws IOException {
+
+        Integer sourceIndex = stateIndices.get(source);
+        Integer targetIndex = stateIndices.get(target);
+
+        if (sourceIndex == null || targetIndex == null) {
+            throw new IllegalArgumentException("Both states need to be stored first!");
+        }
+
+        if (edges.contains(new EdgeKey(sourceIndex, targetIndex, action))) {
+            return false;
+        }
+
+        out.writeByte(TRANSITION_RECORD);
+        out.writeInt(sourceIndex);
+        out.writeInt(targetIndex);
+        out.writeLong(action);
+        out.flush();
+
+        putEdge(sourceIndex, targetIndex, action);
+        return true;
+    }
+
+    private void putState(long fingerprint, String activity, int[] widgetSummary) {
+
+        if (stateCount == stateFingerprints.length) {
+            int capacity = stateCount * 2;
+            stateFingerprints = Arrays.copyOf(stateFingerprints, capacity);
+            stateActivities = Arrays.copyOf(stateActivities, capacity);
+            widgetSummaries = Arrays.copyOf(widgetSummaries, capacity);
+        }
+
+        stateIndices.put(fingerprint, stateCount);
+        stateFingerprints[stateCount] = fingerprint;
+        stateActivities[stateCount] = activity;
+        widgetSummaries[stateCount] = widgetSummary.clone();
+        stateCount++;
+        outgoingOffsets = null;
+    }
+
+    private void putEdge(int source, int target, long action) {
+
+        if (source < 0 || source >= stateCount || target < 0 || target >= stateCount
+                || !edges.add(new EdgeKey(source, target, action))) {
+            // references an unknown state or is a duplicate
+            return;
+        }
+
+        if (edgeCount == edgeSources.length) {
+            int capacity = edgeCount * 2;
+            edgeSources = Arrays.copyOf(edgeSources, capacity);
+            edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+            edgeActions = Arrays.copyOf(edgeActions, capacity);
+        }
+
+        edgeSources[edgeCount] = source;
+        edgeTargets[edgeCount] = target;
+        edgeActions[edgeCount] = action;
+        edgeCount++;
+        outgoingOffsets = null;
+    }
+
+    /**
+     * Groups the edges by their source state.
+     */
+    private void buildAdjacency() {
+
+        int[] offsets = new int[stateCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            offsets[edgeSources[edge] + 1]++;
+        }
+        for (int state = 0; state < stateCount; state++) {
+            offsets[state + 1] += offsets[state];
+        }
+
+        int[] next = Arrays.copyOf(offsets, stateCount);
+        int[] grouped = new int[edgeCount];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            grouped[next[edgeSources[edge]]++] = edge;
+        }
+
+        outgoingOffsets = offsets;
+        outgoingEdges = grouped;
+    }
+
+    /**
+     * Tries to find the shortest path between two stored states.
+     *
+     * @param from The fingerprint of the source state.
+     * @param to The fingerprint of the target state.
+     * @return Returns the fingerprints of the actions leading from the source to the target state
+     *         if such path exists.
+     */
+    public synchronized Optional<List<Long>> shortestPath(long from, long to) {
+
+        Integer fromIndex = stateIndices.get(from);
+        Integer toIndex = stateIndices.get(to);
+
+        if (fromIndex == null || toIndex == null) {
+            return Optional.empty();
+        }
+
+        if (outgoingOffsets == null) {
+            buildAdjacency();
+        }
+
+        // bfs traversal, where the edge leading to a state serves as its predecessor
+        int[] predecessorEdges = new int[stateCount];
+        Arrays.fill(predecessorEdges, -1);
+        boolean[] explored = new boolean[stateCount];
+        int[] workQueue = new int[stateCount];
+        int head = 0;
+        int tail = 0;
+
+        explored[fromIndex] = true;
+        workQueue[tail++] = fromIndex;
+
+        while (head < tail) {
+
+            int state = workQueue[head++];
+
+            if (state == toIndex) {
+                List<Long> actions = new ArrayList<>();
+                while (state != fromIndex) {
+                    int edge = predecessorEdges[state];
+                    actions.add(edgeActions[edge]);
+                    state = edgeSources[edge];
+                }
+                Collections.reverse(actions);
+                return Optional.of(actions);
+            }
+
+            for (int i = outgoingOffsets[state]; i < outgoingOffsets[state + 1]; i++) {
+                int edge = outgoingEdges[i];
+                int target = edgeTargets[edge];
+                if (!explored[target]) {
+                    explored[target] = true;
+                    predecessorEdges[target] = edge;
+                    workQueue[tail++] = target;
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Checks whether a state with the given fingerprint is stored.
+     *
+     * @param fingerprint The fingerprint of the state.
+     * @return Returns {@code true} if the state is stored, otherwise {@code false} is returned.
+     */
+    public synchronized boolean containsState(long fingerprint) {
+        return stateIndices.containsKey(fingerprint);
+    }
+
+    /**
+     * Returns the activity of the stored state.
+     *
+     * @param fingerprint The fingerprint of the state.
+     * @return Returns the activity of the state or {@code null} if the state is not stored.
+     */
+    public synchronized String getActivity(long fingerprint) {
+        Integer index = stateIndices.get(fingerprint);
+        return index == null ? null : stateActivities[index];
+    }
+
+    /**
+     * Returns the compact widget summary of the stored state.
+     *
+     * @param fingerprint The fingerprint of the state.
+     * @return Returns the widget summary of the state or {@code null} if the state is not stored.
+     */
+    public synchronized int[] getWidgetSummary(long fingerprint) {
+        Integer index = stateIndices.get(fingerprint);
+        return index == null ? null : widgetSummaries[index].clone();
+    }
+
+    /**
+     * Returns the number of stored states.
+     *
+     * @return Returns the number of stored states.
+     */
+    public synchronized int getNumberOfStates() {
+        return stateCount;
+    }
+
+    /**
+     * Returns the number of stored transitions.
+     *
+     * @return Returns the number of stored transitions.
+     */
+    public synchronized int getNumberOfTransitions() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the hash of the APK the stored model belongs to.
+     *
+     * @return Returns the APK hash.
+     */
+    public String getApkHash() {
+        return apkHash;
+    }
+
+    /**
+     * Closes the backing file. The store must not be modified afterwards.
+     *
+     * @throws IOException If closing the file fails.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * A record read from the backing file.
+     */
+    private interface Record {
+        void applyTo(GUIModelStore store);
+    }
+
+    private static final class StateRecord implements Record {
+
+        private final long fingerprint;
+        private final String activity;
+        private final int[] widgetSummary;
+
+        private StateRecord(long fingerprint, String activity, int[] widgetSummary) {
+            this.fingerprint = fingerprint;
+            this.activity = activity;
+            this.widgetSummary = widgetSummary;
+        }
+
+        @Override
+        public void applyTo(GUIModelStore store) {
+            if (!store.stateIndices.containsKey(fingerprint)) {
+                store.putState(fingerprint, activity, widgetSummary);
+            }
+        }
+    }
+
+    private static final class TransitionRecord implements Record {
+
+        private final int source;
+        private final int target;
+        private final long action;
+
+        private TransitionRecord(int source, int target, long action) {
+            this.source = source;
+            this.target = target;
+            this.action = action;
+        }
+
+        @Override
+        public void applyTo(GUIModelStore store) {
+            store.putEdge(source, target, action);
+        }
+    }
+
+    private static final class EdgeKey {
+
+        private final int source;
+        private final int target;
+        private final long action;
+
+        private EdgeKey(int source, int target, long action) {
+            this.source = source;
+            this.target = target;
+            this.action = action;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (o == null || getClass() != o.getClass()) {
+                return false;
+            } else {
+                EdgeKey other = (EdgeKey) o;
+                return source == other.source && target == other.target && action == other.action;
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * source + target) + (int) (action ^ (action >>> 32));
+        }
+    }
+}
@@ -183,6 +183,7 @@ public class SurrogateModel extends FSMModel {
 
         executedTransitions.add(matchingTransition);
         fsm.addTransition(matchingTransition);
+        persist(source, target, action);
         addTraces(executedTraces, traceIndices);
         checkPointState = fsm.getCurrentState();
     }
@@ -167,6 +167,12 @@ public class MATEService extends Service implements IBinder.DeathRecipient {
                 representationLayer.setWidgetBasedActions();
             }
 
+            representationLayer.setLogLevel(Properties.LOG_LEVEL().getPriority());
+
+            if (Properties.EVENT_LOG()) {
+                representationLayer.enableEventLog("events-" + representationLayerLaunches + ".bin");
+            }
+
             MATELog.log("Setting Storage runtime permissions for Representation Layer");
             representationLayer.grantRuntimePermission("android.permission.READ_EXTERNAL_STORAGE");
             representationLayer.grantRuntimePermission("android.permission.WRITE_EXTERNAL_STORAGE");
@@ -223,6 +229,22 @@ public class MATEService extends Service implements IBinder.DeathRecipient {
         return representationLayer;
     }
 
+    /**
+     * Registers a representation layer that lives in the same process as the MATE Client, e.g. a
+     * stand-in when running on a plain JVM. Unlike {@link #setRepresentationLayer(
+     * IRepresentationLayerInterface, IBinder)}, there is no binder whose death could be observed.
+     *
+     * @param representationLayer The in-process representation layer.
+     */
+    public static void registerRepresentationLayer(IRepresentationLayerInterface representationLayer) {
+        MATEService.representationLayer = representationLayer;
+        representationLayerBinder = null;
+
+        if (representationLayerConnectionCountDown != null) {
+            representationLayerConnectionCountDown.countDown();
+        }
+    }
+
     /**
      * @return the class name of the Activity that is used in the Launch intent for starting the AUT.
      */
@@ -478,7 +500,9 @@ public class MATEService extends Service implements IBinder.DeathRecipient {
     }
 
     public static void log(String message) {
-        Log.i("MATE_SERVICE", String.format("[%d] %s", new Date().getTime(), message));
+        if (MATELog.isLoggable(Log.INFO)) {
+            Log.i("MATE_SERVICE", String.format("[%d] %s", new Date().getTime(), message));
+        }
     }
 
     /**
@@ -6,6 +6,7 @@ import org.mate.interaction.DeviceMgr;
 import org.mate.state.executables.ActionsScreenState;
 import org.mate.state.executables.AppScreen;
 import org.mate.commons.utils.Utils;
+import org.mate.utils.metrics.ExplorationMetrics;
 
 /**
  * A simple factory to retrieve the current screen state.
@@ -24,6 +25,21 @@ public class ScreenStateFactory {
      * @return Returns the current screen state if possible.
      */
     public static IScreenState getScreenState(ScreenStateType stateType) {
+        long startNanos = System.nanoTime();
+        try {
+            return fetchScreenState(stateType);
+        } finally {
+            ExplorationMetrics.record(ExplorationMetrics.Phase.SCREEN_CAPTURE, startNanos);
+        }
+    }
+
+    /**
+     * Retrieves the current screen state, retrying if it has no actions.
+     *
+     * @param stateType The type of screen state that should be retrieved.
+     * @return Returns the current screen state if possible.
+     */
+    private static IScreenState fetchScreenState(ScreenStateType stateType) {
 
         MATELog.log_debug("Try retrieving screen state ...");
 
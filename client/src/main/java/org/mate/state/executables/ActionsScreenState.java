@@ -149,7 +149,7 @@ public class ActionsScreenState extends AbstractScreenState {
         }
         
         MATELog.log_debug("Retrieving widget actions for screen state...");
-        MATELog.log_debug("Number of all widgets: " + this.widgets.size());
+        MATELog.log_debug("Number of all widgets: {}", this.widgets.size());
 
         List<Widget> widgets = new ArrayList<>();
 
@@ -175,8 +175,8 @@ public class ActionsScreenState extends AbstractScreenState {
                 String resourceID = widget.getResourceID();
                 boolean hasResourceID = resourceID != null && !resourceID.isEmpty();
 
-                MATELog.log("ActionsScreenState is considering widget: " + widget.toString() +
-                        " with resourceID: " + resourceID);
+                MATELog.log("ActionsScreenState is considering widget: {} with resourceID: {}",
+                        widget, resourceID);
 
                 String resourceName = hasResourceID ? resourceID.split("/")[1] : null;
                 boolean isAndroidView = hasResourceID && (
@@ -226,7 +226,7 @@ public class ActionsScreenState extends AbstractScreenState {
             }
         }
 
-        MATELog.log_debug("Number of relevant widgets: " + widgets.size());
+        MATELog.log_debug("Number of relevant widgets: {}", widgets.size());
 
         /*
          * We use here a LinkedHashSet to maintain the insertion order, since we later
@@ -237,8 +237,10 @@ public class ActionsScreenState extends AbstractScreenState {
 
         for (Widget widget : widgets) {
 
-            MATELog.log_debug("ActionsScreenState is parsing actions for Widget: " + widget);
-            logWidgetProperties(widget);
+            if (MATELog.isDebugEnabled()) {
+                MATELog.log_debug("ActionsScreenState is parsing actions for Widget: {}", widget);
+                logWidgetProperties(widget);
+            }
 
             /*
             * TODO: We assign a clickable and long-clickable action if
@@ -254,7 +256,7 @@ public class ActionsScreenState extends AbstractScreenState {
              * resolution of 1080x1920 this represents the area [0,0][1080,72].
              */
             if (appScreen.getStatusBarBoundingBox().contains(widget.getBounds())) {
-                MATELog.log_debug("Widget within status bar: " + widget.getBounds());
+                MATELog.log_debug("Widget within status bar: {}", widget.getBounds());
                 continue;
             }
 
@@ -407,8 +409,8 @@ public class ActionsScreenState extends AbstractScreenState {
             widgetActions.add(new WidgetAction(widget, ActionType.CLICK));
         }
 
-        MATELog.log_debug("Number of widget actions: " + widgetActions.size());
-        MATELog.log_debug("Derived the following widget actions: " + widgetActions);
+        MATELog.log_debug("Number of widget actions: {}", widgetActions.size());
+        MATELog.log_debug("Derived the following widget actions: {}", widgetActions);
 
         List<UIAction> uiActions = new ArrayList<UIAction>(widgetActions);
         uiActions.addAll(getUIActions());
@@ -552,7 +554,7 @@ public class ActionsScreenState extends AbstractScreenState {
                 // check whether any sibling overlaps with the current widget
                 for (Widget sibling : siblings) {
                     if (sibling.getBounds().equals(widget.getBounds())) {
-                        MATELog.log_debug("Widget " + widget + " overlaps with " + sibling + "!");
+                        MATELog.log_debug("Widget {} overlaps with {}!", widget, sibling);
                         return true;
                     }
                 }
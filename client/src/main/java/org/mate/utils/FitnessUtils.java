@@ -10,6 +10,7 @@ import org.mate.exploration.genetic.fitness.LineCoveredPercentageFitnessFunction
 import org.mate.model.TestCase;
 import org.mate.model.TestSuite;
 import org.mate.utils.coverage.Coverage;
+import org.mate.utils.metrics.ExplorationMetrics;
 
 import java.util.BitSet;
 import java.util.EnumSet;
@@ -78,7 +79,9 @@ public class FitnessUtils {
                 FitnessFunction.BASIC_BLOCK_MULTI_OBJECTIVE, FitnessFunction.BRANCH_MULTI_OBJECTIVE);
 
         if (fitnessFunctions.contains(Properties.FITNESS_FUNCTION())) {
+            long startNanos = System.nanoTime();
             Registry.getEnvironmentManager().storeFitnessData(chromosome, null);
+            ExplorationMetrics.record(ExplorationMetrics.Phase.FITNESS_EVALUATION, startNanos);
         }
     }
 
@@ -105,7 +108,9 @@ public class FitnessUtils {
                 FitnessFunction.NOVELTY, FitnessFunction.BASIC_BLOCK_MULTI_OBJECTIVE);
 
         if (fitnessFunctions.contains(Properties.FITNESS_FUNCTION())) {
+            long startNanos = System.nanoTime();
             Registry.getEnvironmentManager().storeFitnessData(chromosome, testCase.getId());
+            ExplorationMetrics.record(ExplorationMetrics.Phase.FITNESS_EVALUATION, startNanos);
         }
     }
 
@@ -139,6 +144,22 @@ public class FitnessUtils {
      * @return Returns the fitness value for the given chromosome.
      */
     public static <T> double getFitness(IChromosome<T> chromosome) {
+        long startNanos = System.nanoTime();
+        try {
+            return computeFitness(chromosome);
+        } finally {
+            ExplorationMetrics.record(ExplorationMetrics.Phase.FITNESS_EVALUATION, startNanos);
+        }
+    }
+
+    /**
+     * Computes the fitness value for the given chromosome.
+     *
+     * @param chromosome The chromosome for which the fitness value should be evaluated.
+     * @param <T> Specifies whether the chromosome is a test suite or a test case.
+     * @return Returns the fitness value for the given chromosome.
+     */
+    private static <T> double computeFitness(IChromosome<T> chromosome) {
 
         if (Properties.FITNESS_FUNCTION() == FitnessFunction.BRANCH_COVERAGE) {
             return Registry.getEnvironmentManager()
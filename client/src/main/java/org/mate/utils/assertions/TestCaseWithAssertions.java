@@ -59,6 +59,26 @@ public class TestCaseWithAssertions extends TestCase {
         buildAssertions();
     }
 
+    /**
+     * Creates a detached copy of the given test case, see {@link #snapshot()}.
+     *
+     * @param testCase The test case to be copied.
+     */
+    private TestCaseWithAssertions(TestCaseWithAssertions testCase) {
+        super(testCase);
+        fullAssertions = new HashMap<>(testCase.fullAssertions);
+        semiFullAssertions = new HashMap<>(testCase.semiFullAssertions);
+        diffAssertions = new HashMap<>(testCase.diffAssertions);
+        fullAssertionsGenerator = testCase.fullAssertionsGenerator;
+        semiFullAssertionsGenerator = testCase.semiFullAssertionsGenerator;
+        diffAssertionsGenerator = testCase.diffAssertionsGenerator;
+    }
+
+    @Override
+    public TestCase snapshot() {
+        return new TestCaseWithAssertions(this);
+    }
+
     /**
      * Initializes a new test case with a random id.
      *
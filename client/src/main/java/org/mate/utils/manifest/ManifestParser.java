@@ -41,7 +41,23 @@ public final class ManifestParser {
      */
     public static Manifest parseManifest(String packageName) throws XmlPullParserException, IOException {
 
-        InputStream inputStream = new FileInputStream(MANIFEST_FILE);
+        try (InputStream inputStream = new FileInputStream(MANIFEST_FILE)) {
+            return parseManifest(packageName, inputStream);
+        }
+    }
+
+    /**
+     * Parses the manifest from the given stream. The manifest is processed tag by tag through a
+     * pull parser, i.e. no document tree is built up.
+     *
+     * @param packageName The package name of the AUT.
+     * @param inputStream The stream providing the manifest.
+     * @return Returns the parsed manifest.
+     * @throws XmlPullParserException Should never happen.
+     * @throws IOException Should never happen.
+     */
+    private static Manifest parseManifest(String packageName, InputStream inputStream)
+            throws XmlPullParserException, IOException {
 
         XmlPullParser parser = Xml.newPullParser();
         parser.setFeature(XmlPullParser.FEATURE_PROCESS_NAMESPACES, true);
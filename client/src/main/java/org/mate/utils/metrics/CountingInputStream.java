@@ -0,0 +1,46 @@
+package org.mate.utils.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reports the number of bytes read from the MATE server to {@link ExplorationMetrics}.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    public CountingInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        int result = super.read();
+        if (result != -1) {
+            ExplorationMetrics.addServerBytesIn(1);
+        }
+        return result;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int result = super.read(b, off, len);
+        if (result > 0) {
+            ExplorationMetrics.addServerBytesIn(result);
+        }
+        return result;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long result = super.skip(n);
+        ExplorationMetrics.addServerBytesIn(result);
+        return result;
+    }
+
+    @Override
+    public boolean markSupported() {
+        // re-reading marked bytes would count them twice
+        return false;
+    }
+}
@@ -0,0 +1,258 @@
+package org.mate.utils.metrics;
+
+import org.mate.Registry;
+import org.mate.commons.utils.MATELog;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how the wall-clock time of an exploration is spent. The latency of each phase of the
+ * exploration pipeline is recorded in a separate {@link LatencyHistogram}, server calls are
+ * additionally tracked per message subject, and the bytes exchanged with the MATE server are
+ * counted. For background queues, e.g. the test case finalization, the current and maximal
+ * depth are tracked, which shows whether the exploration is slowed down by backpressure.
+ * <p>
+ * Every {@link #REPORT_INTERVAL_NANOS} a summary (actions per minute, p50/p99 per phase and the
+ * server traffic) is written to the MATE server log and appended to a CSV file in the app's
+ * files directory. Note that phases may be nested, e.g. server calls are also part of the
+ * fitness evaluation that issued them.
+ */
+public final class ExplorationMetrics {
+
+    /**
+     * The phases of the exploration pipeline.
+     */
+    public enum Phase {
+        ACTION_EXECUTION,
+        SCREEN_CAPTURE,
+        DIALOG_HANDLING,
+        APP_RESET,
+        SERVER_CALL,
+        FITNESS_EVALUATION,
+        TEST_CASE_FINALIZATION
+    }
+
+    /**
+     * How often a summary is exported (5 minutes).
+     */
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    /**
+     * The name of the CSV file the summaries are appended to.
+     */
+    private static final String CSV_FILE_NAME = "exploration_metrics.csv";
+
+    private static final String CSV_HEADER = "timestamp,elapsed_seconds,phase,count,p50_ms,"
+            + "p99_ms,max_ms,actions_per_minute,server_bytes_out,server_bytes_in";
+
+    private static final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+
+    static {
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * The latencies of the server calls, keyed by message subject.
+     */
+    private static final Map<String, LatencyHistogram> serverCalls = new ConcurrentHashMap<>();
+
+    /**
+     * The depths of the background queues, keyed by queue name.
+     */
+    private static final Map<String, QueueDepth> queueDepths = new ConcurrentHashMap<>();
+
+    private static final AtomicLong serverBytesOut = new AtomicLong();
+    private static final AtomicLong serverBytesIn = new AtomicLong();
+
+    private static final long startNanos = System.nanoTime();
+
+    /**
+     * When the next summary is due, and the number of executed actions at the last summary.
+     */
+    private static final AtomicLong nextReportNanos =
+            new AtomicLong(startNanos + REPORT_INTERVAL_NANOS);
+    private static long lastReportNanos = startNanos;
+    private static long lastReportActions = 0;
+
+    private ExplorationMetrics() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Records the time spent in a phase.
+     *
+     * @param phase The phase of the exploration pipeline.
+     * @param startNanos When the phase started, as returned by {@link System#nanoTime()}.
+     */
+    public static void record(Phase phase, long startNanos) {
+        phases.get(phase).recordSince(startNanos);
+
+        if (phase == Phase.ACTION_EXECUTION) {
+            reportIfDue();
+        }
+    }
+
+    /**
+     * Records a call to the MATE server.
+     *
+     * @param subject The subject of the sent message.
+     * @param startNanos When the message was sent, as returned by {@link System#nanoTime()}.
+     * @param bytesOut The size of the serialized message.
+     */
+    public static void recordServerCall(String subject, long startNanos, long bytesOut) {
+        long micros = (System.nanoTime() - startNanos) / 1000;
+        phases.get(Phase.SERVER_CALL).record(micros);
+
+        LatencyHistogram histogram = serverCalls.get(subject);
+        if (histogram == null) {
+            serverCalls.putIfAbsent(subject, new LatencyHistogram());
+            histogram = serverCalls.get(subject);
+        }
+        histogram.record(micros);
+
+        serverBytesOut.addAndGet(bytesOut);
+    }
+
+    /**
+     * Counts the bytes received from the MATE server.
+     *
+     * @param bytes The number of received bytes.
+     */
+    public static void addServerBytesIn(long bytes) {
+        serverBytesIn.addAndGet(bytes);
+    }
+
+    /**
+     * Records the current depth of a background queue.
+     *
+     * @param queue The name of the queue.
+     * @param depth The number of pending elements.
+     */
+    public static void recordQueueDepth(String queue, int depth) {
+        QueueDepth queueDepth = queueDepths.get(queue);
+        if (queueDepth == null) {
+            queueDepths.putIfAbsent(queue, new QueueDepth());
+            queueDepth = queueDepths.get(queue);
+        }
+        queueDepth.record(depth);
+    }
+
+    /**
+     * Exports a summary if the report interval has elapsed since the last one.
+     */
+    private static void reportIfDue() {
+        long now = System.nanoTime();
+        long due = nextReportNanos.get();
+
+        // only a single thread gets to export the summary
+        if (now >= due && nextReportNanos.compareAndSet(due, now + REPORT_INTERVAL_NANOS)) {
+            report();
+        }
+    }
+
+    /**
+     * Exports a summary of the metrics recorded so far to the MATE server log and the CSV file.
+     */
+    public static synchronized void report() {
+        long now = System.nanoTime();
+        long actions = phases.get(Phase.ACTION_EXECUTION).getCount();
+
+        double intervalMinutes = (now - lastReportNanos) / (double) TimeUnit.MINUTES.toNanos(1);
+        double actionsPerMinute = intervalMinutes > 0
+                ? (actions - lastReportActions) / intervalMinutes : 0;
+        lastReportNanos = now;
+        lastReportActions = actions;
+
+        long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(now - startNanos);
+        long bytesOut = serverBytesOut.get();
+        long bytesIn = serverBytesIn.get();
+
+        MATELog.log_acc(String.format(Locale.US, "Exploration metrics after %d s: %.1f actions/min, "
+                + "server bytes out: %d, server bytes in: %d", elapsedSeconds, actionsPerMinute,
+                bytesOut, bytesIn));
+
+        Map<String, LatencyHistogram> histograms = new TreeMap<>();
+        for (Map.Entry<Phase, LatencyHistogram> entry : phases.entrySet()) {
+            histograms.put(entry.getKey().name().toLowerCase(Locale.US), entry.getValue());
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : serverCalls.entrySet()) {
+            histograms.put("server_call:" + entry.getKey(), entry.getValue());
+        }
+
+        StringBuilder csv = new StringBuilder();
+        long timestamp = System.currentTimeMillis();
+
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+
+            double p50 = histogram.getPercentile(50) / 1000.0;
+            double p99 = histogram.getPercentile(99) / 1000.0;
+            double max = histogram.getMax() / 1000.0;
+
+            MATELog.log_acc(String.format(Locale.US, "  %s: count %d, p50 %.1f ms, p99 %.1f ms, "
+                    + "max %.1f ms", entry.getKey(), histogram.getCount(), p50, p99, max));
+
+            csv.append(String.format(Locale.US, "%d,%d,%s,%d,%.3f,%.3f,%.3f,%.2f,%d,%d%n",
+                    timestamp, elapsedSeconds, entry.getKey(), histogram.getCount(), p50, p99,
+                    max, actionsPerMinute, bytesOut, bytesIn));
+        }
+
+        for (Map.Entry<String, QueueDepth> entry : new TreeMap<>(queueDepths).entrySet()) {
+            MATELog.log_acc(String.format(Locale.US, "  %s: depth %d, max depth %d",
+                    entry.getKey(), entry.getValue().current.get(), entry.getValue().max.get()));
+        }
+
+        appendToCsv(csv.toString());
+    }
+
+    private static void appendToCsv(String rows) {
+        if (Registry.getContext() == null) {
+            return;
+        }
+
+        File csvFile = new File(Registry.getContext().getFilesDir(), CSV_FILE_NAME);
+        boolean writeHeader = !csvFile.exists();
+
+        try (PrintWriter writer = new PrintWriter(new FileWriter(csvFile, true))) {
+            if (writeHeader) {
+                writer.println(CSV_HEADER);
+            }
+            writer.print(rows);
+        } catch (IOException e) {
+            MATELog.log_warn("Unable to write exploration metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The current and the maximal depth of a queue.
+     */
+    private static final class QueueDepth {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger max = new AtomicInteger();
+
+        private void record(int depth) {
+            current.set(depth);
+            int maxDepth = max.get();
+            while (depth > maxDepth && !max.compareAndSet(maxDepth, depth)) {
+                maxDepth = max.get();
+            }
+        }
+    }
+}
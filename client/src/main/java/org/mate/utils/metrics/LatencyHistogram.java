@@ -0,0 +1,129 @@
+package org.mate.utils.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies, in the spirit of HdrHistogram.
+ * <p>
+ * Values are recorded in microseconds into log-linear buckets: values below
+ * {@link #LINEAR_BUCKETS} get a bucket of their own, and every further power of two is split into
+ * {@link #SUB_BUCKETS} equally sized buckets. This bounds the relative error of the reported
+ * percentiles to about 6%, while recording boils down to a single atomic increment.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = 2 * SUB_BUCKETS;
+
+    /**
+     * Enough buckets to cover all positive long values.
+     */
+    private static final int NUMBER_OF_BUCKETS = LINEAR_BUCKETS + (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records the time elapsed since the given start time.
+     *
+     * @param startNanos The start time as returned by {@link System#nanoTime()}.
+     */
+    public void recordSince(long startNanos) {
+        record((System.nanoTime() - startNanos) / 1000);
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param micros The value in microseconds, negative values are recorded as zero.
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketOf(value));
+        totalCount.incrementAndGet();
+
+        long currentMax;
+        while (value > (currentMax = maxValue.get())) {
+            if (maxValue.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @return Returns the number of recorded values.
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return Returns the largest recorded value in microseconds.
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Returns the value below which the given percentage of the recorded values fall. Since
+     * recording may happen concurrently, the result is approximate.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return Returns the percentile value in microseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentile(double percentile) {
+        long count = 0;
+        long[] snapshot = new long[NUMBER_OF_BUCKETS];
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+
+        for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Returns the bucket for the given (non-negative) value.
+     */
+    static int bucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the highest value that falls into the given bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+
+        int offset = bucket - LINEAR_BUCKETS;
+        int shift = offset / SUB_BUCKETS + 1;
+        long subBucket = offset % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
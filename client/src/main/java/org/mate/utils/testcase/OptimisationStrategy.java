@@ -6,5 +6,6 @@ public enum OptimisationStrategy {
     REMOVE_ALL_EXCEPT_LAST_ACTION,
     REMOVE_ALL_ACTIONS_BEFORE_LAST_ACTIVITY_TRANSITION,
     REMOVE_ALL_NON_ACTIVITY_RELATED_ACTIONS,
-    REMOVE_ALL_UI_ACTIONS;
+    REMOVE_ALL_UI_ACTIONS,
+    DELTA_DEBUGGING;
 }
@@ -1,6 +1,7 @@
 package org.mate.utils.testcase;
 
 import org.mate.Properties;
+import org.mate.Registry;
 import org.mate.commons.interaction.action.Action;
 import org.mate.commons.interaction.action.intent.IntentBasedAction;
 import org.mate.commons.interaction.action.intent.SystemAction;
@@ -8,10 +9,17 @@ import org.mate.commons.interaction.action.ui.UIAction;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.manifest.element.ComponentType;
 import org.mate.model.TestCase;
+import org.mate.utils.testcase.minimization.AUTReplayDevice;
+import org.mate.utils.testcase.minimization.MinimizationTarget;
+import org.mate.utils.testcase.minimization.TestCaseMinimizer;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Provides different optimisation strategies for a {@link org.mate.model.TestCase}.
@@ -49,6 +57,9 @@ public final class TestCaseOptimizer {
             case REMOVE_ALL_UI_ACTIONS:
                 // remove all UI actions
                 return removeAllUIActions(testCase);
+            case DELTA_DEBUGGING:
+                // minimize the test case by replaying subsequences
+                return minimize(testCase);
             default:
                 // leave the test case unchanged
                 return testCase;
@@ -64,18 +75,8 @@ public final class TestCaseOptimizer {
      * @return Returns the optimised test case.
      */
     private static TestCase removeAllIntentBasedActions(TestCase testCase) {
-
-        List<Action> toBeRemoved = new ArrayList<>();
-        List<Action> actions = testCase.getActionSequence();
-
-        for (Action action : actions) {
-            if (action instanceof IntentBasedAction || action instanceof SystemAction) {
-                toBeRemoved.add(action);
-            }
-        }
-
-        actions.removeAll(toBeRemoved);
-        return testCase;
+        return removeActions(testCase,
+                action -> action instanceof IntentBasedAction || action instanceof SystemAction);
     }
 
     /**
@@ -91,13 +92,12 @@ public final class TestCaseOptimizer {
      */
     private static TestCase removeAllExceptLastAction(TestCase testCase) {
 
-        List<Action> toBeRemoved = new ArrayList<>();
+        List<Action> actions = testCase.getActionSequence();
 
-        for (int i = 0; i < testCase.getActionSequence().size() - 1; i++) {
-            toBeRemoved.add(testCase.getActionSequence().get(i));
+        if (actions.size() > 1) {
+            removeAll(testCase, actions.subList(0, actions.size() - 1));
         }
 
-        testCase.getActionSequence().removeAll(toBeRemoved);
         return testCase;
     }
 
@@ -116,9 +116,6 @@ public final class TestCaseOptimizer {
             return testCase;
         }
 
-        List<Action> toBeRemoved = new ArrayList<>();
-        List<Action> actions = new ArrayList<>(testCase.getActionSequence());
-
         // traverse backwards until we reach a different activity
         int index = testCase.getActionSequence().size() - 1;
         String activity = testCase.getActivityAfterAction(index);
@@ -134,13 +131,8 @@ public final class TestCaseOptimizer {
             index--;
         }
 
-        // collect all actions up to last activity transition for removal
-        for (int i = 0; i <= index; i++) {
-            toBeRemoved.add(actions.get(i));
-        }
-
-        testCase.getActionSequence().removeAll(toBeRemoved);
-        return testCase;
+        // remove all actions up to last activity transition
+        return removeAll(testCase, testCase.getActionSequence().subList(0, index + 1));
     }
 
 
@@ -153,45 +145,105 @@ public final class TestCaseOptimizer {
      * @return Returns the optimised test case.
      */
     private static TestCase removeAllNonActivityRelatedActions(TestCase testCase) {
+        return removeActions(testCase, action -> !(action instanceof UIAction)
+                && !(action instanceof IntentBasedAction
+                && ((IntentBasedAction) action).getComponentType() == ComponentType.ACTIVITY));
+    }
+
+    /**
+     * The fifth optimisation strategy.
+     *
+     * Removes all UI actions from the test case.
+     *
+     * @param testCase The test case to be optimised.
+     * @return Returns the optimised test case.
+     */
+    private static TestCase removeAllUIActions(TestCase testCase) {
+        return removeActions(testCase, action -> action instanceof UIAction);
+    }
+
+    /**
+     * The sixth optimisation strategy.
+     *
+     * Minimizes the test case with delta debugging, i.e. by replaying subsequences of its actions
+     * on the AUT. A crashing test case is minimized to the actions that still cause a crash,
+     * otherwise to the actions that still reach the last activity of the test case.
+     *
+     * @param testCase The test case to be optimised.
+     * @return Returns the optimised test case.
+     */
+    private static TestCase minimize(TestCase testCase) {
 
-        List<Action> toBeRemoved = new ArrayList<>();
         List<Action> actions = testCase.getActionSequence();
 
-        for (Action action : actions) {
-            if (action instanceof UIAction) {
-                continue;
-            } else if (action instanceof IntentBasedAction
-                    && ((IntentBasedAction) action).getComponentType() == ComponentType.ACTIVITY) {
-                continue;
-            } else {
-                toBeRemoved.add(action);
-            }
+        if (actions.isEmpty()) {
+            return testCase;
         }
 
-        actions.removeAll(toBeRemoved);
+        MinimizationTarget target = testCase.hasCrashDetected() ? MinimizationTarget.crash()
+                : MinimizationTarget.reachedActivity(
+                        testCase.getActivityAfterAction(actions.size() - 1));
+
+        MATELog.log("Minimizing TestCase with " + actions.size() + " actions for " + target);
+
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(new AUTReplayDevice(), target);
+        List<Action> minimized = minimizer.minimize(actions);
+
+        MATELog.log("Minimized TestCase to " + minimized.size() + " actions with "
+                + minimizer.getDeviceReplays() + " replays, " + minimizer.getCacheHits()
+                + " cached and " + minimizer.getTrieHits() + " derived outcomes!");
+
+        // the AUT should be in its initial state when the test case is replayed
+        Registry.getUiAbstractionLayer().resetApp();
+
+        actions.clear();
+        actions.addAll(minimized);
         return testCase;
     }
 
     /**
-     * The fifth optimisation strategy.
-     *
-     * Removes all UI actions from the test case.
+     * Removes the actions matching the given filter from the test case, see
+     * {@link #removeAll(TestCase, Collection)}.
      *
      * @param testCase The test case to be optimised.
+     * @param filter Decides which actions should be removed.
      * @return Returns the optimised test case.
      */
-    private static TestCase removeAllUIActions(TestCase testCase) {
+    private static TestCase removeActions(TestCase testCase, Predicate<Action> filter) {
 
         List<Action> toBeRemoved = new ArrayList<>();
+
+        for (Action action : testCase.getActionSequence()) {
+            if (filter.test(action)) {
+                toBeRemoved.add(action);
+            }
+        }
+
+        return removeAll(testCase, toBeRemoved);
+    }
+
+    /**
+     * Removes every action from the test case that equals one of the given actions, i.e. the same
+     * actions {@link List#removeAll(Collection)} would remove, but in a single pass.
+     *
+     * @param testCase The test case to be optimised.
+     * @param toBeRemoved The actions that should be removed.
+     * @return Returns the optimised test case.
+     */
+    private static TestCase removeAll(TestCase testCase, Collection<Action> toBeRemoved) {
+
         List<Action> actions = testCase.getActionSequence();
+        Set<Action> removed = new HashSet<>(toBeRemoved);
+        List<Action> retained = new ArrayList<>(actions.size());
 
         for (Action action : actions) {
-            if (action instanceof UIAction) {
-                toBeRemoved.add(action);
+            if (!removed.contains(action)) {
+                retained.add(action);
             }
         }
 
-        actions.removeAll(toBeRemoved);
+        actions.clear();
+        actions.addAll(retained);
         return testCase;
     }
 
@@ -230,8 +282,7 @@ public final class TestCaseOptimizer {
         MATELog.log("Removed from TestCase " + ctr + " " + actionType.getName() + "!");
 
         // remove the actions from the test case
-        testCase.getActionSequence().removeAll(toBeRemoved);
-        return testCase;
+        return removeAll(testCase, toBeRemoved);
     }
 
     /**
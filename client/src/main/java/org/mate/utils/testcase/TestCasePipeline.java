@@ -0,0 +1,257 @@
+package org.mate.utils.testcase;
+
+import org.mate.Properties;
+import org.mate.commons.utils.MATELog;
+import org.mate.utils.metrics.ExplorationMetrics;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finalizes test cases in the background, see {@link org.mate.model.TestCase#finish()}. Each
+ * sink, e.g. the serialization of test cases, is served by a single writer thread that executes
+ * the submitted tasks in their submission order, hence the sinks can keep their (unsynchronized)
+ * file counters. The queue of each sink is bounded by
+ * {@link Properties#TEST_CASE_PIPELINE_CAPACITY()}: if a sink falls behind, the exploration
+ * thread blocks on the next submission, which is visible in the queue depths reported through
+ * {@link ExplorationMetrics}. A capacity of zero finalizes test cases synchronously.
+ * <p>
+ * Tasks must not depend on the state of the device or the AUT at the time they run, since the
+ * exploration continues in the meantime.
+ */
+public final class TestCasePipeline {
+
+    /**
+     * The sinks a finished test case is written to.
+     */
+    public enum Sink {
+        SERIALIZATION,
+        ESPRESSO_CONVERSION,
+        STATISTICS,
+        SCREENSHOTS
+    }
+
+    /**
+     * The writer threads per sink, started on the first submission.
+     */
+    private static final Map<Sink, Writer> writers = new EnumMap<>(Sink.class);
+
+    /**
+     * The first failure of a task that hasn't been reported to the exploration thread yet.
+     */
+    private static volatile RuntimeException failure = null;
+
+    private TestCasePipeline() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Submits a task to the given sink. Blocks if the queue of the sink is full. If a previously
+     * submitted task failed, its failure is rethrown instead, similar to a synchronous
+     * finalization that aborts the exploration.
+     *
+     * @param sink The sink the task writes to.
+     * @param task The task, which must only refer to a snapshot of the test case.
+     */
+    public static void submit(Sink sink, Runnable task) {
+
+        rethrowFailure();
+
+        Writer writer = getWriter(sink);
+
+        if (writer == null) {
+            task.run();
+            return;
+        }
+
+        writer.enqueue(task);
+    }
+
+    private static synchronized Writer getWriter(Sink sink) {
+
+        Writer writer = writers.get(sink);
+
+        if (writer == null) {
+            int capacity = Properties.TEST_CASE_PIPELINE_CAPACITY();
+            if (capacity <= 0) {
+                return null;
+            }
+            writer = new Writer(sink, capacity);
+            writers.put(sink, writer);
+        }
+
+        return writer;
+    }
+
+    /**
+     * Waits until the tasks submitted so far have been executed.
+     */
+    public static void flush() {
+
+        Writer[] pending;
+        synchronized (TestCasePipeline.class) {
+            pending = writers.values().toArray(new Writer[0]);
+        }
+
+        for (Writer writer : pending) {
+            writer.awaitIdle();
+        }
+
+        rethrowFailure();
+    }
+
+    /**
+     * Executes the pending tasks and stops the writer threads. Tasks submitted afterwards
+     * start new writer threads.
+     */
+    public static void shutdown() {
+
+        Writer[] pending;
+        synchronized (TestCasePipeline.class) {
+            pending = writers.values().toArray(new Writer[0]);
+            writers.clear();
+        }
+
+        for (Writer writer : pending) {
+            writer.stop();
+        }
+
+        if (failure != null) {
+            MATELog.log_error("Finalizing a test case failed: " + failure.getMessage());
+            failure = null;
+        }
+    }
+
+    private static void rethrowFailure() {
+        RuntimeException e = failure;
+        if (e != null) {
+            failure = null;
+            throw e;
+        }
+    }
+
+    /**
+     * Executes the tasks of a single sink on a dedicated thread.
+     */
+    private static final class Writer {
+
+        /**
+         * Marks the end of the queue.
+         */
+        private static final Runnable STOP = () -> {};
+
+        /**
+         * How long a submission waits for a free slot before checking whether the writer thread
+         * is still alive.
+         */
+        private static final long ALIVE_CHECK_MILLIS = 100;
+
+        private final String name;
+        private final BlockingQueue<Runnable> queue;
+        private final Thread thread;
+
+        /**
+         * The number of submitted tasks that haven't been completed yet, including the running one.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private Writer(Sink sink, int capacity) {
+            name = "test_case_pipeline:" + sink.name().toLowerCase(Locale.US);
+            queue = new ArrayBlockingQueue<>(capacity);
+            thread = new Thread(this::run, "TestCasePipeline-" + sink.name());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void enqueue(Runnable task) {
+
+            int depth = pending.incrementAndGet();
+            ExplorationMetrics.recordQueueDepth(name, depth);
+
+            try {
+                while (!queue.offer(task, ALIVE_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!thread.isAlive()) {
+                        // the queue is never drained, finalize the test case synchronously
+                        pending.decrementAndGet();
+                        MATELog.log_warn("Writer of " + name + " died, running task synchronously");
+                        task.run();
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                pending.decrementAndGet();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while submitting to " + name, e);
+            }
+        }
+
+        private void run() {
+            while (true) {
+                Runnable task;
+                try {
+                    task = queue.take();
+                } catch (InterruptedException e) {
+                    // only stopped through the STOP marker
+                    continue;
+                }
+
+                if (task == STOP) {
+                    return;
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    // an error must not stop the writer, otherwise submissions would block forever
+                    logFailure(e);
+                    if (failure == null) {
+                        failure = e instanceof RuntimeException ? (RuntimeException) e
+                                : new IllegalStateException("Task of " + name + " failed", e);
+                    }
+                } finally {
+                    ExplorationMetrics.recordQueueDepth(name, pending.decrementAndGet());
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        private synchronized void awaitIdle() {
+            while (pending.get() > 0 && thread.isAlive()) {
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void stop() {
+            try {
+                while (!queue.offer(STOP, ALIVE_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    if (!thread.isAlive()) {
+                        return;
+                    }
+                }
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void logFailure(Throwable e) {
+            StringWriter sw = new StringWriter();
+            e.printStackTrace(new PrintWriter(sw));
+            MATELog.log_warn("Task of " + name + " failed: " + sw);
+        }
+    }
+}
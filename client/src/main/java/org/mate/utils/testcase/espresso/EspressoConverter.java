@@ -4,9 +4,12 @@ import org.mate.Registry;
 import org.mate.commons.utils.MATELog;
 import org.mate.model.TestCase;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
 
 /**
  * Converts a {@link TestCase} into an espresso test and writes the resulting espresso test into
@@ -25,7 +28,8 @@ public final class EspressoConverter {
     private static final String PACKAGE_NAME = "org.mate.espresso.tests";
 
     /**
-     * Keeps track of how many {@link TestCase}s have been converted so far.
+     * Keeps track of how many {@link TestCase}s have been converted or reserved for conversion
+     * so far.
      */
     private static int testCaseCounter = 0;
 
@@ -43,19 +47,75 @@ public final class EspressoConverter {
      * @param testCase The test case that should be converted.
      */
     public static void convert(final TestCase testCase) {
+        convert(testCase, reserveTestCaseNumber());
+    }
+
+    /**
+     * Reserves the number of the next converted test case, which allows to convert test cases
+     * in the background, see {@link org.mate.utils.testcase.TestCasePipeline}.
+     *
+     * @return Returns the number of the next test case.
+     */
+    public static synchronized int reserveTestCaseNumber() {
+        return testCaseCounter++;
+    }
+
+    /**
+     * Converts a {@link TestCase} to an espresso test with the given number. The test case is
+     * saved on the internal storage and pulled through MATE-Server onto the local file system.
+     *
+     * @param testCase The test case that should be converted.
+     * @param testCaseNumber The number of the test case, see {@link #reserveTestCaseNumber()}.
+     */
+    public static void convert(final TestCase testCase, int testCaseNumber) {
+        convert(testCase, testCaseNumber, createEspressoTestsDir());
+    }
+
+    /**
+     * Converts the given test cases to espresso tests in a single pass, i.e. each test case is
+     * written to the espresso tests folder and pulled through MATE-Server before the next one is
+     * converted, such that memory consumption doesn't grow with the number of test cases.
+     *
+     * @param testCases The test cases that should be converted.
+     */
+    public static void convertAll(final List<? extends TestCase> testCases) {
+
+        File espressoTestsDir = createEspressoTestsDir();
 
-        MATELog.log("Converting TestCase " + testCaseCounter + "!");
+        for (TestCase testCase : testCases) {
+            convert(testCase, reserveTestCaseNumber(), espressoTestsDir);
+        }
+    }
 
-        // create the espresso tests folder if not yet present
+    /**
+     * Creates the espresso tests folder if not yet present.
+     *
+     * @return Returns the espresso tests folder.
+     */
+    private static File createEspressoTestsDir() {
         File espressoTestsDir = new File(ESPRESSO_TESTS_DIR);
         if (!espressoTestsDir.exists()) {
             MATELog.log("Creating espresso tests folder succeeded: " + espressoTestsDir.mkdir());
         }
+        return espressoTestsDir;
+    }
 
-        final String espressoTestName = "InstrumentationTestCase_" + testCaseCounter +
+    /**
+     * Converts a {@link TestCase} to an espresso test with the given number and writes it to the
+     * given folder.
+     *
+     * @param testCase The test case that should be converted.
+     * @param testCaseNumber The number of the test case.
+     * @param espressoTestsDir The espresso tests folder.
+     */
+    private static void convert(final TestCase testCase, int testCaseNumber, File espressoTestsDir) {
+
+        MATELog.log("Converting TestCase " + testCaseNumber + "!");
+
+        final String espressoTestName = "InstrumentationTestCase_" + testCaseNumber +
                 "_translation.java";
         File espressoTestFile = new File(espressoTestsDir, espressoTestName);
-        String espressoTest = new EspressoTestBuilder(testCase, testCaseCounter, PACKAGE_NAME).build();
+        EspressoTestBuilder espressoTest = new EspressoTestBuilder(testCase, testCaseNumber, PACKAGE_NAME);
 
         boolean success = writeEspressoTest(espressoTestFile, espressoTest);
 
@@ -64,7 +124,7 @@ public final class EspressoConverter {
             success = writeEspressoTest(espressoTestFile, espressoTest);
 
             if (!success) {
-                throw new IllegalStateException("Converting TestCase " + testCaseCounter + " failed!");
+                throw new IllegalStateException("Converting TestCase " + testCaseNumber + " failed!");
             }
         }
 
@@ -78,11 +138,9 @@ public final class EspressoConverter {
                     .fetchEspressoTest(ESPRESSO_TESTS_DIR, espressoTestName);
 
             if (!success) {
-                throw new IllegalStateException("Fetching TestCase " + testCaseCounter + " failed!");
+                throw new IllegalStateException("Fetching TestCase " + testCaseNumber + " failed!");
             }
         }
-
-        testCaseCounter++;
     }
 
     /**
@@ -92,10 +150,10 @@ public final class EspressoConverter {
      * @param espressoTest The espresso test that should be written to file.
      * @return Returns {@code true} if writing succeeded, otherwise {@code false} is returned.
      */
-    private static boolean writeEspressoTest(File espressoTestFile, String espressoTest) {
+    private static boolean writeEspressoTest(File espressoTestFile, EspressoTestBuilder espressoTest) {
 
-        try (PrintWriter printWriter = new PrintWriter(espressoTestFile)) {
-            printWriter.print(espressoTest);
+        try (Writer writer = new BufferedWriter(new FileWriter(espressoTestFile))) {
+            espressoTest.writeTo(writer);
             return true;
         } catch (IOException e) {
             MATELog.log_warn("Couldn't write espresso test!");
@@ -105,7 +163,7 @@ public final class EspressoConverter {
         return false;
     }
 
-    public static int getTestCaseCounter() {
+    public static synchronized int getTestCaseCounter() {
         return testCaseCounter;
     }
 }
@@ -179,6 +179,21 @@ public enum EspressoDependency {
      */
     private final String className;
 
+    /**
+     * The full-qualified name, see {@link #getFullQualifiedName()}.
+     */
+    private final String fullQualifiedName;
+
+    /**
+     * The pre-rendered import statement, see {@link #getImportStatement()}.
+     */
+    private final String importStatement;
+
+    /**
+     * The first segment of the package name, e.g. 'androidx', by which the imports are grouped.
+     */
+    private final String importGroup;
+
     /**
      * This builder keeps track of all used espresso dependencies. Whenever {@link #toString()} is
      * called, the builder records the dependency.
@@ -196,6 +211,11 @@ public enum EspressoDependency {
         this.staticDependency = staticDependency;
         this.packageName = packageName;
         this.className = className;
+        fullQualifiedName = packageName + "." + className;
+        importStatement = (staticDependency ? "import static " : "import ")
+                + fullQualifiedName + ";";
+        int groupEnd = packageName.indexOf('.');
+        importGroup = groupEnd < 0 ? packageName : packageName.substring(0, groupEnd);
     }
 
     /**
@@ -204,7 +224,25 @@ public enum EspressoDependency {
      * @return Returns the FQN of the dependency.
      */
     public String getFullQualifiedName() {
-        return packageName + "." + className;
+        return fullQualifiedName;
+    }
+
+    /**
+     * Returns the import statement of the dependency, which is rendered once.
+     *
+     * @return Returns the import statement including the trailing semicolon.
+     */
+    public String getImportStatement() {
+        return importStatement;
+    }
+
+    /**
+     * Returns the group of the import statement, i.e. the first segment of the package name.
+     *
+     * @return Returns the import group of the dependency.
+     */
+    public String getImportGroup() {
+        return importGroup;
     }
 
     /**
@@ -1,5 +1,6 @@
 package org.mate.utils.testcase.espresso;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -81,13 +82,31 @@ public class EspressoDependencyBuilder {
 
             orderedDependencies.add(dependencies.get(i));
 
-            prevPrefix = dependencies.get(i).getFullQualifiedName().split("\\.")[0];
+            prevPrefix = dependencies.get(i).getImportGroup();
             prevStatic = dependencies.get(i).isStaticDependency();
         }
 
         return orderedDependencies;
     }
 
+    /**
+     * Writes the import statements of the registered dependencies in the order given by
+     * {@link #getOrderedDependencies()}.
+     *
+     * @param out The sink of the import statements.
+     * @param newLine The line separator.
+     * @throws IOException If writing to the sink fails.
+     */
+    public void writeImports(Appendable out, String newLine) throws IOException {
+        for (EspressoDependency dependency : getOrderedDependencies()) {
+            if (dependency != null) {
+                out.append(dependency.getImportStatement());
+            }
+            // separate imports in groups where different imports belong into a different group
+            out.append(newLine);
+        }
+    }
+
     /**
      * Determines whether an empty line should be inserted before the next dependency. This is
      * necessary when the next dependency doesn't start with the same prefix as the previous
@@ -102,7 +121,7 @@ public class EspressoDependencyBuilder {
     private boolean requiresEmptyLine(EspressoDependency dependency, String prevPrefix, boolean prevStatic) {
         return (prevPrefix != null
                 // insert a line break if the previous dependency doesn't start with the same prefix
-                && !prevPrefix.equals(dependency.getFullQualifiedName().split("\\.")[0]))
+                && !prevPrefix.equals(dependency.getImportGroup()))
                 // between a static and a non-static dependency a line break is necessary
                 || (prevStatic && !dependency.isStaticDependency());
     }
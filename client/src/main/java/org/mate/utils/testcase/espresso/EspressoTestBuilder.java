@@ -16,7 +16,8 @@ import org.mate.utils.testcase.espresso.actions.SystemActionConverter;
 import org.mate.utils.testcase.espresso.actions.UIActionConverter;
 import org.mate.utils.testcase.espresso.actions.WidgetActionConverter;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -28,7 +29,9 @@ import static org.mate.utils.testcase.espresso.EspressoDependency.GET_INSTRUMENT
 import static org.mate.utils.testcase.espresso.EspressoDependency.UI_DEVICE;
 
 /**
- * Assembles an espresso test from a given {@link TestCase}.
+ * Assembles an espresso test from a given {@link TestCase}. The test is written straight to an
+ * {@link Appendable}, e.g. a buffered file writer, such that only the converted actions of the
+ * test case are held in memory.
  */
 public class EspressoTestBuilder {
 
@@ -43,19 +46,36 @@ public class EspressoTestBuilder {
     private static final String NEW_LINE = System.lineSeparator();
 
     /**
-     * A underlying builder that iteratively constructs the espresso test.
+     * The dependencies of the class template, i.e. everything apart from the actions.
      */
-    private final StringBuilder builder = new StringBuilder();
+    private static final EspressoDependency[] TEMPLATE_DEPENDENCIES = {
+            LARGE_TEST, RUN_WITH, ANDROID_JUNIT_4, TEST, UI_DEVICE, GET_INSTRUMENTATION
+    };
 
     /**
-     * The start position of the imports.
+     * Keeps track of the necessary espresso dependencies.
      */
-    private int startImportsPosition;
+    private final EspressoDependencyBuilder DEPENDENCY_BUILDER = EspressoDependencyBuilder.getInstance();
 
     /**
-     * Keeps track of the necessary espresso dependencies.
+     * The test case that should be converted.
      */
-    private final EspressoDependencyBuilder DEPENDENCY_BUILDER = EspressoDependencyBuilder.getInstance();
+    private final TestCase testCase;
+
+    /**
+     * The numerical id of the test case.
+     */
+    private final int testCaseId;
+
+    /**
+     * The package name of the espresso test.
+     */
+    private final String packageName;
+
+    /**
+     * The sink of the espresso test while it is written.
+     */
+    private Appendable out;
 
     /**
      * Constructs an espresso test for the given test case.
@@ -65,21 +85,51 @@ public class EspressoTestBuilder {
      * @param packageName The package name of the espresso test.
      */
     public EspressoTestBuilder(TestCase testCase, int testCaseId, String packageName) {
-        buildPackageHeader(packageName);
-        emptyLines(2);
-        trackImportsPosition();
-        emptyLines(1);
-        buildClass(testCase, testCaseId);
-        buildImports();
+        this.testCase = testCase;
+        this.testCaseId = testCaseId;
+        this.packageName = packageName;
+    }
+
+    /**
+     * Writes the espresso test to the given sink. The actions are converted first, since the
+     * imports depend on the statements they are converted to.
+     *
+     * @param out The sink of the espresso test.
+     * @throws IOException If writing to the sink fails.
+     */
+    public void writeTo(Appendable out) throws IOException {
+
+        this.out = out;
+
+        try {
+            for (EspressoDependency dependency : TEMPLATE_DEPENDENCIES) {
+                DEPENDENCY_BUILDER.register(dependency);
+            }
+
+            List<Action> actionSequence = testCase.getActionSequence();
+            List<String> statements = new ArrayList<>(actionSequence.size());
+            for (Action action : actionSequence) {
+                statements.add(convert(action));
+            }
+
+            buildPackageHeader(packageName);
+            emptyLines(2);
+            DEPENDENCY_BUILDER.writeImports(out, NEW_LINE);
+            emptyLines(1);
+            buildClass(statements);
+        } finally {
+            DEPENDENCY_BUILDER.reset();
+            this.out = null;
+        }
     }
 
     /**
      * Builds the test class.
      *
-     * @param testCase The test case to be converted to an espresso test.
-     * @param testCaseId The numerical id of the test.
+     * @param statements The converted actions of the test case.
+     * @throws IOException If writing to the sink fails.
      */
-    private void buildClass(TestCase testCase, int testCaseId) {
+    private void buildClass(List<String> statements) throws IOException {
 
         // build the class header
         buildClassHeader(testCaseId);
@@ -90,7 +140,7 @@ public class EspressoTestBuilder {
         emptyLines(2);
 
         // build the test method
-        buildTest(testCase);
+        buildTest(statements);
 
         // close the test class
         buildLine(0, "}");
@@ -99,9 +149,10 @@ public class EspressoTestBuilder {
     /**
      * Builds an espresso test for the given test case.
      *
-     * @param testCase The test case to be converted to an espresso test.
+     * @param statements The converted actions of the test case.
+     * @throws IOException If writing to the sink fails.
      */
-    private void buildTest(TestCase testCase) {
+    private void buildTest(List<String> statements) throws IOException {
 
         // build the test method header
         buildLine(1, "@" + TEST);
@@ -109,14 +160,11 @@ public class EspressoTestBuilder {
 
         buildDelayStatement(Properties.DELAY_AFTER_ACTIVITY_STARTED());
 
-        // convert the actions to statements
-        List<Action> actionSequence = testCase.getActionSequence();
-        for (int i = 0; i < actionSequence.size(); i++) {
-            Action action = actionSequence.get(i);
+        for (int i = 0; i < statements.size(); i++) {
 
             buildLine(2, String.format(Locale.US, "// Executing action %d", i));
 
-            buildStatements(action);
+            buildLines(2, statements.get(i));
             buildDelayStatement(Properties.ACTIONS_THROTTLE());
 
             buildLine(2, String.format(Locale.US, "// Current Activity is %s",
@@ -132,11 +180,12 @@ public class EspressoTestBuilder {
     }
 
     /**
-     * Builds one or more espresso statements for the given action.
+     * Converts the given action to one or more espresso statements.
      *
      * @param action The action to be converted to one or more espresso statements.
+     * @return Returns the espresso statements separated by new lines.
      */
-    private void buildStatements(Action action) {
+    private String convert(Action action) {
 
         ActionConverter actionConverter;
 
@@ -154,15 +203,16 @@ public class EspressoTestBuilder {
             throw new UnsupportedOperationException("Action " + action.getClass() + " not yet supported!");
         }
 
-        buildLines(2, Arrays.asList(actionConverter.convert().split(System.lineSeparator())));
+        return actionConverter.convert();
     }
 
     /**
      * Builds the package header.
      *
      * @param packageName The package name of the espresso test.
+     * @throws IOException If writing to the sink fails.
      */
-    private void buildPackageHeader(String packageName) {
+    private void buildPackageHeader(String packageName) throws IOException {
         buildLine(0, "package " + packageName + ";");
     }
 
@@ -170,8 +220,9 @@ public class EspressoTestBuilder {
      * Builds the class header.
      *
      * @param testCaseId The test case id.
+     * @throws IOException If writing to the sink fails.
      */
-    private void buildClassHeader(final int testCaseId) {
+    private void buildClassHeader(final int testCaseId) throws IOException {
         buildLine(0, "@" + LARGE_TEST);
         buildLine(0, "@" + RUN_WITH + "(" + ANDROID_JUNIT_4 + ".class)");
         buildLine(0, "public class InstrumentationTestCase_" + testCaseId + "_translation extends TestUtils {");
@@ -179,8 +230,10 @@ public class EspressoTestBuilder {
 
     /**
      * Builds the necessary (static) variables.
+     *
+     * @throws IOException If writing to the sink fails.
      */
-    private void buildSetup() {
+    private void buildSetup() throws IOException {
         buildLine(1, "static {");
         buildLine(2, "PACKAGE_NAME = \"" + Registry.getPackageName() + "\";");
         buildLine(2, "START_ACTIVITY_NAME = \"" + Registry.getMainActivity() + "\";");
@@ -188,48 +241,42 @@ public class EspressoTestBuilder {
         buildLine(1, "}");
     }
 
-    /**
-     * Builds the import statements.
-     */
-    private void buildImports() {
-
-        StringBuilder importStatementsBuilder = new StringBuilder();
-
-        for (EspressoDependency dependency : DEPENDENCY_BUILDER.getOrderedDependencies()) {
-            if (dependency != null) {
-                String importStatement = dependency.isStaticDependency() ? "import static " : "import ";
-                importStatement += dependency.getFullQualifiedName() + ";";
-                importStatementsBuilder.append(importStatement).append(NEW_LINE);
-            } else {
-                // separate imports in groups where different imports belong into a different group
-                importStatementsBuilder.append(NEW_LINE);
-            }
-        }
-
-        builder.insert(startImportsPosition, importStatementsBuilder.toString());
-    }
-
     /**
      * Appends {@code count} many new lines.
      *
      * @param count The number of new lines that should be inserted.
+     * @throws IOException If writing to the sink fails.
      */
-    private void emptyLines(int count) {
+    private void emptyLines(int count) throws IOException {
         for (int i = 0; i < count; i++) {
-            builder.append(NEW_LINE);
+            out.append(NEW_LINE);
         }
     }
 
     /**
-     * Appends the given {@code lines} intended by {@code tabs}.
+     * Appends the given {@code lines}, which are separated by new lines, intended by {@code tabs}.
+     * Trailing new lines are ignored.
      *
      * @param tabs The number of tabs.
      * @param lines The lines that should be inserted.
+     * @throws IOException If writing to the sink fails.
      */
-    private void buildLines(int tabs, List<String> lines) {
-        for (String line : lines) {
-            buildLine(tabs, line);
+    private void buildLines(int tabs, String lines) throws IOException {
+
+        int limit = lines.length();
+        while (limit > 0 && lines.startsWith(NEW_LINE, limit - NEW_LINE.length())) {
+            limit -= NEW_LINE.length();
+        }
+
+        int start = 0;
+        int end;
+
+        while ((end = lines.indexOf(NEW_LINE, start)) >= 0 && end < limit) {
+            buildLine(tabs, lines, start, end);
+            start = end + NEW_LINE.length();
         }
+
+        buildLine(tabs, lines, start, limit);
     }
 
     /**
@@ -238,36 +285,50 @@ public class EspressoTestBuilder {
      *
      * @param tabs The number of tabs.
      * @param line The line that should be inserted.
+     * @throws IOException If writing to the sink fails.
      */
-    private void buildLine(int tabs, String line) {
+    private void buildLine(int tabs, String line) throws IOException {
+        buildLine(tabs, line, 0, line.length());
+    }
+
+    /**
+     * Appends the given section of {@code line} intended by {@code tabs} many tabs. Also inserts
+     * a new line at the end.
+     *
+     * @param tabs The number of tabs.
+     * @param line The line that should be inserted.
+     * @param start The start index of the section (inclusive).
+     * @param end The end index of the section (exclusive).
+     * @throws IOException If writing to the sink fails.
+     */
+    private void buildLine(int tabs, CharSequence line, int start, int end) throws IOException {
         for (int i = 0; i < tabs; i++) {
-            builder.append(TAB);
+            out.append(TAB);
         }
-        builder.append(line);
-        builder.append(NEW_LINE);
+        out.append(line, start, end);
+        out.append(NEW_LINE);
     }
 
-    private void buildDelayStatement(long delay) {
+    private void buildDelayStatement(long delay) throws IOException {
         if (delay > 0) {
             buildLine(2, String.format(Locale.US, "SystemClock.sleep(%d);", delay));
             emptyLines(1);
         }
     }
 
-    /**
-     * Tracks the start position of the imports.
-     */
-    private void trackImportsPosition() {
-        startImportsPosition = builder.length();
-    }
-
     /**
      * Builds the espresso test.
      *
      * @return Returns the assembled espresso test.
      */
     public String build() {
-        DEPENDENCY_BUILDER.reset();
+        StringBuilder builder = new StringBuilder();
+        try {
+            writeTo(builder);
+        } catch (IOException e) {
+            // a string builder doesn't throw
+            throw new IllegalStateException(e);
+        }
         return builder.toString();
     }
 }
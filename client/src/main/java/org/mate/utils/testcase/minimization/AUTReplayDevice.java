@@ -0,0 +1,77 @@
+package org.mate.utils.testcase.minimization;
+
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.interaction.action.ui.MotifAction;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.exploration.genetic.chromosome.Chromosome;
+import org.mate.exploration.genetic.chromosome.IChromosome;
+import org.mate.interaction.EnvironmentManager;
+import org.mate.model.TestCase;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Replays candidates of the {@link TestCaseMinimizer} on the AUT through the
+ * {@link org.mate.interaction.UIAbstractionLayer}.
+ */
+public class AUTReplayDevice implements ReplayDevice {
+
+    /**
+     * The chromosome the traces of the replays are attributed to. It is reused for every replay
+     * of a minimisation, such that the fitness data of the previous replay is overwritten.
+     */
+    private final IChromosome<TestCase> scratchChromosome = new Chromosome<>(TestCase.restore(
+            UUID.randomUUID().toString(), Collections.<String>emptyList(),
+            Collections.<String>emptyList(), Collections.<Action>emptyList(),
+            Collections.<Action>emptyList(), false, null, null));
+
+    @Override
+    public void reset() {
+        Registry.getUiAbstractionLayer().resetApp();
+    }
+
+    /**
+     * Executes the given action unless it is a widget-based action that is not applicable on the
+     * current screen, which is reported as {@link ActionResult#FAILURE_UNKNOWN}.
+     *
+     * @param action The action to be executed.
+     * @return Returns the outcome of the action.
+     */
+    @Override
+    public ActionResult execute(Action action) {
+
+        if ((action instanceof WidgetAction || (action instanceof MotifAction
+                && Properties.WIDGET_BASED_ACTIONS()))
+                && !Registry.getUiAbstractionLayer().getExecutableUiActions().contains(action)) {
+            return ActionResult.FAILURE_UNKNOWN;
+        }
+
+        return Registry.getUiAbstractionLayer().executeAction(action);
+    }
+
+    @Override
+    public String getCurrentActivity() {
+        return Registry.getUiAbstractionLayer().getCurrentActivity();
+    }
+
+    /**
+     * Retrieves the branches covered since the last reset from the MATE server. This requires a
+     * branch-based fitness function, see {@link Properties#FITNESS_FUNCTION()}, since the covered
+     * branches are derived from the branch fitness vector.
+     *
+     * @return Returns the covered branches.
+     */
+    @Override
+    public BitSet getCoveredBranches() {
+
+        EnvironmentManager environmentManager = Registry.getEnvironmentManager();
+        environmentManager.replaceFitnessData(scratchChromosome);
+        return environmentManager.getBranchFitnessVector(scratchChromosome,
+                environmentManager.getNumberOfBranches());
+    }
+}
@@ -0,0 +1,96 @@
+package org.mate.utils.testcase.minimization;
+
+import java.util.BitSet;
+
+/**
+ * The property a test case must keep while it is minimized by the {@link TestCaseMinimizer}.
+ */
+public abstract class MinimizationTarget {
+
+    /**
+     * Whether the target depends on the covered branches. Measuring coverage requires a round
+     * trip to the MATE server, hence it is only done if necessary.
+     *
+     * @return Returns {@code true} if {@link Replay#getCoveredBranches()} needs to be measured,
+     *         otherwise {@code false} is returned.
+     */
+    public boolean requiresCoverage() {
+        return false;
+    }
+
+    /**
+     * Checks whether the given replay keeps the property.
+     *
+     * @param replay The observations of a replayed action sequence.
+     * @return Returns {@code true} if the replay satisfies the target, otherwise {@code false}
+     *         is returned.
+     */
+    public abstract boolean isSatisfiedBy(Replay replay);
+
+    /**
+     * A target that is satisfied if the replay crashes the AUT.
+     *
+     * @return Returns the crash target.
+     */
+    public static MinimizationTarget crash() {
+        return new MinimizationTarget() {
+            @Override
+            public boolean isSatisfiedBy(Replay replay) {
+                return replay.hasCrashed();
+            }
+
+            @Override
+            public String toString() {
+                return "crash";
+            }
+        };
+    }
+
+    /**
+     * A target that is satisfied if the replay reaches the given activity at some point.
+     *
+     * @param activity The activity that needs to be reached.
+     * @return Returns the activity target.
+     */
+    public static MinimizationTarget reachedActivity(final String activity) {
+        return new MinimizationTarget() {
+            @Override
+            public boolean isSatisfiedBy(Replay replay) {
+                return replay.getActivities().contains(activity);
+            }
+
+            @Override
+            public String toString() {
+                return "activity " + activity;
+            }
+        };
+    }
+
+    /**
+     * A target that is satisfied if the replay covers (at least) the given branches.
+     *
+     * @param branches The branches that need to be covered.
+     * @return Returns the branch coverage target.
+     */
+    public static MinimizationTarget coveredBranches(final BitSet branches) {
+        final BitSet required = (BitSet) branches.clone();
+        return new MinimizationTarget() {
+            @Override
+            public boolean requiresCoverage() {
+                return true;
+            }
+
+            @Override
+            public boolean isSatisfiedBy(Replay replay) {
+                BitSet missing = (BitSet) required.clone();
+                missing.andNot(replay.getCoveredBranches());
+                return missing.isEmpty();
+            }
+
+            @Override
+            public String toString() {
+                return "branches " + required;
+            }
+        };
+    }
+}
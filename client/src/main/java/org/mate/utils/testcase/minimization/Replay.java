@@ -0,0 +1,74 @@
+package org.mate.utils.testcase.minimization;
+
+import org.mate.commons.interaction.action.ActionResult;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The observations made while replaying a candidate action sequence.
+ */
+public final class Replay {
+
+    /**
+     * The activity after the reset followed by the activity after each executed action.
+     */
+    private final List<String> activities;
+
+    /**
+     * The result of the last executed action, or {@code null} if no action was executed.
+     */
+    private final ActionResult lastActionResult;
+
+    /**
+     * The branches covered by the replay, or {@code null} if coverage hasn't been measured.
+     */
+    private final BitSet coveredBranches;
+
+    Replay(List<String> activities, ActionResult lastActionResult, BitSet coveredBranches) {
+        this.activities = Collections.unmodifiableList(activities);
+        this.lastActionResult = lastActionResult;
+        this.coveredBranches = coveredBranches;
+    }
+
+    /**
+     * Returns the visited activities.
+     *
+     * @return Returns the activity after the reset followed by the activity after each executed
+     *         action.
+     */
+    public List<String> getActivities() {
+        return activities;
+    }
+
+    /**
+     * Whether the replay caused the AUT to crash.
+     *
+     * @return Returns {@code true} if the last executed action crashed the AUT, otherwise
+     *         {@code false} is returned.
+     */
+    public boolean hasCrashed() {
+        return lastActionResult == ActionResult.FAILURE_APP_CRASH;
+    }
+
+    /**
+     * Returns the result of the last executed action.
+     *
+     * @return Returns the result of the last executed action, or {@code null} if no action has
+     *         been executed.
+     */
+    public ActionResult getLastActionResult() {
+        return lastActionResult;
+    }
+
+    /**
+     * Returns the branches covered by the replay.
+     *
+     * @return Returns the covered branches, or {@code null} if coverage hasn't been measured, see
+     *         {@link MinimizationTarget#requiresCoverage()}.
+     */
+    public BitSet getCoveredBranches() {
+        return coveredBranches;
+    }
+}
@@ -0,0 +1,42 @@
+package org.mate.utils.testcase.minimization;
+
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+
+import java.util.BitSet;
+
+/**
+ * The device on which the {@link TestCaseMinimizer} replays candidate action sequences. The
+ * device is expected to behave deterministically, i.e. replaying the same actions after a reset
+ * leads to the same observations.
+ */
+public interface ReplayDevice {
+
+    /**
+     * Resets the AUT to its initial state.
+     */
+    void reset();
+
+    /**
+     * Executes the given action on the current screen.
+     *
+     * @param action The action to be executed.
+     * @return Returns the outcome of the action. A failure, e.g. if the action is not applicable
+     *         on the current screen, ends the replay.
+     */
+    ActionResult execute(Action action);
+
+    /**
+     * Returns the activity currently shown on the screen.
+     *
+     * @return Returns the name of the current activity.
+     */
+    String getCurrentActivity();
+
+    /**
+     * Returns the branches covered since the last reset.
+     *
+     * @return Returns the covered branches, indexed like the branches of the MATE server.
+     */
+    BitSet getCoveredBranches();
+}
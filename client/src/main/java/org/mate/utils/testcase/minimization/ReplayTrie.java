@@ -0,0 +1,157 @@
+package org.mate.utils.testcase.minimization;
+
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the observations of all replays of a {@link TestCaseMinimizer} in a trie, where each
+ * path corresponds to a replayed action sequence. Since the device behaves deterministically,
+ * a candidate whose actions form a recorded path, or whose prefix already ended a replay (e.g.
+ * by crashing the AUT), doesn't need to be replayed again.
+ */
+final class ReplayTrie {
+
+    /**
+     * The state after resetting the AUT, {@code null} until the first replay.
+     */
+    private Node root = null;
+
+    /**
+     * Looks up the replay of the given candidate.
+     *
+     * @param candidate The indices of the actions of the candidate.
+     * @param requiresCoverage Whether the covered branches need to be known.
+     * @return Returns the recorded replay, or {@code null} if the candidate needs to be replayed.
+     */
+    Replay lookup(int[] candidate, boolean requiresCoverage) {
+
+        if (root == null) {
+            return null;
+        }
+
+        List<String> activities = new ArrayList<>(candidate.length + 1);
+        activities.add(root.activity);
+        Node node = root;
+
+        for (int action : candidate) {
+            if (node.endsReplay()) {
+                break;
+            }
+            node = node.getChild(action);
+            if (node == null) {
+                return null;
+            }
+            activities.add(node.activity);
+        }
+
+        if (requiresCoverage && node.coveredBranches == null) {
+            return null;
+        }
+
+        return new Replay(activities, node.result, node.coveredBranches);
+    }
+
+    /**
+     * Replays the given candidate on the device and records the observations.
+     *
+     * @param device The device.
+     * @param actions The actions the candidate refers to.
+     * @param candidate The indices of the actions of the candidate.
+     * @param requiresCoverage Whether the covered branches should be measured.
+     * @return Returns the observations of the replay.
+     */
+    Replay replay(ReplayDevice device, List<? extends Action> actions,
+                  int[] candidate, boolean requiresCoverage) {
+
+        device.reset();
+
+        if (root == null) {
+            root = new Node(device.getCurrentActivity(), null);
+        }
+
+        List<String> activities = new ArrayList<>(candidate.length + 1);
+        activities.add(root.activity);
+        Node node = root;
+
+        for (int action : candidate) {
+            if (node.endsReplay()) {
+                break;
+            }
+            ActionResult result = device.execute(actions.get(action));
+            node = node.addChild(action, new Node(device.getCurrentActivity(), result));
+            activities.add(node.activity);
+        }
+
+        if (requiresCoverage) {
+            node.coveredBranches = device.getCoveredBranches();
+        }
+
+        return new Replay(activities, node.result, node.coveredBranches);
+    }
+
+    /**
+     * The state reached after a sequence of actions.
+     */
+    private static final class Node {
+
+        /**
+         * The activity shown in this state.
+         */
+        private final String activity;
+
+        /**
+         * The result of the action leading to this state, {@code null} for the root.
+         */
+        private final ActionResult result;
+
+        /**
+         * The branches covered by the replay ending in this state, if measured.
+         */
+        private BitSet coveredBranches = null;
+
+        /**
+         * The states reached through the next action, keyed by the index of the action.
+         */
+        private Map<Integer, Node> children = null;
+
+        private Node(String activity, ActionResult result) {
+            this.activity = activity;
+            this.result = result;
+        }
+
+        /**
+         * Whether no further actions can be executed, i.e. the AUT crashed or the action
+         * leading to this state failed.
+         */
+        private boolean endsReplay() {
+            return result != null && result != ActionResult.SUCCESS
+                    && result != ActionResult.SUCCESS_OUTBOUND;
+        }
+
+        private Node getChild(int action) {
+            return children == null ? null : children.get(action);
+        }
+
+        /**
+         * Adds the given child unless there is already a child for the action, which is kept
+         * since the device is deterministic.
+         */
+        private Node addChild(int action, Node child) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            Node existing = children.get(action);
+            if (existing != null) {
+                return existing;
+            }
+            children.put(action, child);
+            return child;
+        }
+    }
+}
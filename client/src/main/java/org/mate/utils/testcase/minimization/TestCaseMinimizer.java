@@ -0,0 +1,243 @@
+package org.mate.utils.testcase.minimization;
+
+import org.mate.commons.interaction.action.Action;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimizes the action sequence of a test case with the delta debugging algorithm (ddmin) while
+ * keeping a {@link MinimizationTarget}, e.g. a crash. The result is 1-minimal, i.e. removing any
+ * single action of the minimized sequence violates the target.
+ * <p>
+ * Each candidate sequence is replayed on a {@link ReplayDevice} after resetting the AUT, which is
+ * by far the most expensive step. Hence, the outcome of every tried candidate is memoized by the
+ * fingerprint of its action sequence, and the observations of all replays are kept in a
+ * {@link ReplayTrie}, which answers candidates sharing a recorded prefix without the device.
+ */
+public final class TestCaseMinimizer {
+
+    private final ReplayDevice device;
+    private final MinimizationTarget target;
+
+    /**
+     * The outcome of each tried candidate.
+     */
+    private final Map<Candidate, Boolean> outcomes = new HashMap<>();
+
+    private ReplayTrie trie;
+
+    /**
+     * The statistics of the last minimization.
+     */
+    private int deviceReplays;
+    private int cacheHits;
+    private int trieHits;
+
+    /**
+     * Creates a minimizer that replays candidates on the given device.
+     *
+     * @param device The device on which candidates are replayed.
+     * @param target The property the minimized sequence must keep.
+     */
+    public TestCaseMinimizer(ReplayDevice device, MinimizationTarget target) {
+        this.device = device;
+        this.target = target;
+    }
+
+    /**
+     * Minimizes the given action sequence.
+     *
+     * @param actions The action sequence to be minimized.
+     * @return Returns a 1-minimal subsequence that satisfies the target, or the given action
+     *         sequence if it doesn't satisfy the target itself.
+     */
+    public List<Action> minimize(List<? extends Action> actions) {
+
+        outcomes.clear();
+        trie = new ReplayTrie();
+        deviceReplays = 0;
+        cacheHits = 0;
+        trieHits = 0;
+
+        int[] current = new int[actions.size()];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = i;
+        }
+
+        if (!test(actions, current)) {
+            return new ArrayList<>(actions);
+        }
+
+        int granularity = 2;
+
+        while (current.length >= 2) {
+
+            int[][] subsets = split(current, granularity);
+            boolean reduced = false;
+
+            // try to reduce to a subset
+            for (int[] subset : subsets) {
+                if (test(actions, subset)) {
+                    current = subset;
+                    granularity = 2;
+                    reduced = true;
+                    break;
+                }
+            }
+
+            // try to reduce to a complement, which equals a subset for a granularity of two
+            if (!reduced && granularity > 2) {
+                for (int i = 0; i < subsets.length; i++) {
+                    int[] complement = complement(subsets, i, current.length);
+                    if (test(actions, complement)) {
+                        current = complement;
+                        granularity = Math.max(granularity - 1, 2);
+                        reduced = true;
+                        break;
+                    }
+                }
+            }
+
+            if (!reduced) {
+                if (granularity >= current.length) {
+                    // each action is a subset on its own, hence the sequence is 1-minimal
+                    break;
+                }
+                granularity = Math.min(granularity * 2, current.length);
+            }
+        }
+
+        List<Action> minimized = new ArrayList<>(current.length);
+        for (int index : current) {
+            minimized.add(actions.get(index));
+        }
+        return minimized;
+    }
+
+    /**
+     * Checks whether the given candidate satisfies the target, replaying it only if its outcome
+     * can't be derived from previous replays.
+     */
+    private boolean test(List<? extends Action> actions, int[] candidate) {
+
+        Candidate key = new Candidate(candidate);
+        Boolean outcome = outcomes.get(key);
+
+        if (outcome != null) {
+            cacheHits++;
+            return outcome;
+        }
+
+        Replay replay = trie.lookup(candidate, target.requiresCoverage());
+
+        if (replay != null) {
+            trieHits++;
+        } else {
+            replay = trie.replay(device, actions, candidate, target.requiresCoverage());
+            deviceReplays++;
+        }
+
+        boolean satisfied = target.isSatisfiedBy(replay);
+        outcomes.put(key, satisfied);
+        return satisfied;
+    }
+
+    /**
+     * Splits the given sequence into the given number of contiguous subsets of (almost) equal
+     * size.
+     */
+    private static int[][] split(int[] sequence, int granularity) {
+        int[][] subsets = new int[granularity][];
+        for (int i = 0; i < granularity; i++) {
+            int start = (int) ((long) i * sequence.length / granularity);
+            int end = (int) ((long) (i + 1) * sequence.length / granularity);
+            subsets[i] = Arrays.copyOfRange(sequence, start, end);
+        }
+        return subsets;
+    }
+
+    /**
+     * Concatenates all subsets except the one at the given index.
+     */
+    private static int[] complement(int[][] subsets, int excluded, int length) {
+        int[] complement = new int[length - subsets[excluded].length];
+        int position = 0;
+        for (int i = 0; i < subsets.length; i++) {
+            if (i != excluded) {
+                System.arraycopy(subsets[i], 0, complement, position, subsets[i].length);
+                position += subsets[i].length;
+            }
+        }
+        return complement;
+    }
+
+    /**
+     * Returns the number of candidates replayed on the device during the last minimization.
+     *
+     * @return Returns the number of device replays.
+     */
+    public int getDeviceReplays() {
+        return deviceReplays;
+    }
+
+    /**
+     * Returns the number of candidates that have been tried before during the last minimization.
+     *
+     * @return Returns the number of memoized outcomes that have been re-used.
+     */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Returns the number of candidates whose outcome has been derived from the replays of other
+     * candidates during the last minimization.
+     *
+     * @return Returns the number of candidates answered by the replay trie.
+     */
+    public int getTrieHits() {
+        return trieHits;
+    }
+
+    /**
+     * A candidate action sequence, i.e. the indices of its actions in the original sequence,
+     * identified by a 64-bit FNV-1a fingerprint.
+     */
+    private static final class Candidate {
+
+        private final int[] indices;
+        private final long fingerprint;
+
+        private Candidate(int[] indices) {
+            this.indices = indices;
+            long hash = 0xcbf29ce484222325L;
+            for (int index : indices) {
+                hash ^= index;
+                hash *= 0x100000001b3L;
+            }
+            fingerprint = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (fingerprint ^ (fingerprint >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Candidate)) {
+                return false;
+            } else {
+                Candidate other = (Candidate) o;
+                // the fingerprint rules out almost all mismatches without comparing the indices
+                return fingerprint == other.fingerprint && Arrays.equals(indices, other.indices);
+            }
+        }
+    }
+}
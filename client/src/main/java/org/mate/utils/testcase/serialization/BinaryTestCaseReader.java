@@ -0,0 +1,256 @@
+package org.mate.utils.testcase.serialization;
+
+import static org.mate.utils.testcase.serialization.BinaryTestCaseWriter.MAGIC;
+import static org.mate.utils.testcase.serialization.BinaryTestCaseWriter.MOTIF_ACTION;
+import static org.mate.utils.testcase.serialization.BinaryTestCaseWriter.PRIMITIVE_ACTION;
+import static org.mate.utils.testcase.serialization.BinaryTestCaseWriter.UI_ACTION;
+import static org.mate.utils.testcase.serialization.BinaryTestCaseWriter.VERSION;
+import static org.mate.utils.testcase.serialization.BinaryTestCaseWriter.WIDGET_ACTION;
+import static org.mate.utils.testcase.serialization.BinaryTestCaseWriter.XML_ACTION;
+
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.interaction.action.ui.ActionType;
+import org.mate.commons.interaction.action.ui.MotifAction;
+import org.mate.commons.interaction.action.ui.PrimitiveAction;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.commons.utils.Optional;
+import org.mate.model.TestCase;
+import org.mate.utils.StackTrace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a {@link TestCase} written by the {@link BinaryTestCaseWriter}. The test case is decoded
+ * while it is read from the stream, i.e. without holding the file content or an intermediate
+ * document in memory.
+ */
+public final class BinaryTestCaseReader {
+
+    private final DataInputStream in;
+
+    /**
+     * The string table, where index 0 denotes {@code null}.
+     */
+    private String[] strings;
+
+    /**
+     * The widget table.
+     */
+    private Widget[] widgets;
+
+    private BinaryTestCaseReader(InputStream in) {
+        this.in = new DataInputStream(in instanceof BufferedInputStream ? in
+                : new BufferedInputStream(in));
+    }
+
+    /**
+     * Reads a test case from the given stream.
+     *
+     * @param in The input stream, which is not closed.
+     * @return Returns the read test case.
+     * @throws IOException If the stream doesn't contain a binary test case or can't be read.
+     */
+    public static TestCase read(InputStream in) throws IOException {
+        return new BinaryTestCaseReader(in).readTestCase();
+    }
+
+    /**
+     * Checks whether the given bytes start a binary test case.
+     *
+     * @param header The first four bytes of a file.
+     * @return Returns {@code true} if the bytes are the magic number of the binary format.
+     */
+    public static boolean isBinaryTestCase(byte[] header) {
+        return header.length >= 4 && ((header[0] & 0xff) << 24 | (header[1] & 0xff) << 16
+                | (header[2] & 0xff) << 8 | (header[3] & 0xff)) == MAGIC;
+    }
+
+    private TestCase readTestCase() throws IOException {
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a binary test case!");
+        }
+
+        int version = readVarInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary test case version " + version + "!");
+        }
+
+        strings = new String[readVarInt() + 1];
+        for (int i = 1; i < strings.length; i++) {
+            byte[] bytes = new byte[readVarInt()];
+            in.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        widgets = new Widget[readVarInt()];
+        AttributeDecoder decoder = new AttributeDecoder();
+        for (int i = 0; i < widgets.length; i++) {
+            int parentDistance = readVarInt();
+            Widget parent = parentDistance == 0 ? null : widgets[i - parentDistance];
+            widgets[i] = Widget.readAttributes(parent, decoder);
+            decoder.skipBooleans();
+        }
+
+        String id = readString();
+        boolean crashDetected = in.readBoolean();
+        int desiredSize = readVarInt();
+        String lastActionResult = readString();
+        String crashStackTrace = readString();
+
+        List<String> stateSequence = readStrings();
+        List<String> activitySequence = readStrings();
+
+        int actionCount = readVarInt();
+        List<Action> actionSequence = new ArrayList<>(actionCount);
+        for (int i = 0; i < actionCount; i++) {
+            actionSequence.add(readAction());
+        }
+
+        int closedCount = readVarInt();
+        List<Action> actionsThatClosedSoftKeyboard = new ArrayList<>(closedCount);
+        for (int i = 0; i < closedCount; i++) {
+            int index = readVarInt();
+            actionsThatClosedSoftKeyboard.add(index == 0 ? readAction()
+                    : actionSequence.get(index - 1));
+        }
+
+        TestCase testCase = TestCase.restore(id, stateSequence, activitySequence, actionSequence,
+                actionsThatClosedSoftKeyboard, crashDetected,
+                crashStackTrace == null ? null
+                        : (StackTrace) TestCaseSerializer.fromXML(crashStackTrace),
+                lastActionResult == null ? null : ActionResult.valueOf(lastActionResult));
+
+        if (desiredSize > 0) {
+            testCase.setDesiredSize(Optional.some(desiredSize - 1));
+        }
+
+        return testCase;
+    }
+
+    private Action readAction() throws IOException {
+
+        int kind = readVarInt();
+
+        switch (kind) {
+            case WIDGET_ACTION: {
+                ActionType actionType = ActionType.valueOf(readString());
+                return new WidgetAction(widgets[readVarInt()], actionType);
+            }
+            case PRIMITIVE_ACTION: {
+                ActionType actionType = ActionType.valueOf(readString());
+                String activity = readString();
+                int x = readSignedVarInt();
+                int y = readSignedVarInt();
+                PrimitiveAction action = new PrimitiveAction(x, y, actionType, activity);
+                action.setText(readString());
+                return action;
+            }
+            case MOTIF_ACTION: {
+                ActionType actionType = ActionType.valueOf(readString());
+                String activity = readString();
+                int count = readVarInt();
+                List<UIAction> uiActions = null;
+                if (count > 0) {
+                    uiActions = new ArrayList<>(count - 1);
+                    for (int i = 0; i < count - 1; i++) {
+                        uiActions.add((UIAction) readAction());
+                    }
+                }
+                return new MotifAction(actionType, activity, uiActions);
+            }
+            case UI_ACTION: {
+                ActionType actionType = ActionType.valueOf(readString());
+                return new UIAction(actionType, readString());
+            }
+            case XML_ACTION:
+                return (Action) TestCaseSerializer.fromXML(readString());
+            default:
+                throw new IOException("Unknown action kind " + kind + "!");
+        }
+    }
+
+    private List<String> readStrings() throws IOException {
+        int count = readVarInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    private String readString() throws IOException {
+        int id = readVarInt();
+        if (id >= strings.length) {
+            throw new IOException("Invalid string reference " + id + "!");
+        }
+        return strings[id];
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer!");
+    }
+
+    private int readSignedVarInt() throws IOException {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decodes the attributes of a widget, see {@code BinaryTestCaseWriter.AttributeEncoder}.
+     */
+    private final class AttributeDecoder implements Widget.AttributeReader {
+
+        private int bits = 0;
+        private int bitCount = 0;
+
+        @Override
+        public String readString() throws IOException {
+            skipBooleans();
+            return BinaryTestCaseReader.this.readString();
+        }
+
+        @Override
+        public int readInt() throws IOException {
+            skipBooleans();
+            return readSignedVarInt();
+        }
+
+        @Override
+        public boolean readBoolean() throws IOException {
+            if (bitCount == 0) {
+                bits = in.readUnsignedByte();
+                bitCount = 8;
+            }
+            boolean value = (bits & 1) != 0;
+            bits >>>= 1;
+            bitCount--;
+            return value;
+        }
+
+        /**
+         * Drops the remaining bits of a partially consumed byte of booleans.
+         */
+        private void skipBooleans() {
+            bits = 0;
+            bitCount = 0;
+        }
+    }
+}
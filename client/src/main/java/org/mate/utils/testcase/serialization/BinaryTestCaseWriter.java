@@ -0,0 +1,387 @@
+package org.mate.utils.testcase.serialization;
+
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.interaction.action.ui.MotifAction;
+import org.mate.commons.interaction.action.ui.PrimitiveAction;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.commons.utils.Optional;
+import org.mate.model.TestCase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a {@link TestCase} in a compact binary format, the counterpart of
+ * {@link BinaryTestCaseReader}. The format consists of
+ * <ol>
+ *     <li>a header (magic number and version),</li>
+ *     <li>a string table holding each distinct string once,</li>
+ *     <li>a widget table holding the widget trees the actions refer to, where trees with the same
+ *     content (identified by their fingerprint) are only stored once,</li>
+ *     <li>and the test case itself, whose strings and widgets are references into the tables.</li>
+ * </ol>
+ * Integers are written as variable-length quantities, hence small numbers like coordinates and
+ * most table references take one or two bytes. Enum constants are written by name through the
+ * string table, which keeps recorded test cases readable if constants are added. Actions other
+ * than the ui actions are embedded as XML. Only plain {@link TestCase}s can be written, since
+ * subclasses may hold additional state.
+ */
+public final class BinaryTestCaseWriter {
+
+    /**
+     * The magic number at the start of a binary test case ('MTC1').
+     */
+    static final int MAGIC = 0x4d544331;
+
+    static final int VERSION = 1;
+
+    /**
+     * The kinds of encoded actions.
+     */
+    static final int XML_ACTION = 0;
+    static final int UI_ACTION = 1;
+    static final int WIDGET_ACTION = 2;
+    static final int PRIMITIVE_ACTION = 3;
+    static final int MOTIF_ACTION = 4;
+
+    /**
+     * The string table, string ids start at 1 since 0 denotes {@code null}.
+     */
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * The widget table, i.e. the index of each written widget and the encoded widget trees by
+     * their fingerprint.
+     */
+    private final Map<Widget, Integer> widgetIds = new IdentityHashMap<>();
+    private final Map<Long, List<WidgetTree>> widgetTrees = new HashMap<>();
+    private final ByteArrayOutputStream widgetTable = new ByteArrayOutputStream();
+    private int widgetCount = 0;
+
+    /**
+     * Writes the given test case to the given stream.
+     *
+     * @param testCase The test case to be written.
+     * @param out The output stream, which is not closed.
+     * @throws IOException If writing fails.
+     * @throws IllegalArgumentException If the test case is not a plain {@link TestCase}.
+     */
+    public static void write(TestCase testCase, OutputStream out) throws IOException {
+        if (testCase.getClass() != TestCase.class) {
+            throw new IllegalArgumentException("Can't write " + testCase.getClass() + " in the "
+                    + "binary format!");
+        }
+        new BinaryTestCaseWriter().writeTestCase(testCase, out);
+    }
+
+    private BinaryTestCaseWriter() {}
+
+    private void writeTestCase(TestCase testCase, OutputStream stream) throws IOException {
+
+        // the tables are complete once the test case has been encoded
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+
+        writeString(out, testCase.getId());
+        out.writeBoolean(testCase.hasCrashDetected());
+
+        Optional<Integer> desiredSize = testCase.getDesiredSize();
+        writeVarInt(out, desiredSize != null && desiredSize.hasValue()
+                ? desiredSize.getValue() + 1 : 0);
+
+        ActionResult lastActionResult = testCase.getLastActionResult();
+        writeString(out, lastActionResult == null ? null : lastActionResult.name());
+
+        writeString(out, testCase.getCrashStackTrace() == null ? null
+                : TestCaseSerializer.toXML(testCase.getCrashStackTrace()));
+
+        writeStrings(out, testCase.getStateSequence());
+        writeStrings(out, testCase.getActivitySequence());
+
+        List<Action> actions = testCase.getActionSequence();
+        Map<Action, Integer> actionIndices = new IdentityHashMap<>();
+        writeVarInt(out, actions.size());
+        for (int i = 0; i < actions.size(); i++) {
+            actionIndices.put(actions.get(i), i);
+            writeAction(out, actions.get(i));
+        }
+
+        // these actions are typically part of the action sequence
+        List<Action> actionsThatClosedSoftKeyboard = testCase.getActionsThatClosedSoftKeyboard();
+        writeVarInt(out, actionsThatClosedSoftKeyboard.size());
+        for (Action action : actionsThatClosedSoftKeyboard) {
+            Integer index = actionIndices.get(action);
+            writeVarInt(out, index == null ? 0 : index + 1);
+            if (index == null) {
+                writeAction(out, action);
+            }
+        }
+
+        out.flush();
+
+        DataOutputStream header = new DataOutputStream(stream);
+        header.writeInt(MAGIC);
+        writeVarInt(header, VERSION);
+
+        writeVarInt(header, strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(header, bytes.length);
+            header.write(bytes);
+        }
+
+        writeVarInt(header, widgetCount);
+        widgetTable.writeTo(header);
+        body.writeTo(header);
+        header.flush();
+    }
+
+    private void writeAction(DataOutputStream out, Action action) throws IOException {
+
+        Class<?> actionClass = action.getClass();
+
+        if (actionClass == WidgetAction.class) {
+            WidgetAction widgetAction = (WidgetAction) action;
+            writeVarInt(out, WIDGET_ACTION);
+            writeString(out, widgetAction.getActionType().name());
+            writeVarInt(out, getWidgetId(widgetAction.getWidget()));
+        } else if (actionClass == PrimitiveAction.class) {
+            PrimitiveAction primitiveAction = (PrimitiveAction) action;
+            writeVarInt(out, PRIMITIVE_ACTION);
+            writeString(out, primitiveAction.getActionType().name());
+            writeString(out, primitiveAction.getActivityName());
+            writeSignedVarInt(out, primitiveAction.getX());
+            writeSignedVarInt(out, primitiveAction.getY());
+            writeString(out, primitiveAction.getText());
+        } else if (actionClass == MotifAction.class) {
+            MotifAction motifAction = (MotifAction) action;
+            writeVarInt(out, MOTIF_ACTION);
+            writeString(out, motifAction.getActionType().name());
+            writeString(out, motifAction.getActivityName());
+            List<UIAction> uiActions = motifAction.getUIActions();
+            writeVarInt(out, uiActions == null ? 0 : uiActions.size() + 1);
+            if (uiActions != null) {
+                for (UIAction uiAction : uiActions) {
+                    writeAction(out, uiAction);
+                }
+            }
+        } else if (actionClass == UIAction.class) {
+            UIAction uiAction = (UIAction) action;
+            writeVarInt(out, UI_ACTION);
+            writeString(out, uiAction.getActionType().name());
+            writeString(out, uiAction.getActivityName());
+        } else {
+            writeVarInt(out, XML_ACTION);
+            writeString(out, TestCaseSerializer.toXML(action));
+        }
+    }
+
+    private void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        writeVarInt(out, values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        writeVarInt(out, getStringId(value));
+    }
+
+    private int getStringId(String value) {
+
+        if (value == null) {
+            return 0;
+        }
+
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            strings.add(value);
+            id = strings.size();
+            stringIds.put(value, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the index of the given widget in the widget table. If the widget is not yet
+     * contained, its whole widget tree is added, unless a tree with the same content has been
+     * added before.
+     */
+    private int getWidgetId(Widget widget) throws IOException {
+
+        Integer id = widgetIds.get(widget);
+        if (id != null) {
+            return id;
+        }
+
+        Widget root = widget;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+
+        // the widgets of the tree in pre-order, i.e. each parent precedes its children
+        List<Widget> widgets = new ArrayList<>();
+        collectWidgets(root, widgets);
+
+        Map<Widget, Integer> positions = new IdentityHashMap<>();
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(encoded);
+        AttributeEncoder encoder = new AttributeEncoder(out);
+
+        for (int i = 0; i < widgets.size(); i++) {
+            Widget node = widgets.get(i);
+            positions.put(node, i);
+            // the parent as distance to the widget, which keeps the encoding of a tree
+            // independent of its position in the table
+            Integer parent = node.getParent() == null ? null : positions.get(node.getParent());
+            writeVarInt(out, parent == null ? 0 : i - parent);
+            node.writeAttributes(encoder);
+            encoder.flushBooleans();
+        }
+        out.flush();
+
+        byte[] bytes = encoded.toByteArray();
+        long fingerprint = fingerprint(bytes);
+
+        int firstId = -1;
+        List<WidgetTree> candidates = widgetTrees.get(fingerprint);
+        if (candidates != null) {
+            for (WidgetTree candidate : candidates) {
+                if (Arrays.equals(candidate.encoded, bytes)) {
+                    firstId = candidate.firstId;
+                    break;
+                }
+            }
+        } else {
+            candidates = new ArrayList<>(1);
+            widgetTrees.put(fingerprint, candidates);
+        }
+
+        if (firstId < 0) {
+            firstId = widgetCount;
+            widgetCount += widgets.size();
+            widgetTable.write(bytes);
+            candidates.add(new WidgetTree(bytes, firstId));
+        }
+
+        for (int i = 0; i < widgets.size(); i++) {
+            widgetIds.put(widgets.get(i), firstId + i);
+        }
+
+        // the widget is not part of the children of its parent
+        id = widgetIds.get(widget);
+        if (id == null) {
+            throw new IllegalStateException("Widget " + widget + " not reachable from its root!");
+        }
+        return id;
+    }
+
+    private static void collectWidgets(Widget widget, List<Widget> widgets) {
+        widgets.add(widget);
+        for (Widget child : widget.getChildren()) {
+            collectWidgets(child, widgets);
+        }
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of the given bytes.
+     */
+    private static long fingerprint(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Writes an unsigned integer in groups of seven bits, least significant group first.
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Writes a signed integer with zig-zag encoding, such that small negative numbers stay short.
+     */
+    static void writeSignedVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * An encoded widget tree and the index of its root in the widget table.
+     */
+    private static final class WidgetTree {
+
+        private final byte[] encoded;
+        private final int firstId;
+
+        private WidgetTree(byte[] encoded, int firstId) {
+            this.encoded = encoded;
+            this.firstId = firstId;
+        }
+    }
+
+    /**
+     * Encodes the attributes of a widget. Strings become references into the string table and
+     * consecutive booleans are packed into a single byte.
+     */
+    private final class AttributeEncoder implements Widget.AttributeWriter {
+
+        private final DataOutputStream out;
+        private int bits = 0;
+        private int bitCount = 0;
+
+        private AttributeEncoder(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void writeString(String value) throws IOException {
+            flushBooleans();
+            BinaryTestCaseWriter.this.writeString(out, value);
+        }
+
+        @Override
+        public void writeInt(int value) throws IOException {
+            flushBooleans();
+            writeSignedVarInt(out, value);
+        }
+
+        @Override
+        public void writeBoolean(boolean value) throws IOException {
+            if (value) {
+                bits |= 1 << bitCount;
+            }
+            if (++bitCount == 8) {
+                flushBooleans();
+            }
+        }
+
+        private void flushBooleans() throws IOException {
+            if (bitCount > 0) {
+                out.writeByte(bits);
+                bits = 0;
+                bitCount = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.mate.utils.testcase.serialization;
+
+/**
+ * The formats in which recorded test cases are stored, see {@link TestCaseSerializer}.
+ */
+public enum TestCaseFormat {
+
+    /**
+     * The XML representation produced by XStream, which is human-readable.
+     */
+    XML("xml"),
+
+    /**
+     * The compact binary format, see {@link BinaryTestCaseWriter}.
+     */
+    BINARY("bin");
+
+    private final String fileExtension;
+
+    TestCaseFormat(String fileExtension) {
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Returns the file extension of test cases in this format.
+     *
+     * @return Returns the file extension without the leading dot.
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
@@ -3,20 +3,24 @@ package org.mate.utils.testcase.serialization;
 
 import com.thoughtworks.xstream.XStream;
 
+import org.mate.Properties;
 import org.mate.Registry;
 import org.mate.commons.utils.MATELog;
 import org.mate.model.TestCase;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.Writer;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Provides the functionality to serialize and de-serialize a {@link org.mate.model.TestCase}.
- * This basically enables the recording and replaying of test cases.
+ * This basically enables the recording and replaying of test cases. Test cases are recorded in
+ * the format given by {@link Properties#TEST_CASE_FORMAT()}, while both formats can be replayed.
  */
 public final class TestCaseSerializer {
 
@@ -29,9 +33,26 @@ public final class TestCaseSerializer {
     // tracks the number of replayed test cases
     private static int replayCounter = 0;
 
+    // the formats in which a recorded test case is looked up
+    private static final TestCaseFormat[] REPLAY_ORDER = {TestCaseFormat.BINARY, TestCaseFormat.XML};
+
+    /**
+     * Setting up XStream, in particular the registration of the converters, is expensive, hence
+     * each thread re-uses its configured instance instead of creating one per test case.
+     */
+    private static final ThreadLocal<XStream> XSTREAM = new ThreadLocal<XStream>() {
+        @Override
+        protected XStream initialValue() {
+            XStream xstream = new XStream();
+            xstream.ignoreUnknownElements();
+            xstream.registerConverter(new IntentBasedActionConverter());
+            xstream.registerConverter(new WidgetActionConverter());
+            return xstream;
+        }
+    };
+
     /**
-     * Serializes a given {@link TestCase} to XML and stores it on the
-     * app-internal storage of MATE.
+     * Serializes a given {@link TestCase} and stores it on the app-internal storage of MATE.
      *
      * @param testCase The test case to be serialized and stored.
      */
@@ -49,31 +70,31 @@ public final class TestCaseSerializer {
             MATELog.log("TestCase " + recordCounter + " caused a crash!");
         }
 
-        // the output file
-        File testCaseFile = new File(dir, "TestCase" + recordCounter + ".xml");
+        // subclasses of test cases may carry additional state that only XStream preserves
+        TestCaseFormat format = Properties.TEST_CASE_FORMAT();
+        if (format == TestCaseFormat.BINARY && testCase.getClass() != TestCase.class) {
+            format = TestCaseFormat.XML;
+        }
 
-        // convert test case to xml
-        XStream xstream = new XStream();
-        xstream.registerConverter(new IntentBasedActionConverter());
-        xstream.registerConverter(new WidgetActionConverter());
-        String testCaseXML = xstream.toXML(testCase);
+        // the output file
+        String testCaseName = "TestCase" + recordCounter + "." + format.getFileExtension();
+        File testCaseFile = new File(dir, testCaseName);
 
-        try (Writer fileWriter = new FileWriter(testCaseFile)) {
+        byte[] content = encode(testCase, format);
 
-            fileWriter.write(testCaseXML);
-            fileWriter.flush();
+        try {
+            write(testCaseFile, content);
 
             // fetch serialized test case from emulator + clean up
             boolean success = Registry.getEnvironmentManager().fetchTestCase(TEST_CASES_DIR,
-                    "TestCase" + recordCounter + ".xml");
+                    testCaseName);
 
             // retry on failure
             if (!success) {
                 MATELog.log("Retry serialization...!");
-                fileWriter.write(testCaseXML);
-                fileWriter.flush();
+                write(testCaseFile, content);
                 success = Registry.getEnvironmentManager().fetchTestCase(TEST_CASES_DIR,
-                        "TestCase" + recordCounter + ".xml");
+                        testCaseName);
             }
 
             if (!success) {
@@ -85,14 +106,12 @@ public final class TestCaseSerializer {
 
             MATELog.log("Retry serialization...!");
 
-            try (Writer fileWriter = new FileWriter(testCaseFile)) {
-
-                fileWriter.write(testCaseXML);
-                fileWriter.flush();
+            try {
+                write(testCaseFile, content);
 
                 // fetch serialized test case from emulator + clean up
                 boolean success = Registry.getEnvironmentManager().fetchTestCase(TEST_CASES_DIR,
-                        "TestCase" + recordCounter + ".xml");
+                        testCaseName);
 
                 if (!success) {
                     MATELog.log("Serializing TestCase " + recordCounter + " failed!");
@@ -109,7 +128,38 @@ public final class TestCaseSerializer {
     }
 
     /**
-     * Deserializes a recorded test case.
+     * Encodes the given test case in the given format.
+     *
+     * @param testCase The test case to be encoded.
+     * @param format The format of the encoded test case.
+     * @return Returns the encoded test case.
+     */
+    private static byte[] encode(TestCase testCase, TestCaseFormat format) {
+
+        if (format == TestCaseFormat.XML) {
+            return toXML(testCase).getBytes(StandardCharsets.UTF_8);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            BinaryTestCaseWriter.write(testCase, out);
+        } catch (IOException e) {
+            // can't happen when writing to memory
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static void write(File file, byte[] content) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+            out.flush();
+        }
+    }
+
+    /**
+     * Deserializes a recorded test case. A test case recorded in the binary format is preferred
+     * over one recorded in XML.
      *
      * @return Returns the deserialized test case.
      */
@@ -117,28 +167,62 @@ public final class TestCaseSerializer {
 
         MATELog.log("Deserializing TestCase " + replayCounter);
 
-        try {
+        TestCase testCase = null;
 
-            String testCaseName = "TestCase" + replayCounter + ".xml";
+        for (TestCaseFormat format : REPLAY_ORDER) {
+
+            String testCaseName = "TestCase" + replayCounter + "." + format.getFileExtension();
 
             // retrieves the file from /data/data/org.mate/files/
-            FileInputStream testCaseFile = Registry.getContext().openFileInput(testCaseName);
+            try (InputStream testCaseFile = Registry.getContext().openFileInput(testCaseName)) {
+                testCase = decode(testCaseFile, format);
+                break;
+            } catch (FileNotFoundException e) {
+                // try the next format
+            } catch (IOException e) {
+                MATELog.log_warn("Couldn't read " + testCaseName + ": " + e.getMessage());
+                return null;
+            }
+        }
 
-            XStream xstream = new XStream();
-            xstream.ignoreUnknownElements();
-            xstream.registerConverter(new IntentBasedActionConverter());
-            xstream.registerConverter(new WidgetActionConverter());
+        if (testCase == null) {
+            MATELog.log("TestCase file for deserialization not found!");
+            return null;
+        }
 
-            TestCase testCase = (TestCase) xstream.fromXML(testCaseFile);
-            MATELog.log("Number of Actions: " + testCase.getActionSequence().size());
+        MATELog.log("Number of Actions: " + testCase.getActionSequence().size());
 
-            // update counter
-            replayCounter++;
+        // update counter
+        replayCounter++;
 
-            return testCase;
-        } catch (FileNotFoundException e) {
-            MATELog.log("TestCase file for deserialization not found!");
-            return null;
+        return testCase;
+    }
+
+    private static TestCase decode(InputStream in, TestCaseFormat format) throws IOException {
+        if (format == TestCaseFormat.BINARY) {
+            return BinaryTestCaseReader.read(in);
+        } else {
+            return (TestCase) XSTREAM.get().fromXML(in);
         }
     }
+
+    /**
+     * Converts the given object to XML with the configured XStream instance of this thread.
+     *
+     * @param object The object to be converted.
+     * @return Returns the XML representation of the object.
+     */
+    public static String toXML(Object object) {
+        return XSTREAM.get().toXML(object);
+    }
+
+    /**
+     * Converts the given XML back to an object, see {@link #toXML(Object)}.
+     *
+     * @param xml The XML representation of an object.
+     * @return Returns the object.
+     */
+    public static Object fromXML(String xml) {
+        return XSTREAM.get().fromXML(xml);
+    }
 }
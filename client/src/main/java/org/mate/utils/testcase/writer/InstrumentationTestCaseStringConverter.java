@@ -12,6 +12,7 @@ import org.mate.commons.utils.AbstractCodeProducer;
 import org.mate.model.TestCase;
 import org.mate.utils.assertions.TestCaseWithAssertions;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -23,7 +24,8 @@ import javax.annotation.Nullable;
 
 /**
  * Converts a TestCase composed of InstrumentationTest Actions into a String representation of a valid Java
- * file. You can get this String by calling the {@link #getCode} method.
+ * file. You can get this String by calling the {@link #getCode} method, or write it straight to a
+ * file by calling the {@link #writeTo(Appendable)} method.
  *
  * Its important to note that by calling the method {@link #setConvertingForAUTsCodeBase} you can
  * alter a bit the String output. If the value set is true, the converter will try to produce a
@@ -114,9 +116,9 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
     private boolean addDebugComments = true;
 
     /**
-     * Internal StringBuilder to compose the final String.
+     * The sink the test case is written to.
      */
-    private StringBuilder builder;
+    private Appendable out;
 
     /**
      * The actions after which the soft keyboard was closed.
@@ -228,8 +230,34 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
 
     @Override
     public String getCode() {
-        builder = new StringBuilder();
+        StringBuilder builder = new StringBuilder();
+        try {
+            writeTo(builder);
+        } catch (IOException e) {
+            // a string builder doesn't throw
+            throw new IllegalStateException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the test case to the given sink, e.g. a buffered file writer, without assembling
+     * the whole test case in memory first.
+     *
+     * @param out The sink of the test case.
+     * @throws IOException If writing to the sink fails.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        this.out = out;
 
+        try {
+            writeCode();
+        } finally {
+            this.out = null;
+        }
+    }
+
+    private void writeCode() throws IOException {
         writePackage();
         writeImports();
 
@@ -244,8 +272,6 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
         writeAssertionMethods();
 
         writeClassFooter();
-
-        return builder.toString();
     }
 
     @Override
@@ -293,8 +319,8 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
      * The New Line character is added after it.
      * @param line string
      */
-    private void writeLine(String line) {
-        builder.append(String.format("%s\n", line));
+    private void writeLine(String line) throws IOException {
+        out.append(line).append('\n');
     }
 
     /**
@@ -302,8 +328,8 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
      * The semi-colon character is added after it.
      * @param expression string
      */
-    private void writeExpressionLine(String expression) {
-        writeLine(String.format("%s;", expression));
+    private void writeExpressionLine(String expression) throws IOException {
+        out.append(expression).append(";\n");
     }
 
     /**
@@ -311,14 +337,14 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
      * The "@" character is added before it.
      * @param annotation string
      */
-    private void writeAnnotationLine(String annotation) {
-        writeLine(String.format("@%s", annotation));
+    private void writeAnnotationLine(String annotation) throws IOException {
+        out.append('@').append(annotation).append('\n');
     }
 
     /**
      * Writes an empty line into the current In-Progress String test case.
      */
-    private void writeEmptyLine() {
+    private void writeEmptyLine() throws IOException {
         writeLine("");
     }
 
@@ -326,14 +352,14 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
      * Writes a comment into the current In-Progress String test case.
      * @param comment string
      */
-    private void writeComment(String comment) {
-        writeLine(String.format("// %s", comment));
+    private void writeComment(String comment) throws IOException {
+        out.append("// ").append(comment).append('\n');
     }
 
     /**
      * Writes appropriate package name header into the current In-Progress String test case.
      */
-    private void writePackage() {
+    private void writePackage() throws IOException {
         if (convertingForAUTsCodeBase) {
             writeExpressionLine(String.format("package %s", packageName));
         } else {
@@ -346,17 +372,15 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
      * Writes class and static imports collected so far into the current In-Progress String test
      * case.
      */
-    private void writeImports() {
+    private void writeImports() throws IOException {
         for (String fullyQualifiedClassName : classImports) {
-            writeExpressionLine(String.format("import %s",
-                    normalizeImport(fullyQualifiedClassName)));
+            writeExpressionLine("import " + normalizeImport(fullyQualifiedClassName));
         }
 
         writeEmptyLine();
 
         for (String fullyQualifiedMethodName : staticImports) {
-            writeExpressionLine(String.format("import static %s",
-                    normalizeImport(fullyQualifiedMethodName)));
+            writeExpressionLine("import static " + normalizeImport(fullyQualifiedMethodName));
         }
 
         writeEmptyLine();
@@ -365,7 +389,7 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
     /**
      * Writes appropriate test class header into the current In-Progress String test case.
      */
-    private void writeTestClassHeader() {
+    private void writeTestClassHeader() throws IOException {
         writeAnnotationLine("LargeTest");
         writeAnnotationLine("RunWith(AndroidJUnit4.class)");
         if (convertingForAUTsCodeBase) {
@@ -379,7 +403,7 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
     /**
      * Writes appropriate test activity rule into the current In-Progress String test case.
      */
-    private void writeTestActivityRule() {
+    private void writeTestActivityRule() throws IOException {
         if (convertingForAUTsCodeBase) {
             writeAnnotationLine("Rule");
             writeExpressionLine(String.format("public ActivityTestRule<%s> mActivityTestRule = " +
@@ -397,7 +421,7 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
     /**
      * Writes appropriate test method header into the current In-Progress String test case.
      */
-    private void writeTestMethodHeader() {
+    private void writeTestMethodHeader() throws IOException {
         writeAnnotationLine("Test");
         writeLine(String.format("public void %s() {", testMethodName));
         writeEmptyLine();
@@ -406,7 +430,7 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
     /**
      * Writes the InstrumentationTest actions collected so far into the current In-Progress String test case.
      */
-    private void writeTestBody() {
+    private void writeTestBody() throws IOException {
         writeDelayStatement(Properties.DELAY_AFTER_ACTIVITY_STARTED());
 
         for (int i = 0; i < actions.size(); i++) {
@@ -451,14 +475,15 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
         }
     }
 
-    private void writeDelayStatement(long delay) {
+    private void writeDelayStatement(long delay) throws IOException {
         if (delay > 0) {
             writeExpressionLine(String.format(Locale.US, "SystemClock.sleep(%d)", delay));
             writeEmptyLine();
         }
     }
 
-    private void writeAssertionsMethodCallAtIndex(int index, String assertionType) {
+    private void writeAssertionsMethodCallAtIndex(int index, String assertionType)
+            throws IOException {
         writeExpressionLine(String.format(Locale.US,
                 "%sAssertionsBeforeAction%d()", assertionType, index));
         writeEmptyLine();
@@ -467,7 +492,7 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
     /**
      * Writes test method closing brace character into the current In-Progress String test case.
      */
-    private void writeMethodFooter() {
+    private void writeMethodFooter() throws IOException {
         writeLine("}");
         writeEmptyLine();
     }
@@ -475,12 +500,12 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
     /**
      * Writes test class closing brace character into the current In-Progress String test case.
      */
-    private void writeClassFooter() {
+    private void writeClassFooter() throws IOException {
         writeLine("}");
         writeEmptyLine();
     }
 
-    private void writeAssertionMethods() {
+    private void writeAssertionMethods() throws IOException {
         for (int i = 0; i < actions.size(); i++) {
             writeAssertionMethodsAtIndex(i, "full", fullAssertions);
             writeAssertionMethodsAtIndex(i, "semifull", semiFullAssertions);
@@ -493,7 +518,8 @@ public class InstrumentationTestCaseStringConverter extends AbstractCodeProducer
     }
 
     private void writeAssertionMethodsAtIndex(int actionIndex, String assertionType,
-                                              @Nullable Map<Integer, List<EspressoAssertion>> assertions) {
+                                              @Nullable Map<Integer, List<EspressoAssertion>> assertions)
+            throws IOException {
         String mainMethodName = String.format(Locale.US,
                 "%sAssertionsBeforeAction%d", assertionType, actionIndex);
         String assertionsBeforeActionMainMethodLine = String.format("public void %s() {",
@@ -7,19 +7,22 @@ import org.mate.model.TestCase;
 import org.mate.service.MATEService;
 
 import java.io.File;
+import java.io.IOException;
 
 /**
  * TestCaseWriter for Instrumentation test cases.
  */
 public class InstrumentationTestCaseWriter extends TestCaseWriter {
 
+    /**
+     * The name of the test case, or {@code null} if the name is derived from the number of
+     * written test cases, which allows to create the writers of several test cases upfront, see
+     * {@link #writeAllToFolder(java.util.List, String)}.
+     */
     private String testCaseName;
 
     public InstrumentationTestCaseWriter(TestCase testCase) throws IllegalArgumentException {
         super(testCase);
-
-        // set initial values for writing test case
-        this.testCaseName = String.format("InstrumentationTestCase_%d", this.writeCounter);
     }
 
     @Override
@@ -38,6 +41,15 @@ public class InstrumentationTestCaseWriter extends TestCaseWriter {
 
     @Override
     public String getTestCaseString() {
+        return createConverter().getCode();
+    }
+
+    @Override
+    public void writeTestCase(Appendable out) throws IOException {
+        createConverter().writeTo(out);
+    }
+
+    private InstrumentationTestCaseStringConverter createConverter() {
         InstrumentationTestCaseStringConverter converter =
                 new InstrumentationTestCaseStringConverter(
                         Registry.getPackageName(),
@@ -46,8 +58,7 @@ public class InstrumentationTestCaseWriter extends TestCaseWriter {
                         "testMethod");
 
         converter.parseTestCase(testCase);
-
-        return converter.getCode();
+        return converter;
     }
 
     /**
@@ -60,6 +71,9 @@ public class InstrumentationTestCaseWriter extends TestCaseWriter {
 
     @Override
     public String getTestCaseName() {
+        if (testCaseName == null) {
+            return String.format("InstrumentationTestCase_%d", writeCounter);
+        }
         return testCaseName;
     }
 
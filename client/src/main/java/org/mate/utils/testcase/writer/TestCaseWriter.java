@@ -3,16 +3,19 @@ package org.mate.utils.testcase.writer;
 import org.mate.commons.utils.MATELog;
 import org.mate.model.TestCase;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.List;
 
 public abstract class TestCaseWriter {
     /**
-     * Tracks the number of written test cases, to avoid overlapping file names.
+     * Tracks the number of written test cases, to avoid overlapping file names. Test cases are
+     * written by the background thread of the {@link org.mate.utils.testcase.TestCasePipeline}.
      */
-    protected static int writeCounter = 0;
+    protected static volatile int writeCounter = 0;
 
     /**
      * The test case to write out.
@@ -42,6 +45,17 @@ public abstract class TestCaseWriter {
      */
     public abstract String getTestCaseString();
 
+    /**
+     * Writes the test case to the given sink. Writers should override this method if they can
+     * produce the test case incrementally instead of assembling it as a string first.
+     *
+     * @param out The sink of the test case.
+     * @throws IOException If writing to the sink fails.
+     */
+    public void writeTestCase(Appendable out) throws IOException {
+        out.append(getTestCaseString());
+    }
+
     /**
      * Returns the name chosen for test case.
      */
@@ -82,27 +96,54 @@ public abstract class TestCaseWriter {
             throw new IOException("Unable to create output folder: " + folder);
         }
 
+        writeToFile(outputFolder);
+        return success;
+    }
+
+    /**
+     * Writes the test cases of the given writers to a specific folder in a single pass, i.e.
+     * each test case is written out and downloaded before the next one is produced.
+     *
+     * @param writers The writers of the test cases.
+     * @param folder path in the device
+     * @throws IOException if an error occurred while writing to disk
+     */
+    public static void writeAllToFolder(List<? extends TestCaseWriter> writers, String folder)
+            throws IOException {
+        // make sure that output folder exists
+        File outputFolder = new File(folder);
+        if (!ensureFolderExists(outputFolder)) {
+            throw new IOException("Unable to create output folder: " + folder);
+        }
+
+        for (TestCaseWriter writer : writers) {
+            writer.writeToFile(outputFolder);
+        }
+    }
+
+    /**
+     * Writes the test case to the given (existing) folder and downloads it.
+     *
+     * @param outputFolder The output folder.
+     * @throws IOException if an error occurred while writing to disk
+     */
+    private void writeToFile(File outputFolder) throws IOException {
+
         // prepare output file path and file writer
         String testCaseFileName = getTestCaseFileName();
         File outputFile = new File(outputFolder, testCaseFileName);
-        Writer fileWriter = new FileWriter(outputFile);
 
-        // get test case content as string and write out to file
+        // stream the test case content to the file
         MATELog.log_debug("Writing test case to file: " + outputFile.getAbsolutePath());
-        String testCaseString = getTestCaseString();
-        fileWriter.write(testCaseString);
-        fileWriter.flush();
-
-        // close file writer
-        fileWriter.close();
+        try (Writer fileWriter = new BufferedWriter(new FileWriter(outputFile))) {
+            writeTestCase(fileWriter);
+        }
 
         // Ask MATE Server to download the test case just written
         triggerMATEServerDownload();
 
         // increase write counter for future writes
         writeCounter++;
-
-        return success;
     }
 
     /**
@@ -113,7 +154,7 @@ public abstract class TestCaseWriter {
     /**
      * Creates a folder if it doesn't exist.
      */
-    private boolean ensureFolderExists(File folder) {
+    private static boolean ensureFolderExists(File folder) {
         if (!folder.exists()) {
             return folder.mkdirs();
         }
@@ -0,0 +1,103 @@
+package org.mate.accessibility.check.bbc.widgetbased;
+
+import org.junit.Test;
+import org.mate.commons.interaction.action.ui.Widget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.mate.accessibility.utils.WidgetMocks.mockWidget;
+
+/**
+ * Compares the {@link WidgetGridIndex} against rasterizing the widgets into a pixel matrix, which
+ * is how the spacing check has been implemented before.
+ */
+public class WidgetGridIndexTest {
+
+    private static final int SCREEN_WIDTH = 300;
+    private static final int SCREEN_HEIGHT = 500;
+
+    /**
+     * Looks up the pixels of a line segment in the pixel matrix.
+     */
+    private int findNeighbour(int[][] matrix, boolean vertical, int position, int from, int to) {
+        int count = 0;
+        int owner = -1;
+        for (int j = from; j < to; j++) {
+            int x = vertical ? position : j;
+            int y = vertical ? j : position;
+            if (x >= 0 && x < SCREEN_WIDTH && y >= 0 && y < SCREEN_HEIGHT && matrix[x][y] != -1) {
+                count++;
+                owner = matrix[x][y];
+            }
+        }
+        return count > 0 && count > (to - from) / 2 ? owner : -1;
+    }
+
+    @Test
+    public void testAgreesWithPixelMatrix() {
+
+        Random random = new Random(42);
+
+        for (int screen = 0; screen < 50; screen++) {
+
+            List<Widget> widgets = new ArrayList<>();
+            int numberOfWidgets = 1 + random.nextInt(40);
+            for (int i = 0; i < numberOfWidgets; i++) {
+                // some widgets exceed the screen
+                int x = random.nextInt(SCREEN_WIDTH + 40) - 20;
+                int y = random.nextInt(SCREEN_HEIGHT + 40) - 20;
+                widgets.add(mockWidget(x, y, x + random.nextInt(120), y + random.nextInt(120)));
+            }
+
+            int[][] matrix = new int[SCREEN_WIDTH][SCREEN_HEIGHT];
+            for (int[] column : matrix) {
+                Arrays.fill(column, -1);
+            }
+            for (int i = 0; i < widgets.size(); i++) {
+                Widget w = widgets.get(i);
+                for (int x = Math.max(w.getX1(), 0); x <= w.getX2() && x < SCREEN_WIDTH; x++) {
+                    for (int y = Math.max(w.getY1(), 0); y <= w.getY2() && y < SCREEN_HEIGHT; y++) {
+                        matrix[x][y] = i;
+                    }
+                }
+            }
+
+            WidgetGridIndex index = new WidgetGridIndex(widgets, SCREEN_WIDTH, SCREEN_HEIGHT);
+
+            for (int i = 0; i < widgets.size(); i++) {
+                Widget w = widgets.get(i);
+                assertEquals(i, index.indexOf(w));
+
+                assertEquals(findNeighbour(matrix, true, w.getX1() - 1, w.getY1(), w.getY2()),
+                        index.findNeighbourInColumn(w.getX1() - 1, w.getY1(), w.getY2()));
+                assertEquals(findNeighbour(matrix, true, w.getX2() + 1, w.getY1(), w.getY2()),
+                        index.findNeighbourInColumn(w.getX2() + 1, w.getY1(), w.getY2()));
+                assertEquals(findNeighbour(matrix, false, w.getY1() - 1, w.getX1(), w.getX2()),
+                        index.findNeighbourInRow(w.getY1() - 1, w.getX1(), w.getX2()));
+                assertEquals(findNeighbour(matrix, false, w.getY2() + 1, w.getX1(), w.getX2()),
+                        index.findNeighbourInRow(w.getY2() + 1, w.getX1(), w.getX2()));
+            }
+        }
+    }
+
+    @Test
+    public void testUnknownWidget() {
+        WidgetGridIndex index = new WidgetGridIndex(
+                Arrays.asList(mockWidget(0, 0, 10, 10)), SCREEN_WIDTH, SCREEN_HEIGHT);
+        assertEquals(-1, index.indexOf(mockWidget(0, 0, 10, 10)));
+    }
+
+    @Test
+    public void testDuplicateWidget() {
+        Widget widget = mockWidget(0, 0, 10, 10);
+        WidgetGridIndex index = new WidgetGridIndex(
+                Arrays.asList(widget, mockWidget(20, 20, 30, 30), widget),
+                SCREEN_WIDTH, SCREEN_HEIGHT);
+        // like List#indexOf()
+        assertEquals(0, index.indexOf(widget));
+    }
+}
@@ -0,0 +1,116 @@
+package org.mate.accessibility.utils;
+
+import org.junit.Test;
+import org.mate.commons.interaction.action.ui.Widget;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mate.accessibility.utils.WidgetMocks.mockWidget;
+
+/**
+ * Tests the colour metrics computed on a synthetic screenshot: a white screen with a grey
+ * button and a black text on it.
+ */
+public class LocalScreenColourAnalyzerTest {
+
+    private static final int WIDTH = 100;
+    private static final int HEIGHT = 200;
+
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int GREY = 0xFF808080;
+    private static final int BLACK = 0xFF000000;
+
+    private LocalScreenColourAnalyzer createAnalyzer() {
+        return new LocalScreenColourAnalyzer(createScreenshot(), WIDTH, HEIGHT);
+    }
+
+    private int[] createScreenshot() {
+        int[] pixels = new int[WIDTH * HEIGHT];
+        Arrays.fill(pixels, WHITE);
+        // a grey button with a black text in its middle
+        for (int y = 50; y < 80; y++) {
+            for (int x = 20; x < 80; x++) {
+                boolean text = y >= 60 && y < 70 && x >= 40 && x < 60;
+                pixels[y * WIDTH + x] = text ? BLACK : GREY;
+            }
+        }
+        return pixels;
+    }
+
+    @Test
+    public void testContrastRatio() {
+        LocalScreenColourAnalyzer analyzer = createAnalyzer();
+
+        // black on white
+        assertEquals(21.0, analyzer.getContrastRatio(0, 40, WIDTH, 90), 0.01);
+        // black on grey
+        assertEquals(5.32, analyzer.getContrastRatio(20, 50, 80, 80), 0.01);
+        // like on the server, a missing dark colour counts as black
+        assertEquals(21.0, analyzer.getContrastRatio(0, 0, WIDTH, 40), 0.01);
+        // an empty area
+        assertEquals(21.0, analyzer.getContrastRatio(10, 10, 10, 10), 0.01);
+    }
+
+    @Test
+    public void testLuminance() {
+        LocalScreenColourAnalyzer analyzer = createAnalyzer();
+
+        assertEquals("0:0:0,128:128:128", analyzer.getLuminance(20, 50, 80, 80));
+        assertEquals(ScreenColours.NO_LUMINANCE, analyzer.getLuminance(WIDTH, 0, WIDTH + 10, 10));
+    }
+
+    @Test
+    public void testSurroundingColour() {
+        LocalScreenColourAnalyzer analyzer = createAnalyzer();
+
+        // the button differs from the white screen
+        assertEquals(0.0, analyzer.matchesSurroundingColour(20, 50, 80, 80), 0.001);
+        // a transparent widget next to the button
+        assertEquals(1.0, analyzer.matchesSurroundingColour(10, 100, 90, 150), 0.001);
+        // the text on the button
+        assertEquals(0.0, analyzer.matchesSurroundingColour(40, 60, 60, 70), 0.001);
+    }
+
+    @Test
+    public void testAnalyzeAllWidgets() {
+        LocalScreenColourAnalyzer analyzer = createAnalyzer();
+        Widget button = mockWidget(20, 50, 80, 80);
+        Widget text = mockWidget(40, 60, 60, 70);
+
+        ScreenColours colours = analyzer.analyze(Arrays.asList(button, text));
+
+        assertEquals(analyzer.getContrastRatio(20, 50, 80, 80), colours.getContrastRatio(button), 0.0);
+        assertEquals(analyzer.getLuminance(39, 59, 61, 71), colours.getLuminance(text));
+        assertEquals(0.0, colours.matchesSurroundingColour(text), 0.001);
+    }
+
+    @Test
+    public void testDownsampledScreenshot() {
+        // downsample by 4 like the representation layer does
+        int[] pixels = createScreenshot();
+        int[] packed = new int[3 + WIDTH / 4 * HEIGHT / 4];
+        packed[0] = WIDTH / 4;
+        packed[1] = HEIGHT / 4;
+        packed[2] = 4;
+        for (int y = 0; y < HEIGHT / 4; y++) {
+            for (int x = 0; x < WIDTH / 4; x++) {
+                packed[3 + y * WIDTH / 4 + x] = pixels[y * 4 * WIDTH + x * 4];
+            }
+        }
+        LocalScreenColourAnalyzer analyzer = LocalScreenColourAnalyzer.fromPacked(packed);
+
+        // the coordinates are still given in screen pixels
+        assertEquals(5.32, analyzer.getContrastRatio(20, 50, 80, 80), 0.01);
+        assertEquals("0:0:0,128:128:128", analyzer.getLuminance(20, 50, 80, 80));
+        assertEquals(0.0, analyzer.matchesSurroundingColour(20, 50, 80, 80), 0.001);
+        assertEquals(1.0, analyzer.matchesSurroundingColour(10, 100, 90, 150), 0.001);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownWidget() {
+        ScreenColours colours = createAnalyzer().analyze(Collections.<Widget>emptyList());
+        colours.getContrastRatio(mockWidget(0, 0, 10, 10));
+    }
+}
@@ -0,0 +1,28 @@
+package org.mate.accessibility.utils;
+
+import org.mate.commons.interaction.action.ui.Widget;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Creates the widget mocks shared by the accessibility tests.
+ */
+public final class WidgetMocks {
+
+    private WidgetMocks() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Mocks a widget with the given bounds (inclusive).
+     */
+    public static Widget mockWidget(int x1, int y1, int x2, int y2) {
+        Widget widget = mock(Widget.class);
+        when(widget.getX1()).thenReturn(x1);
+        when(widget.getY1()).thenReturn(y1);
+        when(widget.getX2()).thenReturn(x2);
+        when(widget.getY2()).thenReturn(y2);
+        return widget;
+    }
+}
@@ -0,0 +1,77 @@
+package org.mate.exploration.intent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+public class StagedFileIndexTest {
+
+    private final StagedFileIndex index = new StagedFileIndex(StagedFileIndex.DEFAULT_FILES);
+
+    @Test
+    public void resolvesConcreteMimeTypes() {
+        assertEquals(Collections.singletonList("mateTestJpg.jpg"),
+                index.getFilesByMimeType("image/jpeg"));
+        assertEquals(Collections.singletonList("mateTestPng.png"),
+                index.getFilesByMimeType("image/x-png"));
+        assertEquals(Collections.singletonList("mateTestMid.mid"),
+                index.getFilesByMimeType("audio/midi"));
+        assertEquals(Collections.singletonList("mateTestTxt.txt"),
+                index.getFilesByMimeType("text/plain"));
+        assertEquals(Collections.singletonList("mateTestCsv.csv"),
+                index.getFilesByMimeType("text/comma-separated-values"));
+        assertEquals(Collections.singletonList("mateTestXml.xml"),
+                index.getFilesByMimeType("application/xml"));
+        assertEquals(Collections.singletonList("mateTestXml.xml"),
+                index.getFilesByMimeType("text/xml"));
+
+        assertTrue(index.getFilesByMimeType("image/xml").isEmpty());
+        assertTrue(index.getFilesByMimeType("video/mp4").isEmpty());
+        assertNull(index.findFileByMimeType("image/webp"));
+    }
+
+    @Test
+    public void resolvesWildcardMimeTypes() {
+        assertEquals(new HashSet<>(Arrays.asList("mateTestBmp.bmp", "mateTestGif.gif",
+                        "mateTestJpg.jpg", "mateTestPng.png", "mateTestTiff.tiff")),
+                new HashSet<>(index.getFilesByMimeType("image/*")));
+        assertEquals(new HashSet<>(Arrays.asList("mateTestTxt.txt", "mateTestCsv.csv",
+                        "mateTestXml.xml")),
+                new HashSet<>(index.getFilesByMimeType("text/*")));
+        assertEquals(StagedFileIndex.DEFAULT_FILES.size(), index.getFilesByMimeType("*/*").size());
+    }
+
+    @Test
+    public void resolvesPaths() {
+        assertEquals(Collections.singletonList("mateTestJpg.jpg"),
+                index.getFilesByPath("/images/picture.jpe"));
+        assertEquals(Collections.singletonList("mateTestTiff.tiff"),
+                index.getFilesByPath("/scan.tif"));
+        assertEquals("mateTestPdf.pdf", index.findFileByPath("document.pdf"));
+
+        assertTrue(index.getFilesByPath("").isEmpty());
+        assertTrue(index.getFilesByPath("/v1.2/items").isEmpty());
+        assertTrue(index.getFilesByPath("/video.mp4").isEmpty());
+    }
+
+    @Test
+    public void reflectsAddedAndRemovedFiles() {
+        index.remove("mateTestPng.png");
+        assertTrue(index.getFilesByMimeType("image/png").isEmpty());
+        assertEquals(4, index.getFilesByMimeType("image/*").size());
+
+        index.add("mateTestPng.png");
+        index.add("mateTestPng2.png");
+        index.add("unrelated.png");
+        assertEquals(Arrays.asList("mateTestPng.png", "mateTestPng2.png"),
+                index.getFilesByMimeType("image/png"));
+        assertEquals(Arrays.asList("mateTestPng.png", "mateTestPng2.png"),
+                index.getFilesByPath("/logo.png"));
+    }
+}
@@ -0,0 +1,156 @@
+package org.mate.model.fsm.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+public class GUIModelStoreTest {
+
+    private static final String APK_HASH = "0123456789abcdef";
+
+    private File directory;
+
+    @Before
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("gui-models").toFile();
+    }
+
+    @After
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    /**
+     * Stores the states 1 to 4 with the transitions 1 -a-> 2 -b-> 3 -c-> 4 and 1 -d-> 3.
+     */
+    private static void populate(GUIModelStore store) throws IOException {
+        for (long state = 1; state <= 4; state++) {
+            store.addState(state, "Activity" + state, new int[]{(int) state, 42});
+        }
+        store.addTransition(1, 'a', 2);
+        store.addTransition(2, 'b', 3);
+        store.addTransition(3, 'c', 4);
+        store.addTransition(1, 'd', 3);
+    }
+
+    @Test
+    public void findsShortestPath() throws IOException {
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            populate(store);
+
+            assertEquals(Optional.of(Arrays.asList((long) 'd', (long) 'c')),
+                    store.shortestPath(1, 4));
+            assertEquals(Optional.of(Collections.singletonList((long) 'b')),
+                    store.shortestPath(2, 3));
+            assertEquals(Optional.of(Collections.<Long>emptyList()), store.shortestPath(3, 3));
+            assertFalse(store.shortestPath(4, 1).isPresent());
+            assertFalse(store.shortestPath(1, 5).isPresent());
+        }
+    }
+
+    @Test
+    public void reloadsPersistedModel() throws IOException {
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            populate(store);
+        }
+
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            assertEquals(4, store.getNumberOfStates());
+            assertEquals(4, store.getNumberOfTransitions());
+            assertEquals("Activity3", store.getActivity(3));
+            assertArrayEquals(new int[]{2, 42}, store.getWidgetSummary(2));
+            assertEquals(Optional.of(Arrays.asList((long) 'd', (long) 'c')),
+                    store.shortestPath(1, 4));
+
+            // extend the reloaded model
+            store.addState(5, "Activity5", new int[0]);
+            store.addTransition(4, 'e', 5);
+        }
+
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            assertEquals(5, store.getNumberOfStates());
+            assertEquals(Optional.of(Arrays.asList((long) 'd', (long) 'c', (long) 'e')),
+                    store.shortestPath(1, 5));
+        }
+    }
+
+    @Test
+    public void doesNotAppendDuplicates() throws IOException {
+        File file = new File(directory, APK_HASH + ".fsm");
+
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            populate(store);
+            long length = file.length();
+
+            assertFalse(store.addState(2, "Activity2", new int[]{2, 42}));
+            assertFalse(store.addTransition(1, 'a', 2));
+            assertTrue(store.addTransition(2, 'a', 1));
+            assertTrue(file.length() > length);
+            assertEquals(5, store.getNumberOfTransitions());
+        }
+    }
+
+    @Test
+    public void discardsPartiallyWrittenRecord() throws IOException {
+        File file = new File(directory, APK_HASH + ".fsm");
+
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            populate(store);
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            assertEquals(4, store.getNumberOfStates());
+            assertEquals(3, store.getNumberOfTransitions());
+            assertTrue(store.addTransition(1, 'd', 3));
+        }
+
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            assertEquals(4, store.getNumberOfTransitions());
+            assertEquals(Optional.of(Arrays.asList((long) 'd', (long) 'c')),
+                    store.shortestPath(1, 4));
+        }
+    }
+
+    @Test
+    public void keepsModelsOfDifferentAppVersionsApart() throws IOException {
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            populate(store);
+        }
+
+        try (GUIModelStore store = GUIModelStore.open(directory, "fedcba9876543210")) {
+            assertEquals(0, store.getNumberOfStates());
+            assertFalse(store.containsState(1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTransitionsBetweenUnknownStates() throws IOException {
+        try (GUIModelStore store = GUIModelStore.open(directory, APK_HASH)) {
+            store.addState(1, "Activity1", new int[0]);
+            store.addTransition(1, 'a', 2);
+        }
+    }
+}
@@ -5,9 +5,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mate.commons.input_generation.format_types.InputFieldType;
 
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -183,6 +185,28 @@ public class InputFieldTypeTest {
         assertFalse(InputFieldType.isTime(text));
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {"Max Mustermann", "john.doe@example.com", "https://example.com/a",
+            "+49 123 4567890", "1234", "-1.5", "31.10.2000", "10:01 AM", "Enter your name",
+            "HELLO", "Main Street 12, Springfield", "", "\n"})
+    void testMatchingFieldsAgreeWithRegexes(String text) {
+        Set<InputFieldType> fields = InputFieldType.getInputFieldsMatchingRegex(text);
+
+        for (InputFieldType type : InputFieldType.values()) {
+            boolean expected;
+            if (type.getRegex() != null) {
+                expected = text.matches(type.getRegex());
+            } else if (type == InputFieldType.DATETIME_VARIATION_DATE) {
+                expected = InputFieldType.isDate(text);
+            } else if (type == InputFieldType.DATETIME_VARIATION_TIME) {
+                expected = InputFieldType.isTime(text);
+            } else {
+                expected = false;
+            }
+            assertEquals(expected, fields.contains(type), type.name());
+        }
+    }
+
     private void assertPatternTrue(String text, InputFieldType type) {
         Pattern p = Pattern.compile(type.getRegex());
         Matcher m = p.matcher(text);
@@ -0,0 +1,43 @@
+package org.mate.utils.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsAreContiguous() {
+        for (long value = 0; value < 100000; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.highestValueOf(bucket));
+            if (bucket > 0) {
+                assertTrue(value > LatencyHistogram.highestValueOf(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void percentilesHaveBoundedError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10000, histogram.getMax());
+
+        long p50 = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(p50 >= 5000 && p50 <= 5000 * 1.07);
+        assertTrue(p99 >= 9900 && p99 <= 10000);
+    }
+
+    @Test
+    public void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(99));
+        assertEquals(0, histogram.getCount());
+    }
+}
@@ -0,0 +1,98 @@
+package org.mate.utils.testcase;
+
+import org.junit.Test;
+import org.mate.Properties;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.interaction.action.ui.ActionType;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.model.TestCase;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Checks that the optimisation strategies remove actions by equality, i.e. an action is removed
+ * together with all actions equal to it, as {@link List#removeAll(java.util.Collection)} does.
+ */
+public class TestCaseOptimizerTest {
+
+    private static final String MAIN_ACTIVITY = "com.example.app.MainActivity";
+    private static final String SETTINGS_ACTIVITY = "com.example.app.SettingsActivity";
+
+    private static TestCase testCase(List<String> activities, Action... actions) {
+        List<String> states = new ArrayList<>();
+        for (int i = 0; i < activities.size(); i++) {
+            states.add("S" + i);
+        }
+        return TestCase.restore("TestCase", states, activities, Arrays.asList(actions),
+                Collections.<Action>emptyList(), false, null, ActionResult.SUCCESS);
+    }
+
+    private static TestCase optimise(OptimisationStrategy strategy, TestCase testCase) {
+        try (MockedStatic<Properties> propertyMock = mockStatic(Properties.class)) {
+            propertyMock.when(Properties::OPTIMISATION_STRATEGY).thenReturn(strategy);
+            return TestCaseOptimizer.optimise(testCase);
+        }
+    }
+
+    @Test
+    public void testRemoveAllExceptLastAction() {
+
+        UIAction back = new UIAction(ActionType.BACK, MAIN_ACTIVITY);
+        UIAction menu = new UIAction(ActionType.MENU, MAIN_ACTIVITY);
+        UIAction enter = new UIAction(ActionType.ENTER, MAIN_ACTIVITY);
+        List<String> activities = Arrays.asList(MAIN_ACTIVITY, MAIN_ACTIVITY, MAIN_ACTIVITY,
+                MAIN_ACTIVITY);
+
+        TestCase testCase = optimise(OptimisationStrategy.REMOVE_ALL_EXCEPT_LAST_ACTION,
+                testCase(activities, back, menu, enter));
+        assertEquals(Collections.singletonList(enter), testCase.getActionSequence());
+
+        // the last action equals a removed action
+        testCase = optimise(OptimisationStrategy.REMOVE_ALL_EXCEPT_LAST_ACTION,
+                testCase(activities, back, menu, new UIAction(ActionType.BACK, MAIN_ACTIVITY)));
+        assertEquals(Collections.emptyList(), testCase.getActionSequence());
+    }
+
+    @Test
+    public void testRemoveAllActionsBeforeLastActivityTransition() {
+
+        UIAction back = new UIAction(ActionType.BACK, MAIN_ACTIVITY);
+        UIAction menu = new UIAction(ActionType.MENU, MAIN_ACTIVITY);
+        UIAction enter = new UIAction(ActionType.ENTER, SETTINGS_ACTIVITY);
+        List<String> activities = Arrays.asList(MAIN_ACTIVITY, MAIN_ACTIVITY, SETTINGS_ACTIVITY,
+                SETTINGS_ACTIVITY, SETTINGS_ACTIVITY);
+
+        TestCase testCase = optimise(
+                OptimisationStrategy.REMOVE_ALL_ACTIONS_BEFORE_LAST_ACTIVITY_TRANSITION,
+                testCase(activities, back, menu, enter, new UIAction(ActionType.BACK,
+                        SETTINGS_ACTIVITY)));
+        assertEquals(Arrays.asList(enter, new UIAction(ActionType.BACK, SETTINGS_ACTIVITY)),
+                testCase.getActionSequence());
+
+        // an action after the last transition equals a removed action
+        testCase = optimise(
+                OptimisationStrategy.REMOVE_ALL_ACTIONS_BEFORE_LAST_ACTIVITY_TRANSITION,
+                testCase(activities, back, menu, enter, new UIAction(ActionType.MENU,
+                        MAIN_ACTIVITY)));
+        assertEquals(Collections.singletonList(enter), testCase.getActionSequence());
+    }
+
+    @Test
+    public void testRemoveAllUIActions() {
+
+        UIAction back = new UIAction(ActionType.BACK, MAIN_ACTIVITY);
+        List<String> activities = Arrays.asList(MAIN_ACTIVITY, MAIN_ACTIVITY, MAIN_ACTIVITY);
+
+        TestCase testCase = optimise(OptimisationStrategy.REMOVE_ALL_UI_ACTIONS,
+                testCase(activities, back, new UIAction(ActionType.BACK, MAIN_ACTIVITY)));
+        assertEquals(Collections.emptyList(), testCase.getActionSequence());
+    }
+}
@@ -0,0 +1,128 @@
+package org.mate.utils.testcase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mockStatic;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mate.Properties;
+import org.mate.utils.testcase.TestCasePipeline.Sink;
+import org.mockito.MockedStatic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TestCasePipelineTest {
+
+    @After
+    public void shutdown() {
+        TestCasePipeline.shutdown();
+    }
+
+    @Test
+    public void tasksRunInSubmissionOrderOnSingleThread() {
+        final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<>());
+
+        try (MockedStatic<Properties> propertyMock = mockStatic(Properties.class)) {
+            propertyMock.when(Properties::TEST_CASE_PIPELINE_CAPACITY).thenReturn(2);
+
+            for (int i = 0; i < 50; i++) {
+                final int task = i;
+                TestCasePipeline.submit(Sink.SERIALIZATION, () -> {
+                    executed.add(task);
+                    threads.add(Thread.currentThread());
+                });
+            }
+        }
+
+        TestCasePipeline.flush();
+
+        assertEquals(50, executed.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i, (int) executed.get(i));
+        }
+        assertEquals(1, threads.size());
+        assertNotEquals(Thread.currentThread(), threads.iterator().next());
+    }
+
+    @Test
+    public void tasksRunSynchronouslyWithoutCapacity() {
+        final List<Thread> threads = new ArrayList<>();
+
+        try (MockedStatic<Properties> propertyMock = mockStatic(Properties.class)) {
+            propertyMock.when(Properties::TEST_CASE_PIPELINE_CAPACITY).thenReturn(0);
+
+            TestCasePipeline.submit(Sink.STATISTICS, () -> threads.add(Thread.currentThread()));
+        }
+
+        assertEquals(Collections.singletonList(Thread.currentThread()), threads);
+    }
+
+    @Test
+    public void submissionBlocksIfSinkFallsBehind() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try (MockedStatic<Properties> propertyMock = mockStatic(Properties.class)) {
+            propertyMock.when(Properties::TEST_CASE_PIPELINE_CAPACITY).thenReturn(1);
+
+            // the first task occupies the writer, the second one fills the queue
+            TestCasePipeline.submit(Sink.ESPRESSO_CONVERSION, () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            TestCasePipeline.submit(Sink.ESPRESSO_CONVERSION, () -> {});
+        }
+
+        Thread submitter = new Thread(() -> TestCasePipeline.submit(Sink.ESPRESSO_CONVERSION, () -> {}));
+        submitter.start();
+        submitter.join(200);
+        assertTrue(submitter.isAlive());
+
+        release.countDown();
+        submitter.join(5000);
+        assertFalse(submitter.isAlive());
+
+        TestCasePipeline.flush();
+    }
+
+    @Test
+    public void errorIsRethrownAndWriterKeepsRunning() throws InterruptedException {
+        final CountDownLatch executed = new CountDownLatch(1);
+
+        try (MockedStatic<Properties> propertyMock = mockStatic(Properties.class)) {
+            propertyMock.when(Properties::TEST_CASE_PIPELINE_CAPACITY).thenReturn(1);
+
+            TestCasePipeline.submit(Sink.STATISTICS, () -> {
+                throw new AssertionError("broken sink");
+            });
+
+            try {
+                TestCasePipeline.flush();
+                fail("Expected the error of the task to be rethrown");
+            } catch (IllegalStateException e) {
+                assertTrue(e.getCause() instanceof AssertionError);
+            }
+
+            // neither the submission nor the shutdown block on the writer
+            TestCasePipeline.submit(Sink.STATISTICS, executed::countDown);
+        }
+
+        assertTrue(executed.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,107 @@
+package org.mate.utils.testcase.espresso;
+
+import org.junit.Test;
+import org.mate.Properties;
+import org.mate.Registry;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.interaction.action.ui.ActionType;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.model.TestCase;
+import org.mockito.MockedStatic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Checks that the espresso tests written by the {@link EspressoTestBuilder} are identical to the
+ * ones it produced before writing them straight to a sink. The golden file has been produced by
+ * the previous implementation, which assembled the whole test in a string builder.
+ */
+public class EspressoTestBuilderTest {
+
+    private static final String PACKAGE_NAME = "com.example.app";
+    private static final String MAIN_ACTIVITY = "com.example.app.MainActivity";
+    private static final String SETTINGS_ACTIVITY = "com.example.app.SettingsActivity";
+
+    /**
+     * Reads the expected espresso test. The golden file uses '\n' as line separator, whereas the
+     * builder uses the line separator of the platform.
+     */
+    private static String golden() throws IOException {
+        try (InputStream in = EspressoTestBuilderTest.class
+                .getResourceAsStream("InstrumentationTestCase_7_translation.golden")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8)
+                    .replace("\n", System.lineSeparator());
+        }
+    }
+
+    private static TestCase testCase() {
+        List<Action> actions = Arrays.<Action>asList(
+                new UIAction(ActionType.BACK, MAIN_ACTIVITY),
+                new UIAction(ActionType.MENU, MAIN_ACTIVITY),
+                new UIAction(ActionType.TOGGLE_ROTATION, SETTINGS_ACTIVITY));
+        List<String> activities = Arrays.asList(MAIN_ACTIVITY, MAIN_ACTIVITY, SETTINGS_ACTIVITY,
+                SETTINGS_ACTIVITY);
+        return TestCase.restore("TestCase7", Arrays.asList("S0", "S1", "S2", "S2"), activities,
+                actions, Collections.<Action>emptyList(), false, null, ActionResult.SUCCESS);
+    }
+
+    /**
+     * Runs the given check with the properties and the registry the golden file was produced with.
+     */
+    private static void withGoldenEnvironment(Check check) throws IOException {
+        try (MockedStatic<Properties> propertyMock = mockStatic(Properties.class);
+             MockedStatic<Registry> registryMock = mockStatic(Registry.class)) {
+            propertyMock.when(Properties::DELAY_AFTER_ACTIVITY_STARTED).thenReturn(500);
+            propertyMock.when(Properties::ACTIONS_THROTTLE).thenReturn(100);
+            registryMock.when(Registry::getPackageName).thenReturn(PACKAGE_NAME);
+            registryMock.when(Registry::getMainActivity).thenReturn(MAIN_ACTIVITY);
+
+            check.run();
+        }
+    }
+
+    @Test
+    public void testBuildMatchesGolden() throws IOException {
+        withGoldenEnvironment(() -> {
+            EspressoTestBuilder builder
+                    = new EspressoTestBuilder(testCase(), 7, "org.mate.espresso.tests");
+            assertEquals(golden(), builder.build());
+        });
+    }
+
+    @Test
+    public void testWriteToMatchesGolden() throws IOException {
+        withGoldenEnvironment(() -> {
+            EspressoTestBuilder builder
+                    = new EspressoTestBuilder(testCase(), 7, "org.mate.espresso.tests");
+            StringBuilder out = new StringBuilder();
+            builder.writeTo(out);
+            assertEquals(golden(), out.toString());
+
+            // the dependencies of one test must not leak into the next one
+            out.setLength(0);
+            builder.writeTo(out);
+            assertEquals(golden(), out.toString());
+        });
+    }
+
+    private interface Check {
+        void run() throws IOException;
+    }
+}
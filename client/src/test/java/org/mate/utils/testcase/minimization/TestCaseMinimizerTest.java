@@ -0,0 +1,173 @@
+package org.mate.utils.testcase.minimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestCaseMinimizerTest {
+
+    @Test
+    public void crashIsMinimizedToTriggeringActions() {
+        FakeDevice device = new FakeDevice();
+        List<Action> actions = noise(12);
+        Action arm = actions.get(3);
+        Action trigger = actions.get(9);
+        device.crashAfter(arm, trigger);
+
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(device, MinimizationTarget.crash());
+
+        assertEquals(Arrays.asList(arm, trigger), minimizer.minimize(actions));
+    }
+
+    @Test
+    public void activityIsMinimizedToShortestPath() {
+        FakeDevice device = new FakeDevice();
+        List<Action> actions = noise(10);
+        Action open = actions.get(2);
+        Action next = actions.get(7);
+        device.transition("Main", open, "Details");
+        device.transition("Details", next, "Settings");
+
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(device,
+                MinimizationTarget.reachedActivity("Settings"));
+
+        assertEquals(Arrays.asList(open, next), minimizer.minimize(actions));
+    }
+
+    @Test
+    public void coveredBranchesAreKept() {
+        FakeDevice device = new FakeDevice();
+        List<Action> actions = noise(8);
+        device.covers(actions.get(1), 0);
+        device.covers(actions.get(4), 1);
+        device.covers(actions.get(6), 2);
+
+        BitSet branches = new BitSet();
+        branches.set(0);
+        branches.set(2);
+
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(device,
+                MinimizationTarget.coveredBranches(branches));
+
+        assertEquals(Arrays.asList(actions.get(1), actions.get(6)), minimizer.minimize(actions));
+    }
+
+    @Test
+    public void unsatisfiedTargetKeepsActions() {
+        FakeDevice device = new FakeDevice();
+        List<Action> actions = noise(5);
+
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(device, MinimizationTarget.crash());
+
+        assertEquals(actions, minimizer.minimize(actions));
+        assertEquals(1, minimizer.getDeviceReplays());
+    }
+
+    @Test
+    public void previousReplaysAreReused() {
+        FakeDevice device = new FakeDevice();
+        List<Action> actions = noise(32);
+        device.crashAfter(actions.get(0), actions.get(1));
+
+        TestCaseMinimizer minimizer = new TestCaseMinimizer(device, MinimizationTarget.crash());
+
+        assertEquals(actions.subList(0, 2), minimizer.minimize(actions));
+        assertEquals(device.resets, minimizer.getDeviceReplays());
+        // the candidates starting with the crashing prefix are answered by the trie
+        assertTrue(minimizer.getTrieHits() > 0);
+    }
+
+    private static List<Action> noise(int count) {
+        List<Action> actions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            actions.add(mock(Action.class));
+        }
+        return actions;
+    }
+
+    /**
+     * A deterministic device model: actions switch between activities, cover branches or crash
+     * the AUT if another action has been executed before. All other actions have no effect.
+     */
+    private static final class FakeDevice implements ReplayDevice {
+
+        private final Map<String, Map<Action, String>> transitions = new HashMap<>();
+        private final Map<Action, Integer> branches = new HashMap<>();
+        private final Map<Action, Action> crashes = new HashMap<>();
+
+        private String activity;
+        private final List<Action> executed = new ArrayList<>();
+        private final BitSet covered = new BitSet();
+        private boolean crashed;
+        private int resets = 0;
+
+        private void transition(String from, Action action, String to) {
+            if (!transitions.containsKey(from)) {
+                transitions.put(from, new HashMap<>());
+            }
+            transitions.get(from).put(action, to);
+        }
+
+        private void covers(Action action, int branch) {
+            branches.put(action, branch);
+        }
+
+        private void crashAfter(Action previous, Action action) {
+            crashes.put(action, previous);
+        }
+
+        @Override
+        public void reset() {
+            activity = "Main";
+            executed.clear();
+            covered.clear();
+            crashed = false;
+            resets++;
+        }
+
+        @Override
+        public ActionResult execute(Action action) {
+            assertTrue("Action executed on crashed AUT", !crashed);
+
+            Action previous = crashes.get(action);
+            if (previous != null && executed.contains(previous)) {
+                crashed = true;
+                return ActionResult.FAILURE_APP_CRASH;
+            }
+
+            executed.add(action);
+
+            Map<Action, String> outgoing = transitions.get(activity);
+            if (outgoing != null && outgoing.containsKey(action)) {
+                activity = outgoing.get(action);
+            }
+
+            if (branches.containsKey(action)) {
+                covered.set(branches.get(action));
+            }
+
+            return ActionResult.SUCCESS;
+        }
+
+        @Override
+        public String getCurrentActivity() {
+            return activity;
+        }
+
+        @Override
+        public BitSet getCoveredBranches() {
+            return (BitSet) covered.clone();
+        }
+    }
+}
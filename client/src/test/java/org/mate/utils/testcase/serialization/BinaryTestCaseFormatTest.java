@@ -0,0 +1,312 @@
+package org.mate.utils.testcase.serialization;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.interaction.action.VirtualStartAction;
+import org.mate.commons.interaction.action.ui.ActionType;
+import org.mate.commons.interaction.action.ui.MotifAction;
+import org.mate.commons.interaction.action.ui.PrimitiveAction;
+import org.mate.commons.interaction.action.ui.UIAction;
+import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.interaction.action.ui.WidgetAction;
+import org.mate.commons.utils.Optional;
+import org.mate.model.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes test cases with the {@link BinaryTestCaseWriter}, reads them back with the
+ * {@link BinaryTestCaseReader} and compares the result with the XML form of the original.
+ */
+public class BinaryTestCaseFormatTest {
+
+    private static final String ACTIVITY = "com.example.app/.MainActivity";
+
+    /**
+     * Values around the boundaries of the variable-length encoding, including those of the
+     * zig-zag encoding of negative numbers.
+     */
+    private static final int[] BOUNDARY_VALUES = {0, 1, 63, 64, 127, 128, 16383, 16384, -1, -64,
+            -65, 2097151, 2097152, Integer.MAX_VALUE, Integer.MIN_VALUE};
+
+    /**
+     * Restores a widget whose attributes are taken from the given values in the order of
+     * {@link Widget#writeAttributes(Widget.AttributeWriter)}.
+     *
+     * @param parent The parent widget or {@code null}.
+     * @param text Distinguishes the strings of the widget from the strings of other widgets.
+     * @param ints The integer attributes, re-used cyclically.
+     * @param booleans The boolean attributes as bit pattern, the first one being the lowest bit.
+     */
+    private static Widget widget(Widget parent, final String text, final int[] ints,
+                                 final long booleans) throws IOException {
+
+        return Widget.readAttributes(parent, new Widget.AttributeReader() {
+
+            // the id, class and resource id must not be null for the XML form
+            private final String[] strings = {text, "android.widget.Button",
+                    "com.example.app:id/" + text, "Grüße ✓", null};
+
+            private int stringIndex = 0;
+            private int intIndex = 0;
+            private int booleanIndex = 0;
+
+            @Override
+            public String readString() {
+                return strings[stringIndex++ % strings.length];
+            }
+
+            @Override
+            public int readInt() {
+                return ints[intIndex++ % ints.length];
+            }
+
+            @Override
+            public boolean readBoolean() {
+                return (booleans >>> booleanIndex++ & 1) != 0;
+            }
+        });
+    }
+
+    /**
+     * Creates a widget tree of a root, two children and a grandchild, and returns the grandchild.
+     */
+    private static Widget tree(String name) throws IOException {
+        Widget root = widget(null, name + "-root", new int[]{0, 0, 0, 0, 1080, 0, 1920}, 0L);
+        Widget first = widget(root, name + "-first", new int[]{1, 0, 1, 0, 540, 0, 960}, 0x5555L);
+        widget(root, name + "-second", new int[]{2, 1, 1, 540, 1080, 960, 1920}, 0x2aaaaL);
+        return widget(first, name + "-leaf", BOUNDARY_VALUES, -1L);
+    }
+
+    private static TestCase testCase(List<Action> actions, List<Action> closedSoftKeyboard) {
+        List<String> states = new ArrayList<>();
+        List<String> activities = new ArrayList<>();
+        for (int i = 0; i <= actions.size(); i++) {
+            states.add("S" + i % 3);
+            activities.add(ACTIVITY);
+        }
+        return TestCase.restore("TestCase0", states, activities, actions, closedSoftKeyboard,
+                false, null, ActionResult.SUCCESS);
+    }
+
+    private static byte[] write(TestCase testCase) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryTestCaseWriter.write(testCase, out);
+        return out.toByteArray();
+    }
+
+    private static TestCase read(byte[] bytes) throws IOException {
+        return BinaryTestCaseReader.read(new ByteArrayInputStream(bytes));
+    }
+
+    private static void assertRoundTrip(TestCase testCase) throws IOException {
+        byte[] bytes = write(testCase);
+        assertTrue(BinaryTestCaseReader.isBinaryTestCase(bytes));
+        assertEquals(TestCaseSerializer.toXML(testCase), TestCaseSerializer.toXML(read(bytes)));
+    }
+
+    @Test
+    public void testRoundTripOfAllActionKinds() throws IOException {
+
+        Widget leaf = tree("a");
+        Widget other = tree("b").getParent().getParent().getChildren().get(1);
+
+        PrimitiveAction primitiveAction = new PrimitiveAction(-5, 16384, ActionType.TYPE_TEXT,
+                ACTIVITY);
+        primitiveAction.setText("typed ✓");
+
+        UIAction back = new UIAction(ActionType.BACK, ACTIVITY);
+        PrimitiveAction typeIntoForm = new PrimitiveAction(40, 60, ActionType.TYPE_SPECIFIC_TEXT,
+                ACTIVITY);
+        typeIntoForm.setText("form");
+        // the reader restores the ui actions of a motif action as an ArrayList
+        MotifAction fillForm = new MotifAction(ActionType.FILL_FORM_AND_SUBMIT, ACTIVITY,
+                new ArrayList<>(Arrays.asList(new UIAction(ActionType.CLICK, ACTIVITY),
+                        typeIntoForm)));
+        MotifAction emptyMotif = new MotifAction(ActionType.SPINNER_SCROLLING, ACTIVITY, null);
+
+        List<Action> actions = Arrays.asList(new VirtualStartAction(),
+                new WidgetAction(leaf, ActionType.CLICK), new WidgetAction(other, ActionType.LONG_CLICK),
+                primitiveAction, back, fillForm, emptyMotif, new WidgetAction(leaf, ActionType.CLICK));
+
+        // one action of the sequence and one that isn't part of it
+        List<Action> closedSoftKeyboard = Arrays.asList(back,
+                new UIAction(ActionType.ENTER, ACTIVITY));
+
+        TestCase testCase = TestCase.restore("TestCase42", Arrays.asList("S0", "S1", null),
+                Arrays.asList(ACTIVITY, null, ""), actions, closedSoftKeyboard, true, null,
+                ActionResult.SUCCESS_OUTBOUND);
+        testCase.setDesiredSize(Optional.some(0));
+
+        assertRoundTrip(testCase);
+
+        TestCase restored = read(write(testCase));
+        assertSame(restored.getActionSequence().get(4),
+                restored.getActionsThatClosedSoftKeyboard().get(0));
+        assertEquals(0, (int) restored.getDesiredSize().getValue());
+    }
+
+    @Test
+    public void testRoundTripOfEmptyTestCase() throws IOException {
+        TestCase testCase = TestCase.restore("empty", Collections.<String>emptyList(),
+                Collections.<String>emptyList(), Collections.<Action>emptyList(),
+                Collections.<Action>emptyList(), false, null, null);
+        assertRoundTrip(testCase);
+    }
+
+    @Test
+    public void testVarIntBoundaries() throws IOException {
+
+        int[] unsignedValues = {0, 127, 128, 16383, 16384, 2097151, 2097152, Integer.MAX_VALUE, -1};
+        int[] unsignedLengths = {1, 1, 2, 2, 3, 3, 4, 5, 5};
+
+        for (int i = 0; i < unsignedValues.length; i++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryTestCaseWriter.writeVarInt(new DataOutputStream(bytes), unsignedValues[i]);
+            assertEquals("Length of " + unsignedValues[i], unsignedLengths[i], bytes.size());
+        }
+
+        int[] signedValues = {0, -1, 63, -64, 64, -65, Integer.MIN_VALUE};
+        int[] signedLengths = {1, 1, 1, 1, 2, 2, 5};
+
+        for (int i = 0; i < signedValues.length; i++) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BinaryTestCaseWriter.writeSignedVarInt(new DataOutputStream(bytes), signedValues[i]);
+            assertEquals("Length of " + signedValues[i], signedLengths[i], bytes.size());
+        }
+
+        // the values survive the round trip as widget attributes
+        Widget leaf = tree("ints");
+        TestCase testCase = testCase(Collections.<Action>singletonList(
+                new WidgetAction(leaf, ActionType.CLICK)), Collections.<Action>emptyList());
+        Widget restored = ((WidgetAction) read(write(testCase)).getActionSequence().get(0))
+                .getWidget();
+
+        assertEquals(leaf.getIndex(), restored.getIndex());
+        assertEquals(leaf.getX1(), restored.getX1());
+        assertEquals(leaf.getX2(), restored.getX2());
+        assertEquals(leaf.getY1(), restored.getY1());
+        assertEquals(leaf.getY2(), restored.getY2());
+        assertEquals(leaf.getMaxTextLength(), restored.getMaxTextLength());
+        assertEquals(leaf.getInputType(), restored.getInputType());
+    }
+
+    @Test
+    public void testBooleansArePackedAndRestored() throws IOException {
+
+        long[] patterns = {0L, -1L, 0x5555555555555555L, 0xaaaaaaaaaaaaaaaaL, 0xffL, 0x100L};
+
+        for (long pattern : patterns) {
+            Widget widget = widget(null, "bits", new int[]{7}, pattern);
+            TestCase testCase = testCase(Collections.<Action>singletonList(
+                    new WidgetAction(widget, ActionType.CLICK)), Collections.<Action>emptyList());
+            assertRoundTrip(testCase);
+        }
+
+        for (int bit = 0; bit < 64; bit++) {
+            Widget widget = widget(null, "bit" + bit, new int[]{7}, 1L << bit);
+            TestCase testCase = testCase(Collections.<Action>singletonList(
+                    new WidgetAction(widget, ActionType.CLICK)), Collections.<Action>emptyList());
+            assertRoundTrip(testCase);
+        }
+    }
+
+    @Test
+    public void testStringTableStoresEachStringOnce() throws IOException {
+
+        String state = "state-with-a-distinctive-name";
+        List<String> states = Collections.nCopies(50, state);
+        List<String> activities = Collections.nCopies(50, ACTIVITY);
+        TestCase testCase = TestCase.restore("strings", states, activities,
+                Collections.<Action>emptyList(), Collections.<Action>emptyList(), false, null,
+                null);
+
+        byte[] bytes = write(testCase);
+        assertEquals(1, occurrences(bytes, state.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, occurrences(bytes, ACTIVITY.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(states, read(bytes).getStateSequence());
+    }
+
+    private static int occurrences(byte[] bytes, byte[] pattern) {
+        int count = 0;
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + pattern.length), pattern)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testEqualWidgetTreesAreStoredOnce() throws IOException {
+
+        // two trees with the same content, e.g. the same screen visited twice
+        Widget first = tree("screen");
+        Widget second = tree("screen");
+
+        TestCase twoTrees = testCase(Arrays.<Action>asList(new WidgetAction(first, ActionType.CLICK),
+                new WidgetAction(second, ActionType.CLICK)), Collections.<Action>emptyList());
+        TestCase oneTree = testCase(Arrays.<Action>asList(new WidgetAction(first, ActionType.CLICK),
+                new WidgetAction(first, ActionType.CLICK)), Collections.<Action>emptyList());
+
+        assertArrayEquals(write(oneTree), write(twoTrees));
+
+        List<Action> restored = read(write(twoTrees)).getActionSequence();
+        assertSame(((WidgetAction) restored.get(0)).getWidget(),
+                ((WidgetAction) restored.get(1)).getWidget());
+
+        // a different tree is stored separately
+        TestCase differentTrees = testCase(Arrays.<Action>asList(
+                new WidgetAction(first, ActionType.CLICK),
+                new WidgetAction(tree("other"), ActionType.CLICK)), Collections.<Action>emptyList());
+        assertRoundTrip(differentTrees);
+    }
+
+    @Test
+    public void testTruncatedInputIsRejected() throws IOException {
+
+        TestCase testCase = testCase(Arrays.<Action>asList(new VirtualStartAction(),
+                new WidgetAction(tree("truncated"), ActionType.CLICK),
+                new UIAction(ActionType.BACK, ACTIVITY)), Collections.<Action>emptyList());
+        byte[] bytes = write(testCase);
+
+        for (int length = 0; length < bytes.length; length++) {
+            try {
+                read(Arrays.copyOf(bytes, length));
+                fail("Read a test case from the first " + length + " of " + bytes.length + " bytes");
+            } catch (IOException expected) {
+                // the stream ended prematurely
+            }
+        }
+    }
+
+    @Test
+    public void testOtherContentIsRejected() {
+
+        byte[] xml = "<org.mate.model.TestCase/>".getBytes(StandardCharsets.UTF_8);
+        assertFalse(BinaryTestCaseReader.isBinaryTestCase(xml));
+
+        try {
+            read(xml);
+            fail("Read a test case from XML");
+        } catch (IOException expected) {
+            // wrong magic number
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.mate.utils.testcase.writer;
+
+import org.junit.Test;
+import org.mate.Properties;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.interaction.action.espresso.InstrumentationTestAction;
+import org.mate.commons.interaction.action.espresso.executables.views.ClickExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.CloseSoftKeyboardExecutable;
+import org.mate.commons.interaction.action.espresso.interactions.EspressoViewInteraction;
+import org.mate.commons.interaction.action.espresso.view_matchers.base.IsRootViewMatcher;
+import org.mate.commons.interaction.action.espresso.view_matchers.base.WithTextMatcher;
+import org.mate.model.TestCase;
+import org.mockito.MockedStatic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Checks that the test cases written by the {@link InstrumentationTestCaseStringConverter} are
+ * identical to the ones it produced before writing them straight to a sink. The golden file has
+ * been produced by the previous implementation, which assembled the whole test case in a string
+ * builder.
+ */
+public class InstrumentationTestCaseStringConverterTest {
+
+    private static final String MAIN_ACTIVITY = "com.example.app.MainActivity";
+    private static final String SETTINGS_ACTIVITY = "com.example.app.SettingsActivity";
+
+    private static String golden() throws IOException {
+        try (InputStream in = InstrumentationTestCaseStringConverterTest.class
+                .getResourceAsStream("InstrumentationTestCase_3.golden")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Creates a converter for a test case that clicks a button, which closes the soft keyboard,
+     * and closes the soft keyboard afterwards.
+     */
+    private static InstrumentationTestCaseStringConverter converter() {
+        Action click = new InstrumentationTestAction(new ClickExecutable(),
+                new EspressoViewInteraction(new WithTextMatcher("OK")), null);
+        Action closeSoftKeyboard = new InstrumentationTestAction(new CloseSoftKeyboardExecutable(),
+                new EspressoViewInteraction(new IsRootViewMatcher()), null);
+
+        TestCase testCase = TestCase.restore("TestCase3", Arrays.asList("S0", "S1", "S1"),
+                Arrays.asList(MAIN_ACTIVITY, SETTINGS_ACTIVITY, SETTINGS_ACTIVITY),
+                Arrays.asList(click, closeSoftKeyboard), Collections.singletonList(click),
+                false, null, ActionResult.SUCCESS);
+
+        InstrumentationTestCaseStringConverter converter = new InstrumentationTestCaseStringConverter(
+                "com.example.app", MAIN_ACTIVITY, "InstrumentationTestCase_3", "testMethod");
+        converter.parseTestCase(testCase);
+        return converter;
+    }
+
+    @Test
+    public void testGetCodeMatchesGolden() throws IOException {
+        try (MockedStatic<Properties> propertyMock = mockStatic(Properties.class)) {
+            propertyMock.when(Properties::DELAY_AFTER_ACTIVITY_STARTED).thenReturn(500);
+            propertyMock.when(Properties::ACTIONS_THROTTLE).thenReturn(100);
+
+            assertEquals(golden(), converter().getCode());
+        }
+    }
+
+    @Test
+    public void testWriteToMatchesGolden() throws IOException {
+        try (MockedStatic<Properties> propertyMock = mockStatic(Properties.class)) {
+            propertyMock.when(Properties::DELAY_AFTER_ACTIVITY_STARTED).thenReturn(500);
+            propertyMock.when(Properties::ACTIONS_THROTTLE).thenReturn(100);
+
+            StringBuilder out = new StringBuilder();
+            converter().writeTo(out);
+            assertEquals(golden(), out.toString());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.mate.utils.testcase.writer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mate.commons.interaction.action.Action;
+import org.mate.commons.interaction.action.ActionResult;
+import org.mate.commons.utils.MATELog;
+import org.mate.model.TestCase;
+import org.mockito.MockedStatic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mockStatic;
+
+public class TestCaseWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Writes the name of the test case instead of converting it and records the downloads.
+     */
+    private static final class RecordingWriter extends InstrumentationTestCaseWriter {
+
+        private final List<String> downloads;
+
+        RecordingWriter(List<String> downloads) {
+            super(TestCase.restore("TestCase", Collections.singletonList("S0"),
+                    Collections.singletonList("com.example.app.MainActivity"),
+                    Collections.<Action>emptyList(), Collections.<Action>emptyList(),
+                    false, null, ActionResult.SUCCESS));
+            this.downloads = downloads;
+        }
+
+        @Override
+        public void writeTestCase(Appendable out) throws IOException {
+            out.append(getTestCaseName());
+        }
+
+        @Override
+        protected void triggerMATEServerDownload() {
+            downloads.add(getTestCaseFileName());
+        }
+    }
+
+    @Test
+    public void testWriteAllToFolder() throws IOException {
+
+        List<String> downloads = new ArrayList<>();
+        List<RecordingWriter> writers = Arrays.asList(new RecordingWriter(downloads),
+                new RecordingWriter(downloads), new RecordingWriter(downloads));
+        File folder = new File(temporaryFolder.getRoot(), "instrumentation-test-cases");
+
+        int first = TestCaseWriter.getWriteCounter();
+        try (MockedStatic<MATELog> ignored = mockStatic(MATELog.class)) {
+            TestCaseWriter.writeAllToFolder(writers, folder.getAbsolutePath());
+        }
+
+        // the writers created upfront are named after the order in which they are written
+        assertEquals(first + writers.size(), TestCaseWriter.getWriteCounter());
+        assertEquals(writers.size(), downloads.size());
+
+        for (int i = 0; i < writers.size(); i++) {
+            String testCaseName = "InstrumentationTestCase_" + (first + i);
+            File testCaseFile = new File(folder, testCaseName + ".java");
+
+            assertEquals(testCaseFile.getName(), downloads.get(i));
+            assertTrue(testCaseFile.isFile());
+            assertEquals(testCaseName, new String(Files.readAllBytes(testCaseFile.toPath()),
+                    StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testWriteAllToFolderWithoutWriters() throws IOException {
+
+        File folder = new File(temporaryFolder.getRoot(), "instrumentation-test-cases");
+        int first = TestCaseWriter.getWriteCounter();
+
+        TestCaseWriter.writeAllToFolder(Collections.<TestCaseWriter>emptyList(),
+                folder.getAbsolutePath());
+
+        assertTrue(folder.isDirectory());
+        assertEquals(first, TestCaseWriter.getWriteCounter());
+    }
+}
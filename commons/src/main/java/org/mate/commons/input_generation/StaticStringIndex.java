@@ -0,0 +1,183 @@
+package org.mate.commons.input_generation;
+
+import org.mate.commons.input_generation.format_types.InputFieldType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable index over the static strings of all classes, built once after the strings have
+ * been loaded. Since it is never modified, it can be shared between threads without locking.
+ * <p>
+ * The strings are flattened into arrays per class and input field type, such that a random
+ * string can be picked in constant time. Class names are looked up by suffix in the sorted array
+ * of reversed class names, i.e. a flattened trie of the reversed names: all class names sharing a
+ * suffix form a contiguous range that is found by binary search.
+ */
+final class StaticStringIndex {
+
+    private static final InputFieldType[] TYPES = InputFieldType.values();
+
+    /**
+     * The number of string arrays per class: all strings plus one per input field type.
+     */
+    private static final int SLOTS = TYPES.length + 1;
+
+    private static final String[] NO_STRINGS = new String[0];
+
+    /**
+     * The class names (with '/' as separator) sorted by their reversed name. The index of a class
+     * in this array is its id.
+     */
+    private final String[] reversedClassNames;
+
+    /**
+     * Maps each class name to its id.
+     */
+    private final Map<String, Integer> classIds;
+
+    /**
+     * The strings of each class, at index {@code id * SLOTS}, followed by the strings of that class
+     * per input field type, at index {@code id * SLOTS + 1 + type.ordinal()}.
+     */
+    private final String[][] strings;
+
+    /**
+     * The strings of all classes per input field type, indexed by ordinal.
+     */
+    private final String[][] stringsPerType;
+
+    /**
+     * Builds the index.
+     *
+     * @param stringsPerClass The static strings per class name.
+     */
+    StaticStringIndex(Map<String, Set<String>> stringsPerClass) {
+
+        int size = stringsPerClass.size();
+
+        reversedClassNames = new String[size];
+        int i = 0;
+        for (String className : stringsPerClass.keySet()) {
+            reversedClassNames[i++] = reverse(className);
+        }
+        Arrays.sort(reversedClassNames);
+
+        classIds = new HashMap<>(Math.max(16, (int) (size / .75f) + 1));
+        strings = new String[size * SLOTS][];
+
+        // a string constant often occurs in several classes, but is classified only once
+        Map<String, Set<InputFieldType>> classifications = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        Set<String>[] allStringsPerType = new Set[TYPES.length];
+
+        for (int id = 0; id < size; id++) {
+
+            String className = reverse(reversedClassNames[id]);
+            classIds.put(className, id);
+
+            Set<String> classStrings = stringsPerClass.get(className);
+            strings[id * SLOTS] = classStrings.toArray(NO_STRINGS);
+
+            @SuppressWarnings("unchecked")
+            Set<String>[] classStringsPerType = new Set[TYPES.length];
+
+            for (String value : classStrings) {
+
+                Set<InputFieldType> types = classifications.get(value);
+                if (types == null) {
+                    types = InputFieldType.getInputFieldsMatchingRegex(value);
+                    classifications.put(value, types);
+                }
+
+                for (InputFieldType type : types) {
+                    int ordinal = type.ordinal();
+                    if (classStringsPerType[ordinal] == null) {
+                        classStringsPerType[ordinal] = new LinkedHashSet<>();
+                    }
+                    classStringsPerType[ordinal].add(value);
+
+                    if (allStringsPerType[ordinal] == null) {
+                        allStringsPerType[ordinal] = new LinkedHashSet<>();
+                    }
+                    allStringsPerType[ordinal].add(value);
+                }
+            }
+
+            for (int ordinal = 0; ordinal < TYPES.length; ordinal++) {
+                strings[id * SLOTS + 1 + ordinal] = classStringsPerType[ordinal] == null
+                        ? NO_STRINGS : classStringsPerType[ordinal].toArray(NO_STRINGS);
+            }
+        }
+
+        stringsPerType = new String[TYPES.length][];
+        for (int ordinal = 0; ordinal < TYPES.length; ordinal++) {
+            stringsPerType[ordinal] = allStringsPerType[ordinal] == null
+                    ? NO_STRINGS : allStringsPerType[ordinal].toArray(NO_STRINGS);
+        }
+    }
+
+    /**
+     * Returns the strings of the given class. A class whose name ends with the given name
+     * (preceded by a dot) takes precedence over the class with exactly the given name.
+     *
+     * @param className The class name, with either '.' or '/' as separator.
+     * @param inputType The input field type the strings need to match, or {@code null} for all
+     *         strings of the class.
+     * @return Returns the (possibly empty) strings of the class.
+     */
+    String[] getStrings(String className, InputFieldType inputType) {
+
+        String convertedClassName = className.replace('.', '/');
+        int slot = inputType == null ? 0 : 1 + inputType.ordinal();
+
+        // the classes ending with '.' + class name form a contiguous range in the sorted array
+        String suffix = reverse("." + convertedClassName);
+        int from = lowerBound(suffix);
+        int to = lowerBound(suffix + Character.MAX_VALUE);
+
+        for (int id = from; id < to; id++) {
+            if (strings[id * SLOTS + slot].length > 0) {
+                return strings[id * SLOTS + slot];
+            }
+        }
+
+        Integer id = classIds.get(convertedClassName);
+        return id != null ? strings[id * SLOTS + slot] : NO_STRINGS;
+    }
+
+    /**
+     * Returns the strings of all classes matching the given input field type.
+     *
+     * @param inputType The input field type.
+     * @return Returns the (possibly empty) strings matching the input field type.
+     */
+    String[] getStrings(InputFieldType inputType) {
+        return stringsPerType[inputType.ordinal()];
+    }
+
+    /**
+     * Returns the index of the first reversed class name that is not smaller than the given key.
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = reversedClassNames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (reversedClassNames[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static String reverse(String string) {
+        return new StringBuilder(string).reverse().toString();
+    }
+}
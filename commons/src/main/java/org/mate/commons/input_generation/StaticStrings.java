@@ -4,15 +4,16 @@ package org.mate.commons.input_generation;
 import org.mate.commons.input_generation.format_types.InputFieldType;
 import org.mate.commons.utils.Randomness;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
- * Provides access to the static strings extracted from the bytecode.
+ * Provides access to the static strings extracted from the bytecode. The strings are collected
+ * via {@link #add(String, Set)} and looked up through an immutable {@link StaticStringIndex} that
+ * is built on the first lookup after the strings have been changed.
  */
 public final class StaticStrings {
 
@@ -24,13 +25,12 @@ public final class StaticStrings {
     /**
      * Contains the static strings per class.
      */
-    private final Map<String, Set<String>> allStrings = new HashMap<>();
+    private final Map<String, Set<String>> allStrings = new LinkedHashMap<>();
 
     /**
-     * This map stores for each {@link InputFieldType} a map with the string variables per class
-     * name.
+     * The index over {@link #allStrings}, or {@code null} if it needs to be (re-)built.
      */
-    private final Map<InputFieldType, Map<String, Set<String>>> inputFieldTypeMap = new HashMap<>();
+    private volatile StaticStringIndex index;
 
     /**
      * Whether the static strings could be loaded, i.e. {@link StaticStringsParser#parseStaticStrings()}
@@ -38,9 +38,7 @@ public final class StaticStrings {
      */
     private boolean initialised = false;
 
-    private StaticStrings() {
-        createInitialMap();
-    }
+    private StaticStrings() {}
 
     /**
      * Retrieves the singleton instance.
@@ -60,22 +58,14 @@ public final class StaticStrings {
      * @param className The class name, where the values should be inorder.
      * @param values The new values.
      */
-    public void add(String className, Set<String> values) {
-
-        Set<String> copy = new HashSet<>(values);
-        extendMapByClassName(allStrings, className, copy);
-
-        for (String value : values) {
-            Set<InputFieldType> inputFields = InputFieldType.getInputFieldsMatchingRegex(value);
-            for (InputFieldType input : inputFields) {
-                Map<String, Set<String>> cache = inputFieldTypeMap.get(input);
-                if (cache == null) {
-                    cache = new HashMap<>();
-                }
-                extendMapByClassName(cache, className, new HashSet<>(Collections.singleton(value)));
-                inputFieldTypeMap.put(input, cache);
-            }
+    public synchronized void add(String className, Set<String> values) {
+        Set<String> strings = allStrings.get(className);
+        if (strings == null) {
+            strings = new LinkedHashSet<>();
+            allStrings.put(className, strings);
         }
+        strings.addAll(values);
+        index = null;
     }
 
     /**
@@ -86,7 +76,7 @@ public final class StaticStrings {
      */
     public String getRandomStringFor(List<String> classNames) {
         String className = Randomness.randomElement(classNames);
-        return getRandomStringFor(allStrings, className);
+        return randomElement(getIndex().getStrings(className, null));
     }
 
     /**
@@ -99,7 +89,7 @@ public final class StaticStrings {
      */
     public String getRandomStringFor(InputFieldType inputType, List<String> classNames) {
         String className = Randomness.randomElement(classNames);
-        return getRandomStringFor(inputFieldTypeMap.get(inputType), className);
+        return randomElement(getIndex().getStrings(className, inputType));
     }
 
     /**
@@ -109,73 +99,30 @@ public final class StaticStrings {
      * @return A random string for a certain input type.
      */
     public String getRandomStringFor(InputFieldType inputType) {
-        Map<String, Set<String>> map = inputFieldTypeMap.get(inputType);
-        if (map == null) {
-            return null;
-        }
-        Set<String> concatenated = new HashSet<>();
-        for (Map.Entry<String, Set<String>> entrySet : map.entrySet()) {
-            concatenated.addAll(entrySet.getValue());
-        }
-
-        if (!concatenated.isEmpty()) {
-            return Randomness.randomElement(concatenated);
-        } else {
-            return null;
-        }
-    }
-
-    private void createInitialMap() {
-        for (InputFieldType inputField : InputFieldType.values()) {
-            if (inputField != InputFieldType.NOTHING) {
-                inputFieldTypeMap.put(inputField, null);
-            }
-        }
+        return randomElement(getIndex().getStrings(inputType));
     }
 
     /**
-     * Extends the given map for a given class name and the corresponding set with string values. If
-     * the class name as key already exists, the previous set will be merged with the new values.
-     * Otherwise a new one is created.
+     * Returns the index over the current static strings, building it if necessary.
      *
-     * @param map The map where a new set with values should be added.
-     * @param className The class name as key.
-     * @param strings The string that should be merged.
+     * @return Returns the index.
      */
-    private void extendMapByClassName(Map<String, Set<String>> map, String className, Set<String> strings) {
-        if (map.containsKey(className) && map.get(className) != null) {
-            Set<String> prevSet = map.get(className);
-            if (prevSet != null) {
-                strings.addAll(prevSet);
-            }
-        }
-        map.put(className, strings);
-    }
-
-    private String getRandomStringFor(Map<String, Set<String>> map, String className) {
-        String convertedClassName = className.replaceAll("\\.", "/");
-        if (map != null) {
-            String exactKey = getExactKey(map, convertedClassName);
-            if (exactKey != null) {
-                convertedClassName = exactKey;
-            }
-
-            if (map.containsKey(convertedClassName)) {
-                if (map.get(convertedClassName) != null) {
-                    return Randomness.randomElement(map.get(convertedClassName));
+    private StaticStringIndex getIndex() {
+        StaticStringIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = new StaticStringIndex(allStrings);
+                    index = current;
                 }
             }
         }
-        return null;
+        return current;
     }
 
-    private String getExactKey(Map<String, Set<String>> map, String keyPart) {
-        for (String key : map.keySet()) {
-            if (key.endsWith("." + keyPart)) {
-                return key;
-            }
-        }
-        return null;
+    private static String randomElement(String[] strings) {
+        return strings.length > 0 ? strings[Randomness.getRnd().nextInt(strings.length)] : null;
     }
 
     /**
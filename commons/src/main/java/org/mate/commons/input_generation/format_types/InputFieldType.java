@@ -8,9 +8,10 @@ import org.threeten.bp.LocalTime;
 import org.threeten.bp.format.DateTimeFormatter;
 import org.threeten.bp.format.DateTimeParseException;
 
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Locale;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 /**
  * Enum for the different input field types.
@@ -191,6 +192,16 @@ public enum InputFieldType {
      */
     private String regex;
 
+    /**
+     * The compiled {@link #regex}, compiled once instead of on every {@link #isValid(String)}.
+     */
+    private Pattern pattern;
+
+    /**
+     * A copy of {@link #values()}, which would otherwise create a new array on every call.
+     */
+    private static final InputFieldType[] VALUES = values();
+
     /**
      * Default constructor used for {@link InputFieldType#NOTHING}.
      */
@@ -215,6 +226,7 @@ public enum InputFieldType {
      */
     InputFieldType(String regex, int inputTypeNumber) {
         this.regex = regex;
+        this.pattern = Pattern.compile(regex);
         this.inputTypeNumber = inputTypeNumber;
     }
 
@@ -227,7 +239,7 @@ public enum InputFieldType {
      * {@link InputFieldType#NOTHING} is returned.
      */
     public static InputFieldType getFieldTypeByNumber(int inputTypeNumber) {
-        for (InputFieldType inputField : values()) {
+        for (InputFieldType inputField : VALUES) {
             if (inputField.inputTypeNumber == inputTypeNumber) {
                 return inputField;
             }
@@ -244,7 +256,7 @@ public enum InputFieldType {
      */
     public boolean isValid(final String string) {
         if (regex != null) {
-            return this != NOTHING && string.matches(regex);
+            return this != NOTHING && pattern.matcher(string).matches();
         } else if (this == DATETIME_VARIATION_DATE) {
             return isDate(string);
         } else if (this == DATETIME_VARIATION_TIME) {
@@ -260,8 +272,8 @@ public enum InputFieldType {
      * @return Returns the {@link InputFieldType}s that match the given string.
      */
     public static Set<InputFieldType> getInputFieldsMatchingRegex(final String string) {
-        Set<InputFieldType> fields = new HashSet<>();
-        for (InputFieldType inputField : values()) {
+        Set<InputFieldType> fields = EnumSet.noneOf(InputFieldType.class);
+        for (InputFieldType inputField : VALUES) {
             if (inputField.isValid(string)) {
                 fields.add(inputField);
             }
@@ -286,9 +298,14 @@ public enum InputFieldType {
      * @return Returns {@code true} if the date string is valid, otherwise {@code false}.
      */
     public static boolean isDate(final String dateStr) {
-        for (DateFormat d : DateFormat.values()) {
+
+        if (!startsWithNumber(dateStr)) {
+            // all formats start with a number, which saves throwing a parse exception per format
+            return false;
+        }
+
+        for (DateTimeFormatter dateFormatter : Formatters.DATE_FORMATTERS) {
             try {
-                DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern(d.getPattern(), Locale.US);
                 LocalDate date = LocalDate.parse(dateStr, dateFormatter);
 
                 if (date != null) {
@@ -310,16 +327,14 @@ public enum InputFieldType {
      * @return Returns {@code true} if the time string is valid, otherwise {@code false}.
      */
     public static boolean isTime(final String timeStr) {
-        for (TimeFormat d : TimeFormat.values()) {
-            try {
-                DateTimeFormatter dateFormatter;
 
-                if (d.getLocale() != null) {
-                    dateFormatter = DateTimeFormatter.ofPattern(d.getPattern(), d.getLocale());
-                } else {
-                    dateFormatter = DateTimeFormatter.ofPattern(d.getPattern(), Locale.US);
-                }
+        if (!startsWithNumber(timeStr)) {
+            // all formats start with a number, which saves throwing a parse exception per format
+            return false;
+        }
 
+        for (DateTimeFormatter dateFormatter : Formatters.TIME_FORMATTERS) {
+            try {
                 LocalTime date = LocalTime.parse(timeStr, dateFormatter);
 
                 if (date != null) {
@@ -332,4 +347,41 @@ public enum InputFieldType {
 
         return false;
     }
+
+    /**
+     * Whether the string starts with a digit, or with a plus sign as years with more than four
+     * digits are prefixed by.
+     */
+    private static boolean startsWithNumber(final String string) {
+        if (string.isEmpty()) {
+            return false;
+        }
+        char first = string.charAt(0);
+        return (first >= '0' && first <= '9') || first == '+';
+    }
+
+    /**
+     * The formatters of the supported date and time formats. The formatters are immutable and
+     * are created once when first needed.
+     */
+    private static final class Formatters {
+
+        private static final DateTimeFormatter[] DATE_FORMATTERS;
+        private static final DateTimeFormatter[] TIME_FORMATTERS;
+
+        static {
+            DateFormat[] dateFormats = DateFormat.values();
+            DATE_FORMATTERS = new DateTimeFormatter[dateFormats.length];
+            for (int i = 0; i < dateFormats.length; i++) {
+                DATE_FORMATTERS[i] = DateTimeFormatter.ofPattern(dateFormats[i].getPattern(), Locale.US);
+            }
+
+            TimeFormat[] timeFormats = TimeFormat.values();
+            TIME_FORMATTERS = new DateTimeFormatter[timeFormats.length];
+            for (int i = 0; i < timeFormats.length; i++) {
+                Locale locale = timeFormats[i].getLocale() != null ? timeFormats[i].getLocale() : Locale.US;
+                TIME_FORMATTERS[i] = DateTimeFormatter.ofPattern(timeFormats[i].getPattern(), locale);
+            }
+        }
+    }
 }
@@ -18,11 +18,8 @@ import androidx.annotation.Nullable;
 import androidx.test.espresso.matcher.ViewMatchers;
 
 import org.mate.commons.interaction.action.espresso.executables.recyclerview.RecyclerViewWrapper;
-import org.mate.commons.interaction.action.espresso.layout_inspector.common.Resource;
-import org.mate.commons.interaction.action.espresso.layout_inspector.property.LayoutParamsTypeTree;
-import org.mate.commons.interaction.action.espresso.layout_inspector.property.Property;
-import org.mate.commons.interaction.action.espresso.layout_inspector.property.ViewNode;
-import org.mate.commons.interaction.action.espresso.layout_inspector.property.ViewTypeTree;
+import org.mate.commons.interaction.action.espresso.layout_inspector.property.LayeredAttributeMap;
+import org.mate.commons.interaction.action.espresso.layout_inspector.property.ViewAttributesMetadata;
 import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTree;
 import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTreeNode;
 import org.mate.commons.utils.MATELog;
@@ -30,6 +27,7 @@ import org.mate.commons.utils.MATELog;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -91,6 +89,12 @@ public class EspressoView {
             "selectAll",
     };
 
+    /**
+     * The "mAttributes" field of the View class, resolved by reflection on first use.
+     */
+    private static Field attributesField;
+    private static boolean attributesFieldResolved = false;
+
     /**
      * An ad-hoc ID that is unique for this View in the current activity.
      */
@@ -732,11 +736,12 @@ public class EspressoView {
 
         // Get the "mAttributes" field of the wrapped view using reflection
         // If it fails, we just return an empty map.
-        try {
-            @SuppressLint("SoonBlockedPrivateApi")
-            Field mAttributesField = View.class.getDeclaredField("mAttributes");
+        Field mAttributesField = getAttributesField();
+        if (mAttributesField == null) {
+            return attributes;
+        }
 
-            mAttributesField.setAccessible(true);
+        try {
             String[] mAttributesFieldValue = (String[]) mAttributesField.get(view);
 
             if (mAttributesFieldValue != null) {
@@ -755,6 +760,28 @@ public class EspressoView {
         return attributes;
     }
 
+    /**
+     * Returns the "mAttributes" field of the View class, resolving it by reflection only once.
+     *
+     * @return the accessible field, or null if it could not be resolved.
+     */
+    @SuppressLint("SoonBlockedPrivateApi")
+    private static synchronized @Nullable
+    Field getAttributesField() {
+        if (!attributesFieldResolved) {
+            attributesFieldResolved = true;
+            try {
+                Field field = View.class.getDeclaredField("mAttributes");
+                field.setAccessible(true);
+                attributesField = field;
+            } catch (Exception e) {
+                MATELog.log_error("Unable to get mAttributes field of View");
+            }
+        }
+
+        return attributesField;
+    }
+
     /**
      * Returns a very extensive list of attributes for the wrapped view.
      * This code is inspired by the code in the Android Studio's Layout Inspector.
@@ -763,46 +790,25 @@ public class EspressoView {
      * @return a map of attributes.
      */
     public Map<String, String> getLayoutInspectorAttributes() {
-        Map<String, String> attributes = new HashMap<>();
-
         if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.Q) {
-            ViewTypeTree typeTree = new ViewTypeTree();
-            LayoutParamsTypeTree layoutTypeTree = new LayoutParamsTypeTree();
-            ViewNode<View> node =
-                    new ViewNode<>(
-                            typeTree.typeOf(view), layoutTypeTree.typeOf(view.getLayoutParams()));
-            node.readProperties(view);
-
-            Resource layout = node.getLayoutResource(view);
-
-            List<Property> viewProperties = node.getViewProperties();
-            for (Property property : viewProperties) {
-                attributes.put(property.getPropertyType().getName(),
-                        String.valueOf(property.getValue()));
-            }
-
-            List<Property> layoutProperties = node.getLayoutProperties();
-            for (Property property : layoutProperties) {
-                attributes.put(property.getPropertyType().getName(),
-                        String.valueOf(property.getValue()));
-            }
+            // The types of the view and its layout params (resolved by reflection) are cached per
+            // class, so we only pay for reading the values of this specific view.
+            return ViewAttributesMetadata.of(view).readAttributes(view);
         }
 
-        return attributes;
+        return Collections.emptyMap();
     }
 
     /**
-     * Returns a combined map with the basic, internal and layout inspector attributes.
+     * Returns a combined, read-only view of the basic, internal and layout inspector attributes.
+     * The basic attributes take precedence over the internal ones, which in turn take precedence
+     * over the layout inspector ones. The values of the layout inspector attributes are only read
+     * once one of them is requested.
      *
      * @return a map of attributes.
      */
     public Map<String, String> getAllAttributes() {
-        Map<String, String> attributes = new HashMap<>();
-
-        attributes.putAll(getLayoutInspectorAttributes());
-        attributes.putAll(getInternalViewAttributes());
-        attributes.putAll(getBasicViewAttributes());
-
-        return attributes;
+        return new LayeredAttributeMap(getBasicViewAttributes(), getInternalViewAttributes(),
+                getLayoutInspectorAttributes());
     }
 }
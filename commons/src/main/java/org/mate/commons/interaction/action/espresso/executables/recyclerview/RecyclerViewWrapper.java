@@ -15,8 +15,22 @@ public class RecyclerViewWrapper {
     }
 
     public static Optional<RecyclerViewWrapper> createFor(View view) {
-        String viewClassName = view.getClass().getName();
-        String viewClassSimpleName = view.getClass().getSimpleName();
+        if (isRecyclerViewClass(view.getClass())) {
+            return Optional.some(new RecyclerViewWrapper(view));
+        }
+
+        return Optional.none();
+    }
+
+    /**
+     * Returns whether views of the given class are recognized as (AndroidX) RecyclerViews.
+     *
+     * @param viewClass the class of the view.
+     * @return a boolean.
+     */
+    public static boolean isRecyclerViewClass(Class<?> viewClass) {
+        String viewClassName = viewClass.getName();
+        String viewClassSimpleName = viewClass.getSimpleName();
 
         // MATE imports the RecyclerViewActions from the AndroidX test library (and the same for
         // other common Espresso actions). These actions assume that classes, and in particular
@@ -30,14 +44,8 @@ public class RecyclerViewWrapper {
         // nowadays).
         // Thus, we won't recognize views as RecyclerViews if they come from the Android support
         // package, since it will only lead to errors like the one mentioned above.
-        boolean isRecyclerView = viewClassSimpleName.contains("RecyclerView") &&
+        return viewClassSimpleName.contains("RecyclerView") &&
                 !viewClassName.contains("android.support");
-
-        if (isRecyclerView) {
-            return Optional.some(new RecyclerViewWrapper(view));
-        }
-
-        return Optional.none();
     }
 
     public boolean hasAdapter() {
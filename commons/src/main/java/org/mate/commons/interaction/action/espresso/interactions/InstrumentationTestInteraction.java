@@ -40,6 +40,12 @@ public abstract class InstrumentationTestInteraction extends AbstractCodeProduce
      */
     protected Matcher<Root> rootMatcher = null;
 
+    /**
+     * A 64-bit key derived from the code of this interaction. Computed on first use.
+     */
+    private transient long key;
+    private transient boolean keyComputed = false;
+
     public InstrumentationTestInteraction(InteractionType type, EspressoViewMatcher viewMatcher) {
         this.type = type;
         this.viewMatcher = viewMatcher;
@@ -52,6 +58,32 @@ public abstract class InstrumentationTestInteraction extends AbstractCodeProduce
         return type;
     }
 
+    /**
+     * Returns a stable 64-bit key for this interaction, computed as the FNV-1a hash of its code.
+     * The code encodes both the type of interaction and the view matcher (with all its
+     * arguments), thus two interactions with the same code share the same key. The key does not
+     * depend on the process computing it, so keys of interactions coming from different screens
+     * can be compared with each other.
+     *
+     * @return the key of this interaction.
+     */
+    public long getKey() {
+        if (!keyComputed) {
+            String code = getCode();
+            long hash = 0xcbf29ce484222325L;
+
+            for (int i = 0; i < code.length(); i++) {
+                hash ^= code.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+
+            key = hash;
+            keyComputed = true;
+        }
+
+        return key;
+    }
+
     /**
      * Set the root matcher for this interaction.
      *
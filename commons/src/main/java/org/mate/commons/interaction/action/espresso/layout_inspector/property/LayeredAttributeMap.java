@@ -0,0 +1,135 @@
+package org.mate.commons.interaction.action.espresso.layout_inspector.property;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable read-through view over several maps of attributes. Looking up an attribute only
+ * touches the layers until the first one containing it, hence a {@link LazyAttributeMap} in a
+ * lower layer is not forced to read its values unless one of its attributes is requested.
+ * If an attribute is contained in several layers, the value of the upper layer wins.
+ */
+public class LayeredAttributeMap extends AbstractMap<String, String> {
+
+    /**
+     * The layers, the upper one first.
+     */
+    private final List<Map<String, String>> layers;
+
+    /**
+     * Creates a view over the given layers.
+     *
+     * @param layers The layers, the upper one first.
+     */
+    @SafeVarargs
+    public LayeredAttributeMap(@NonNull Map<String, String>... layers) {
+        this.layers = Arrays.asList(layers);
+    }
+
+    /**
+     * Checks whether one of the layers above the given one contains the given attribute.
+     */
+    private boolean isShadowed(String key, int layer) {
+        for (int i = 0; i < layer; i++) {
+            if (layers.get(i).containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        for (Map<String, String> layer : layers) {
+            if (layer.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public String get(@Nullable Object key) {
+        for (Map<String, String> layer : layers) {
+            if (layer.containsKey(key)) {
+                return layer.get(key);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        // only the keys are inspected, such that no values need to be read
+        int size = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            for (String key : layers.get(i).keySet()) {
+                if (!isShadowed(key, i)) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    @NonNull
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public int size() {
+                return LayeredAttributeMap.this.size();
+            }
+
+            @NonNull
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<Entry<String, String>>() {
+
+                    private int layer = -1;
+                    private Iterator<Entry<String, String>> entries = null;
+                    private Entry<String, String> next = null;
+
+                    @Override
+                    public boolean hasNext() {
+                        while (next == null) {
+                            if (entries != null && entries.hasNext()) {
+                                Entry<String, String> entry = entries.next();
+                                if (!isShadowed(entry.getKey(), layer)) {
+                                    next = entry;
+                                }
+                            } else if (layer + 1 < layers.size()) {
+                                layer++;
+                                entries = layers.get(layer).entrySet().iterator();
+                            } else {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        Entry<String, String> entry = new SimpleImmutableEntry<>(next);
+                        next = null;
+                        return entry;
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package org.mate.commons.interaction.action.espresso.layout_inspector.property;
+
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * An immutable map of attributes backed by two arrays: the attribute names, which are shared by
+ * all views of the same class, and the attribute values, which are read on first access.
+ */
+@RequiresApi(api = Build.VERSION_CODES.N)
+public class LazyAttributeMap extends AbstractMap<String, String> {
+
+    /**
+     * The names of the attributes. Shared, must not be modified.
+     */
+    private final String[] names;
+
+    /**
+     * The position of each attribute name in {@link #names}. Shared, must not be modified.
+     */
+    private final Map<String, Integer> positions;
+
+    /**
+     * Reads the attribute values, in the same order as {@link #names}.
+     */
+    private Supplier<String[]> valuesReader;
+
+    /**
+     * The attribute values, or null if they were not read yet.
+     */
+    private String[] values;
+
+    public LazyAttributeMap(@NonNull String[] names, @NonNull Map<String, Integer> positions,
+                            @NonNull Supplier<String[]> valuesReader) {
+        this.names = names;
+        this.positions = positions;
+        this.valuesReader = valuesReader;
+    }
+
+    private String[] getValues() {
+        if (values == null) {
+            values = valuesReader.get();
+            // the reader usually holds a reference to the view, release it
+            valuesReader = null;
+        }
+
+        return values;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return positions.containsKey(key);
+    }
+
+    @Nullable
+    @Override
+    public String get(@Nullable Object key) {
+        Integer position = positions.get(key);
+        return position != null ? getValues()[position] : null;
+    }
+
+    @NonNull
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(positions.keySet());
+    }
+
+    @NonNull
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public int size() {
+                return names.length;
+            }
+
+            @NonNull
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                final String[] entryValues = getValues();
+
+                return new Iterator<Entry<String, String>>() {
+                    private int next = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+
+                        Entry<String, String> entry =
+                                new SimpleImmutableEntry<>(names[next], entryValues[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+        };
+    }
+}
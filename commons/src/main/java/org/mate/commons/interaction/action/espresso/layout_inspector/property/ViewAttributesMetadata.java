@@ -0,0 +1,143 @@
+package org.mate.commons.interaction.action.espresso.layout_inspector.property;
+
+import android.os.Build;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the metadata needed for reading the layout inspector attributes of a certain kind of
+ * View: its {@link ViewType} and {@link LayoutParamsType} (i.e., the inspection companions
+ * resolved by reflection for the View class and all its super classes), and the names of the
+ * attributes they expose.
+ * <p>
+ * The metadata is computed once per (View class, LayoutParams class) pair and shared by all
+ * views, so the cost of reading the attributes of a screen depends on the number of distinct
+ * view classes and not on the number of views.
+ */
+@RequiresApi(api = Build.VERSION_CODES.Q)
+public class ViewAttributesMetadata {
+
+    /**
+     * The type trees are shared by all views. They resolve the types of each class only once.
+     */
+    private static final ViewTypeTree VIEW_TYPE_TREE = new ViewTypeTree();
+    private static final LayoutParamsTypeTree LAYOUT_PARAMS_TYPE_TREE = new LayoutParamsTypeTree();
+
+    /**
+     * The cached metadata for each View class and LayoutParams class.
+     */
+    private static final Map<Class<?>, Map<Class<?>, ViewAttributesMetadata>> CACHE =
+            new HashMap<>();
+
+    private final ViewType<View> viewType;
+    private final LayoutParamsType layoutParamsType;
+
+    /**
+     * The distinct names of the attributes, and the position of each of them in that array.
+     */
+    private final String[] attributeNames;
+    private final Map<String, Integer> attributePositions = new HashMap<>();
+
+    /**
+     * The position in {@link #attributeNames} where the value of each view and layout property
+     * is stored. If a layout property has the same name as a view property, the layout property
+     * takes precedence.
+     */
+    private final int[] viewPropertyPositions;
+    private final int[] layoutPropertyPositions;
+
+    private ViewAttributesMetadata(ViewType<View> viewType, LayoutParamsType layoutParamsType) {
+        this.viewType = viewType;
+        this.layoutParamsType = layoutParamsType;
+
+        List<String> names = new ArrayList<>();
+        this.viewPropertyPositions = computePositions(viewType.getProperties(), names);
+        this.layoutPropertyPositions = computePositions(layoutParamsType.getProperties(), names);
+        this.attributeNames = names.toArray(new String[0]);
+    }
+
+    private int[] computePositions(List<PropertyType> properties, List<String> names) {
+        int[] positions = new int[properties.size()];
+
+        for (int i = 0; i < properties.size(); i++) {
+            String name = properties.get(i).getName();
+            Integer position = attributePositions.get(name);
+
+            if (position == null) {
+                position = names.size();
+                names.add(name);
+                attributePositions.put(name, position);
+            }
+
+            positions[i] = position;
+        }
+
+        return positions;
+    }
+
+    /**
+     * Returns the (cached) metadata for the class of the given view and its layout params.
+     *
+     * @param view the view to get the metadata for.
+     * @return the metadata.
+     */
+    @NonNull
+    public static synchronized ViewAttributesMetadata of(@NonNull View view) {
+        Class<?> viewClass = view.getClass();
+        Class<?> layoutParamsClass = view.getLayoutParams().getClass();
+
+        Map<Class<?>, ViewAttributesMetadata> metadataByLayoutParams = CACHE.get(viewClass);
+        if (metadataByLayoutParams == null) {
+            metadataByLayoutParams = new HashMap<>();
+            CACHE.put(viewClass, metadataByLayoutParams);
+        }
+
+        ViewAttributesMetadata metadata = metadataByLayoutParams.get(layoutParamsClass);
+        if (metadata == null) {
+            metadata = new ViewAttributesMetadata(
+                    VIEW_TYPE_TREE.typeOf(view),
+                    LAYOUT_PARAMS_TYPE_TREE.typeOf(view.getLayoutParams()));
+            metadataByLayoutParams.put(layoutParamsClass, metadata);
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Returns the layout inspector attributes of the given view. The values are read lazily,
+     * the first time they are accessed.
+     *
+     * @param view a view whose class matches this metadata.
+     * @return an immutable map of attributes.
+     */
+    @NonNull
+    public Map<String, String> readAttributes(@NonNull View view) {
+        return new LazyAttributeMap(attributeNames, attributePositions, () -> readValues(view));
+    }
+
+    private String[] readValues(View view) {
+        ViewNode<View> node = new ViewNode<>(viewType, layoutParamsType);
+        node.readPropertyValues(view);
+
+        String[] values = new String[attributeNames.length];
+
+        List<Property> viewProperties = node.getViewProperties();
+        for (int i = 0; i < viewProperties.size(); i++) {
+            values[viewPropertyPositions[i]] = String.valueOf(viewProperties.get(i).getValue());
+        }
+
+        List<Property> layoutProperties = node.getLayoutProperties();
+        for (int i = 0; i < layoutProperties.size(); i++) {
+            values[layoutPropertyPositions[i]] = String.valueOf(layoutProperties.get(i).getValue());
+        }
+
+        return values;
+    }
+}
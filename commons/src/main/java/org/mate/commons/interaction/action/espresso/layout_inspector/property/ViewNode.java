@@ -84,6 +84,16 @@ public class ViewNode<V extends View> {
         mLayoutParamsType.readProperties(view.getLayoutParams(), layoutReader);
     }
 
+    /**
+     * Reads only the values of the properties, skipping their source and resolution stack.
+     */
+    public void readPropertyValues(@NonNull V view) {
+        PropertyReader viewReader = new SimplePropertyReader<>(view, mViewProperties, false);
+        mType.readProperties(view, viewReader);
+        PropertyReader layoutReader = new SimplePropertyReader<>(view, mLayoutProperties, false);
+        mLayoutParamsType.readProperties(view.getLayoutParams(), layoutReader);
+    }
+
     public Resource getLayoutResource(@NonNull V view) {
         return Resource.fromResourceId(view, view.getSourceLayoutResId());
     }
@@ -98,7 +108,7 @@ public class ViewNode<V extends View> {
                 @NonNull V view, @NonNull List<Property> properties, boolean isViewProperties) {
             mView = view;
             mProperties = properties;
-            mResourceMap = view.getAttributeSourceResourceMap();
+            mResourceMap = isViewProperties ? view.getAttributeSourceResourceMap() : null;
             mIsViewProperties = isViewProperties;
         }
 
@@ -8,23 +8,20 @@ import static org.mate.commons.interaction.action.espresso.view_matchers.Espress
 
 import androidx.annotation.Nullable;
 
-import org.mate.commons.interaction.action.espresso.EspressoView;
 import org.mate.commons.interaction.action.espresso.view_matchers.EspressoViewMatcher;
 import org.mate.commons.interaction.action.espresso.view_matchers.EspressoViewMatcherType;
 import org.mate.commons.interaction.action.espresso.view_matchers.recursive.AllOfMatcher;
 import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTree;
-import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTreeIterator;
 import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTreeNode;
 import org.mate.commons.interaction.action.espresso.view_tree.PathInTree;
-import org.mate.commons.interaction.action.espresso.view_tree.PathWithNodes;
 import org.mate.commons.utils.MATELog;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * Represents a combination of relative matchers.
@@ -67,28 +64,33 @@ public class RelativeMatcherCombination {
     private final List<RelativeMatcher> matchers = new ArrayList<>();
 
     /**
-     * A cache that maps each EspressoView in the ViewTree to a String hash.
-     * The hash is built using the information asked by each relative matcher in this combination.
+     * The per-screen index used to find out which nodes satisfy each relative matcher.
      */
-    private final Set<EspressoViewTreeNode> otherNodesWithSameConstraintsAsTarget = new HashSet<>();
+    private final RelativeMatcherIndex index;
+
+    /**
+     * The nodes (other than the target node) that satisfy all the relative matchers in this
+     * combination, as positions in the index.
+     */
+    private final BitSet otherNodesWithSameConstraintsAsTarget;
 
     private RelativeMatcherCombination(EspressoViewTreeNode targetNode,
-                                       EspressoViewTree viewTree) {
+                                       EspressoViewTree viewTree,
+                                       RelativeMatcherIndex index) {
         this.targetNode = targetNode;
         this.viewTree = viewTree;
+        this.index = index;
 
-        // at first, all the other nodes have the same hash as the target node (empty string).
-        for (EspressoViewTreeNode aNode : viewTree.getAllNodes()) {
-            if (!aNode.equals(targetNode)) {
-                this.otherNodesWithSameConstraintsAsTarget.add(aNode);
-            }
-        }
+        // at first, all the other nodes have the same constraints as the target node (none).
+        this.otherNodesWithSameConstraintsAsTarget = index.getAllNodes();
+        this.otherNodesWithSameConstraintsAsTarget.clear(index.getPosition(targetNode));
     }
 
     private RelativeMatcherCombination(EspressoViewTreeNode targetNode,
                                        EspressoViewTree viewTree,
+                                       RelativeMatcherIndex index,
                                        List<RelativeMatcher> initialMatchers) {
-        this(targetNode, viewTree);
+        this(targetNode, viewTree, index);
         for (RelativeMatcher matcher : initialMatchers) {
             this.addMatcher(matcher);
         }
@@ -109,7 +111,8 @@ public class RelativeMatcherCombination {
     private void addMatcher(RelativeMatcher matcher) {
         matchers.add(matcher);
         String constraintValue = getTargetNodeConstraintValue(matcher);
-        updateOtherNodesWithSameConstraintAsTarget(matcher, constraintValue);
+        otherNodesWithSameConstraintsAsTarget.and(
+                index.getNodesSatisfying(matcher, constraintValue));
     }
 
     private String getTargetNodeConstraintValue(RelativeMatcher matcher) {
@@ -127,89 +130,7 @@ public class RelativeMatcherCombination {
             throw new IllegalStateException("Found invalid matcher for node after path when updating target node hash");
         }
 
-        // Update the hash based on the type of matcher and the information on the relative node.
-        EspressoView espressoViewAfterPath = nodeAfterPath.getEspressoView();
-
-        switch (matcher.getType()) {
-            case IS_ROOT:
-                return String.valueOf(nodeAfterPath.hasParent());
-            case WITH_ID:
-                return String.valueOf(espressoViewAfterPath.getId());
-            case WITH_CLASS_NAME:
-                return String.valueOf(espressoViewAfterPath.getClassName());
-            case WITH_RESOURCE_NAME:
-                return String.valueOf(espressoViewAfterPath.getResourceEntryName());
-            case WITH_TEXT:
-                return String.valueOf(espressoViewAfterPath.getText());
-            case WITH_CONTENT_DESCRIPTION:
-                return String.valueOf(espressoViewAfterPath.getContentDescription());
-            default:
-                throw new IllegalStateException(String.format("Hash update not implemented for " +
-                        "matcher type: %s", matcher.getType()));
-        }
-    }
-
-    /**
-     * Updates the hash of all nodes that currently have the same hash as the target node.
-     * Afterwards, we evaluate if some of those nodes now have a different hash.
-     *
-     * @param matcher to use for update
-     */
-    private void updateOtherNodesWithSameConstraintAsTarget(RelativeMatcher matcher, String targetNodeConstraint) {
-        Iterator<EspressoViewTreeNode> it = otherNodesWithSameConstraintsAsTarget.iterator();
-
-        while (it.hasNext()) {
-            EspressoViewTreeNode node = it.next();
-
-            List<EspressoViewTreeNode> nodesFrontierAfterPath = matcher.getPath()
-                    .walkPathFromNodeWithoutDirectionIndexes(node);
-
-            boolean foundNodeInFrontierWithSameConstraintAsTarget = false;
-
-            for (EspressoViewTreeNode nodeInFrontier : nodesFrontierAfterPath) {
-                if (!matcher.getType().isValidForEspressoViewTreeNode(nodeInFrontier)) {
-                    // the matcher is not valid for the relative node.
-                    // e.g., WithText matcher for a relative node that has null text.
-                    continue;
-                }
-
-                EspressoView espressoViewAfterPath = nodeInFrontier.getEspressoView();
-
-                String otherConstraint;
-                switch (matcher.getType()) {
-                    case IS_ROOT:
-                        otherConstraint = String.valueOf(nodeInFrontier.hasParent());
-                        break;
-                    case WITH_ID:
-                        otherConstraint = String.valueOf(espressoViewAfterPath.getId());
-                        break;
-                    case WITH_CLASS_NAME:
-                        otherConstraint = String.valueOf(espressoViewAfterPath.getClassName());
-                        break;
-                    case WITH_RESOURCE_NAME:
-                        otherConstraint = String.valueOf(espressoViewAfterPath.getResourceEntryName());
-                        break;
-                    case WITH_TEXT:
-                        otherConstraint = String.valueOf(espressoViewAfterPath.getText());
-                        break;
-                    case WITH_CONTENT_DESCRIPTION:
-                        otherConstraint = String.valueOf(espressoViewAfterPath.getContentDescription());
-                        break;
-                    default:
-                        throw new IllegalStateException(String.format("Hash update not implemented for " +
-                                "matcher type: %s", matcher.getType()));
-                }
-
-                if (otherConstraint.equals(targetNodeConstraint)) {
-                    foundNodeInFrontierWithSameConstraintAsTarget = true;
-                    break;
-                }
-            }
-
-            if (!foundNodeInFrontierWithSameConstraintAsTarget) {
-                it.remove();
-            }
-        }
+        return RelativeMatcherIndex.getConstraintValue(matcher.getType(), nodeAfterPath);
     }
 
     /**
@@ -220,7 +141,7 @@ public class RelativeMatcherCombination {
      * @return a boolean
      */
     private boolean isUnequivocal() {
-        return otherNodesWithSameConstraintsAsTarget.size() == 0;
+        return otherNodesWithSameConstraintsAsTarget.isEmpty();
     }
 
     /**
@@ -239,6 +160,10 @@ public class RelativeMatcherCombination {
      * <p>
      * The algorithm stops once it finds a unequivocal matcher combination.
      * This combination is NOT guaranteed to be minimal, just unequivocal.
+     * <p>
+     * When building combinations for several views of the same screen, prefer
+     * {@link #buildUnequivocalCombinations(List, EspressoViewTree)}, which shares a single
+     * {@link RelativeMatcherIndex} among all of them.
      *
      * @param targetNode to match against
      * @param viewTree   of the UI hierarchy.
@@ -247,10 +172,53 @@ public class RelativeMatcherCombination {
     public static @Nullable
     RelativeMatcherCombination buildUnequivocalCombination(EspressoViewTreeNode targetNode,
                                                            EspressoViewTree viewTree) {
+        return buildUnequivocalCombination(targetNode, viewTree, new RelativeMatcherIndex(viewTree));
+    }
+
+    /**
+     * Builds a RelativeMatcherCombination for each of the provided target nodes, all of them
+     * belonging to the same ViewTree. The index of relative matcher constraints is built once and
+     * shared among all target nodes, so that each constraint is evaluated only once per screen.
+     *
+     * @param targetNodes the nodes to build a matcher combination for.
+     * @param viewTree    of the UI hierarchy.
+     * @return a map from each target node to its unequivocally targeting matcher combination.
+     * Target nodes for which no such combination was found are not included.
+     */
+    public static Map<EspressoViewTreeNode, RelativeMatcherCombination> buildUnequivocalCombinations(
+            List<EspressoViewTreeNode> targetNodes, EspressoViewTree viewTree) {
+        RelativeMatcherIndex index = new RelativeMatcherIndex(viewTree);
+        Map<EspressoViewTreeNode, RelativeMatcherCombination> combinations = new IdentityHashMap<>();
+
+        for (EspressoViewTreeNode targetNode : targetNodes) {
+            RelativeMatcherCombination matcherCombination =
+                    buildUnequivocalCombination(targetNode, viewTree, index);
+
+            if (matcherCombination != null) {
+                combinations.put(targetNode, matcherCombination);
+            }
+        }
+
+        return combinations;
+    }
+
+    /**
+     * Builds a RelativeMatcherCombination that unequivocally targets the provided target node,
+     * using an already existing index of the ViewTree.
+     *
+     * @param targetNode to match against
+     * @param viewTree   of the UI hierarchy.
+     * @param index      of relative matcher constraints for the view tree.
+     * @return a unequivocally targeting matcher combination, null otherwise.
+     */
+    private static @Nullable
+    RelativeMatcherCombination buildUnequivocalCombination(EspressoViewTreeNode targetNode,
+                                                           EspressoViewTree viewTree,
+                                                           RelativeMatcherIndex index) {
         if (!targetNode.hasParent()) {
             // A node without parent in a tree is, by definition, the root node.
             // Use a special matcher for that case
-            return new RelativeMatcherCombination(targetNode, viewTree, Collections.singletonList(
+            return new RelativeMatcherCombination(targetNode, viewTree, index, Collections.singletonList(
                     new RelativeMatcher(new PathInTree(),
                             EspressoViewMatcherType.IS_ROOT)));
         }
@@ -258,18 +226,20 @@ public class RelativeMatcherCombination {
         long startTime = System.nanoTime();
 
         RelativeMatcherCombination matcherCombination =
-                new RelativeMatcherCombination(targetNode, viewTree);
+                new RelativeMatcherCombination(targetNode, viewTree, index);
 
         boolean uniqueMatcherFound = false;
 
         // traverse all nodes in the tree starting from the target node
-        EspressoViewTreeIterator treeIteratorForTargetNode = viewTree.getTreeIteratorForTargetNode(targetNode);
-        for (PathWithNodes pathWithNodes : treeIteratorForTargetNode) {
-            EspressoViewTreeNode nodeAfterPath = pathWithNodes.getEndingNode();
-            PathInTree pathFromTarget = pathWithNodes.getPath();
+        for (EspressoViewTreeNode nodeAfterPath : viewTree.getNodesByDistanceFrom(targetNode)) {
+            // the path is only computed for nodes that contribute a matcher
+            PathInTree pathFromTarget = null;
 
             for (EspressoViewMatcherType type : BASE_MATCHER_TYPES_FOR_COMBINATION) {
                 if (type.isValidForEspressoViewTreeNode(nodeAfterPath)) {
+                    if (pathFromTarget == null) {
+                        pathFromTarget = viewTree.getPathBetween(targetNode, nodeAfterPath);
+                    }
                     matcherCombination.addMatcher(new RelativeMatcher(pathFromTarget, type));
                     if (matcherCombination.isUnequivocal()) {
                         uniqueMatcherFound = true;
@@ -293,7 +263,7 @@ public class RelativeMatcherCombination {
         String debugMsg = String.format(
                 "Matcher combination generation took %d ms (for %d other views). ",
                 duration,
-                viewTree.getAllNodes().size());
+                index.size());
         debugMsg += String.format("Result has %d matchers ", matcherCombination.getMatchers().size());
         if (matcherCombination.isUnequivocal()) {
             debugMsg += "and is unequivocal.";
@@ -356,6 +326,7 @@ public class RelativeMatcherCombination {
             for (int i = 0; i < deltas.size(); i++) {
                 RelativeMatcherCombination m = new RelativeMatcherCombination(targetNode,
                         viewTree,
+                        index,
                         deltas.get(i));
                 if (m.isUnequivocal()) {
                     uniqueSublistIndex = i;
@@ -375,6 +346,7 @@ public class RelativeMatcherCombination {
             for (int i = 0; i < complements.size(); i++) {
                 RelativeMatcherCombination m = new RelativeMatcherCombination(targetNode,
                         viewTree,
+                        index,
                         complements.get(i));
                 if (m.isUnequivocal()) {
                     uniqueComplementIndex = i;
@@ -396,7 +368,7 @@ public class RelativeMatcherCombination {
         }
 
 
-        return new RelativeMatcherCombination(targetNode, viewTree, newMatchers);
+        return new RelativeMatcherCombination(targetNode, viewTree, index, newMatchers);
     }
 
     /**
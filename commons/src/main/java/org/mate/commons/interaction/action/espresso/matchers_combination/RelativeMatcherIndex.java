@@ -0,0 +1,204 @@
+package org.mate.commons.interaction.action.espresso.matchers_combination;
+
+import org.mate.commons.interaction.action.espresso.EspressoView;
+import org.mate.commons.interaction.action.espresso.view_matchers.EspressoViewMatcherType;
+import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTree;
+import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTreeNode;
+import org.mate.commons.interaction.action.espresso.view_tree.PathStep;
+import org.mate.commons.interaction.action.espresso.view_tree.PathStepType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A per-screen inverted index that maps relative matcher constraints to the nodes satisfying them.
+ * <p>
+ * A constraint is identified by the shape of a relative path (i.e., the type of each step,
+ * without direction indexes), a matcher type and the value imposed by that matcher (e.g., a
+ * certain resource ID). A node satisfies a constraint if, after walking the path from it without
+ * direction indexes, it reaches at least one node with the same value. The nodes satisfying a
+ * constraint are stored as a BitSet over their pre-order position in the tree.
+ * <p>
+ * The entries for a (path, matcher type) pair are computed lazily the first time they are
+ * requested, and are then shared by all target nodes of the same screen. This way, checking
+ * whether a matcher combination is unequivocal boils down to intersecting a few BitSets.
+ */
+public class RelativeMatcherIndex {
+
+    /**
+     * An empty BitSet returned for values that no node has. Must never be modified.
+     */
+    private static final BitSet NO_NODES = new BitSet();
+
+    /**
+     * The indexed ViewTree.
+     */
+    private final EspressoViewTree viewTree;
+
+    /**
+     * The nodes of the ViewTree in pre-order.
+     */
+    private final List<EspressoViewTreeNode> nodes;
+
+    /**
+     * The indexed constraints: for each (path shape, matcher type) pair, the nodes satisfying
+     * each possible value.
+     */
+    private final Map<ConstraintKey, Map<String, BitSet>> index = new HashMap<>();
+
+    public RelativeMatcherIndex(EspressoViewTree viewTree) {
+        this.viewTree = viewTree;
+        this.nodes = viewTree.getAllNodes();
+    }
+
+    /**
+     * @return the number of nodes in the indexed ViewTree.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the pre-order position of a node in the indexed ViewTree.
+     *
+     * @param node the node to look up.
+     * @return the position of the node.
+     */
+    public int getPosition(EspressoViewTreeNode node) {
+        return viewTree.getPreOrderIndex(node);
+    }
+
+    /**
+     * @return a new BitSet containing all the nodes in the indexed ViewTree.
+     */
+    public BitSet getAllNodes() {
+        BitSet allNodes = new BitSet(nodes.size());
+        allNodes.set(0, nodes.size());
+        return allNodes;
+    }
+
+    /**
+     * Returns the nodes that, after walking the path of the given matcher without direction
+     * indexes, reach at least one node having the given constraint value.
+     * The returned BitSet is shared and must not be modified by the caller.
+     *
+     * @param matcher the relative matcher imposing the constraint.
+     * @param constraintValue the value the relative node has to have.
+     * @return the nodes satisfying the constraint.
+     */
+    public BitSet getNodesSatisfying(RelativeMatcher matcher, String constraintValue) {
+        ConstraintKey key = new ConstraintKey(matcher);
+
+        Map<String, BitSet> nodesByValue = index.get(key);
+        if (nodesByValue == null) {
+            nodesByValue = buildNodesByValue(matcher);
+            index.put(key, nodesByValue);
+        }
+
+        BitSet result = nodesByValue.get(constraintValue);
+        return result != null ? result : NO_NODES;
+    }
+
+    /**
+     * Walks the path of the given matcher from every node in the tree, and groups the starting
+     * nodes by the constraint values found at the end of the path.
+     *
+     * @param matcher the relative matcher to index.
+     * @return the nodes satisfying each constraint value.
+     */
+    private Map<String, BitSet> buildNodesByValue(RelativeMatcher matcher) {
+        Map<String, BitSet> nodesByValue = new HashMap<>();
+        EspressoViewMatcherType type = matcher.getType();
+
+        for (int i = 0; i < nodes.size(); i++) {
+            List<EspressoViewTreeNode> nodesFrontierAfterPath = matcher.getPath()
+                    .walkPathFromNodeWithoutDirectionIndexes(nodes.get(i));
+
+            for (EspressoViewTreeNode nodeInFrontier : nodesFrontierAfterPath) {
+                if (!type.isValidForEspressoViewTreeNode(nodeInFrontier)) {
+                    // the matcher is not valid for the relative node.
+                    // e.g., WithText matcher for a relative node that has null text.
+                    continue;
+                }
+
+                String value = getConstraintValue(type, nodeInFrontier);
+
+                BitSet nodesWithValue = nodesByValue.get(value);
+                if (nodesWithValue == null) {
+                    nodesWithValue = new BitSet(nodes.size());
+                    nodesByValue.put(value, nodesWithValue);
+                }
+
+                nodesWithValue.set(i);
+            }
+        }
+
+        return nodesByValue;
+    }
+
+    /**
+     * Returns the value that a matcher of the given type imposes on a node.
+     *
+     * @param type the type of matcher.
+     * @param node the node on which the matcher is evaluated.
+     * @return the constraint value as a String.
+     */
+    static String getConstraintValue(EspressoViewMatcherType type, EspressoViewTreeNode node) {
+        EspressoView espressoView = node.getEspressoView();
+
+        switch (type) {
+            case IS_ROOT:
+                return String.valueOf(node.hasParent());
+            case WITH_ID:
+                return String.valueOf(espressoView.getId());
+            case WITH_CLASS_NAME:
+                return String.valueOf(espressoView.getClassName());
+            case WITH_RESOURCE_NAME:
+                return String.valueOf(espressoView.getResourceEntryName());
+            case WITH_TEXT:
+                return String.valueOf(espressoView.getText());
+            case WITH_CONTENT_DESCRIPTION:
+                return String.valueOf(espressoView.getContentDescription());
+            default:
+                throw new IllegalStateException(String.format("Hash update not implemented for " +
+                        "matcher type: %s", type));
+        }
+    }
+
+    /**
+     * Identifies a (path shape, matcher type) pair. Direction indexes are left out, since they
+     * are ignored when walking a path from a node other than the target one.
+     */
+    private static final class ConstraintKey {
+
+        private final List<PathStepType> pathShape;
+
+        private final EspressoViewMatcherType type;
+
+        private ConstraintKey(RelativeMatcher matcher) {
+            List<PathStep> steps = matcher.getPath().getSteps();
+            this.pathShape = new ArrayList<>(steps.size());
+            for (PathStep step : steps) {
+                pathShape.add(step.getType());
+            }
+            this.type = matcher.getType();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ConstraintKey that = (ConstraintKey) o;
+            return type == that.type && pathShape.equals(that.pathShape);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pathShape, type);
+        }
+    }
+}
@@ -6,16 +6,18 @@ import androidx.annotation.Nullable;
 import androidx.test.espresso.Root;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Class representing the UI hierarchy of a specific screen.
  * <p>
- * The special thing about this class is that it provides an iterator that starts from a certain
- * view and iterates over all the views in the tree expanding from the starting view.
- * That is, it will visit first the views in the tree closer to the target (e.g., children or
+ * The special thing about this class is that it provides the views in the tree ordered by their
+ * distance to a starting view.
+ * That is, it will yield first the views in the tree closer to the target (e.g., children or
  * parent), and afterwards the more distant ones (e.g., children's children, parent's parent, etc.).
  */
 public class EspressoViewTree {
@@ -38,10 +40,48 @@ public class EspressoViewTree {
      */
     private final Map<Integer, List<EspressoViewTreeNode>> nodesByViewId = new HashMap<>();
 
+    /**
+     * All nodes in the tree in pre-order. Computed once at construction.
+     */
+    private final List<EspressoViewTreeNode> allNodes;
+
+    /**
+     * The position of each node in the pre-order list of nodes.
+     */
+    private final Map<EspressoViewTreeNode, Integer> preOrderIndexes = new IdentityHashMap<>();
+
+    /**
+     * The node corresponding to each View in the tree.
+     */
+    private final Map<View, EspressoViewTreeNode> nodesByView = new IdentityHashMap<>();
+
+    /**
+     * For each node (by pre-order index), its depth in the tree. The root node has depth 0.
+     */
+    private final int[] depths;
+
+    /**
+     * For each node (by pre-order index), its index among the children of its parent, or -1 for
+     * the root node.
+     */
+    private final int[] childIndexes;
+
+    /**
+     * The Euler tour of the tree (as pre-order indexes) and a sparse table over it for answering
+     * lowest common ancestor queries in constant time. Built lazily on the first query.
+     */
+    private int[] firstOccurrencesInEulerTour;
+    private int[][] lowestCommonAncestorTable;
+
     public EspressoViewTree(Root windowRoot, String activityName) {
         this.windowRoot = windowRoot;
         this.rootNode = new EspressoViewTreeNode(windowRoot.getDecorView(), activityName);
 
+        this.allNodes = rootNode.getAllNodesInSubtree();
+        this.depths = new int[allNodes.size()];
+        this.childIndexes = new int[allNodes.size()];
+        indexNodes();
+
         setUniqueIdForViews();
     }
 
@@ -55,6 +95,30 @@ public class EspressoViewTree {
         return windowRoot;
     }
 
+    /**
+     * Computes the pre-order indexes, depths and child indexes of all nodes.
+     */
+    private void indexNodes() {
+        for (int i = 0; i < allNodes.size(); i++) {
+            EspressoViewTreeNode node = allNodes.get(i);
+            preOrderIndexes.put(node, i);
+            nodesByView.put(node.getEspressoView().getView(), node);
+
+            // parents always come before their children in pre-order
+            EspressoViewTreeNode parent = node.getParent();
+            depths[i] = parent == null ? 0 : depths[preOrderIndexes.get(parent)] + 1;
+            childIndexes[i] = -1;
+        }
+
+        for (int i = 0; i < allNodes.size(); i++) {
+            List<EspressoViewTreeNode> children = allNodes.get(i).getChildren();
+
+            for (int j = 0; j < children.size(); j++) {
+                childIndexes[preOrderIndexes.get(children.get(j))] = j;
+            }
+        }
+    }
+
     /**
      * Set a unique ID for each node in the tree at construction.
      */
@@ -77,29 +141,180 @@ public class EspressoViewTree {
     }
 
     /**
-     * @return all nodes in the tree.
+     * @return all nodes in the tree (in preorder). The returned list can not be modified.
      */
     public List<EspressoViewTreeNode> getAllNodes() {
-        if (rootNode == null) {
-            return new ArrayList<>();
+        return Collections.unmodifiableList(allNodes);
+    }
+
+    /**
+     * Returns the position of a node in the pre-order list of nodes of this tree.
+     *
+     * @param node the node to look up.
+     * @return the pre-order index of the node.
+     */
+    public int getPreOrderIndex(EspressoViewTreeNode node) {
+        Integer index = preOrderIndexes.get(node);
+
+        if (index == null) {
+            throw new IllegalArgumentException("Node does not belong to this ViewTree");
         }
 
-        return rootNode.getAllNodesInSubtree();
+        return index;
     }
 
     /**
-     * Returns an iterator that start at a certain node and then traverses the whole ViewTree.
-     * It will visit first the views closer to the starting node.
+     * Returns the deepest node in the tree that is an ancestor of (or equal to) both given nodes.
      *
-     * @param startingNode the node from which to start the iterator
-     * @return an iterator
+     * @param first  a node in the tree.
+     * @param second another node in the tree.
+     * @return the lowest common ancestor of both nodes.
      */
-    public EspressoViewTreeIterator getTreeIteratorForTargetNode(EspressoViewTreeNode startingNode) {
-        if (startingNode == null) {
-            return new EspressoViewTreeIterator();
+    public EspressoViewTreeNode getLowestCommonAncestor(EspressoViewTreeNode first,
+                                                       EspressoViewTreeNode second) {
+        if (lowestCommonAncestorTable == null) {
+            buildLowestCommonAncestorTable();
+        }
+
+        int from = firstOccurrencesInEulerTour[getPreOrderIndex(first)];
+        int to = firstOccurrencesInEulerTour[getPreOrderIndex(second)];
+        if (from > to) {
+            int aux = from;
+            from = to;
+            to = aux;
         }
 
-        return new EspressoViewTreeIterator(startingNode);
+        // the two (overlapping) ranges of length 2^level cover the whole [from, to] range
+        int level = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        int candidate = lowestCommonAncestorTable[level][from];
+        int otherCandidate = lowestCommonAncestorTable[level][to - (1 << level) + 1];
+
+        return allNodes.get(depths[candidate] <= depths[otherCandidate]
+                ? candidate : otherCandidate);
+    }
+
+    /**
+     * Returns the shortest path to traverse the tree from one node to another. That is, the path
+     * that goes up to the lowest common ancestor of both nodes and then down to the ending node.
+     *
+     * @param startingNode the node on which to start the path.
+     * @param endingNode   the node on which to end the path.
+     * @return the path between both nodes.
+     */
+    public PathInTree getPathBetween(EspressoViewTreeNode startingNode,
+                                     EspressoViewTreeNode endingNode) {
+        EspressoViewTreeNode commonAncestor = getLowestCommonAncestor(startingNode, endingNode);
+        int commonAncestorDepth = depths[getPreOrderIndex(commonAncestor)];
+
+        PathInTree path = new PathInTree();
+
+        int stepsUp = depths[getPreOrderIndex(startingNode)] - commonAncestorDepth;
+        for (int i = 0; i < stepsUp; i++) {
+            path.addStepToParent();
+        }
+
+        int endingNodeIndex = getPreOrderIndex(endingNode);
+        int stepsDown = depths[endingNodeIndex] - commonAncestorDepth;
+        int[] directionIndexes = new int[stepsDown];
+        EspressoViewTreeNode node = endingNode;
+        for (int i = stepsDown - 1; i >= 0; i--) {
+            directionIndexes[i] = childIndexes[getPreOrderIndex(node)];
+            node = node.getParent();
+        }
+
+        for (int directionIndex : directionIndexes) {
+            path.addStepToChild(directionIndex);
+        }
+
+        return path;
+    }
+
+    /**
+     * Builds the Euler tour of the tree and a sparse table of minimum-depth nodes over it.
+     */
+    private void buildLowestCommonAncestorTable() {
+        int[] eulerTour = new int[Math.max(2 * allNodes.size() - 1, 0)];
+        firstOccurrencesInEulerTour = new int[allNodes.size()];
+
+        if (rootNode != null) {
+            appendEulerTour(rootNode, eulerTour, 0);
+        }
+
+        int levels = Math.max(32 - Integer.numberOfLeadingZeros(eulerTour.length), 1);
+        int[][] table = new int[levels][];
+        table[0] = eulerTour;
+
+        for (int level = 1; level < levels; level++) {
+            int half = 1 << (level - 1);
+            int[] previous = table[level - 1];
+            int[] current = new int[eulerTour.length - (1 << level) + 1];
+
+            for (int i = 0; i < current.length; i++) {
+                int candidate = previous[i];
+                int otherCandidate = previous[i + half];
+                current[i] = depths[candidate] <= depths[otherCandidate]
+                        ? candidate : otherCandidate;
+            }
+
+            table[level] = current;
+        }
+
+        lowestCommonAncestorTable = table;
+    }
+
+    /**
+     * Appends the Euler tour of the subtree rooted at a node, starting at a certain position.
+     *
+     * @return the position right after the appended tour.
+     */
+    private int appendEulerTour(EspressoViewTreeNode node, int[] eulerTour, int position) {
+        int index = getPreOrderIndex(node);
+
+        firstOccurrencesInEulerTour[index] = position;
+        eulerTour[position++] = index;
+
+        for (EspressoViewTreeNode child : node.getChildren()) {
+            position = appendEulerTour(child, eulerTour, position);
+            eulerTour[position++] = index;
+        }
+
+        return position;
+    }
+
+    /**
+     * Returns all nodes in the tree ordered by their distance to a starting node, i.e., a
+     * breadth-first traversal that starts at the given node. Among the neighbours of a node, the
+     * parent comes before the children.
+     *
+     * @param startingNode the node from which to start the traversal.
+     * @return the nodes in the tree, starting with the starting node itself.
+     */
+    public List<EspressoViewTreeNode> getNodesByDistanceFrom(EspressoViewTreeNode startingNode) {
+        List<EspressoViewTreeNode> nodes = new ArrayList<>(allNodes.size());
+        boolean[] visited = new boolean[allNodes.size()];
+
+        nodes.add(startingNode);
+        visited[getPreOrderIndex(startingNode)] = true;
+
+        // the list itself serves as the queue of the traversal
+        for (int i = 0; i < nodes.size(); i++) {
+            EspressoViewTreeNode node = nodes.get(i);
+
+            EspressoViewTreeNode parent = node.getParent();
+            if (parent != null && !visited[getPreOrderIndex(parent)]) {
+                visited[getPreOrderIndex(parent)] = true;
+                nodes.add(parent);
+            }
+
+            for (EspressoViewTreeNode child : node.getChildren()) {
+                if (!visited[getPreOrderIndex(child)]) {
+                    visited[getPreOrderIndex(child)] = true;
+                    nodes.add(child);
+                }
+            }
+        }
+
+        return nodes;
     }
 
     /**
@@ -110,13 +325,7 @@ public class EspressoViewTree {
      */
     public @Nullable
     EspressoViewTreeNode findNodeForView(View view) {
-        for (EspressoViewTreeNode node : this.getAllNodes()) {
-            if (node.getEspressoView().getView().equals(view)) {
-                return node;
-            }
-        }
-
-        return null;
+        return nodesByView.get(view);
     }
 
     /**
@@ -112,15 +112,22 @@ public class EspressoViewTreeNode {
      */
     public List<EspressoViewTreeNode> getAllNodesInSubtree() {
         List<EspressoViewTreeNode> nodes = new ArrayList<>();
+        collectNodesInSubtree(nodes);
+        return nodes;
+    }
 
+    /**
+     * Adds the nodes "below" this node in the tree (in preorder) to the given list.
+     *
+     * @param nodes the list to add the nodes to.
+     */
+    private void collectNodesInSubtree(List<EspressoViewTreeNode> nodes) {
         // add ourselves
         nodes.add(this);
 
         // add the rest of the nodes
         for (EspressoViewTreeNode child : children) {
-            nodes.addAll(child.getAllNodesInSubtree());
+            child.collectNodesInSubtree(nodes);
         }
-
-        return nodes;
     }
 }
@@ -11,6 +11,7 @@ import androidx.annotation.NonNull;
 
 import org.mate.commons.utils.MATELog;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -255,6 +256,158 @@ public class Widget implements Parcelable {
         this.labeledBy = labelBy;
     }
 
+    /**
+     * Restores a widget from the attributes written by {@link #writeAttributes(AttributeWriter)}.
+     *
+     * @param parent The parent widget or {@code null} if it is the root widget.
+     * @param in The source of the attributes.
+     * @throws IOException If the attributes can't be read.
+     */
+    private Widget(Widget parent, AttributeReader in) throws IOException {
+        this.parent = parent;
+        children = new ArrayList<>();
+        this.id = in.readString();
+        this.clazz = in.readString();
+        this.resourceID = in.readString();
+        this.index = in.readInt();
+        this.localIndex = in.readInt();
+        this.depth = in.readInt();
+        this.activity = in.readString();
+        this.packageName = in.readString();
+        this.x1 = in.readInt();
+        this.x2 = in.readInt();
+        this.y1 = in.readInt();
+        this.y2 = in.readInt();
+        this.bounds = new Rect(x1, y1, x2, y2);
+        // same as Rect.centerX() and Rect.centerY()
+        this.X = (x1 + x2) >> 1;
+        this.Y = (y1 + y2) >> 1;
+        this.text = in.readString();
+        this.contentDesc = in.readString();
+        this.labeledBy = in.readString();
+        this.showingHintText = in.readBoolean();
+        this.focused = in.readBoolean();
+        this.errorText = in.readString();
+        this.contextClickable = in.readBoolean();
+        this.importantForAccessibility = in.readBoolean();
+        this.accessibilityFocused = in.readBoolean();
+        this.labelFor = in.readString();
+        this.checkable = in.readBoolean();
+        this.checked = in.readBoolean();
+        this.editable = in.readBoolean();
+        this.enabled = in.readBoolean();
+        this.focusable = in.readBoolean();
+        this.scrollable = in.readBoolean();
+        this.selected = in.readBoolean();
+        this.visible = in.readBoolean();
+        this.maxTextLength = in.readInt();
+        this.screenReaderFocusable = in.readBoolean();
+        this.inputType = in.readInt();
+        this.hasChildren = in.readBoolean();
+        this.heading = in.readBoolean();
+        this.password = in.readBoolean();
+        this.clickable = in.readBoolean();
+        this.longClickable = in.readBoolean();
+        this.hint = in.readString();
+        this.color = in.readString();
+        this.maxminLum = in.readString();
+    }
+
+    /**
+     * Restores a widget from the attributes written by {@link #writeAttributes(AttributeWriter)}
+     * and adds it to the children of the given parent.
+     *
+     * @param parent The parent widget or {@code null} if it is the root widget.
+     * @param in The source of the attributes.
+     * @return Returns the restored widget.
+     * @throws IOException If the attributes can't be read.
+     */
+    public static Widget readAttributes(Widget parent, AttributeReader in) throws IOException {
+        Widget widget = new Widget(parent, in);
+        if (parent != null) {
+            parent.addChild(widget);
+        }
+        return widget;
+    }
+
+    /**
+     * Writes the attributes of the widget, i.e. everything but the parent and the children, in
+     * the same order as {@link #writeToParcel(Parcel, int)}. The bounds are not written
+     * separately, since they are given by the coordinates.
+     *
+     * @param out The sink of the attributes.
+     * @throws IOException If the attributes can't be written.
+     */
+    public void writeAttributes(AttributeWriter out) throws IOException {
+        out.writeString(id);
+        out.writeString(clazz);
+        out.writeString(resourceID);
+        out.writeInt(index);
+        out.writeInt(localIndex);
+        out.writeInt(depth);
+        out.writeString(activity);
+        out.writeString(packageName);
+        out.writeInt(x1);
+        out.writeInt(x2);
+        out.writeInt(y1);
+        out.writeInt(y2);
+        out.writeString(text);
+        out.writeString(contentDesc);
+        out.writeString(labeledBy);
+        out.writeBoolean(showingHintText);
+        out.writeBoolean(focused);
+        out.writeString(errorText);
+        out.writeBoolean(contextClickable);
+        out.writeBoolean(importantForAccessibility);
+        out.writeBoolean(accessibilityFocused);
+        out.writeString(labelFor);
+        out.writeBoolean(checkable);
+        out.writeBoolean(checked);
+        out.writeBoolean(editable);
+        out.writeBoolean(enabled);
+        out.writeBoolean(focusable);
+        out.writeBoolean(scrollable);
+        out.writeBoolean(selected);
+        out.writeBoolean(visible);
+        out.writeInt(maxTextLength);
+        out.writeBoolean(screenReaderFocusable);
+        out.writeInt(inputType);
+        out.writeBoolean(hasChildren);
+        out.writeBoolean(heading);
+        out.writeBoolean(password);
+        out.writeBoolean(clickable);
+        out.writeBoolean(longClickable);
+        out.writeString(hint);
+        out.writeString(color);
+        out.writeString(maxminLum);
+    }
+
+    /**
+     * The sink of {@link #writeAttributes(AttributeWriter)}, which defines the encoding of the
+     * attributes. Strings may be {@code null}.
+     */
+    public interface AttributeWriter {
+
+        void writeString(String value) throws IOException;
+
+        void writeInt(int value) throws IOException;
+
+        void writeBoolean(boolean value) throws IOException;
+    }
+
+    /**
+     * The source of {@link #readAttributes(Widget, AttributeReader)}, the counterpart of
+     * {@link AttributeWriter}.
+     */
+    public interface AttributeReader {
+
+        String readString() throws IOException;
+
+        int readInt() throws IOException;
+
+        boolean readBoolean() throws IOException;
+    }
+
     /**
      * Updates the text of the widget (only internally).
      *
@@ -12,7 +12,7 @@ import org.mate.commons.interaction.action.espresso.root_matchers.EspressoRootMa
 import org.mate.commons.utils.MATELog;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +22,19 @@ public class EspressoScreenSummary implements Parcelable {
     private List<String> resumedActivitiesNames = new ArrayList<>();
     private List<EspressoWindowSummary> espressoWindowSummaries = new ArrayList<>();
 
+    /**
+     * The interactions of all windows merged by view, computed on first use. A summary does not
+     * change after being built, so this (and the keys below) can be safely cached.
+     */
+    private transient Map<String, ArrayList<InstrumentationTestInteraction>> interactionsInScreen;
+
+    /**
+     * The sorted keys of the interactions in the whole screen and in the top window, used for
+     * diffing two summaries. Computed on first use.
+     */
+    private transient InteractionKeys interactionKeysInScreen;
+    private transient InteractionKeys interactionKeysInTopWindow;
+
     public EspressoScreenSummary(EspressoScreen espressoScreen) {
         for (EspressoWindow espressoWindow : espressoScreen.getWindows()) {
             espressoWindowSummaries.add(espressoWindow.getSummary());
@@ -40,20 +53,47 @@ public class EspressoScreenSummary implements Parcelable {
     }
 
     public Map<String, ArrayList<InstrumentationTestInteraction>> getInteractionsInScreen() {
-        Map<String, ArrayList<InstrumentationTestInteraction>> result = new HashMap<>();
+        if (interactionsInScreen == null) {
+            Map<String, ArrayList<InstrumentationTestInteraction>> result = new HashMap<>();
 
-        for (EspressoWindowSummary espressoWindow : espressoWindowSummaries) {
-            Map<String, ArrayList<InstrumentationTestInteraction>> viewInteractions = espressoWindow.getInteractions();
-            result.putAll(viewInteractions);
+            for (EspressoWindowSummary espressoWindow : espressoWindowSummaries) {
+                Map<String, ArrayList<InstrumentationTestInteraction>> viewInteractions = espressoWindow.getInteractions();
+                result.putAll(viewInteractions);
+            }
+
+            interactionsInScreen = Collections.unmodifiableMap(result);
         }
 
-        return result;
+        return interactionsInScreen;
     }
 
     public Map<String, ArrayList<InstrumentationTestInteraction>> getInteractionsInTopWindow() {
         return espressoWindowSummaries.get(0).getInteractions();
     }
 
+    /**
+     * @return the keys of the interactions in this screen, computed on first use.
+     */
+    private InteractionKeys getInteractionKeysInScreen() {
+        if (interactionKeysInScreen == null) {
+            interactionKeysInScreen = new InteractionKeys(getInteractionsInScreen());
+        }
+
+        return interactionKeysInScreen;
+    }
+
+    /**
+     * @return the keys of the interactions in the top window of this screen, computed on first
+     * use.
+     */
+    private InteractionKeys getInteractionKeysInTopWindow() {
+        if (interactionKeysInTopWindow == null) {
+            interactionKeysInTopWindow = new InteractionKeys(getInteractionsInTopWindow());
+        }
+
+        return interactionKeysInTopWindow;
+    }
+
     /**
      * Get Interactions from an old summary that not longer exist in this summary.
      *
@@ -61,22 +101,7 @@ public class EspressoScreenSummary implements Parcelable {
      * @return The Interactions that are not in this summary.
      */
     public Map<String, ArrayList<InstrumentationTestInteraction>> getDisappearingInteractions(EspressoScreenSummary oldSummary) {
-        Map<String, ArrayList<InstrumentationTestInteraction>> disappearingInteractions = new HashMap<>();
-
-        Map<String, ArrayList<InstrumentationTestInteraction>> oldInteractions = oldSummary.getInteractionsInScreen();
-        List<InstrumentationTestInteraction> newInteractions = flatten(getInteractionsInScreen().values());
-
-        for (Map.Entry<String, ArrayList<InstrumentationTestInteraction>> entry : oldInteractions.entrySet()) {
-            ArrayList<InstrumentationTestInteraction> oldInteractionsForView = entry.getValue();
-
-            for (InstrumentationTestInteraction oldInteraction : oldInteractionsForView) {
-                if (!containsInteraction(newInteractions, oldInteraction)) {
-                    addInteractionToDictionary(disappearingInteractions, entry.getKey(), oldInteraction);
-                }
-            }
-        }
-
-        return disappearingInteractions;
+        return oldSummary.getInteractionKeysInScreen().select(getInteractionKeysInScreen(), false);
     }
 
     /**
@@ -86,22 +111,7 @@ public class EspressoScreenSummary implements Parcelable {
      * @return The Interactions that are not in the old summary.
      */
     public Map<String, ArrayList<InstrumentationTestInteraction>> getAppearingInteractions(EspressoScreenSummary oldSummary) {
-        Map<String, ArrayList<InstrumentationTestInteraction>> appearingInteractions = new HashMap<>();
-
-        List<InstrumentationTestInteraction> oldInteractions = flatten(oldSummary.getInteractionsInScreen().values());
-        Map<String, ArrayList<InstrumentationTestInteraction>> newInteractions = getInteractionsInScreen();
-
-        for (Map.Entry<String, ArrayList<InstrumentationTestInteraction>> entry : newInteractions.entrySet()) {
-            ArrayList<InstrumentationTestInteraction> newInteractionsForView = entry.getValue();
-
-            for (InstrumentationTestInteraction newInteraction : newInteractionsForView) {
-                if (!containsInteraction(oldInteractions, newInteraction)) {
-                    addInteractionToDictionary(appearingInteractions, entry.getKey(), newInteraction);
-                }
-            }
-        }
-
-        return appearingInteractions;
+        return getInteractionKeysInScreen().select(oldSummary.getInteractionKeysInScreen(), false);
     }
 
     /**
@@ -112,23 +122,7 @@ public class EspressoScreenSummary implements Parcelable {
      * @return The Interactions that are also in the old summary.
      */
     public Map<String, ArrayList<InstrumentationTestInteraction>> getCommonInteractionsInTopWindow(EspressoScreenSummary oldSummary) {
-        Map<String, ArrayList<InstrumentationTestInteraction>> commonInteractions = new HashMap<>();
-
-        List<InstrumentationTestInteraction> oldInteractions =
-                flatten(oldSummary.getInteractionsInTopWindow().values());
-        Map<String, ArrayList<InstrumentationTestInteraction>> newInteractions = getInteractionsInTopWindow();
-
-        for (Map.Entry<String, ArrayList<InstrumentationTestInteraction>> entry : newInteractions.entrySet()) {
-            ArrayList<InstrumentationTestInteraction> newInteractionsForView = entry.getValue();
-
-            for (InstrumentationTestInteraction newInteraction : newInteractionsForView) {
-                if (containsInteraction(oldInteractions, newInteraction)) {
-                    addInteractionToDictionary(commonInteractions, entry.getKey(), newInteraction);
-                }
-            }
-        }
-
-        return commonInteractions;
+        return getInteractionKeysInTopWindow().select(oldSummary.getInteractionKeysInTopWindow(), true);
     }
 
     public Map<String, String> getUiAttributes(String viewUniqueId) {
@@ -144,44 +138,6 @@ public class EspressoScreenSummary implements Parcelable {
         return new HashMap<>();
     }
 
-    /**
-     * Returns true if a interaction with the same code is present in a collection.
-     *
-     * @param listOfInteractions The collection of interactions.
-     * @param interaction        The interaction to check.
-     * @return True if the interaction is present in the collection.
-     */
-    private boolean containsInteraction(List<InstrumentationTestInteraction> listOfInteractions,
-                                        InstrumentationTestInteraction interaction) {
-        String interactionCode = interaction.getCode();
-
-        for (InstrumentationTestInteraction interactionInList : listOfInteractions) {
-            if (interactionInList.getCode().equals(interactionCode)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    private void addInteractionToDictionary(Map<String, ArrayList<InstrumentationTestInteraction>> interactionsByView,
-                                            String viewUniqueId,
-                                            InstrumentationTestInteraction interaction) {
-        if (!interactionsByView.containsKey(viewUniqueId)) {
-            interactionsByView.put(viewUniqueId, new ArrayList<>());
-        }
-
-        interactionsByView.get(viewUniqueId).add(interaction);
-    }
-
-    private <T> List<T> flatten(Collection<ArrayList<T>> values) {
-        List<T> result = new ArrayList<>();
-        for (ArrayList<T> c : values) {
-            result.addAll(c);
-        }
-        return result;
-    }
-
     @Override
     public int describeContents() {
         return 0;
@@ -86,15 +86,23 @@ public class EspressoWindowSummary implements Parcelable {
     }
 
     private void buildInteractions(EspressoViewTree viewTree) {
+        List<EspressoViewTreeNode> targetNodes = new ArrayList<>();
         for (EspressoViewTreeNode node : viewTree.getAllNodes()) {
-            EspressoView espressoView = node.getEspressoView();
-            if (espressoView.shouldBeSkipped()) {
-                continue;
+            if (!node.getEspressoView().shouldBeSkipped()) {
+                targetNodes.add(node);
             }
+        }
+
+        // The matcher combinations of all views are built at once, so that they can share the
+        // same index of the view tree.
+        Map<EspressoViewTreeNode, RelativeMatcherCombination> matcherCombinations =
+                RelativeMatcherCombination.buildUnequivocalCombinations(targetNodes, viewTree);
+
+        for (EspressoViewTreeNode node : targetNodes) {
+            EspressoView espressoView = node.getEspressoView();
             String uniqueId = espressoView.getUniqueId();
 
-            RelativeMatcherCombination matcherCombination = RelativeMatcherCombination.
-                    buildUnequivocalCombination(node, viewTree);
+            RelativeMatcherCombination matcherCombination = matcherCombinations.get(node);
 
             if (matcherCombination == null) {
                 // we weren't able to generate a unequivocal matcher combination for this view, skip
@@ -129,6 +137,8 @@ public class EspressoWindowSummary implements Parcelable {
             String uniqueId = node.getEspressoView().getUniqueId();
             EspressoView espressoView = node.getEspressoView();
 
+            // Read the lazily resolved attributes while the view tree is captured, such that
+            // writing the summary to a parcel doesn't access the views from a binder thread.
             Map<String, String> attributes = new HashMap<>(espressoView.getAllAttributes());
 
             uiAttributes.put(uniqueId, attributes);
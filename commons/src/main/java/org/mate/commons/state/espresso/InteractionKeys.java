@@ -0,0 +1,149 @@
+package org.mate.commons.state.espresso;
+
+import org.mate.commons.interaction.action.espresso.interactions.InstrumentationTestInteraction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The interactions of a screen (or window) stored as an array of keys sorted in ascending order.
+ * <p>
+ * Comparing the interactions of two screens then becomes a single linear merge over both key
+ * arrays, instead of looking up each interaction in a list of the other screen. Since the keys are
+ * hashes, interactions with equal keys are ordered and compared by their code.
+ */
+class InteractionKeys {
+
+    /**
+     * The unique IDs of the views, in the same order as {@link #interactions}.
+     */
+    private final String[] viewUniqueIds;
+
+    /**
+     * The interactions, in the order they were found in the map of interactions by view.
+     */
+    private final InstrumentationTestInteraction[] interactions;
+
+    /**
+     * The keys of the interactions, sorted in ascending order.
+     */
+    private final long[] sortedKeys;
+
+    /**
+     * The position in {@link #interactions} of each sorted key.
+     */
+    private final int[] sortedPositions;
+
+    /**
+     * The codes of the interactions, in the same order as {@link #interactions}. A code is only
+     * produced once it is needed to tell apart interactions with equal keys.
+     */
+    private final String[] codes;
+
+    InteractionKeys(Map<String, ArrayList<InstrumentationTestInteraction>> interactionsByView) {
+        List<String> viewIds = new ArrayList<>();
+        List<InstrumentationTestInteraction> allInteractions = new ArrayList<>();
+
+        for (Map.Entry<String, ArrayList<InstrumentationTestInteraction>> entry : interactionsByView.entrySet()) {
+            for (InstrumentationTestInteraction interaction : entry.getValue()) {
+                viewIds.add(entry.getKey());
+                allInteractions.add(interaction);
+            }
+        }
+
+        int size = allInteractions.size();
+        this.viewUniqueIds = viewIds.toArray(new String[0]);
+        this.interactions = allInteractions.toArray(new InstrumentationTestInteraction[0]);
+        this.codes = new String[size];
+
+        Integer[] positions = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+
+        final long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = interactions[i].getKey();
+        }
+
+        Arrays.sort(positions, (a, b) -> keys[a] != keys[b] ? Long.compare(keys[a], keys[b])
+                : getCode(a).compareTo(getCode(b)));
+
+        this.sortedKeys = new long[size];
+        this.sortedPositions = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedPositions[i] = positions[i];
+            sortedKeys[i] = keys[positions[i]];
+        }
+    }
+
+    /**
+     * Returns the code of the interaction at the given position in {@link #interactions}.
+     */
+    private String getCode(int position) {
+        if (codes[position] == null) {
+            codes[position] = interactions[position].getCode();
+        }
+        return codes[position];
+    }
+
+    /**
+     * Compares the interaction at the given sorted index of this instance with the interaction at
+     * the given sorted index of another one, first by key and then by code.
+     */
+    private int compare(int index, InteractionKeys other, int otherIndex) {
+        long key = sortedKeys[index];
+        long otherKey = other.sortedKeys[otherIndex];
+
+        if (key != otherKey) {
+            return Long.compare(key, otherKey);
+        }
+        return getCode(sortedPositions[index])
+                .compareTo(other.getCode(other.sortedPositions[otherIndex]));
+    }
+
+    /**
+     * Returns the interactions of this instance whose code is (or is not) present in another one.
+     * Within each view, interactions keep their original order.
+     *
+     * @param other    the other interactions.
+     * @param contained whether to return the interactions present in other, or the missing ones.
+     * @return the selected interactions grouped by view unique ID.
+     */
+    Map<String, ArrayList<InstrumentationTestInteraction>> select(InteractionKeys other,
+                                                                  boolean contained) {
+        boolean[] isContained = new boolean[interactions.length];
+
+        // linear merge over both sorted key arrays
+        int j = 0;
+        for (int i = 0; i < sortedKeys.length; i++) {
+
+            while (j < other.sortedKeys.length && other.compare(j, this, i) < 0) {
+                j++;
+            }
+
+            isContained[sortedPositions[i]] = j < other.sortedKeys.length
+                    && other.compare(j, this, i) == 0;
+        }
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> result = new HashMap<>();
+        for (int i = 0; i < interactions.length; i++) {
+            if (isContained[i] != contained) {
+                continue;
+            }
+
+            ArrayList<InstrumentationTestInteraction> interactionsForView = result.get(viewUniqueIds[i]);
+            if (interactionsForView == null) {
+                interactionsForView = new ArrayList<>();
+                result.put(viewUniqueIds[i], interactionsForView);
+            }
+
+            interactionsForView.add(interactions[i]);
+        }
+
+        return result;
+    }
+}
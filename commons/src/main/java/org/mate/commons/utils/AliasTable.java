@@ -0,0 +1,124 @@
+package org.mate.commons.utils;
+
+import java.util.Random;
+
+/**
+ * Walker's alias method in the variant of Vose for sampling indices according to fixed weights.
+ * Building the table takes linear time, afterwards each sample takes constant time, whereas a
+ * roulette wheel needs to scan the weights for each sample.
+ * <p>
+ * The table is immutable, i.e. it fits repeated weighted choices with replacement, e.g. picking
+ * seeds according to their energy. A table needs to be rebuilt whenever the weights change.
+ */
+public final class AliasTable {
+
+    /**
+     * The probability of each column to return its own index rather than its alias.
+     */
+    private final double[] probabilities;
+
+    /**
+     * The index returned by each column otherwise.
+     */
+    private final int[] aliases;
+
+    /**
+     * Builds the alias table for the given weights.
+     *
+     * @param weights The non-negative weights, at least one of them must be positive.
+     */
+    public AliasTable(double[] weights) {
+
+        int size = weights.length;
+
+        if (size == 0) {
+            throw new IllegalArgumentException("At least one weight is required!");
+        }
+
+        double sum = 0.0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be non-negative and finite: " + weight);
+            }
+            sum += weight;
+        }
+
+        if (sum <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive!");
+        }
+
+        probabilities = new double[size];
+        aliases = new int[size];
+
+        // the weights scaled such that the average is 1
+        double[] scaled = new double[size];
+
+        // the work lists of under- and overfull columns, used as stacks
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / sum;
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+
+            // the underfull column is topped up by the overfull one
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+
+        // the remaining columns are full up to rounding errors
+        while (largeSize > 0) {
+            probabilities[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            probabilities[small[--smallSize]] = 1.0;
+        }
+    }
+
+    /**
+     * Samples an index with a probability proportional to its weight.
+     *
+     * @param random The random number generator.
+     * @return Returns the sampled index.
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * Samples an index using the generator of {@link Randomness}.
+     *
+     * @return Returns the sampled index.
+     */
+    public int sample() {
+        return sample(Randomness.getRnd());
+    }
+
+    /**
+     * @return Returns the number of weights.
+     */
+    public int size() {
+        return probabilities.length;
+    }
+}
@@ -0,0 +1,30 @@
+package org.mate.commons.utils;
+
+import android.util.Log;
+
+/**
+ * The levels that can be configured for {@link MATELog}, i.e. the minimum priority of the messages
+ * to be written.
+ */
+public enum LogLevel {
+
+    VERBOSE(Log.VERBOSE),
+    DEBUG(Log.DEBUG),
+    INFO(Log.INFO),
+    WARN(Log.WARN),
+    ERROR(Log.ERROR),
+    ASSERT(Log.ASSERT);
+
+    private final int priority;
+
+    LogLevel(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @return the Android log priority corresponding to this level.
+     */
+    public int getPriority() {
+        return priority;
+    }
+}
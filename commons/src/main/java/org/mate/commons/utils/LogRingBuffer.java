@@ -0,0 +1,200 @@
+package org.mate.commons.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded ring buffer of pending log records, drained by a single consumer thread.
+ * <p>
+ * The slots are pre-allocated as parallel arrays, so enqueuing a record doesn't allocate. The
+ * ring follows the single-producer/single-consumer protocol: the producer publishes a slot by
+ * advancing {@link #tail} and the consumer frees it by advancing {@link #head}. Since MATE logs
+ * from several threads, the producer side is serialized with a lock, which is uncontended in the
+ * common case. The consumer never takes that lock.
+ * <p>
+ * The consumer parks while the buffer is empty and is woken up by the next producer. A producer
+ * finding the buffer full waits for the consumer to free a slot, such that records are never
+ * reordered.
+ */
+class LogRingBuffer {
+
+    private final int capacity;
+    private final int mask;
+
+    private final int[] priorities;
+    private final String[] tags;
+    private final String[] templates;
+    private final Object[][] arguments;
+
+    /**
+     * The position of the next record to be consumed.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The position of the next record to be produced.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    private final Object producerLock = new Object();
+
+    /**
+     * Whether the buffer accepts no more records. Only modified while holding the producer lock.
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * The consumer thread and whether it is (about to be) parked waiting for records.
+     */
+    private volatile Thread consumer;
+    private volatile boolean consumerWaiting = false;
+
+    /**
+     * Creates a new ring buffer.
+     *
+     * @param capacity the number of slots, must be a power of two.
+     */
+    LogRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.priorities = new int[capacity];
+        this.tags = new String[capacity];
+        this.templates = new String[capacity];
+        this.arguments = new Object[capacity][];
+    }
+
+    /**
+     * Enqueues a record. If the buffer is full, waits until the consumer frees a slot.
+     *
+     * @param priority the Android log priority.
+     * @param tag the log tag.
+     * @param template the message template.
+     * @param args the template arguments, possibly null.
+     * @return false if the buffer has been closed (or its consumer died) and the record was not
+     *         enqueued.
+     */
+    boolean offer(int priority, String tag, String template, Object[] args) {
+        synchronized (producerLock) {
+            if (closed) {
+                return false;
+            }
+
+            long currentTail = tail.get();
+            while (currentTail - head.get() == capacity) {
+                Thread thread = consumer;
+                if (thread != null && !thread.isAlive()) {
+                    return false;
+                }
+
+                // the consumer is busy writing, give it the chance to catch up
+                signalConsumer();
+                Thread.yield();
+            }
+
+            int slot = (int) (currentTail & mask);
+            priorities[slot] = priority;
+            tags[slot] = tag;
+            templates[slot] = template;
+            arguments[slot] = args;
+
+            // publishes the slot to the consumer, the volatile write must not be reordered with
+            // the read of consumerWaiting below
+            tail.set(currentTail + 1);
+        }
+
+        if (consumerWaiting) {
+            signalConsumer();
+        }
+
+        return true;
+    }
+
+    private void signalConsumer() {
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Blocks the calling consumer thread until there are records to consume or the buffer has
+     * been closed. May return spuriously.
+     */
+    void awaitRecords() {
+        consumer = Thread.currentThread();
+        consumerWaiting = true;
+
+        // re-check after announcing that we are waiting, otherwise a record published in between
+        // would not wake us up
+        if (isEmpty() && !closed) {
+            LockSupport.park(this);
+        }
+
+        consumerWaiting = false;
+    }
+
+    /**
+     * Consumes all the records available at the moment. Must only be called by the consumer.
+     *
+     * @param consumer the consumer of the records.
+     * @return the number of consumed records.
+     */
+    int drain(Consumer consumer) {
+        long currentHead = head.get();
+        long currentTail = tail.get();
+
+        for (long position = currentHead; position < currentTail; position++) {
+            int slot = (int) (position & mask);
+            consumer.accept(priorities[slot], tags[slot], templates[slot], arguments[slot]);
+
+            // release references to let them be garbage collected
+            tags[slot] = null;
+            templates[slot] = null;
+            arguments[slot] = null;
+        }
+
+        // frees the slots for the producers
+        head.set(currentTail);
+        return (int) (currentTail - currentHead);
+    }
+
+    /**
+     * Closes the buffer, such that no more records are enqueued, and runs the given action before
+     * any producer can observe the buffer as closed. This way, records that can't be enqueued
+     * anymore are not handled before the records already enqueued.
+     *
+     * @param action the action to run, typically waiting for the consumer to drain the buffer.
+     */
+    void close(Runnable action) {
+        synchronized (producerLock) {
+            closed = true;
+            signalConsumer();
+            action.run();
+        }
+    }
+
+    /**
+     * @return whether the buffer accepts no more records.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return whether there are no records pending.
+     */
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /**
+     * Consumes the records of a {@link LogRingBuffer}.
+     */
+    interface Consumer {
+        void accept(int priority, String tag, String template, Object[] args);
+    }
+}
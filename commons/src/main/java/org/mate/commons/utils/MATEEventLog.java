@@ -0,0 +1,239 @@
+package org.mate.commons.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An optional, compact binary log of numeric events for hot loops, where even a guarded text
+ * message would be too expensive.
+ * <p>
+ * Event types are registered once by name, and each occurrence is then recorded as a fixed-size
+ * entry without allocating: a record tag, the event id, a timestamp and two numeric values. The
+ * entries are accumulated in a buffer that is appended to the log file whenever it fills up, at
+ * least every {@link #FLUSH_INTERVAL_MILLIS} milliseconds and when the process shuts down, such
+ * that a killed process loses at most the events of the last interval.
+ * <p>
+ * The file consists of the following records (big endian):
+ * <ul>
+ *     <li>Definition: tag {@link #DEFINITION_RECORD} (byte), event id (short), name length
+ *     (short) and the UTF-8 bytes of the name.</li>
+ *     <li>Event: tag {@link #EVENT_RECORD} (byte), event id (short), nano time (long), and two
+ *     values (long each).</li>
+ * </ul>
+ * Recording is a no-op unless the log was enabled with {@link #enable(File)}, which the
+ * representation layer does when MATE is run with the {@code event_log} property.
+ */
+public class MATEEventLog {
+
+    public static final byte DEFINITION_RECORD = 1;
+    public static final byte EVENT_RECORD = 2;
+
+    /**
+     * The size of an event record in bytes.
+     */
+    private static final int EVENT_RECORD_SIZE = 1 + 2 + 8 + 8 + 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * How often the buffered events are written to the log file while the log is enabled.
+     */
+    static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    /**
+     * Writes the buffered events periodically.
+     */
+    private static final ScheduledExecutorService flusher
+            = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MATEEventLog-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The ids of the registered event types.
+     */
+    private static final Map<String, Short> eventIds = new HashMap<>();
+
+    private static ByteBuffer buffer;
+    private static FileChannel channel;
+    private static ScheduledFuture<?> periodicFlush;
+
+    /**
+     * Whether the hook writing the buffered events on shutdown has been registered.
+     */
+    private static boolean shutdownHookRegistered = false;
+
+    private static volatile boolean enabled = false;
+
+    private MATEEventLog() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * Starts recording events to the given file, replacing its content.
+     *
+     * @param file the file to write the events to.
+     * @throws IOException if the file can't be opened.
+     */
+    public static synchronized void enable(File file) throws IOException {
+        disable();
+
+        channel = new FileOutputStream(file).getChannel();
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.BIG_ENDIAN);
+
+        // event types registered before enabling the log still need their definition
+        for (Map.Entry<String, Short> entry : eventIds.entrySet()) {
+            writeDefinition(entry.getValue(), entry.getKey());
+        }
+
+        enabled = true;
+
+        periodicFlush = flusher.scheduleWithFixedDelay(MATEEventLog::flush,
+                FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(MATEEventLog::disable, "MATEEventLog-shutdown"));
+            shutdownHookRegistered = true;
+        }
+    }
+
+    /**
+     * Stops recording events and closes the log file.
+     */
+    public static synchronized void disable() {
+        if (channel == null) {
+            return;
+        }
+
+        enabled = false;
+        periodicFlush.cancel(false);
+        periodicFlush = null;
+
+        try {
+            flushBuffer();
+            channel.close();
+        } catch (IOException e) {
+            MATELog.log_warn("Unable to close event log: " + e.getMessage());
+        }
+
+        channel = null;
+        buffer = null;
+    }
+
+    /**
+     * @return whether events are being recorded.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers an event type, or returns its id if it was already registered.
+     *
+     * @param name the name of the event type.
+     * @return the id to be used when recording events of this type.
+     */
+    public static synchronized short register(String name) {
+        Short id = eventIds.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        id = (short) eventIds.size();
+        eventIds.put(name, id);
+
+        if (enabled) {
+            writeDefinition(id, name);
+        }
+
+        return id;
+    }
+
+    /**
+     * Records an event.
+     *
+     * @param eventId the id returned by {@link #register(String)}.
+     * @param value1 the first value of the event.
+     * @param value2 the second value of the event.
+     */
+    public static void record(short eventId, long value1, long value2) {
+        if (!enabled) {
+            return;
+        }
+
+        long nanoTime = System.nanoTime();
+
+        synchronized (MATEEventLog.class) {
+            if (buffer == null) {
+                // disabled concurrently
+                return;
+            }
+
+            ensureCapacity(EVENT_RECORD_SIZE);
+            buffer.put(EVENT_RECORD)
+                    .putShort(eventId)
+                    .putLong(nanoTime)
+                    .putLong(value1)
+                    .putLong(value2);
+        }
+    }
+
+    /**
+     * Writes the buffered events to the log file.
+     */
+    public static synchronized void flush() {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            MATELog.log_warn("Unable to flush event log: " + e.getMessage());
+        }
+    }
+
+    private static void writeDefinition(short id, String name) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(1 + 2 + 2 + nameBytes.length);
+        buffer.put(DEFINITION_RECORD)
+                .putShort(id)
+                .putShort((short) nameBytes.length)
+                .put(nameBytes);
+    }
+
+    private static void ensureCapacity(int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            // drop the buffered events rather than failing the caller
+            MATELog.log_warn("Unable to write event log: " + e.getMessage());
+            buffer.clear();
+        }
+    }
+
+    private static void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
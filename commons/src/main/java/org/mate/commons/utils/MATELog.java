@@ -1,31 +1,311 @@
 package org.mate.commons.utils;
 
-import static android.util.Log.d;
-import static android.util.Log.e;
-import static android.util.Log.i;
-import static android.util.Log.w;
+import android.util.Log;
+
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Auxiliary class for logging MATE stuff to Android's Log.
+ * <p>
+ * Messages below the configured level (see {@link #setLevel(int)} and {@link LogLevel}) are
+ * discarded before any formatting takes place. Besides plain messages, each method accepts a
+ * template where every {@code {}} is replaced by the next argument, e.g.
+ * {@code log_debug("Node: {}", id)}. Templates are only formatted if the message is going to be
+ * written, so hot call sites should prefer them over string concatenation.
+ * <p>
+ * By default, messages are written synchronously. Calling {@link #startAsyncWriter()} moves the
+ * writing to a background thread; callers then only enqueue the message. Templates whose arguments
+ * are all immutable (strings, boxed primitives, enums) are formatted by the background thread as
+ * well, any other template is formatted by the caller, such that the message reflects the state of
+ * its arguments at the time of the call. The pending messages are written when the process shuts
+ * down, unless the writer has been stopped before.
  */
 public class MATELog {
+
+    private static final String TAG_INFO = "apptest";
+    private static final String TAG_ACC = "acc";
+    private static final String TAG_DEBUG = "debug";
+    private static final String TAG_WARN = "warning";
+    private static final String TAG_ERROR = "error";
+
+    /**
+     * The default capacity of the ring buffer used by the async writer.
+     */
+    private static final int DEFAULT_BUFFER_CAPACITY = 4096;
+
+    /**
+     * How long {@link #flush()} sleeps between checking whether the pending messages were written.
+     */
+    private static final long FLUSH_POLL_NANOS = 100000;
+
+    /**
+     * The minimum priority (see {@link Log#DEBUG} and others) of the messages to be written.
+     */
+    private static volatile int minPriority = Log.DEBUG;
+
+    /**
+     * The pending messages and the thread writing them, if the async writer is running.
+     */
+    private static volatile LogRingBuffer buffer;
+    private static volatile Thread writerThread;
+
+    /**
+     * Whether the hook stopping the async writer on shutdown has been registered.
+     */
+    private static boolean shutdownHookRegistered = false;
+
+    /**
+     * Writes the records consumed from the ring buffer.
+     */
+    private static final LogRingBuffer.Consumer WRITER = (priority, tag, template, args) -> {
+        try {
+            Log.println(priority, tag, format(template, args));
+        } catch (RuntimeException e) {
+            // a failing message must not stop the writer thread
+            Log.println(Log.ERROR, TAG_ERROR, "Unable to write log message: " + e);
+        }
+    };
+
+    /**
+     * Sets the minimum priority of the messages to be written.
+     *
+     * @param priority one of {@link Log#VERBOSE}, {@link Log#DEBUG}, {@link Log#INFO},
+     *                 {@link Log#WARN} or {@link Log#ERROR}.
+     */
+    public static void setLevel(int priority) {
+        minPriority = priority;
+    }
+
+    /**
+     * @param priority the priority of a message.
+     * @return whether messages with the given priority are written.
+     */
+    public static boolean isLoggable(int priority) {
+        return priority >= minPriority;
+    }
+
+    /**
+     * @return whether debug messages are written. Use it to guard expensive debug output.
+     */
+    public static boolean isDebugEnabled() {
+        return Log.DEBUG >= minPriority;
+    }
+
     public static void log(String msg) {
-        i("apptest", msg);
+        write(Log.INFO, TAG_INFO, msg, null);
+    }
+
+    public static void log(String template, Object arg) {
+        write(Log.INFO, TAG_INFO, template, new Object[]{arg});
+    }
+
+    public static void log(String template, Object arg1, Object arg2) {
+        write(Log.INFO, TAG_INFO, template, new Object[]{arg1, arg2});
+    }
+
+    public static void log(String template, Object... args) {
+        write(Log.INFO, TAG_INFO, template, args);
     }
 
     public static void log_acc(String msg) {
-        e("acc", msg);
+        write(Log.ERROR, TAG_ACC, msg, null);
+    }
+
+    public static void log_acc(String template, Object... args) {
+        write(Log.ERROR, TAG_ACC, template, args);
     }
 
     public static void log_debug(String msg) {
-        d("debug", msg);
+        write(Log.DEBUG, TAG_DEBUG, msg, null);
+    }
+
+    public static void log_debug(String template, Object arg) {
+        if (isDebugEnabled()) {
+            write(Log.DEBUG, TAG_DEBUG, template, new Object[]{arg});
+        }
+    }
+
+    public static void log_debug(String template, Object arg1, Object arg2) {
+        if (isDebugEnabled()) {
+            write(Log.DEBUG, TAG_DEBUG, template, new Object[]{arg1, arg2});
+        }
+    }
+
+    public static void log_debug(String template, Object... args) {
+        if (isDebugEnabled()) {
+            write(Log.DEBUG, TAG_DEBUG, template, args);
+        }
     }
 
     public static void log_warn(String msg) {
-        w("warning", msg);
+        write(Log.WARN, TAG_WARN, msg, null);
+    }
+
+    public static void log_warn(String template, Object... args) {
+        write(Log.WARN, TAG_WARN, template, args);
     }
 
     public static void log_error(String msg) {
-        e("error", msg);
+        write(Log.ERROR, TAG_ERROR, msg, null);
+        // errors often precede a crash, make sure they reach the log
+        flush();
+    }
+
+    public static void log_error(String template, Object... args) {
+        write(Log.ERROR, TAG_ERROR, template, args);
+        flush();
+    }
+
+    /**
+     * Starts writing messages from a background thread. Does nothing if it is already running.
+     */
+    public static synchronized void startAsyncWriter() {
+        startAsyncWriter(DEFAULT_BUFFER_CAPACITY);
+    }
+
+    /**
+     * Starts writing messages from a background thread. Does nothing if it is already running.
+     *
+     * @param capacity the maximum number of pending messages, must be a power of two. If the
+     *                 buffer is full, callers wait until the writer catches up.
+     */
+    public static synchronized void startAsyncWriter(int capacity) {
+        if (writerThread != null) {
+            return;
+        }
+
+        final LogRingBuffer ringBuffer = new LogRingBuffer(capacity);
+        Thread thread = new Thread(() -> {
+            while (!ringBuffer.isClosed()) {
+                if (ringBuffer.drain(WRITER) == 0) {
+                    ringBuffer.awaitRecords();
+                }
+            }
+            // write the messages enqueued before stopping
+            ringBuffer.drain(WRITER);
+        }, "MATELog-writer");
+        thread.setDaemon(true);
+
+        buffer = ringBuffer;
+        writerThread = thread;
+        thread.start();
+
+        if (!shutdownHookRegistered) {
+            // the writer is a daemon thread, which would be abandoned with its pending messages
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(MATELog::stopAsyncWriter, "MATELog-shutdown"));
+            shutdownHookRegistered = true;
+        }
+    }
+
+    /**
+     * Stops the background writer after writing all the pending messages. Subsequent messages are
+     * written synchronously.
+     */
+    public static synchronized void stopAsyncWriter() {
+        final Thread thread = writerThread;
+        final LogRingBuffer ringBuffer = buffer;
+        if (thread == null) {
+            return;
+        }
+
+        // producers are blocked until the pending messages are written, afterwards they write
+        // their messages synchronously
+        ringBuffer.close(() -> {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (!thread.isAlive()) {
+                // in case the writer died before draining the buffer
+                ringBuffer.drain(WRITER);
+            }
+        });
+
+        buffer = null;
+        writerThread = null;
+    }
+
+    /**
+     * Waits until all the pending messages have been written by the background writer.
+     */
+    public static void flush() {
+        LogRingBuffer ringBuffer = buffer;
+        Thread thread = writerThread;
+
+        while (ringBuffer != null && thread != null && thread.isAlive() && !ringBuffer.isEmpty()) {
+            LockSupport.parkNanos(FLUSH_POLL_NANOS);
+        }
+    }
+
+    private static void write(int priority, String tag, String template, Object[] args) {
+        if (priority < minPriority) {
+            return;
+        }
+
+        LogRingBuffer ringBuffer = buffer;
+        if (ringBuffer != null) {
+            if (!areImmutable(args)) {
+                // capture the current state of the arguments
+                template = format(template, args);
+                args = null;
+            }
+
+            if (ringBuffer.offer(priority, tag, template, args)) {
+                return;
+            }
+        }
+
+        // no async writer running
+        Log.println(priority, tag, format(template, args));
+    }
+
+    /**
+     * Checks whether the given template arguments can be formatted later on without changing the
+     * message, i.e. whether their string representation can't change.
+     */
+    private static boolean areImmutable(Object[] args) {
+        if (args == null) {
+            return true;
+        }
+
+        for (Object arg : args) {
+            if (arg != null && !(arg instanceof String || arg instanceof Integer
+                    || arg instanceof Long || arg instanceof Boolean || arg instanceof Double
+                    || arg instanceof Float || arg instanceof Short || arg instanceof Byte
+                    || arg instanceof Character || arg instanceof Enum)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Replaces each {@code {}} in the template by the next argument.
+     *
+     * @param template the message template.
+     * @param args the arguments, or null if the template is a plain message.
+     * @return the formatted message.
+     */
+    static String format(String template, Object[] args) {
+        if (args == null || args.length == 0 || template == null) {
+            return String.valueOf(template);
+        }
+
+        StringBuilder builder = new StringBuilder(template.length() + 16 * args.length);
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+
+        while (argIndex < args.length && (placeholder = template.indexOf("{}", start)) >= 0) {
+            builder.append(template, start, placeholder).append(args[argIndex++]);
+            start = placeholder + 2;
+        }
+
+        builder.append(template, start, template.length());
+        return builder.toString();
     }
 }
@@ -0,0 +1,48 @@
+package org.mate.commons.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the packed screenshots (see {@link ScreenshotTransfer}) of the most recently used screen
+ * states. Storing a screenshot under an id that is already cached replaces the previous
+ * screenshot, since a revisited state may look different, e.g. after a colour change.
+ */
+public class PackedScreenshotCache {
+
+    private final Map<String, int[]> screenshots;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity The maximal number of cached screenshots, older ones are dropped.
+     */
+    public PackedScreenshotCache(final int capacity) {
+        screenshots = new LinkedHashMap<String, int[]>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Stores the screenshot of the given state, replacing a previously cached one.
+     *
+     * @param stateId The id of the state.
+     * @param screenshot The packed screenshot.
+     */
+    public synchronized void put(String stateId, int[] screenshot) {
+        screenshots.put(stateId, screenshot);
+    }
+
+    /**
+     * Returns the cached screenshot of the given state.
+     *
+     * @param stateId The id of the state.
+     * @return Returns the packed screenshot, or {@code null} if no screenshot is cached.
+     */
+    public synchronized int[] get(String stateId) {
+        return screenshots.get(stateId);
+    }
+}
@@ -5,11 +5,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Provides utility functions that involve some kind of randomness, e.g. retrieving a random element
  * from a list or set.
+ * <p>
+ * By default, all threads share the generator set via {@link #setRnd(Random)}. Threads working in
+ * parallel, e.g. evaluating or mutating chromosomes, should bind their own stream with
+ * {@link #bindThreadRnd(Random)} instead, see {@link Xoshiro256StarStar#forStream(long, int)}.
  */
 public class Randomness {
 
@@ -18,6 +21,11 @@ public class Randomness {
      */
     private static Random rnd = new Random();
 
+    /**
+     * The random number generators bound to individual threads.
+     */
+    private static final ThreadLocal<Random> threadRnd = new ThreadLocal<>();
+
     /**
      * Sets the random number generator.
      *
@@ -28,12 +36,31 @@ public class Randomness {
     }
 
     /**
-     * Retrieves the random number generator.
+     * Binds a random number generator to the calling thread, which is used instead of the shared
+     * one until {@link #unbindThreadRnd()} is called.
+     *
+     * @param rnd The random number generator of the calling thread.
+     */
+    public static void bindThreadRnd(Random rnd) {
+        threadRnd.set(rnd);
+    }
+
+    /**
+     * Unbinds the random number generator of the calling thread.
+     */
+    public static void unbindThreadRnd() {
+        threadRnd.remove();
+    }
+
+    /**
+     * Retrieves the random number generator of the calling thread, or the shared one if no
+     * generator has been bound to the calling thread.
      *
      * @return Returns the random number generator.
      */
     public static Random getRnd() {
-        return rnd;
+        Random local = threadRnd.get();
+        return local != null ? local : rnd;
     }
 
     /**
@@ -136,7 +163,9 @@ public class Randomness {
      * @return Returns a random number in the range [min,max).
      */
     public static double getRandom(double min, double max) {
-        return ThreadLocalRandom.current().nextDouble(min, max);
+        double value = min + (max - min) * getRnd().nextDouble();
+        // rounding may yield the (exclusive) upper bound
+        return value < max ? value : Math.nextAfter(max, min);
     }
 
     /**
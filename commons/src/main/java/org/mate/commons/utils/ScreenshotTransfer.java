@@ -0,0 +1,133 @@
+package org.mate.commons.utils;
+
+import android.os.ParcelFileDescriptor;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Transfers the downsampled screenshots of the representation layer through a pipe instead of a
+ * binder transaction. A screenshot takes up to a megabyte, which would exhaust the binder buffer
+ * shared by all transactions of the process. The binder call only returns the read end of the
+ * pipe, the pixels are written by a background thread while the receiver reads them.
+ * <p>
+ * A screenshot is packed as its width, height and scale factor followed by its ARGB pixels in
+ * row-major order. Each value is written as a big-endian int.
+ */
+public final class ScreenshotTransfer {
+
+    /**
+     * The number of ints written or read at once.
+     */
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    /**
+     * The maximal number of pixels a received screenshot may consist of, which protects the
+     * receiver from allocating huge arrays for a corrupted header.
+     */
+    private static final int MAX_PIXELS = 4096 * 4096;
+
+    /**
+     * Writes the screenshots into the pipes.
+     */
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "MATE-screenshot-transfer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScreenshotTransfer() {
+        throw new UnsupportedOperationException("Utility class can't be instantiated!");
+    }
+
+    /**
+     * Starts sending the given screenshot.
+     *
+     * @param packed The packed screenshot.
+     * @return Returns the read end of the pipe the screenshot is written to.
+     * @throws IOException If the pipe can't be created.
+     */
+    public static ParcelFileDescriptor send(final int[] packed) throws IOException {
+
+        ParcelFileDescriptor[] pipe = ParcelFileDescriptor.createPipe();
+        final ParcelFileDescriptor sink = pipe[1];
+
+        writer.execute(() -> {
+            try (OutputStream out = new ParcelFileDescriptor.AutoCloseOutputStream(sink)) {
+                write(packed, out);
+            } catch (IOException e) {
+                // the receiver closed the pipe before reading the whole screenshot
+                MATELog.log_warn("Unable to send screenshot: " + e.getMessage());
+            }
+        });
+
+        return pipe[0];
+    }
+
+    /**
+     * Receives a screenshot sent through {@link #send(int[])} and closes the pipe afterwards.
+     *
+     * @param source The read end of the pipe.
+     * @return Returns the packed screenshot.
+     * @throws IOException If the screenshot can't be read.
+     */
+    public static int[] receive(ParcelFileDescriptor source) throws IOException {
+        try (InputStream in = new ParcelFileDescriptor.AutoCloseInputStream(source)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Writes the given packed screenshot to the given stream.
+     */
+    static void write(int[] packed, OutputStream out) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE * 4);
+        IntBuffer ints = buffer.asIntBuffer();
+
+        for (int offset = 0; offset < packed.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, packed.length - offset);
+            ints.clear();
+            ints.put(packed, offset, length);
+            out.write(buffer.array(), 0, length * 4);
+        }
+    }
+
+    /**
+     * Reads a packed screenshot from the given stream.
+     */
+    static int[] read(InputStream stream) throws IOException {
+
+        DataInputStream in = new DataInputStream(stream);
+        int width = in.readInt();
+        int height = in.readInt();
+        int scale = in.readInt();
+
+        if (width < 0 || height < 0 || (long) width * height > MAX_PIXELS) {
+            throw new IOException("Invalid screenshot size " + width + "x" + height);
+        }
+
+        int[] packed = new int[3 + width * height];
+        packed[0] = width;
+        packed[1] = height;
+        packed[2] = scale;
+
+        byte[] chunk = new byte[CHUNK_SIZE * 4];
+        IntBuffer ints = ByteBuffer.wrap(chunk).asIntBuffer();
+
+        for (int offset = 3; offset < packed.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, packed.length - offset);
+            in.readFully(chunk, 0, length * 4);
+            ints.clear();
+            ints.get(packed, offset, length);
+        }
+
+        return packed;
+    }
+}
@@ -0,0 +1,50 @@
+package org.mate.commons.utils;
+
+/**
+ * The SplitMix64 generator by Sebastiano Vigna, see http://prng.di.unimi.it/splitmix64.c.
+ * <p>
+ * It is mainly used to expand a single 64 bit seed into the state of {@link Xoshiro256StarStar},
+ * since its output is well distributed even for similar seeds, e.g. consecutive run seeds.
+ * The generator is not thread-safe.
+ */
+public final class SplitMix64 {
+
+    /**
+     * The odd constant derived from the golden ratio that is added to the state in each step.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    /**
+     * Creates a new generator.
+     *
+     * @param seed The initial state.
+     */
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Returns the next pseudo-random value.
+     *
+     * @return Returns the next 64 bit value.
+     */
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    /**
+     * The finalizer of SplitMix64, a bijective function scrambling the bits of the given value.
+     *
+     * @param value The value to be scrambled.
+     * @return Returns the scrambled value.
+     */
+    public static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
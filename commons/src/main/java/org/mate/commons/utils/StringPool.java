@@ -0,0 +1,213 @@
+package org.mate.commons.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of strings that is read through a memory-mapped file instead of being parsed
+ * into the heap. A string is only decoded when it is accessed, hence opening a pool takes constant
+ * time regardless of its size.
+ * <p>
+ * The file consists of a header, an offsets table and a blob with the UTF-8 encoded strings:
+ * <pre>
+ * int magic, long stamp, int count, int maxLength
+ * int[maxLength + 2] index of the first string with at least the given length
+ * int[count + 1] offset of each string in the blob, followed by the blob size
+ * byte[] blob
+ * </pre>
+ * The strings are sorted by length, such that all strings shorter than a given length form a
+ * prefix of the pool, see {@link #countShorterThan(int)}. The stamp identifies the source the pool
+ * has been built from, see {@link #open(File, long)}.
+ */
+public final class StringPool extends AbstractList<String> implements RandomAccess {
+
+    private static final int MAGIC = 0x4d535031;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * The mapped file. Only absolute reads are performed, hence the buffer can be shared between
+     * threads.
+     */
+    private final ByteBuffer buffer;
+
+    private final int count;
+    private final int maxLength;
+
+    /**
+     * The positions of the tables and the blob within {@link #buffer}.
+     */
+    private final int lengthTable;
+    private final int offsetTable;
+    private final int blob;
+
+    private StringPool(ByteBuffer buffer) throws IOException {
+
+        if (buffer.remaining() < 20 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a string pool!");
+        }
+
+        this.buffer = buffer;
+        count = buffer.getInt(12);
+        maxLength = buffer.getInt(16);
+        lengthTable = 20;
+        offsetTable = lengthTable + 4 * (maxLength + 2);
+        blob = offsetTable + 4 * (count + 1);
+
+        if (count < 0 || maxLength < 0 || blob > buffer.limit()
+                || blob + buffer.getInt(offsetTable + 4 * count) != buffer.limit()) {
+            throw new IOException("Corrupted string pool!");
+        }
+    }
+
+    /**
+     * Maps the given pool file into memory.
+     *
+     * @param file The pool file.
+     * @param stamp The expected stamp of the pool.
+     * @return Returns the mapped pool or {@code null} if the file doesn't exist or has been built
+     *         with a different stamp, i.e. from an outdated source.
+     * @throws IOException If the file can't be mapped or is no valid pool.
+     */
+    public static StringPool open(File file, long stamp) throws IOException {
+
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            // the mapping stays valid after the channel has been closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            StringPool pool = new StringPool(buffer);
+            return buffer.getLong(4) == stamp ? pool : null;
+        }
+    }
+
+    /**
+     * Writes the given strings as a pool file. The file is written to a temporary file first and
+     * then renamed, such that a concurrent or interrupted write never leaves a partial pool.
+     *
+     * @param file The pool file.
+     * @param stamp The stamp identifying the source of the strings.
+     * @param strings The strings of the pool.
+     * @throws IOException If the file can't be written.
+     */
+    public static void write(File file, long stamp, Collection<String> strings) throws IOException {
+
+        List<String> sorted = new ArrayList<>(strings);
+        // the sort is stable, hence strings of the same length keep their order
+        Collections.sort(sorted, new Comparator<String>() {
+            @Override
+            public int compare(String first, String second) {
+                return Integer.compare(first.length(), second.length());
+            }
+        });
+
+        int count = sorted.size();
+        int maxLength = count > 0 ? sorted.get(count - 1).length() : 0;
+
+        byte[][] encoded = new byte[count][];
+        int[] lengthTable = new int[maxLength + 2];
+        int length = 0;
+
+        for (int i = 0; i < count; i++) {
+            encoded[i] = sorted.get(i).getBytes(UTF_8);
+            while (length <= sorted.get(i).length()) {
+                lengthTable[length++] = i;
+            }
+        }
+
+        while (length < lengthTable.length) {
+            lengthTable[length++] = count;
+        }
+
+        File temporaryFile = new File(file.getPath() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+
+            out.writeInt(MAGIC);
+            out.writeLong(stamp);
+            out.writeInt(count);
+            out.writeInt(maxLength);
+
+            for (int index : lengthTable) {
+                out.writeInt(index);
+            }
+
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        }
+
+        if (!temporaryFile.renameTo(file)) {
+            temporaryFile.delete();
+            throw new IOException("Couldn't write string pool " + file + "!");
+        }
+    }
+
+    /**
+     * Decodes the string at the given index.
+     *
+     * @param index The index of the string.
+     * @return Returns the string at the given index.
+     */
+    @Override
+    public String get(int index) {
+
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+
+        int start = blob + buffer.getInt(offsetTable + 4 * index);
+        int end = blob + buffer.getInt(offsetTable + 4 * (index + 1));
+
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of strings that are shorter than the given length. These are the strings
+     * at the indices {@code 0} to {@code countShorterThan(length) - 1}.
+     *
+     * @param length The exclusive upper bound on the length.
+     * @return Returns the number of strings shorter than the given length.
+     */
+    public int countShorterThan(int length) {
+        if (length <= 0) {
+            return 0;
+        }
+        return buffer.getInt(lengthTable + 4 * Math.min(length, maxLength + 1));
+    }
+}
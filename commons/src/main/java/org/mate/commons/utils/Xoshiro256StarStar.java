@@ -0,0 +1,244 @@
+package org.mate.commons.utils;
+
+import java.util.Random;
+
+/**
+ * The xoshiro256** generator by David Blackman and Sebastiano Vigna, see
+ * http://prng.di.unimi.it/xoshiro256starstar.c.
+ * <p>
+ * In contrast to {@link Random} and {@link MersenneTwister}, no method of this generator is
+ * synchronized or relies on atomic updates. Thus, an instance must not be shared between threads;
+ * instead each thread (or island) should get its own stream, either via
+ * {@link #forStream(long, int)} or {@link #split()}. Both derive the new stream deterministically,
+ * such that a run remains reproducible from its seed.
+ * <p>
+ * The generator is a drop-in replacement for {@link Random}, e.g. it can be registered with
+ * {@link Randomness#setRnd(Random)}, but produces a different sequence for the same seed.
+ */
+public class Xoshiro256StarStar extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The jump polynomial advancing the state by 2^128 steps.
+     */
+    private static final long[] JUMP = {
+            0x180ec6d33cfd0abaL, 0xd5a61266f0c9392cL, 0xa9582618e03fc9aaL, 0x39abdc4529b1661cL
+    };
+
+    /*
+     * The state of the generator, initialised by setSeed(), which is called from the constructor
+     * of Random. Hence, the fields must not have an initializer.
+     */
+    private long s0;
+    private long s1;
+    private long s2;
+    private long s3;
+
+    /**
+     * The second value computed by the last call of {@link #nextGaussian()}.
+     */
+    private double nextNextGaussian;
+    private boolean haveNextNextGaussian;
+
+    /**
+     * Creates a new generator.
+     *
+     * @param seed The seed, which is expanded to the 256 bit state via {@link SplitMix64}.
+     */
+    public Xoshiro256StarStar(long seed) {
+        super(seed);
+    }
+
+    private Xoshiro256StarStar(long s0, long s1, long s2, long s3) {
+        super(0);
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    /**
+     * Creates the generator for the given stream of a run. The streams are non-overlapping
+     * subsequences of the sequence produced for the run seed, each 2^128 values apart.
+     *
+     * @param seed The seed of the run.
+     * @param streamId The (non-negative) id of the stream, e.g. the index of the thread or island.
+     * @return Returns the generator of the given stream.
+     */
+    public static Xoshiro256StarStar forStream(long seed, int streamId) {
+
+        if (streamId < 0) {
+            throw new IllegalArgumentException("The stream id must be non-negative!");
+        }
+
+        Xoshiro256StarStar generator = new Xoshiro256StarStar(seed);
+        for (int i = 0; i < streamId; i++) {
+            generator.jump();
+        }
+        return generator;
+    }
+
+    /**
+     * Derives a new, independent generator from the current state of this generator. The
+     * derived generator only depends on the state of this generator, which is advanced.
+     *
+     * @return Returns the derived generator.
+     */
+    public Xoshiro256StarStar split() {
+        return new Xoshiro256StarStar(nextLong());
+    }
+
+    /**
+     * Advances the state by 2^128 steps, which is equivalent to that many calls of
+     * {@link #nextLong()}.
+     */
+    public void jump() {
+
+        long t0 = 0;
+        long t1 = 0;
+        long t2 = 0;
+        long t3 = 0;
+
+        for (long polynomial : JUMP) {
+            for (int bit = 0; bit < 64; bit++) {
+                if ((polynomial & (1L << bit)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+
+    /**
+     * Returns a copy of this generator that produces the same sequence from now on.
+     *
+     * @return Returns the copy.
+     */
+    public Xoshiro256StarStar copy() {
+        return new Xoshiro256StarStar(s0, s1, s2, s3);
+    }
+
+    /**
+     * Re-initialises the state from the given seed.
+     *
+     * @param seed The new seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+
+        SplitMix64 seeder = new SplitMix64(seed);
+        s0 = seeder.nextLong();
+        s1 = seeder.nextLong();
+        s2 = seeder.nextLong();
+        s3 = seeder.nextLong();
+
+        haveNextNextGaussian = false;
+    }
+
+    @Override
+    public long nextLong() {
+
+        final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+        final long t = s1 << 17;
+
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    @Override
+    protected int next(int bits) {
+        // the upper bits are of the best quality
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    @Override
+    public int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a uniformly distributed value in [0, bound) using Lemire's multiply and shift
+     * method, which avoids the division of {@link Random#nextInt(int)} in most cases.
+     *
+     * @param bound The (positive) upper bound.
+     * @return Returns a value between 0 (inclusive) and the bound (exclusive).
+     */
+    @Override
+    public int nextInt(int bound) {
+
+        if (bound <= 0) {
+            throw new IllegalArgumentException("The bound must be positive!");
+        }
+
+        long product = (nextLong() >>> 32) * bound;
+        long low = product & 0xFFFFFFFFL;
+
+        if (low < bound) {
+            // reject the values that would introduce a bias
+            long threshold = (0x100000000L - bound) % bound;
+            while (low < threshold) {
+                product = (nextLong() >>> 32) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+
+        return (int) (product >>> 32);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    @Override
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    @Override
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * The polar method of {@link Random#nextGaussian()} without the synchronization.
+     */
+    @Override
+    public double nextGaussian() {
+
+        if (haveNextNextGaussian) {
+            haveNextNextGaussian = false;
+            return nextNextGaussian;
+        }
+
+        double v1;
+        double v2;
+        double s;
+
+        do {
+            v1 = 2 * nextDouble() - 1;
+            v2 = 2 * nextDouble() - 1;
+            s = v1 * v1 + v2 * v2;
+        } while (s >= 1 || s == 0);
+
+        double multiplier = StrictMath.sqrt(-2 * StrictMath.log(s) / s);
+        nextNextGaussian = v2 * multiplier;
+        haveNextNextGaussian = true;
+        return v1 * multiplier;
+    }
+}
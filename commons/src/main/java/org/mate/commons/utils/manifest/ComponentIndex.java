@@ -0,0 +1,123 @@
+package org.mate.commons.utils.manifest;
+
+import org.mate.commons.utils.manifest.element.ComponentDescription;
+import org.mate.commons.utils.manifest.element.ComponentType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable index over a list of components. The index is built once, such that looking up
+ * the components of a certain type or a component by its name doesn't require to iterate over
+ * all components.
+ */
+public final class ComponentIndex {
+
+    /**
+     * The indexed components in their original order.
+     */
+    private final List<ComponentDescription> components;
+
+    /**
+     * Maps a component type to the components of that type.
+     */
+    private final Map<ComponentType, List<ComponentDescription>> componentsByType;
+
+    /**
+     * Maps the fully-qualified name to the component.
+     */
+    private final Map<String, ComponentDescription> componentsByName;
+
+    /**
+     * Indexes the given components.
+     *
+     * @param components The components to be indexed.
+     */
+    public ComponentIndex(List<ComponentDescription> components) {
+
+        this.components = Collections.unmodifiableList(new ArrayList<>(components));
+
+        Map<ComponentType, List<ComponentDescription>> byType = new EnumMap<>(ComponentType.class);
+        Map<String, ComponentDescription> byName = new HashMap<>();
+
+        for (ComponentDescription component : components) {
+
+            append(byType, component.getType(), component);
+
+            // the first declaration wins, see ComponentDescription#getComponentByName()
+            String name = component.getFullyQualifiedName();
+            if (!byName.containsKey(name)) {
+                byName.put(name, component);
+            }
+        }
+
+        componentsByType = freeze(byType);
+        componentsByName = Collections.unmodifiableMap(byName);
+    }
+
+    private static <K, V> void append(Map<K, List<V>> index, K key, V value) {
+        List<V> values = index.get(key);
+        if (values == null) {
+            values = new ArrayList<>();
+            index.put(key, values);
+        }
+        values.add(value);
+    }
+
+    private static <K, V> Map<K, List<V>> freeze(Map<K, List<V>> index) {
+        for (Map.Entry<K, List<V>> entry : index.entrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static <K, V> List<V> lookup(Map<K, List<V>> index, K key) {
+        List<V> values = index.get(key);
+        return values != null ? values : Collections.<V>emptyList();
+    }
+
+    /**
+     * Returns all indexed components.
+     *
+     * @return Returns the indexed components in their original order.
+     */
+    public List<ComponentDescription> getComponents() {
+        return components;
+    }
+
+    /**
+     * Returns the components of the given type.
+     *
+     * @param componentType The component type, e.g. an activity.
+     * @return Returns the components of the given type, possibly an empty list.
+     */
+    public List<ComponentDescription> getComponents(ComponentType componentType) {
+        return lookup(componentsByType, componentType);
+    }
+
+    /**
+     * Checks whether a component of the given type is indexed.
+     *
+     * @param componentType The component type, e.g. an activity.
+     * @return Returns {@code true} if there is a component of the given type, otherwise
+     *         {@code false} is returned.
+     */
+    public boolean hasComponent(ComponentType componentType) {
+        return componentsByType.containsKey(componentType);
+    }
+
+    /**
+     * Looks up a component by its fully-qualified name.
+     *
+     * @param name The fully-qualified name of the component.
+     * @return Returns the component matching the given name or {@code null} if no such component
+     *         is indexed.
+     */
+    public ComponentDescription getComponent(String name) {
+        return componentsByName.get(name);
+    }
+}
@@ -1,6 +1,7 @@
 package org.mate.commons.utils.manifest;
 
 import org.mate.commons.utils.manifest.element.ComponentDescription;
+import org.mate.commons.utils.manifest.element.ComponentType;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +28,16 @@ public final class Manifest {
      */
     private final String mainActivity;
 
+    /**
+     * Indexes the components by type and name.
+     */
+    private final ComponentIndex index;
+
+    /**
+     * Indexes the enabled and exported activities.
+     */
+    private final ComponentIndex exportedActivities;
+
     // further elements: https://developer.android.com/guide/topics/manifest/manifest-intro
 
     /**
@@ -38,6 +49,15 @@ public final class Manifest {
         this.packageName = packageName;
         this.components = components;
         this.mainActivity = mainActivity;
+        index = new ComponentIndex(components);
+
+        List<ComponentDescription> exported = new ArrayList<>();
+        for (ComponentDescription activity : index.getComponents(ComponentType.ACTIVITY)) {
+            if (activity.isExported() && activity.isEnabled()) {
+                exported.add(activity);
+            }
+        }
+        exportedActivities = new ComponentIndex(exported);
     }
 
     /**
@@ -55,15 +75,7 @@ public final class Manifest {
      * @return Returns the activities declared in the manifest.
      */
     public List<ComponentDescription> getActivities() {
-        List<ComponentDescription> activities = new ArrayList<>();
-
-        for (ComponentDescription component : components) {
-            if (component.isActivity()) {
-                activities.add(component);
-            }
-        }
-
-        return activities;
+        return index.getComponents(ComponentType.ACTIVITY);
     }
 
     /**
@@ -72,15 +84,17 @@ public final class Manifest {
      * @return Returns the list of exported activities of the manifest.
      */
     public List<ComponentDescription> getExportedActivities() {
-        List<ComponentDescription> exportedActivities = new ArrayList<>();
-
-        for (ComponentDescription component : components) {
-            if (component.isActivity() && component.isExported() && component.isEnabled()) {
-                exportedActivities.add(component);
-            }
-        }
+        return exportedActivities.getComponents();
+    }
 
-        return exportedActivities;
+    /**
+     * Looks up an enabled and exported activity by its fully-qualified name.
+     *
+     * @param name The fully-qualified name of the activity.
+     * @return Returns the exported activity or {@code null} if no such activity is exported.
+     */
+    public ComponentDescription getExportedActivity(String name) {
+        return exportedActivities.getComponent(name);
     }
 
     /**
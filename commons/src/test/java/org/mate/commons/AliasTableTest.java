@@ -0,0 +1,61 @@
+package org.mate.commons;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.mate.commons.utils.AliasTable;
+import org.mate.commons.utils.Xoshiro256StarStar;
+
+import java.util.Random;
+
+public class AliasTableTest {
+
+    private static final int SAMPLES = 200000;
+
+    private static int[] sample(AliasTable table, int samples) {
+        Random random = new Xoshiro256StarStar(7);
+        int[] counts = new int[table.size()];
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random)]++;
+        }
+        return counts;
+    }
+
+    @Test
+    public void samplesProportionallyToWeights() {
+        double[] weights = {1, 2, 3, 4, 0, 10};
+        int[] counts = sample(new AliasTable(weights), SAMPLES);
+
+        for (int i = 0; i < weights.length; i++) {
+            double expected = weights[i] / 20.0;
+            assertEquals(expected, counts[i] / (double) SAMPLES, 0.01);
+        }
+    }
+
+    @Test
+    public void zeroWeightsAreNeverSampled() {
+        int[] counts = sample(new AliasTable(new double[]{0, 0, 5, 0}), SAMPLES);
+        assertEquals(SAMPLES, counts[2]);
+    }
+
+    @Test
+    public void singleWeight() {
+        int[] counts = sample(new AliasTable(new double[]{0.3}), 100);
+        assertEquals(100, counts[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void allZeroWeightsAreRejected() {
+        new AliasTable(new double[]{0, 0});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeightsAreRejected() {
+        new AliasTable(new double[]{1, -1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyWeightsAreRejected() {
+        new AliasTable(new double[0]);
+    }
+}
@@ -0,0 +1,74 @@
+package org.mate.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mate.commons.utils.manifest.ComponentIndex;
+import org.mate.commons.utils.manifest.Manifest;
+import org.mate.commons.utils.manifest.element.ComponentDescription;
+import org.mate.commons.utils.manifest.element.ComponentType;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ComponentIndexTest {
+
+    private static final String PACKAGE = "com.example";
+
+    private static ComponentDescription component(String name, ComponentType type,
+                                                  boolean exported) {
+        ComponentDescription component = new ComponentDescription(PACKAGE, name, type);
+        component.setExported(exported);
+        component.setEnabled(true);
+        return component;
+    }
+
+    @Test
+    public void indexesComponentsByTypeAndName() {
+        ComponentDescription main = component(".MainActivity", ComponentType.ACTIVITY, true);
+        ComponentDescription settings = component(".Settings", ComponentType.ACTIVITY, false);
+        ComponentDescription service = component(".SyncService", ComponentType.SERVICE, true);
+
+        ComponentIndex index = new ComponentIndex(Arrays.asList(main, service, settings));
+
+        assertEquals(Arrays.asList(main, settings), index.getComponents(ComponentType.ACTIVITY));
+        assertEquals(Collections.singletonList(service), index.getComponents(ComponentType.SERVICE));
+        assertTrue(index.getComponents(ComponentType.BROADCAST_RECEIVER).isEmpty());
+        assertTrue(index.hasComponent(ComponentType.SERVICE));
+        assertFalse(index.hasComponent(ComponentType.CONTENT_PROVIDER));
+
+        assertSame(main, index.getComponent("com.example.MainActivity"));
+        assertNull(index.getComponent(".MainActivity"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void indexIsImmutable() {
+        ComponentIndex index = new ComponentIndex(Collections.singletonList(
+                component(".MainActivity", ComponentType.ACTIVITY, true)));
+        index.getComponents(ComponentType.ACTIVITY).clear();
+    }
+
+    @Test
+    public void manifestLooksUpExportedActivities() {
+        ComponentDescription main = component(".MainActivity", ComponentType.ACTIVITY, true);
+        ComponentDescription hidden = component(".Hidden", ComponentType.ACTIVITY, false);
+        ComponentDescription disabled = component(".Disabled", ComponentType.ACTIVITY, true);
+        disabled.setEnabled(false);
+        ComponentDescription receiver
+                = component(".Receiver", ComponentType.BROADCAST_RECEIVER, true);
+
+        Manifest manifest = new Manifest(PACKAGE, Arrays.asList(main, hidden, disabled, receiver),
+                "com.example.MainActivity");
+
+        assertEquals(Arrays.asList(main, hidden, disabled), manifest.getActivities());
+        assertEquals(Collections.singletonList(main), manifest.getExportedActivities());
+        assertSame(main, manifest.getExportedActivity("com.example.MainActivity"));
+        assertNull(manifest.getExportedActivity("com.example.Hidden"));
+        assertNull(manifest.getExportedActivity("com.example.Disabled"));
+        assertNull(manifest.getExportedActivity("com.example.Receiver"));
+    }
+}
@@ -0,0 +1,83 @@
+package org.mate.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.test.espresso.Root;
+
+import org.junit.Test;
+import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTree;
+import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTreeNode;
+import org.mate.commons.interaction.action.espresso.view_tree.PathInTree;
+import org.mate.commons.interaction.action.espresso.view_tree.PathStepType;
+import org.mate.commons.mock.MockTextView;
+import org.mate.commons.mock.MockViewGroup;
+import org.mate.commons.mock.MockWindowRoot;
+
+import java.util.List;
+
+public class EspressoViewTreeTest {
+
+    private final TextView tv1 = new MockTextView().withId(1).getView();
+    private final TextView tv2 = new MockTextView().withId(2).getView();
+    private final TextView tv3 = new MockTextView().withId(3).getView();
+    private final ViewGroup vg1 = new MockViewGroup().withId(11).withChild(tv1).withChild(tv2).getView();
+    private final ViewGroup vg2 = new MockViewGroup().withId(12).withChild(tv3).getView();
+    private final ViewGroup vg3 = new MockViewGroup().withId(13).withChild(vg1).withChild(vg2).getView();
+
+    private EspressoViewTree buildTree() {
+        Root root = new MockWindowRoot().withDecorView(vg3).getRoot();
+        return new EspressoViewTree(root, "com.activity.name");
+    }
+
+    @Test
+    public void nodesAreIndexedInPreOrder() {
+        EspressoViewTree viewTree = buildTree();
+
+        assertEquals(6, viewTree.getAllNodes().size());
+        assertSame(viewTree.getRootNode(), viewTree.getAllNodes().get(0));
+        assertEquals(2, viewTree.getPreOrderIndex(viewTree.findNodeForView(tv1)));
+        assertEquals(5, viewTree.getPreOrderIndex(viewTree.findNodeForView(tv3)));
+        assertNull(viewTree.findNodeForView(new MockTextView().getView()));
+    }
+
+    @Test
+    public void nodesByDistance() {
+        EspressoViewTree viewTree = buildTree();
+
+        List<EspressoViewTreeNode> nodes =
+                viewTree.getNodesByDistanceFrom(viewTree.findNodeForView(tv2));
+
+        assertEquals(6, nodes.size());
+        assertSame(viewTree.findNodeForView(tv2), nodes.get(0));
+        assertSame(viewTree.findNodeForView(vg1), nodes.get(1));
+        assertSame(viewTree.findNodeForView(vg3), nodes.get(2));
+        assertSame(viewTree.findNodeForView(tv1), nodes.get(3));
+        assertSame(viewTree.findNodeForView(vg2), nodes.get(4));
+        assertSame(viewTree.findNodeForView(tv3), nodes.get(5));
+    }
+
+    @Test
+    public void lowestCommonAncestorAndPaths() {
+        EspressoViewTree viewTree = buildTree();
+        EspressoViewTreeNode leaf1 = viewTree.findNodeForView(tv1);
+        EspressoViewTreeNode leaf2 = viewTree.findNodeForView(tv2);
+        EspressoViewTreeNode leaf3 = viewTree.findNodeForView(tv3);
+
+        assertSame(viewTree.findNodeForView(vg1), viewTree.getLowestCommonAncestor(leaf1, leaf2));
+        assertSame(viewTree.findNodeForView(vg3), viewTree.getLowestCommonAncestor(leaf1, leaf3));
+        assertSame(leaf1, viewTree.getLowestCommonAncestor(leaf1, leaf1));
+
+        PathInTree path = viewTree.getPathBetween(leaf2, leaf3);
+        assertEquals(4, path.getSteps().size());
+        assertEquals(PathStepType.MOVE_TO_PARENT, path.getSteps().get(0).getType());
+        assertEquals(PathStepType.MOVE_TO_PARENT, path.getSteps().get(1).getType());
+        assertEquals(1, path.getSteps().get(2).getDirectionIndex());
+        assertEquals(0, path.getSteps().get(3).getDirectionIndex());
+        assertSame(leaf3, path.walkPathFromNodeUsingDirectionIndexes(leaf2));
+    }
+}
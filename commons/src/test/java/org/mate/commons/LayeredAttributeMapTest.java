@@ -0,0 +1,81 @@
+package org.mate.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mate.commons.interaction.action.espresso.layout_inspector.property.LayeredAttributeMap;
+import org.mate.commons.interaction.action.espresso.layout_inspector.property.LazyAttributeMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LayeredAttributeMapTest {
+
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private LazyAttributeMap lazyMap() {
+        Map<String, Integer> positions = new HashMap<>();
+        positions.put("alpha", 0);
+        positions.put("text", 1);
+
+        return new LazyAttributeMap(new String[]{"alpha", "text"}, positions, () -> {
+            reads.incrementAndGet();
+            return new String[]{"1.0", "lazy"};
+        });
+    }
+
+    private LayeredAttributeMap layeredMap() {
+        Map<String, String> basic = new HashMap<>();
+        basic.put("text", "basic");
+        basic.put("id", "42");
+
+        Map<String, String> internal = new HashMap<>();
+        internal.put("id", "internal");
+        internal.put("focused", "false");
+
+        return new LayeredAttributeMap(basic, internal, lazyMap());
+    }
+
+    @Test
+    public void upperLayersTakePrecedence() {
+        LayeredAttributeMap attributes = layeredMap();
+
+        assertEquals("basic", attributes.get("text"));
+        assertEquals("42", attributes.get("id"));
+        assertEquals("false", attributes.get("focused"));
+        assertEquals("1.0", attributes.get("alpha"));
+        assertNull(attributes.get("missing"));
+    }
+
+    @Test
+    public void doesNotReadLazyLayerUnlessNeeded() {
+        LayeredAttributeMap attributes = layeredMap();
+
+        assertEquals("basic", attributes.get("text"));
+        assertTrue(attributes.containsKey("alpha"));
+        assertFalse(attributes.containsKey("missing"));
+        assertEquals(4, attributes.size());
+        assertEquals(0, reads.get());
+
+        attributes.get("alpha");
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void iteratesEachAttributeOnce() {
+        LayeredAttributeMap attributes = layeredMap();
+
+        Map<String, String> expected = new HashMap<>();
+        expected.put("text", "basic");
+        expected.put("id", "42");
+        expected.put("focused", "false");
+        expected.put("alpha", "1.0");
+
+        assertEquals(expected, new HashMap<>(attributes));
+        assertEquals(expected.size(), attributes.entrySet().size());
+    }
+}
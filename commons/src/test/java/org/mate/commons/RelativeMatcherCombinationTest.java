@@ -1,6 +1,8 @@
 package org.mate.commons;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mate.commons.interaction.action.espresso.view_matchers.EspressoViewMatcherType.WITH_CLASS_NAME;
 import static org.mate.commons.interaction.action.espresso.view_matchers.EspressoViewMatcherType.WITH_CONTENT_DESCRIPTION;
@@ -16,12 +18,16 @@ import androidx.test.espresso.Root;
 import org.junit.Test;
 import org.mate.commons.interaction.action.espresso.matchers_combination.RelativeMatcherCombination;
 import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTree;
+import org.mate.commons.interaction.action.espresso.view_tree.EspressoViewTreeNode;
 import org.mate.commons.interaction.action.espresso.view_tree.PathStepType;
 import org.mate.commons.mock.MockEditText;
 import org.mate.commons.mock.MockTextView;
 import org.mate.commons.mock.MockViewGroup;
 import org.mate.commons.mock.MockWindowRoot;
 
+import java.util.List;
+import java.util.Map;
+
 public class RelativeMatcherCombinationTest {
     @Test
     public void idMatcher() {
@@ -180,4 +186,43 @@ public class RelativeMatcherCombinationTest {
                         m.getPath().getSteps().get(0).getType() == PathStepType.MOVE_TO_PARENT &&
                         m.getPath().getSteps().get(1).getType() == PathStepType.MOVE_TO_CHILD));
     }
+
+    /**
+     * Building the combinations of all views at once with a shared index must produce the same
+     * matchers as building them view by view. The rows of the list only differ in the text of
+     * one of their children.
+     */
+    @Test
+    public void sharedIndexMatchesPerViewCombinations() {
+        MockViewGroup list = new MockViewGroup().withId(10);
+
+        for (int i = 0; i < 40; i++) {
+            TextView title = new MockTextView().withId(32).withText("Item " + i).getView();
+            TextView label = new MockTextView().withId(42).withText("Label").getView();
+            ViewGroup row = new MockViewGroup().withId(20).withChild(title).withChild(label).getView();
+            list.withChild(row);
+        }
+
+        Root root = new MockWindowRoot().withDecorView(list.getView()).getRoot();
+        EspressoViewTree viewTree = new EspressoViewTree(root, "com.activity.name");
+        List<EspressoViewTreeNode> nodes = viewTree.getAllNodes();
+
+        Map<EspressoViewTreeNode, RelativeMatcherCombination> combinations =
+                RelativeMatcherCombination.buildUnequivocalCombinations(nodes, viewTree);
+
+        for (EspressoViewTreeNode node : nodes) {
+            RelativeMatcherCombination expected =
+                    RelativeMatcherCombination.buildUnequivocalCombination(node, viewTree);
+            RelativeMatcherCombination actual = combinations.get(node);
+
+            if (expected == null) {
+                assertNull(actual);
+                continue;
+            }
+
+            assertNotNull(actual);
+            assertEquals(expected.getEspressoViewMatcher().getCode(),
+                    actual.getEspressoViewMatcher().getCode());
+        }
+    }
 }
\ No newline at end of file
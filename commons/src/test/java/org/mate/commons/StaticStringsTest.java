@@ -0,0 +1,104 @@
+package org.mate.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mate.commons.input_generation.StaticStrings;
+import org.mate.commons.input_generation.format_types.InputFieldType;
+import org.mate.commons.utils.Randomness;
+import org.mate.commons.utils.Xoshiro256StarStar;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public class StaticStringsTest {
+
+    /**
+     * The singleton field of {@link StaticStrings}.
+     */
+    private Field singleton;
+
+    /**
+     * The singleton and the random number generator before a test, restored afterwards.
+     */
+    private Object previousStaticStrings;
+    private Random previousRnd;
+
+    private static Set<String> setOf(String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+    @Before
+    public void setUp() throws ReflectiveOperationException {
+        singleton = StaticStrings.class.getDeclaredField("staticStrings");
+        singleton.setAccessible(true);
+        previousStaticStrings = singleton.get(null);
+        previousRnd = Randomness.getRnd();
+
+        // each test starts with an empty instance
+        singleton.set(null, null);
+    }
+
+    @After
+    public void tearDown() throws ReflectiveOperationException {
+        singleton.set(null, previousStaticStrings);
+        Randomness.setRnd(previousRnd);
+    }
+
+    @Test
+    public void suffixMatchTakesPrecedence() {
+        StaticStrings staticStrings = StaticStrings.getInstance();
+        staticStrings.add("suffix/Main", setOf("exact"));
+        staticStrings.add("com/example.suffix/Main", setOf("qualified"));
+
+        Randomness.setRnd(new Xoshiro256StarStar(7));
+        for (int i = 0; i < 10; i++) {
+            assertEquals("qualified",
+                    staticStrings.getRandomStringFor(Collections.singletonList("suffix.Main")));
+        }
+    }
+
+    @Test
+    public void exactMatchWithoutSuffixMatch() {
+        StaticStrings staticStrings = StaticStrings.getInstance();
+        staticStrings.add("exact/Activity", setOf("a", "b"));
+
+        Randomness.setRnd(new Xoshiro256StarStar(7));
+        for (int i = 0; i < 10; i++) {
+            String value = staticStrings.getRandomStringFor(
+                    Collections.singletonList("exact.Activity"));
+            assertTrue(setOf("a", "b").contains(value));
+        }
+    }
+
+    @Test
+    public void unknownClassYieldsNull() {
+        StaticStrings staticStrings = StaticStrings.getInstance();
+        staticStrings.add("known/Activity", setOf("a"));
+
+        assertNull(staticStrings.getRandomStringFor(Collections.singletonList("unknown.Activity")));
+        assertNull(staticStrings.getRandomStringFor(InputFieldType.TEXT_VARIATION_EMAIL,
+                Collections.singletonList("known.Activity")));
+    }
+
+    @Test
+    public void stringsAddedAfterLookupAreVisible() {
+        StaticStrings staticStrings = StaticStrings.getInstance();
+        staticStrings.add("late/Activity", setOf("first"));
+        assertEquals("first",
+                staticStrings.getRandomStringFor(Collections.singletonList("late.Activity")));
+
+        staticStrings.add("late/Activity", setOf("john.doe@example.com"));
+        assertEquals("john.doe@example.com", staticStrings.getRandomStringFor(
+                InputFieldType.TEXT_VARIATION_EMAIL, Collections.singletonList("late.Activity")));
+        assertTrue(staticStrings.getRandomStringFor(InputFieldType.TEXT_VARIATION_EMAIL) != null);
+    }
+}
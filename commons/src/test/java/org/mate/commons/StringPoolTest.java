@@ -0,0 +1,96 @@
+package org.mate.commons;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mate.commons.utils.StringPool;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class StringPoolTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void roundTripSortsByLength() throws IOException {
+        File file = folder.newFile("words.pool");
+        StringPool.write(file, 42, Arrays.asList("banana", "a", "kiwi", "\u00e4pfel", "", "fig", "ab"));
+
+        StringPool pool = StringPool.open(file, 42);
+        assertNotNull(pool);
+        assertEquals(Arrays.asList("", "a", "ab", "fig", "kiwi", "\u00e4pfel", "banana"), pool);
+    }
+
+    @Test
+    public void countShorterThan() throws IOException {
+        File file = folder.newFile("words.pool");
+        StringPool.write(file, 0, Arrays.asList("aaa", "a", "aaaaa", "aa", "bb"));
+
+        StringPool pool = StringPool.open(file, 0);
+        assertNotNull(pool);
+        assertEquals(0, pool.countShorterThan(0));
+        assertEquals(0, pool.countShorterThan(1));
+        assertEquals(1, pool.countShorterThan(2));
+        assertEquals(3, pool.countShorterThan(3));
+        assertEquals(4, pool.countShorterThan(4));
+        assertEquals(4, pool.countShorterThan(5));
+        assertEquals(5, pool.countShorterThan(6));
+        assertEquals(5, pool.countShorterThan(100));
+    }
+
+    @Test
+    public void emptyPool() throws IOException {
+        File file = folder.newFile("words.pool");
+        StringPool.write(file, 0, Collections.<String>emptyList());
+
+        StringPool pool = StringPool.open(file, 0);
+        assertNotNull(pool);
+        assertEquals(0, pool.size());
+        assertEquals(0, pool.countShorterThan(10));
+    }
+
+    @Test
+    public void largePool() throws IOException {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            words.add(Integer.toString(i));
+        }
+
+        File file = folder.newFile("words.pool");
+        StringPool.write(file, 0, words);
+
+        StringPool pool = StringPool.open(file, 0);
+        assertNotNull(pool);
+        assertEquals(words, pool);
+        assertEquals(10, pool.countShorterThan(2));
+    }
+
+    @Test
+    public void outdatedStampOrMissingFile() throws IOException {
+        File file = folder.newFile("words.pool");
+        StringPool.write(file, 1, Collections.singletonList("word"));
+
+        assertNull(StringPool.open(file, 2));
+        assertNull(StringPool.open(new File(folder.getRoot(), "missing.pool"), 1));
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidFileIsRejected() throws IOException {
+        File file = folder.newFile("words.pool");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("no pool at all, just some text".getBytes("UTF-8"));
+        }
+        StringPool.open(file, 0);
+    }
+}
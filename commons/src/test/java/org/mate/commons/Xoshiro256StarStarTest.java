@@ -0,0 +1,203 @@
+package org.mate.commons;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mate.commons.utils.Randomness;
+import org.mate.commons.utils.SplitMix64;
+import org.mate.commons.utils.Xoshiro256StarStar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class Xoshiro256StarStarTest {
+
+    private static final int VALUES = 1000;
+
+    @After
+    public void tearDown() {
+        Randomness.unbindThreadRnd();
+    }
+
+    private static long[] take(Random random, int count) {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextLong();
+        }
+        return values;
+    }
+
+    @Test
+    public void splitMixMatchesReferenceImplementation() {
+        // the output of splitmix64.c for the seed 1234567
+        SplitMix64 splitMix = new SplitMix64(1234567);
+        assertEquals(6457827717110365317L, splitMix.nextLong());
+        assertEquals(3203168211198807973L, splitMix.nextLong());
+        assertEquals(-8629252141511181193L, splitMix.nextLong());
+        assertEquals(4593380528125082431L, splitMix.nextLong());
+        assertEquals(-2037821214251327795L, splitMix.nextLong());
+    }
+
+    @Test
+    public void xoshiroMatchesReferenceImplementation() {
+        // the output of xoshiro256starstar.c with the state seeded by splitmix64.c from 42
+        Xoshiro256StarStar random = new Xoshiro256StarStar(42);
+        assertEquals(1546998764402558742L, random.nextLong());
+        assertEquals(6990951692964543102L, random.nextLong());
+        assertEquals(-5902157311460992607L, random.nextLong());
+
+        random.setSeed(42);
+        random.jump();
+        assertEquals(5766981335298035530L, random.nextLong());
+        assertEquals(-5032668395946387709L, random.nextLong());
+    }
+
+    @Test
+    public void sameSeedProducesSameSequence() {
+        assertArrayEquals(take(new Xoshiro256StarStar(7), VALUES),
+                take(new Xoshiro256StarStar(7), VALUES));
+        assertNotEquals(take(new Xoshiro256StarStar(7), 1)[0], take(new Xoshiro256StarStar(8), 1)[0]);
+    }
+
+    @Test
+    public void setSeedRestartsSequence() {
+        Xoshiro256StarStar random = new Xoshiro256StarStar(7);
+        long[] first = take(random, VALUES);
+        random.setSeed(7);
+        assertArrayEquals(first, take(random, VALUES));
+    }
+
+    @Test
+    public void copyContinuesSequence() {
+        Xoshiro256StarStar random = new Xoshiro256StarStar(7);
+        take(random, 10);
+        Xoshiro256StarStar copy = random.copy();
+        assertArrayEquals(take(random, VALUES), take(copy, VALUES));
+    }
+
+    @Test
+    public void streamsAreDeterministicAndDistinct() {
+        long[] stream0 = take(Xoshiro256StarStar.forStream(7, 0), VALUES);
+        long[] stream1 = take(Xoshiro256StarStar.forStream(7, 1), VALUES);
+        long[] stream2 = take(Xoshiro256StarStar.forStream(7, 2), VALUES);
+
+        // stream 0 is the sequence of the run seed itself
+        assertArrayEquals(take(new Xoshiro256StarStar(7), VALUES), stream0);
+
+        // the order of creation doesn't matter
+        assertArrayEquals(stream2, take(Xoshiro256StarStar.forStream(7, 2), VALUES));
+        assertArrayEquals(stream1, take(Xoshiro256StarStar.forStream(7, 1), VALUES));
+
+        assertNotEquals(stream0[0], stream1[0]);
+        assertNotEquals(stream1[0], stream2[0]);
+    }
+
+    @Test
+    public void splitIsDeterministic() {
+        Xoshiro256StarStar first = new Xoshiro256StarStar(7);
+        Xoshiro256StarStar second = new Xoshiro256StarStar(7);
+
+        assertArrayEquals(take(first.split(), VALUES), take(second.split(), VALUES));
+        // splitting advances the parent
+        assertArrayEquals(take(first, VALUES), take(second, VALUES));
+    }
+
+    @Test
+    public void boundedValuesAreInRange() {
+        Xoshiro256StarStar random = new Xoshiro256StarStar(7);
+        int[] bounds = {1, 2, 3, 10, 1000, Integer.MAX_VALUE};
+        for (int bound : bounds) {
+            for (int i = 0; i < VALUES; i++) {
+                int value = random.nextInt(bound);
+                assertTrue(value >= 0 && value < bound);
+            }
+        }
+
+        for (int i = 0; i < VALUES; i++) {
+            double value = random.nextDouble();
+            assertTrue(value >= 0 && value < 1);
+            float floatValue = random.nextFloat();
+            assertTrue(floatValue >= 0 && floatValue < 1);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveBoundIsRejected() {
+        new Xoshiro256StarStar(7).nextInt(0);
+    }
+
+    @Test
+    public void boundedValuesAreUniform() {
+        Xoshiro256StarStar random = new Xoshiro256StarStar(7);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100000; i++) {
+            counts[random.nextInt(counts.length)]++;
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10000) < 500);
+        }
+    }
+
+    @Test
+    public void threadBoundStreamsAreReproducible() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<long[]> firstRun = runStreams(executor);
+            List<long[]> secondRun = runStreams(executor);
+
+            for (int stream = 0; stream < firstRun.size(); stream++) {
+                assertArrayEquals(firstRun.get(stream), secondRun.get(stream));
+                assertArrayEquals(take(Xoshiro256StarStar.forStream(7, stream), VALUES),
+                        firstRun.get(stream));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<long[]> runStreams(ExecutorService executor) throws Exception {
+        List<Future<long[]>> futures = new ArrayList<>();
+
+        for (int stream = 0; stream < 4; stream++) {
+            final int streamId = stream;
+            futures.add(executor.submit(() -> {
+                Randomness.bindThreadRnd(Xoshiro256StarStar.forStream(7, streamId));
+                try {
+                    return take(Randomness.getRnd(), VALUES);
+                } finally {
+                    Randomness.unbindThreadRnd();
+                }
+            }));
+        }
+
+        List<long[]> results = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    @Test
+    public void unboundThreadsShareGenerator() {
+        Random shared = new Xoshiro256StarStar(1);
+        Randomness.setRnd(shared);
+        assertSame(shared, Randomness.getRnd());
+
+        Random local = new Xoshiro256StarStar(2);
+        Randomness.bindThreadRnd(local);
+        assertSame(local, Randomness.getRnd());
+
+        Randomness.unbindThreadRnd();
+        assertSame(shared, Randomness.getRnd());
+    }
+}
@@ -0,0 +1,168 @@
+package org.mate.commons.state.espresso;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mate.commons.interaction.action.espresso.interactions.EspressoDataInteraction;
+import org.mate.commons.interaction.action.espresso.interactions.EspressoViewInteraction;
+import org.mate.commons.interaction.action.espresso.interactions.InstrumentationTestInteraction;
+import org.mate.commons.interaction.action.espresso.interactions.UiDeviceInteraction;
+import org.mate.commons.interaction.action.espresso.view_matchers.base.WithIdMatcher;
+import org.mate.commons.interaction.action.espresso.view_matchers.base.WithTextMatcher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lives in the package of {@link InteractionKeys}, since the class is package-private.
+ */
+public class InteractionKeysTest {
+
+    private static ArrayList<InstrumentationTestInteraction> list(
+            InstrumentationTestInteraction... interactions) {
+        return new ArrayList<>(Arrays.asList(interactions));
+    }
+
+    @Test
+    public void interactionsWithSameCodeShareKey() {
+        InstrumentationTestInteraction first = new EspressoViewInteraction(new WithIdMatcher(32));
+        InstrumentationTestInteraction second = new EspressoViewInteraction(new WithIdMatcher(32));
+
+        assertEquals(first.getCode(), second.getCode());
+        assertEquals(first.getKey(), second.getKey());
+    }
+
+    @Test
+    public void keyIsStableAcrossCalls() {
+        InstrumentationTestInteraction interaction =
+                new EspressoViewInteraction(new WithTextMatcher("Hi"));
+
+        assertEquals(interaction.getKey(), interaction.getKey());
+        // FNV-1a of the code, independent of the process computing it
+        assertEquals(fnv1a(interaction.getCode()), interaction.getKey());
+    }
+
+    @Test
+    public void interactionsWithDifferentCodeHaveDifferentKeys() {
+        InstrumentationTestInteraction withId32 = new EspressoViewInteraction(new WithIdMatcher(32));
+        InstrumentationTestInteraction withId42 = new EspressoViewInteraction(new WithIdMatcher(42));
+        InstrumentationTestInteraction withText = new EspressoViewInteraction(new WithTextMatcher("32"));
+        InstrumentationTestInteraction onData = new EspressoDataInteraction(new WithIdMatcher(32));
+        InstrumentationTestInteraction uiDevice = new UiDeviceInteraction(new WithIdMatcher(32));
+
+        InstrumentationTestInteraction[] interactions = {withId32, withId42, withText, onData, uiDevice};
+
+        for (int i = 0; i < interactions.length; i++) {
+            for (int j = i + 1; j < interactions.length; j++) {
+                assertNotEquals(interactions[i].getCode(), interactions[j].getCode());
+                assertNotEquals(interactions[i].getKey(), interactions[j].getKey());
+            }
+        }
+    }
+
+    @Test
+    public void selectsCommonAndMissingInteractions() {
+        InstrumentationTestInteraction clickA = new EspressoViewInteraction(new WithIdMatcher(1));
+        InstrumentationTestInteraction clickB = new EspressoViewInteraction(new WithIdMatcher(2));
+        InstrumentationTestInteraction clickC = new EspressoViewInteraction(new WithIdMatcher(3));
+        InstrumentationTestInteraction dataD = new EspressoDataInteraction(new WithIdMatcher(4));
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> oldScreen = new HashMap<>();
+        oldScreen.put("view1", list(clickA, clickB));
+        oldScreen.put("view2", list(dataD));
+
+        // the new screen contains equal, but not identical, interactions for A and D
+        Map<String, ArrayList<InstrumentationTestInteraction>> newScreen = new HashMap<>();
+        newScreen.put("other1", list(new EspressoViewInteraction(new WithIdMatcher(1)), clickC));
+        newScreen.put("other2", list(new EspressoDataInteraction(new WithIdMatcher(4))));
+
+        InteractionKeys oldKeys = new InteractionKeys(oldScreen);
+        InteractionKeys newKeys = new InteractionKeys(newScreen);
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> disappearing =
+                oldKeys.select(newKeys, false);
+        assertEquals(1, disappearing.size());
+        assertEquals(list(clickB), disappearing.get("view1"));
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> appearing =
+                newKeys.select(oldKeys, false);
+        assertEquals(1, appearing.size());
+        assertEquals(list(clickC), appearing.get("other1"));
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> common =
+                oldKeys.select(newKeys, true);
+        assertEquals(2, common.size());
+        assertEquals(list(clickA), common.get("view1"));
+        assertEquals(list(dataD), common.get("view2"));
+    }
+
+    @Test
+    public void keepsOrderAndDuplicatesWithinViews() {
+        InstrumentationTestInteraction first = new EspressoViewInteraction(new WithIdMatcher(9));
+        InstrumentationTestInteraction second = new EspressoViewInteraction(new WithIdMatcher(1));
+        InstrumentationTestInteraction duplicate = new EspressoViewInteraction(new WithIdMatcher(9));
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> screen = new HashMap<>();
+        screen.put("view", list(first, second, duplicate));
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> empty = new HashMap<>();
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> missing =
+                new InteractionKeys(screen).select(new InteractionKeys(empty), false);
+
+        ArrayList<InstrumentationTestInteraction> interactions = missing.get("view");
+        assertEquals(3, interactions.size());
+        assertSame(first, interactions.get(0));
+        assertSame(second, interactions.get(1));
+        assertSame(duplicate, interactions.get(2));
+
+        assertTrue(new InteractionKeys(screen).select(new InteractionKeys(empty), true).isEmpty());
+    }
+
+    /**
+     * Creates an interaction whose key collides with the keys of all other interactions created
+     * by this method.
+     */
+    private static InstrumentationTestInteraction colliding(int id) {
+        return new EspressoViewInteraction(new WithIdMatcher(id)) {
+            @Override
+            public long getKey() {
+                return 7L;
+            }
+        };
+    }
+
+    @Test
+    public void interactionsWithCollidingKeysAreComparedByCode() {
+        InstrumentationTestInteraction clickA = colliding(1);
+        InstrumentationTestInteraction clickB = colliding(2);
+        InstrumentationTestInteraction clickC = colliding(3);
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> oldScreen = new HashMap<>();
+        oldScreen.put("view", list(clickC, clickA));
+
+        Map<String, ArrayList<InstrumentationTestInteraction>> newScreen = new HashMap<>();
+        newScreen.put("other", list(clickB, colliding(1)));
+
+        InteractionKeys oldKeys = new InteractionKeys(oldScreen);
+        InteractionKeys newKeys = new InteractionKeys(newScreen);
+
+        assertEquals(list(clickC), oldKeys.select(newKeys, false).get("view"));
+        assertEquals(list(clickA), oldKeys.select(newKeys, true).get("view"));
+        assertEquals(list(clickB), newKeys.select(oldKeys, false).get("other"));
+    }
+
+    private static long fnv1a(String code) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < code.length(); i++) {
+            hash ^= code.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,61 @@
+package org.mate.commons.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+public class MATEEventLogTest {
+
+    private static final String EVENT = "event";
+
+    /**
+     * The size of the definition record of {@link #EVENT} and of an event record in bytes.
+     */
+    private static final int DEFINITION_SIZE = 1 + 2 + 2 + EVENT.length();
+    private static final int EVENT_SIZE = 1 + 2 + 8 + 8 + 8;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        MATEEventLog.disable();
+    }
+
+    @Test
+    public void bufferedEventsAreWrittenPeriodically() throws IOException, InterruptedException {
+        File file = temporaryFolder.newFile("events.bin");
+        MATEEventLog.enable(file);
+        short event = MATEEventLog.register(EVENT);
+        MATEEventLog.record(event, 1, 2);
+
+        // the buffer is far from full, only the periodic flush writes the event
+        long deadline = System.currentTimeMillis() + 10 * MATEEventLog.FLUSH_INTERVAL_MILLIS;
+        while (file.length() < DEFINITION_SIZE + EVENT_SIZE
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(MATEEventLog.FLUSH_INTERVAL_MILLIS / 10);
+        }
+
+        assertTrue(MATEEventLog.isEnabled());
+        assertEquals(DEFINITION_SIZE + EVENT_SIZE, file.length());
+    }
+
+    @Test
+    public void bufferedEventsAreWrittenOnDisable() throws IOException {
+        File file = temporaryFolder.newFile("events.bin");
+        MATEEventLog.enable(file);
+        short event = MATEEventLog.register(EVENT);
+        MATEEventLog.record(event, 1, 2);
+        MATEEventLog.record(event, 3, 4);
+        MATEEventLog.disable();
+
+        assertEquals(DEFINITION_SIZE + 2 * EVENT_SIZE, file.length());
+    }
+}
@@ -0,0 +1,42 @@
+package org.mate.commons.utils;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class PackedScreenshotCacheTest {
+
+    private static int[] screenshot(int colour) {
+        return new int[]{1, 1, 4, colour};
+    }
+
+    @Test
+    public void capturingTwiceReplacesTheScreenshot() {
+        PackedScreenshotCache cache = new PackedScreenshotCache(4);
+        int[] first = screenshot(0xFF000000);
+        int[] second = screenshot(0xFFFFFFFF);
+
+        cache.put("S1", first);
+        cache.put("S1", second);
+
+        assertSame(second, cache.get("S1"));
+    }
+
+    @Test
+    public void leastRecentlyUsedScreenshotIsDropped() {
+        PackedScreenshotCache cache = new PackedScreenshotCache(2);
+        int[] first = screenshot(1);
+        int[] third = screenshot(3);
+
+        cache.put("S1", first);
+        cache.put("S2", screenshot(2));
+        // makes S2 the least recently used screenshot
+        cache.get("S1");
+        cache.put("S3", third);
+
+        assertSame(first, cache.get("S1"));
+        assertNull(cache.get("S2"));
+        assertSame(third, cache.get("S3"));
+    }
+}
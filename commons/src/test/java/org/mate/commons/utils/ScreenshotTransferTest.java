@@ -0,0 +1,84 @@
+package org.mate.commons.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ScreenshotTransferTest {
+
+    private static int[] packed(int width, int height, int scale) {
+        int[] packed = new int[3 + width * height];
+        packed[0] = width;
+        packed[1] = height;
+        packed[2] = scale;
+
+        Random random = new Random(42);
+        for (int i = 3; i < packed.length; i++) {
+            packed[i] = 0xFF000000 | random.nextInt(0x1000000);
+        }
+        return packed;
+    }
+
+    private static byte[] write(int[] packed) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ScreenshotTransfer.write(packed, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void roundTrip() throws IOException {
+        // spans several chunks, the last one being incomplete
+        int[] packed = packed(270, 480, 4);
+        byte[] bytes = write(packed);
+
+        assertEquals(packed.length * 4, bytes.length);
+        assertArrayEquals(packed, ScreenshotTransfer.read(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void roundTripEmptyScreenshot() throws IOException {
+        int[] packed = packed(0, 0, 4);
+        assertArrayEquals(packed, ScreenshotTransfer.read(new ByteArrayInputStream(write(packed))));
+    }
+
+    @Test
+    public void bigEndianHeader() throws IOException {
+        byte[] bytes = write(new int[]{1, 1, 4, 0xFF102030});
+        assertArrayEquals(new byte[]{0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 4,
+                (byte) 0xFF, 0x10, 0x20, 0x30}, bytes);
+    }
+
+    @Test
+    public void truncatedScreenshotIsRejected() throws IOException {
+        byte[] bytes = write(packed(20, 10, 4));
+
+        for (int length : new int[]{0, 11, 12, bytes.length - 1}) {
+            try {
+                ScreenshotTransfer.read(new ByteArrayInputStream(Arrays.copyOf(bytes, length)));
+                fail("Expected an IOException for " + length + " bytes");
+            } catch (IOException expected) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void invalidSizeIsRejected() throws IOException {
+        for (int[] header : new int[][]{{-1, 10, 4}, {10, -1, 4}, {100000, 100000, 4}}) {
+            try {
+                ScreenshotTransfer.read(new ByteArrayInputStream(write(header)));
+                fail("Expected an IOException for " + Arrays.toString(header));
+            } catch (IOException expected) {
+                // expected
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@ import androidx.test.platform.app.InstrumentationRegistry;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mate.commons.utils.MATEEventLog;
 import org.mate.commons.utils.MATELog;
 import org.mate.representation.mateservice.MATEServiceConnection;
 
@@ -105,6 +106,8 @@ public class DynamicTest {
             }
         }
 
+        // writes the pending events, if the event log was enabled
+        MATEEventLog.disable();
         MATEServiceConnection.tearDownIfConnected();
     }
 
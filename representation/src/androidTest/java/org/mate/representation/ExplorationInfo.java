@@ -11,9 +11,9 @@ import androidx.annotation.Nullable;
 
 import org.mate.commons.state.espresso.EspressoRoots;
 import org.mate.commons.utils.MATELog;
-import org.mate.commons.utils.MersenneTwister;
 import org.mate.commons.utils.Randomness;
 import org.mate.commons.utils.Utils;
+import org.mate.commons.utils.Xoshiro256StarStar;
 import org.mate.representation.state.espresso.EspressoRootsFetcher;
 import org.mate.representation.state.espresso.EspressoScreenParser;
 import org.mate.representation.test.BuildConfig;
@@ -109,7 +109,7 @@ public class ExplorationInfo {
      * @param seed
      */
     public void setRandomSeed(long seed) {
-        rnd = new MersenneTwister(seed);
+        rnd = new Xoshiro256StarStar(seed);
         Randomness.setRnd(rnd);
     }
 
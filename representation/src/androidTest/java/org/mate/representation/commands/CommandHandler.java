@@ -1,6 +1,7 @@
 package org.mate.representation.commands;
 
 import android.os.Debug;
+import android.os.ParcelFileDescriptor;
 import android.os.RemoteException;
 
 import androidx.annotation.Nullable;
@@ -17,6 +18,7 @@ import org.mate.commons.interaction.action.espresso.EspressoAssertion;
 import org.mate.commons.interaction.action.espresso.InstrumentationTestAction;
 import org.mate.commons.interaction.action.ui.Widget;
 import org.mate.commons.state.espresso.EspressoScreenSummary;
+import org.mate.commons.utils.MATEEventLog;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.TimeoutRun;
 import org.mate.representation.DeviceInfo;
@@ -24,9 +26,12 @@ import org.mate.representation.DynamicTest;
 import org.mate.representation.ExplorationInfo;
 import org.mate.representation.interaction.ActionExecutor;
 import org.mate.representation.interaction.ActionExecutorFactory;
+import org.mate.representation.state.screenshot.ScreenshotCache;
 import org.mate.representation.state.widget.WidgetScreenParser;
 import org.mate.representation.test.BuildConfig;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.List;
@@ -372,6 +377,74 @@ public class CommandHandler extends IRepresentationLayerInterface.Stub {
         }
     }
 
+    @Override
+    public void setLogLevel(int priority) throws RemoteException {
+        MATELog.log_debug("RepresentationLayer received command setLogLevel");
+        DynamicTest.updateLastCommandTimestamp();
+        try {
+            MATELog.setLevel(priority);
+        } catch (Exception e) {
+            logException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void enableEventLog(String fileName) throws RemoteException {
+        MATELog.log_debug("RepresentationLayer received command enableEventLog");
+        DynamicTest.updateLastCommandTimestamp();
+        try {
+            // the files of the representation layer survive the resets of the AUT
+            File filesDir = DeviceInfo.getInstance().getRepresentationLayerContext().getFilesDir();
+            MATEEventLog.enable(new File(filesDir, fileName));
+        } catch (IOException e) {
+            MATELog.log_warn("Unable to enable event log: " + e.getMessage());
+        } catch (Exception e) {
+            logException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean captureScreenshot(String stateId, boolean persist) throws RemoteException {
+        MATELog.log_debug("RepresentationLayer received command captureScreenshot");
+        DynamicTest.updateLastCommandTimestamp();
+        try {
+            return ScreenshotCache.getInstance().capture(stateId, persist);
+        } catch (Exception e) {
+            logException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public ParcelFileDescriptor getScreenshot(String stateId) throws RemoteException {
+        MATELog.log_debug("RepresentationLayer received command getScreenshot");
+        DynamicTest.updateLastCommandTimestamp();
+        try {
+            return ScreenshotCache.getInstance().send(stateId);
+        } catch (IOException e) {
+            MATELog.log_warn("Unable to send screenshot of state " + stateId + ": "
+                    + e.getMessage());
+            return null;
+        } catch (Exception e) {
+            logException(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<String> takePersistedScreenshots() throws RemoteException {
+        MATELog.log_debug("RepresentationLayer received command takePersistedScreenshots");
+        DynamicTest.updateLastCommandTimestamp();
+        try {
+            return ScreenshotCache.getInstance().takePersisted();
+        } catch (Exception e) {
+            logException(e);
+            throw e;
+        }
+    }
+
     public void setMateService(IMATEServiceInterface mateService) {
         // do nothing, for now
     }
@@ -17,10 +17,8 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
 
 /**
  * Generates random input strings.
@@ -136,15 +134,9 @@ public final class DataGenerator {
 
         // If no word with given length was found.
         if (stb.length() == 0) {
-            Set<String> wordsUpToMaxLength = new HashSet<>();
-            for (String word : words) {
-                if (word.length() < maxLength) {
-                    wordsUpToMaxLength.add(word);
-                }
-            }
-
-            if(wordsUpToMaxLength.size() > 0) {
-                stb.append(Randomness.randomElement(wordsUpToMaxLength));
+            String word = Dictionary.getRandomWordShorterThan(maxLength);
+            if (word != null) {
+                stb.append(word);
             }
         } else {
 
@@ -1,9 +1,15 @@
 package org.mate.representation.input_generation;
 
+import android.content.Context;
+import android.content.pm.PackageManager;
+
 import org.mate.commons.utils.MATELog;
+import org.mate.commons.utils.Randomness;
+import org.mate.commons.utils.StringPool;
 import org.mate.representation.DeviceInfo;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -15,25 +21,52 @@ import java.util.List;
 /**
  * Dictionary that loads and caches all words from a file. The words must be separated by line
  * breaks.
+ * <p>
+ * Since the representation layer is restarted on every reset, the words are converted on the first
+ * launch into a {@link StringPool} that is memory-mapped by all subsequent launches instead of
+ * parsing the file again.
  */
 public class Dictionary {
 
+    /**
+     * The name of the pool file within the files directory of the representation layer.
+     */
+    private static final String WORDS_POOL_FILE = "words.pool";
+
     //https://github.com/dwyl/english-words
     private static List<String> words = null;
 
     /**
-     * Loads the words from the words.txt file into a list and stores them temporarily.
+     * Maps the words from the pool file, or converts the words.txt file into the pool file if it
+     * doesn't exist yet or is outdated. If the pool file can't be used, the words are loaded into a
+     * list instead.
      */
     private static void loadWords() {
-        words = new ArrayList<>();
-        try (InputStream file = DeviceInfo.getInstance().getRepresentationLayerContext()
-                .getResources().getAssets().open("words.txt")) {
-            BufferedReader reader = new BufferedReader(new InputStreamReader(file));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                words.add(line);
+
+        Context context = DeviceInfo.getInstance().getRepresentationLayerContext();
+
+        try {
+            File poolFile = new File(context.getFilesDir(), WORDS_POOL_FILE);
+            long stamp = getStamp(context);
+
+            StringPool pool = StringPool.open(poolFile, stamp);
+            if (pool == null) {
+                StringPool.write(poolFile, stamp, readWords(context));
+                pool = StringPool.open(poolFile, stamp);
             }
+
+            if (pool != null) {
+                words = pool;
+                return;
+            }
+        } catch (IOException | PackageManager.NameNotFoundException e) {
+            MATELog.log_warn("Unable to use pool file for Dictionary: " + e.getMessage());
+        }
+
+        try {
+            words = readWords(context);
         } catch (IOException e) {
+            words = new ArrayList<>();
             MATELog.log_error("Unable to load words for Dictionary: " + e.getMessage());
 
             StringWriter sw = new StringWriter();
@@ -43,6 +76,37 @@ public class Dictionary {
         }
     }
 
+    /**
+     * Reads the words from the words.txt file.
+     *
+     * @param context The context of the representation layer.
+     * @return Returns the words.
+     * @throws IOException If the file can't be read.
+     */
+    private static List<String> readWords(Context context) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (InputStream file = context.getResources().getAssets().open("words.txt")) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(file));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                words.add(line);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * The words.txt file is bundled with the representation layer, hence the pool is outdated
+     * whenever the representation layer has been re-installed.
+     *
+     * @param context The context of the representation layer.
+     * @return Returns the install time of the representation layer.
+     * @throws PackageManager.NameNotFoundException Should never happen.
+     */
+    private static long getStamp(Context context) throws PackageManager.NameNotFoundException {
+        return context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+    }
+
     /**
      * If the words have not yet been loaded, it loads those and then returns them. If this has
      * already happened, the words are returned immediately.
@@ -54,4 +118,29 @@ public class Dictionary {
             loadWords();
         return words;
     }
+
+    /**
+     * Returns a random word that is shorter than the given length.
+     *
+     * @param length The exclusive upper bound on the length of the word.
+     * @return Returns a random word or {@code null} if there is no such word.
+     */
+    public static String getRandomWordShorterThan(int length) {
+
+        List<String> words = getWords();
+
+        if (words instanceof StringPool) {
+            // the pool is sorted by length, hence the matching words form a prefix
+            int count = ((StringPool) words).countShorterThan(length);
+            return count > 0 ? words.get(Randomness.getRnd().nextInt(count)) : null;
+        }
+
+        List<String> wordsShorterThan = new ArrayList<>();
+        for (String word : words) {
+            if (word.length() < length) {
+                wordsShorterThan.add(word);
+            }
+        }
+        return wordsShorterThan.isEmpty() ? null : Randomness.randomElement(wordsShorterThan);
+    }
 }
@@ -15,6 +15,7 @@ import org.mate.commons.state.espresso.EspressoScreen;
 import org.mate.commons.state.espresso.EspressoScreenSummary;
 import org.mate.commons.state.espresso.EspressoWindow;
 import org.mate.commons.utils.MATELog;
+import org.mate.representation.DeviceInfo;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -81,6 +82,13 @@ public class EspressoScreenParser {
             throw new RuntimeException("Espresso screen is null in parseInstrumentationTestActions method");
         }
 
+        // Number of candidate executables checked, and the number that would have been checked
+        // by trying every executable kind on every view.
+        int candidatesCount = 0;
+        int candidatesWithoutPrototypeTable = 0;
+        int candidatesPerView = ExecutablePrototypeTable.getCandidatesPerView(
+                DeviceInfo.getInstance().isKeyboardOpened());
+
         EspressoWindow topWindow = this.espressoScreen.getTopWindow();
         for (EspressoViewTreeNode node : topWindow.getViewTree().getAllNodes()) {
             ArrayList<InstrumentationTestInteraction> interactions =
@@ -102,6 +110,11 @@ public class EspressoScreenParser {
                                 interactionTargetEspressoView);
                 List<InstrumentationTestExecutable> executables = executablesParser.parse();
 
+                candidatesCount += executablesParser.getCandidatesCount();
+                if (!interactionTargetEspressoView.shouldBeSkipped()) {
+                    candidatesWithoutPrototypeTable += candidatesPerView;
+                }
+
                 if (executables.size() == 0) {
                     // nothing to do on this interaction, skip it.
                     continue;
@@ -121,6 +134,8 @@ public class EspressoScreenParser {
         long endTime = System.nanoTime();
         long duration = (endTime - startTime) / 1000000;  //divide by 1000000 to get ms.
         MATELog.log_debug(String.format("Loading of InstrumentationTest actions took %d ms", duration));
+        MATELog.log_debug(String.format("Checked %d candidate executables (%d without prototype " +
+                "table)", candidatesCount, candidatesWithoutPrototypeTable));
     }
 
     @Nullable
@@ -0,0 +1,271 @@
+package org.mate.representation.state.espresso;
+
+import android.view.View;
+import android.view.inputmethod.EditorInfo;
+import android.widget.EditText;
+
+import org.mate.commons.interaction.action.espresso.executables.InstrumentationTestExecutable;
+import org.mate.commons.interaction.action.espresso.executables.InstrumentationTestExecutableType;
+import org.mate.commons.interaction.action.espresso.executables.recyclerview.ClickOnPositionExecutable;
+import org.mate.commons.interaction.action.espresso.executables.recyclerview.RecyclerViewWrapper;
+import org.mate.commons.interaction.action.espresso.executables.recyclerview.ScrollToPositionExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.BackExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.ClearTextExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.ClickExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.CloseSoftKeyboardExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.EnterExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.LongClickExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.MenuExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.SearchExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.SwipeDownExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.SwipeLeftExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.SwipeRightExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.SwipeUpExecutable;
+import org.mate.commons.interaction.action.espresso.executables.views.TypeTextExecutable;
+import org.mate.commons.utils.MATELog;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps the capabilities of each View class to the kinds of executables that can possibly be
+ * performed on views of that class.
+ * <p>
+ * Before, every parsed view instantiated one candidate of each executable kind, and most of them
+ * were discarded right away (e.g., a ClearText candidate for a TextView). This table allows us to
+ * only instantiate the candidates that may actually apply to a view. The class capabilities are
+ * computed once per View class, and executables that hold no per-view state are shared.
+ * <p>
+ * The table is only a pre-filter: each candidate is still checked with
+ * {@link InstrumentationTestExecutable#isValidForViewInScreen}.
+ */
+class ExecutablePrototypeTable {
+
+    /**
+     * The candidate executable kinds, in the order in which they were originally tried.
+     * CLOSE_SOFT_KEYBOARD always goes last, and only when the soft keyboard is opened.
+     */
+    private static final InstrumentationTestExecutableType[] CANDIDATE_TYPES = {
+            InstrumentationTestExecutableType.BACK,
+            InstrumentationTestExecutableType.CLEAR_TEXT,
+            InstrumentationTestExecutableType.CLICK,
+            // Double click actions are disabled for now, since they can lead to flaky tests
+            InstrumentationTestExecutableType.ENTER,
+            InstrumentationTestExecutableType.LONG_CLICK,
+            InstrumentationTestExecutableType.MENU,
+            // PressIME actions are disabled for now, since they can lead to flaky tests.
+            // ScrollTo actions are disabled for now, since their implementation is not
+            // completely right and are prone to fail (e.g., when items in ScrollView have
+            // padding)
+            InstrumentationTestExecutableType.SWIPE_DOWN,
+            InstrumentationTestExecutableType.SWIPE_LEFT,
+            InstrumentationTestExecutableType.SWIPE_RIGHT,
+            InstrumentationTestExecutableType.SWIPE_UP,
+            InstrumentationTestExecutableType.TYPE_TEXT,
+            InstrumentationTestExecutableType.RECYCLER_SCROLL_TO_POSITION,
+            InstrumentationTestExecutableType.RECYCLER_CLICK_ON_POSITION,
+            // ToggleRotation actions are disabled for now, since they can lead to flaky tests.
+            // Home actions are disabled for now. They don't really add much to the test case,
+            // since it always leads to the same state (the home screen) and then the test finishes.
+            InstrumentationTestExecutableType.SEARCH,
+            // We disable ClickOnComposeNode actions for the experiments
+    };
+
+    /**
+     * The executable kinds that can only be performed on the root view.
+     */
+    private static final Set<InstrumentationTestExecutableType> ROOT_ONLY_TYPES = EnumSet.of(
+            InstrumentationTestExecutableType.BACK,
+            InstrumentationTestExecutableType.ENTER,
+            InstrumentationTestExecutableType.MENU,
+            InstrumentationTestExecutableType.SEARCH,
+            InstrumentationTestExecutableType.CLOSE_SOFT_KEYBOARD);
+
+    /**
+     * The shared instances of the executables that have no parameters. They are never modified
+     * after being created, so the same instance can be used for all views.
+     */
+    private static final Map<InstrumentationTestExecutableType, InstrumentationTestExecutable>
+            FLYWEIGHTS = new EnumMap<>(InstrumentationTestExecutableType.class);
+
+    static {
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.BACK, new BackExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.CLEAR_TEXT, new ClearTextExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.CLICK, new ClickExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.ENTER, new EnterExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.LONG_CLICK, new LongClickExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.MENU, new MenuExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.SWIPE_DOWN, new SwipeDownExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.SWIPE_LEFT, new SwipeLeftExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.SWIPE_RIGHT, new SwipeRightExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.SWIPE_UP, new SwipeUpExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.SEARCH, new SearchExecutable());
+        FLYWEIGHTS.put(InstrumentationTestExecutableType.CLOSE_SOFT_KEYBOARD,
+                new CloseSoftKeyboardExecutable());
+    }
+
+    /**
+     * The executable kinds applicable to each View class.
+     */
+    private static final Map<Class<?>, Set<InstrumentationTestExecutableType>> TYPES_BY_CLASS =
+            new HashMap<>();
+
+    private ExecutablePrototypeTable() {
+        throw new UnsupportedOperationException("Utility class!");
+    }
+
+    /**
+     * @param keyboardOpened whether the soft keyboard is currently opened.
+     * @return the number of candidate executables tried on every view before this table existed.
+     */
+    static int getCandidatesPerView(boolean keyboardOpened) {
+        return CANDIDATE_TYPES.length + (keyboardOpened ? 1 : 0);
+    }
+
+    /**
+     * Returns the candidate executables for the given view. Only executables that may apply to
+     * the view are returned, in the same order in which they were originally tried.
+     *
+     * @param view the view to get the candidates for.
+     * @param keyboardOpened whether the soft keyboard is currently opened.
+     * @return the candidate executables.
+     */
+    static List<InstrumentationTestExecutable> getCandidates(View view, boolean keyboardOpened) {
+        List<InstrumentationTestExecutable> candidates = new ArrayList<>();
+
+        if (!view.isEnabled()) {
+            // We don't perform actions on disabled views.
+            return candidates;
+        }
+
+        Set<InstrumentationTestExecutableType> typesForClass = getTypesForClass(view.getClass());
+        boolean isRoot = view.getRootView() == view;
+
+        for (InstrumentationTestExecutableType type : CANDIDATE_TYPES) {
+            if (typesForClass.contains(type) && appliesToView(type, view, isRoot)) {
+                candidates.add(createExecutable(type));
+            }
+        }
+
+        if (keyboardOpened && isRoot) {
+            candidates.add(createExecutable(InstrumentationTestExecutableType.CLOSE_SOFT_KEYBOARD));
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Cheap per-view checks that are a necessary condition of the executable's own validation.
+     */
+    private static boolean appliesToView(InstrumentationTestExecutableType type, View view,
+                                         boolean isRoot) {
+        if (ROOT_ONLY_TYPES.contains(type)) {
+            return isRoot;
+        }
+
+        switch (type) {
+            case SWIPE_DOWN:
+                return view.canScrollVertically(1);
+            case SWIPE_UP:
+                return view.canScrollVertically(-1);
+            case SWIPE_LEFT:
+            case SWIPE_RIGHT:
+                return view.canScrollHorizontally(-1);
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Returns a new executable of the given type, or the shared one if it has no parameters.
+     */
+    private static InstrumentationTestExecutable createExecutable(
+            InstrumentationTestExecutableType type) {
+        InstrumentationTestExecutable flyweight = FLYWEIGHTS.get(type);
+        if (flyweight != null) {
+            return flyweight;
+        }
+
+        switch (type) {
+            case TYPE_TEXT:
+                // We use empty text for the TypeTextExecutable until we know if we can use it
+                // for this view
+                return new TypeTextExecutable("");
+            case RECYCLER_SCROLL_TO_POSITION:
+                return new ScrollToPositionExecutable();
+            case RECYCLER_CLICK_ON_POSITION:
+                return new ClickOnPositionExecutable();
+            default:
+                throw new IllegalStateException("No prototype for executable type: " + type);
+        }
+    }
+
+    /**
+     * Returns the (cached) executable kinds applicable to views of the given class.
+     */
+    private static synchronized Set<InstrumentationTestExecutableType> getTypesForClass(
+            Class<?> viewClass) {
+        Set<InstrumentationTestExecutableType> types = TYPES_BY_CLASS.get(viewClass);
+
+        if (types == null) {
+            types = computeTypesForClass(viewClass);
+            TYPES_BY_CLASS.put(viewClass, types);
+        }
+
+        return types;
+    }
+
+    private static Set<InstrumentationTestExecutableType> computeTypesForClass(Class<?> viewClass) {
+        Set<InstrumentationTestExecutableType> types =
+                EnumSet.allOf(InstrumentationTestExecutableType.class);
+
+        // ClearText requires an EditText
+        if (!EditText.class.isAssignableFrom(viewClass)) {
+            types.remove(InstrumentationTestExecutableType.CLEAR_TEXT);
+        }
+
+        // TypeText requires a view that supports input methods, or a SearchView
+        if (!supportsInputMethods(viewClass) && !isSearchView(viewClass)) {
+            types.remove(InstrumentationTestExecutableType.TYPE_TEXT);
+        }
+
+        if (!RecyclerViewWrapper.isRecyclerViewClass(viewClass)) {
+            types.remove(InstrumentationTestExecutableType.RECYCLER_SCROLL_TO_POSITION);
+            types.remove(InstrumentationTestExecutableType.RECYCLER_CLICK_ON_POSITION);
+        }
+
+        return types;
+    }
+
+    /**
+     * A view only supports input methods if it returns an InputConnection, and the base View
+     * class never does. Thus, views of classes that don't override
+     * {@link View#onCreateInputConnection(EditorInfo)} can't have text typed into them.
+     */
+    private static boolean supportsInputMethods(Class<?> viewClass) {
+        try {
+            return viewClass.getMethod("onCreateInputConnection", EditorInfo.class)
+                    .getDeclaringClass() != View.class;
+        } catch (Exception e) {
+            MATELog.log_warn("Unable to determine if views of class " + viewClass.getName()
+                    + " support input methods: " + e.getMessage());
+            // be conservative and let TypeTextExecutable decide
+            return true;
+        }
+    }
+
+    private static boolean isSearchView(Class<?> viewClass) {
+        for (Class<?> cls = viewClass; cls != null; cls = cls.getSuperclass()) {
+            if (cls.getSimpleName().equals("SearchView")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
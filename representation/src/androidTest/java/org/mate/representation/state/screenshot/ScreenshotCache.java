@@ -0,0 +1,217 @@
+package org.mate.representation.state.screenshot;
+
+import android.graphics.Bitmap;
+import android.os.ParcelFileDescriptor;
+
+import org.mate.commons.utils.MATELog;
+import org.mate.commons.utils.PackedScreenshotCache;
+import org.mate.commons.utils.ScreenshotTransfer;
+import org.mate.representation.DeviceInfo;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Captures the screenshot of each screen state once through the {@link android.app.UiAutomation}
+ * and keeps a downsampled copy of the most recently used screenshots, such that the accessibility
+ * checks can analyze the screenshots on the device instead of asking the MATE server to take and
+ * decode them again.
+ * <p>
+ * Screenshots that should be kept are written as png files in the background. The client asks
+ * the MATE server to pull them once they have been written, see {@link #takePersisted()}.
+ */
+public class ScreenshotCache {
+
+    /**
+     * The maximal number of cached screenshots.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * The factor by which the screenshots are downsampled in each dimension. A downsampled
+     * screenshot of a 1080x1920 display takes about 500 KB, hence it is sent through a pipe, see
+     * {@link ScreenshotTransfer}.
+     */
+    private static final int SCALE = 4;
+
+    /**
+     * The name of the directory within the files of the representation layer where persisted
+     * screenshots are stored, from where the MATE server pulls them.
+     */
+    private static final String SCREENSHOTS_DIR = "screenshots";
+
+    /**
+     * Singleton instance of this class.
+     */
+    private static ScreenshotCache instance;
+
+    /**
+     * The downsampled screenshots per state id, see {@link #pack(Bitmap)}.
+     */
+    private final PackedScreenshotCache screenshots = new PackedScreenshotCache(CAPACITY);
+
+    /**
+     * Writes the screenshots to be persisted in the background.
+     */
+    private final ExecutorService persister = Executors.newSingleThreadExecutor();
+
+    /**
+     * The paths of the screenshots that have been written but not yet pulled by the MATE server.
+     */
+    private final List<String> persisted = new ArrayList<>();
+
+    private ScreenshotCache() {}
+
+    /**
+     * @return the singleton instance of the ScreenshotCache class.
+     */
+    public static synchronized ScreenshotCache getInstance() {
+        if (instance == null) {
+            instance = new ScreenshotCache();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Captures a screenshot of the current screen for the given state. A screenshot cached for the
+     * state before is replaced, since the state may look different by now.
+     *
+     * @param stateId The id of the state shown on the screen.
+     * @param persist Whether the screenshot should be stored as png file for the MATE server.
+     * @return Returns {@code true} if a screenshot of the state is available, otherwise
+     *         {@code false} is returned.
+     */
+    public boolean capture(String stateId, boolean persist) {
+
+        final Bitmap bitmap = DeviceInfo.getInstance().getInstrumentation()
+                .getUiAutomation().takeScreenshot();
+
+        if (bitmap == null) {
+            MATELog.log_warn("Unable to take screenshot of state " + stateId);
+            return false;
+        }
+
+        screenshots.put(stateId, pack(bitmap));
+
+        if (persist) {
+            // the files of the representation layer survive the resets of the AUT
+            File dir = new File(DeviceInfo.getInstance().getRepresentationLayerContext()
+                    .getFilesDir(), SCREENSHOTS_DIR);
+            final File file = new File(dir, stateId + ".png");
+            persister.execute(() -> {
+                if (write(bitmap, file)) {
+                    synchronized (this) {
+                        persisted.add(file.getAbsolutePath());
+                    }
+                }
+                bitmap.recycle();
+            });
+        } else {
+            bitmap.recycle();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the cached screenshot of the given state.
+     *
+     * @param stateId The id of the state.
+     * @return Returns the downsampled screenshot, see {@link #pack(Bitmap)}, or {@code null} if
+     *         no screenshot of the state is cached.
+     */
+    public int[] get(String stateId) {
+        return screenshots.get(stateId);
+    }
+
+    /**
+     * Starts sending the cached screenshot of the given state through a pipe, see
+     * {@link ScreenshotTransfer}.
+     *
+     * @param stateId The id of the state.
+     * @return Returns the read end of the pipe, or {@code null} if no screenshot of the state is
+     *         cached.
+     * @throws IOException If the pipe can't be created.
+     */
+    public ParcelFileDescriptor send(String stateId) throws IOException {
+        int[] screenshot = get(stateId);
+        return screenshot == null ? null : ScreenshotTransfer.send(screenshot);
+    }
+
+    /**
+     * Waits until the screenshots captured so far have been written and returns the ones that
+     * haven't been returned before.
+     *
+     * @return Returns the paths of the written screenshots.
+     */
+    public List<String> takePersisted() {
+
+        try {
+            // the persister writes the screenshots in their capture order
+            persister.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            MATELog.log_warn("Unable to wait for persisted screenshots: " + e.getMessage());
+        }
+
+        synchronized (this) {
+            List<String> paths = new ArrayList<>(persisted);
+            persisted.clear();
+            return paths;
+        }
+    }
+
+    /**
+     * Downsamples the given screenshot. The colours are sampled instead of averaged, such that
+     * the downsampled screenshot only contains colours of the original one.
+     *
+     * @param bitmap The screenshot.
+     * @return Returns an array consisting of the width and height of the downsampled screenshot,
+     *         the scale factor, followed by the ARGB pixels in row-major order.
+     */
+    private static int[] pack(Bitmap bitmap) {
+
+        int width = bitmap.getWidth() / SCALE;
+        int height = bitmap.getHeight() / SCALE;
+
+        int[] packed = new int[3 + width * height];
+        packed[0] = width;
+        packed[1] = height;
+        packed[2] = SCALE;
+
+        int[] row = new int[bitmap.getWidth()];
+        for (int y = 0; y < height; y++) {
+            bitmap.getPixels(row, 0, bitmap.getWidth(), 0, y * SCALE, bitmap.getWidth(), 1);
+            for (int x = 0; x < width; x++) {
+                packed[3 + y * width + x] = row[x * SCALE];
+            }
+        }
+
+        return packed;
+    }
+
+    private static boolean write(Bitmap bitmap, File file) {
+
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            MATELog.log_warn("Unable to create screenshot directory " + dir);
+            return false;
+        }
+
+        try (OutputStream out = new FileOutputStream(file)) {
+            return bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+        } catch (IOException e) {
+            MATELog.log_warn("Unable to store screenshot " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+}
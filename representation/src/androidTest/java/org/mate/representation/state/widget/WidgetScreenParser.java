@@ -10,6 +10,7 @@ import androidx.test.uiautomator.UiDevice;
 import androidx.test.uiautomator.UiObject2;
 
 import org.mate.commons.interaction.action.ui.Widget;
+import org.mate.commons.utils.MATEEventLog;
 import org.mate.commons.utils.MATELog;
 import org.mate.commons.utils.Utils;
 import org.mate.representation.DeviceInfo;
@@ -26,6 +27,12 @@ import java.util.Objects;
  */
 public class WidgetScreenParser {
 
+    /**
+     * The event recorded in the binary event log for each parsed node, along with its depth and
+     * global index.
+     */
+    private static final short NODE_PARSED_EVENT = MATEEventLog.register("widget_node_parsed");
+
     /**
      * A list of discovered widgets on the app screen.
      */
@@ -116,9 +123,12 @@ public class WidgetScreenParser {
     private int parseWidgets(final AccessibilityNodeInfo node, Widget parent, int depth,
                              int globalIndex, final int localIndex) {
 
-        MATELog.log_debug("Node: " + node.getViewIdResourceName() + ", depth: " + depth
-                + ", globalIndex: " + globalIndex + ", localIndex: " + localIndex);
-        MATELog.log_debug("Node class: " + node.getClassName());
+        if (MATELog.isDebugEnabled()) {
+            MATELog.log_debug("Node: {}, depth: {}, globalIndex: {}, localIndex: {}",
+                    node.getViewIdResourceName(), depth, globalIndex, localIndex);
+            MATELog.log_debug("Node class: {}", node.getClassName());
+        }
+        MATEEventLog.record(NODE_PARSED_EVENT, depth, globalIndex);
 
         Widget widget = new Widget(parent, node, activityName, depth, globalIndex, localIndex);
         widgets.add(widget);
@@ -138,7 +148,7 @@ public class WidgetScreenParser {
         for (int i = 0; i < node.getChildCount(); i++) {
             // the local index is simply the child number
             if (node.getChild(i) == null) {
-                MATELog.log_warn("Child node " + i + " at depth " + depth + " not available!");
+                MATELog.log_warn("Child node {} at depth {} not available!", i, depth);
             } else {
                 globalIndex = parseWidgets(node.getChild(i), widget, depth, globalIndex, i);
             }